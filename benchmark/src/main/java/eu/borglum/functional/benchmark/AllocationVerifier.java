@@ -0,0 +1,104 @@
+package eu.borglum.functional.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the {@link EscapeAnalysisBenchmark} with the GC profiler and fails if a chain allocates more than its budget
+ * per operation at steady state, so that a change to {@code Success}, {@code Failure} or {@code Result.of} that
+ * defeats inlining or escape analysis is noticed.
+ * <p>
+ * The chains are compiled by C2 alone ({@code -XX:-TieredCompilation}). With tiered compilation whether C2 removes
+ * the allocations depends on when it compiles relative to the profiling of C1, which makes the outcome vary from
+ * run to run. Pass {@code --tiered} to measure with tiered compilation anyway and {@code --print-inlining} to print
+ * the compilation and inlining decisions of the forked JVM.
+ * <p>
+ * Usage: {@code java -cp benchmark/target/benchmarks.jar eu.borglum.functional.benchmark.AllocationVerifier}
+ */
+public final class AllocationVerifier {
+
+    /**
+     * The recovered value of the failure chain is created by {@code Result.ofValue}, whose catch block is hot because
+     * the first step of the chain throws. The profile is shared by every inlined copy of {@code Result.ofValue}, so
+     * C2 keeps both outcomes and the resulting {@code success} escapes.
+     */
+    private static final Map<String, Double> BUDGETS = Map.of(
+        "successChain", 0.0,
+        "flatMapChain", 0.0,
+        "failureChain", 16.0
+    );
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private AllocationVerifier() {
+        //does nothing
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        List<String> arguments = Arrays.asList(args);
+
+        List<String> jvmArgs = new ArrayList<>();
+
+        if (!arguments.contains("--tiered")) {
+            jvmArgs.add("-XX:-TieredCompilation");
+        }
+
+        if (arguments.contains("--print-inlining")) {
+            jvmArgs.add("-XX:+UnlockDiagnosticVMOptions");
+            jvmArgs.add("-XX:+PrintCompilation");
+            jvmArgs.add("-XX:+PrintInlining");
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(EscapeAnalysisBenchmark.class.getName())
+            .addProfiler(GCProfiler.class)
+            .jvmArgsAppend(jvmArgs.toArray(new String[0]));
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        boolean failed = false;
+
+        for (RunResult result : results) {
+            String label = result.getPrimaryResult().getLabel();
+
+            double allocated = allocationOf(result);
+
+            double budget = BUDGETS.getOrDefault(label, 0.0);
+
+            boolean exceeded = allocated > budget + 0.5;
+
+            System.out.println(String.format(Locale.ROOT, "%s %s allocated=%.1f B/op budget=%.1f B/op",
+                exceeded ? "FAIL" : "OK  ", label, allocated, budget));
+
+            failed |= exceeded;
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static double allocationOf(RunResult result) {
+
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(ALLOCATION)) {
+                return entry.getValue().getScore();
+            }
+        }
+
+        throw new IllegalStateException("The GC profiler did not report " + ALLOCATION);
+    }
+}
@@ -0,0 +1,95 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.BatchingSink;
+import eu.borglum.functional.core.ConcurrencyLimit;
+import eu.borglum.functional.core.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares writing every {@link Result} with its own call to a writer that has a fixed cost per call, like the
+ * round-trip of a database insert, with submitting the same {@link Result} from several threads to a
+ * {@link BatchingSink} that writes them in batches with one call each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BatchingSinkBenchmark {
+
+    private static final int RESULTS_PER_OPERATION = 1000;
+
+    private static final long TOKENS_PER_CALL = 10_000;
+
+    private static final long TOKENS_PER_VALUE = 50;
+
+    private BatchingSink<Integer> sink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        sink = BatchingSink.of(BatchingSinkBenchmark::write, exception -> {
+        }, ConcurrencyLimit.aimd(256, 16, 4096, Duration.ofMillis(5), 0.9), Duration.ofMillis(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        sink.close();
+    }
+
+    @Benchmark
+    public void perResult(Blackhole blackhole) {
+
+        for (int i = 0; i < RESULTS_PER_OPERATION; i++) {
+            int value = i;
+
+            blackhole.consume(write(List.of(value)));
+        }
+    }
+
+    @Benchmark
+    public Result<Integer> batched() {
+
+        CompletionStage<Result<Integer>> last = null;
+
+        for (int i = 0; i < RESULTS_PER_OPERATION; i++) {
+            int value = i;
+
+            last = sink.submit(Result.of(() -> value));
+        }
+
+        //the batches are written in order, so the other results have been written when the last one has
+        return last.toCompletableFuture().join();
+    }
+
+    private static List<Result<Integer>> write(List<Integer> values) {
+
+        Blackhole.consumeCPU(TOKENS_PER_CALL + TOKENS_PER_VALUE * values.size());
+
+        return values.stream()
+            .map(value -> Result.of(() -> value))
+            .collect(Collectors.toList());
+    }
+}
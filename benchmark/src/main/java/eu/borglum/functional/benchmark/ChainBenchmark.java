@@ -0,0 +1,104 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures chains of {@link Result#mapValue} of different lengths, where the chain either succeeds or fails in its
+ * first step, against the same chain written with plain try/catch and with {@link Optional}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ChainBenchmark {
+
+    private static final IllegalStateException EXCEPTION = new IllegalStateException("failure");
+
+    @Param({"1", "4", "16"})
+    public int length;
+
+    @Param({"success", "failure"})
+    public String path;
+
+    private boolean fail;
+
+    private int value;
+
+    @Setup
+    public void setUp() {
+
+        fail = "failure".equals(path);
+
+        value = 1_000;
+    }
+
+    @Benchmark
+    public Integer result() {
+
+        Result<Integer> result = Result.ofValue(this::first);
+
+        for (int i = 0; i < length; i++) {
+            result = result.mapValue(ChainBenchmark::next);
+        }
+
+        return result.recoverValue(IllegalStateException.class, e -> -1).orElseThrow();
+    }
+
+    @Benchmark
+    public Integer baselineTryCatch() {
+
+        try {
+            Integer current = first();
+
+            for (int i = 0; i < length; i++) {
+                current = next(current);
+            }
+
+            return current;
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public Integer baselineOptional() {
+
+        Optional<Integer> optional = fail ? Optional.empty() : Optional.of(value);
+
+        for (int i = 0; i < length; i++) {
+            optional = optional.map(ChainBenchmark::next);
+        }
+
+        return optional.orElse(-1);
+    }
+
+    private Integer first() {
+
+        if (fail) {
+            throw EXCEPTION;
+        }
+
+        return value;
+    }
+
+    private static Integer next(Integer value) {
+
+        return value + 1;
+    }
+}
@@ -0,0 +1,100 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Checkpoint;
+import eu.borglum.functional.core.CheckpointedRunner;
+import eu.borglum.functional.core.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares processing inputs with a {@link CheckpointedRunner} that checkpoints after every chunk, with processing
+ * the same inputs with the same {@link Function} and {@link Consumer} in a plain loop, to measure the cost of
+ * checkpointing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CheckpointedRunnerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int chunkSize;
+
+    private List<String> inputs;
+
+    private Path file;
+
+    private CheckpointedRunner runner;
+
+    @Setup(Level.Trial)
+    public void setUpInputs() {
+
+        inputs = IntStream.range(0, 1_000_000)
+            .mapToObj(i -> i % 10 == 0 ? "x" + i : String.valueOf(i))
+            .collect(Collectors.toList());
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+
+        file = Files.createTempFile("checkpoint", ".bin");
+
+        runner = CheckpointedRunner.open(file, chunkSize, Duration.ofSeconds(1));
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+
+        runner.close();
+
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void loop(Blackhole blackhole) {
+
+        Function<String, Result<Integer>> function = CheckpointedRunnerBenchmark::parse;
+
+        Consumer<Result<Integer>> consumer = blackhole::consume;
+
+        for (String input : inputs) {
+            consumer.accept(function.apply(input));
+        }
+    }
+
+    @Benchmark
+    public Checkpoint runner(Blackhole blackhole) {
+
+        return runner.run(inputs, CheckpointedRunnerBenchmark::parse, blackhole::consume);
+    }
+
+    private static Result<Integer> parse(String input) {
+
+        return Result.of(() -> Integer.parseInt(input));
+    }
+}
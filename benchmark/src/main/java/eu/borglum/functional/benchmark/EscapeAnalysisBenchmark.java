@@ -0,0 +1,69 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short {@link Result} chains that are expected to be fully inlined by C2, so that escape analysis removes the
+ * allocation of every {@code success}, {@code failure} and lambda at steady state. {@link AllocationVerifier} runs
+ * them with the GC profiler and fails if they allocate more than their budget. The chains only produce values that
+ * are cached by {@link Integer#valueOf(int)}, so boxing does not allocate either.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EscapeAnalysisBenchmark {
+
+    private static final IllegalStateException EXCEPTION = new IllegalStateException("failure");
+
+    private int value;
+
+    @Setup
+    public void setUp() {
+
+        value = 1;
+    }
+
+    @Benchmark
+    public Integer successChain() {
+
+        return Result.ofValue(() -> value)
+            .mapValue(i -> i + 1)
+            .mapValue(i -> i * 2)
+            .orElseThrow();
+    }
+
+    @Benchmark
+    public Integer failureChain() {
+
+        return Result.<Integer>ofValue(() -> {
+                throw EXCEPTION;
+            })
+            .mapValue(i -> i + 1)
+            .recoverValue(IllegalStateException.class, e -> value)
+            .orElseThrow();
+    }
+
+    @Benchmark
+    public Integer flatMapChain() {
+
+        return Result.ofValue(() -> value)
+            .flatMap(i -> Result.ofValue(() -> i + 1))
+            .flatMap(i -> Result.ofValue(() -> i * 2))
+            .orElseThrow();
+    }
+}
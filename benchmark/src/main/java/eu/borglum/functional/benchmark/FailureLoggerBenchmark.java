@@ -0,0 +1,78 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.FailureLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reporting the same {@link Exception} instance to a {@link FailureLogger} again and again, whose throw
+ * site is remembered, with reporting distinct instances thrown from the same place, whose stack trace is read every
+ * time to find the throw site.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FailureLoggerBenchmark {
+
+    private static final int DISTINCT_EXCEPTIONS = 1024;
+
+    private FailureLogger failureLogger;
+
+    private IllegalStateException sameInstance;
+
+    private IllegalStateException[] distinctInstances;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        failureLogger = FailureLogger.create(System.getLogger("benchmark"), Duration.ofDays(1), 1);
+
+        sameInstance = create();
+
+        distinctInstances = new IllegalStateException[DISTINCT_EXCEPTIONS];
+        for (int i = 0; i < DISTINCT_EXCEPTIONS; i++) {
+            distinctInstances[i] = create();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        failureLogger.close();
+    }
+
+    @Benchmark
+    public void sameInstance() {
+
+        failureLogger.report(sameInstance);
+    }
+
+    @Benchmark
+    public void distinctInstances() {
+
+        failureLogger.report(distinctInstances[index++ & (DISTINCT_EXCEPTIONS - 1)]);
+    }
+
+    private static IllegalStateException create() {
+
+        return new IllegalStateException("outage");
+    }
+}
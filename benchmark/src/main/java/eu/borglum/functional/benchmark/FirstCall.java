@@ -0,0 +1,79 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Case;
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.Results;
+import eu.borglum.functional.core.Switch;
+import eu.borglum.functional.core.SwitchSupplier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints the time from the start of the process to {@code main} and the time of the first call of
+ * {@link Result#of}, {@link Results#sequence(List)} and a {@link Switch} evaluation, in this order. It runs the same
+ * on the JVM and as a native image, see the {@code native} profile of the benchmark module.
+ * <p>
+ * Usage: {@code java -cp benchmark/target/benchmarks.jar eu.borglum.functional.benchmark.FirstCall} or
+ * {@code benchmark/target/first-call}
+ */
+public final class FirstCall {
+
+    private FirstCall() {
+        //does nothing
+    }
+
+    public static void main(String[] args) {
+
+        Instant mainEntered = Instant.now();
+
+        long start = System.nanoTime();
+        Integer value = resultOf();
+        long resultOf = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Integer> values = sequence();
+        long sequence = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Integer matched = switchEvaluation();
+        long switchEvaluation = System.nanoTime() - start;
+
+        long toMain = ProcessHandle.current().info().startInstant()
+            .map(processStart -> Duration.between(processStart, mainEntered).toMillis())
+            .orElse(-1L);
+
+        System.out.println(String.format(Locale.ROOT,
+            "toMain=%d ms resultOf=%d us sequence=%d us switch=%d us (%d, %d, %d)",
+            toMain, resultOf / 1_000, sequence / 1_000, switchEvaluation / 1_000, value, values.size(), matched));
+    }
+
+    static Integer resultOf() {
+
+        return Result.of(() -> 1)
+            .mapValue(i -> i + 1)
+            .orElseThrow();
+    }
+
+    static List<Integer> sequence() {
+
+        return Results.sequence(List.of(Result.of(() -> 1), Result.of(() -> 2), Result.of(() -> 3)))
+            .orElseThrow();
+    }
+
+    static Integer switchEvaluation() {
+
+        Switch<Integer, Integer> instance = Switch.of(List.of(
+            Case.of(i -> i < 0, i -> -1),
+            Case.of(i -> i >= 0, i -> 1)
+        ));
+
+        SwitchSupplier<Integer, Integer> supplier = () -> instance;
+
+        return Result.of(() -> 1)
+            .map(supplier)
+            .orElseThrow();
+    }
+}
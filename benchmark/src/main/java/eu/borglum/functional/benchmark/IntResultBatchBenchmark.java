@@ -0,0 +1,108 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.IntResultBatch;
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.ResultBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the branch-free arithmetic and range filter of an {@link IntResultBatch} with the general
+ * {@link IntResultBatch#map} and with a {@link ResultBatch} of boxed values. Every hundredth element is a
+ * {@code failure}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class IntResultBatchBenchmark {
+
+    private static final IllegalStateException EXCEPTION = new IllegalStateException("failure");
+
+    private static final Function<Integer, Integer> ADD = value -> value + 7;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private IntResultBatch primitive;
+
+    private ResultBatch<Integer> boxed;
+
+    @Setup
+    public void setUp() {
+
+        List<Result<Integer>> results = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            int value = i;
+
+            results.add(i % 100 == 0 ? Result.of(() -> {
+                throw EXCEPTION;
+            }) : Result.of(() -> value));
+        }
+
+        primitive = IntResultBatch.of(results);
+
+        boxed = ResultBatch.of(results);
+    }
+
+    @Benchmark
+    public IntResultBatch primitiveAdd() {
+
+        return primitive.add(7);
+    }
+
+    @Benchmark
+    public IntResultBatch primitiveMap() {
+
+        return primitive.map(value -> value + 7);
+    }
+
+    @Benchmark
+    public ResultBatch<Integer> boxedMap() {
+
+        return boxed.map(ADD);
+    }
+
+    @Benchmark
+    public IntResultBatch primitiveFilterRange() {
+
+        return primitive.filterRange(size / 4, size / 2);
+    }
+
+    @Benchmark
+    public IntResultBatch primitiveFilter() {
+
+        int min = size / 4;
+
+        int max = size / 2;
+
+        return primitive.filter(value -> value >= min && value <= max);
+    }
+
+    @Benchmark
+    public ResultBatch<Integer> boxedFilter() {
+
+        int min = size / 4;
+
+        int max = size / 2;
+
+        return boxed.filter(value -> value >= min && value <= max);
+    }
+}
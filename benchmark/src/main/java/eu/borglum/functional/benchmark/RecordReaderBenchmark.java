@@ -0,0 +1,104 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.RecordReader;
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.ResultParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares summing the valid integers of a file of lines with {@link RecordReader} and {@link ResultParsers}, which
+ * parse the memory-mapped bytes in place, with {@link Files#lines(Path)} and {@link Integer#parseInt(String)} wrapped
+ * in {@link Result#of}, which decode every line into a {@link String} first.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RecordReaderBenchmark {
+
+    @Param({"1000000"})
+    public int lines;
+
+    @Param({"0", "10"})
+    public int invalidPercent;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        file = Files.createTempFile("records", ".txt");
+
+        Random random = new Random(42);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(random.nextInt() + (random.nextInt(100) < invalidPercent ? "x" : ""));
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long filesLines() throws IOException {
+
+        try (Stream<String> stream = Files.lines(file)) {
+            return stream.map(line -> Result.of(() -> Integer.parseInt(line)))
+                .mapToLong(RecordReaderBenchmark::orZero)
+                .sum();
+        }
+    }
+
+    @Benchmark
+    public long recordReader() throws IOException {
+
+        try (RecordReader<Integer> reader = RecordReader.lines(file, ResultParsers.ints()::parse)) {
+            return reader.stream()
+                .mapToLong(RecordReaderBenchmark::orZero)
+                .sum();
+        }
+    }
+
+    @Benchmark
+    public long recordReaderParallel() throws IOException {
+
+        try (RecordReader<Integer> reader = RecordReader.lines(file, ResultParsers.ints()::parse)) {
+            return reader.stream()
+                .parallel()
+                .mapToLong(RecordReaderBenchmark::orZero)
+                .sum();
+        }
+    }
+
+    private static long orZero(Result<Integer> result) {
+
+        return result.recoverValue(Exception.class, e -> 0).orElseThrow();
+    }
+}
@@ -0,0 +1,110 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Partition;
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.ResultBatch;
+import eu.borglum.functional.core.Results;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares bulk operations on a {@link ResultBatch} with the same operations applied to every {@link Result} of a
+ * list. Every hundredth element is a {@code failure}, so the sparse failure table is never empty.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultBatchBenchmark {
+
+    private static final IllegalStateException EXCEPTION = new IllegalStateException("failure");
+
+    private static final Function<Integer, Integer> INCREMENT = value -> value + 1;
+
+    private static final Function<IllegalStateException, Integer> RECOVERY = e -> 0;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private List<Result<Integer>> list;
+
+    private ResultBatch<Integer> batch;
+
+    @Setup
+    public void setUp() {
+
+        list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            int value = i;
+
+            list.add(i % 100 == 0 ? Result.of(() -> {
+                throw EXCEPTION;
+            }) : Result.of(() -> value));
+        }
+
+        batch = ResultBatch.of(list);
+    }
+
+    @Benchmark
+    public ResultBatch<Integer> batchMap() {
+
+        return batch.map(INCREMENT);
+    }
+
+    @Benchmark
+    public List<Result<Integer>> listMap() {
+
+        List<Result<Integer>> mapped = new ArrayList<>(list.size());
+        for (Result<Integer> result : list) {
+            mapped.add(result.map(INCREMENT));
+        }
+
+        return mapped;
+    }
+
+    @Benchmark
+    public ResultBatch<Integer> batchRecover() {
+
+        return batch.recover(IllegalStateException.class, RECOVERY);
+    }
+
+    @Benchmark
+    public List<Result<Integer>> listRecover() {
+
+        List<Result<Integer>> recovered = new ArrayList<>(list.size());
+        for (Result<Integer> result : list) {
+            recovered.add(result.recover(IllegalStateException.class, RECOVERY));
+        }
+
+        return recovered;
+    }
+
+    @Benchmark
+    public Partition<Integer> batchPartition() {
+
+        return batch.partition();
+    }
+
+    @Benchmark
+    public Partition<Integer> listPartition() {
+
+        return Results.partition(list);
+    }
+}
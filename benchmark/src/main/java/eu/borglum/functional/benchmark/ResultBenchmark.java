@@ -0,0 +1,136 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures every operator of {@link Result} on both the success and the failure path, selected by the
+ * {@code path} parameter. Run with {@code -prof gc} to get the allocation rate next to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultBenchmark {
+
+    private static final IllegalStateException EXCEPTION = new IllegalStateException("failure");
+
+    private static final Function<Integer, Integer> INCREMENT = i -> i + 1;
+
+    @Param({"success", "failure"})
+    public String path;
+
+    private Result<Integer> result;
+
+    private Integer value;
+
+    @Setup
+    public void setUp() {
+
+        value = 1_000;
+
+        result = "success".equals(path) ? Result.of(() -> value) : Result.of(() -> {
+            throw EXCEPTION;
+        });
+    }
+
+    @Benchmark
+    public Result<Integer> of() {
+
+        return "success".equals(path) ? Result.of(() -> value) : Result.of(() -> {
+            throw EXCEPTION;
+        });
+    }
+
+    @Benchmark
+    public Result<Integer> ofOptional() {
+
+        return "success".equals(path) ? Result.ofOptional(() -> Optional.of(value)) : Result.ofOptional(() -> {
+            throw EXCEPTION;
+        });
+    }
+
+    @Benchmark
+    public Result<Integer> ofValue() {
+
+        return "success".equals(path) ? Result.ofValue(() -> value) : Result.ofValue(() -> {
+            throw EXCEPTION;
+        });
+    }
+
+    @Benchmark
+    public Result<Integer> filter() {
+
+        return result.filter(i -> i > 0);
+    }
+
+    @Benchmark
+    public Result<Integer> flatMap() {
+
+        return result.flatMap(i -> Result.ofValue(() -> i + 1));
+    }
+
+    @Benchmark
+    public Result<Integer> map() {
+
+        return result.map(INCREMENT);
+    }
+
+    @Benchmark
+    public Result<Integer> mapFailure() {
+
+        return result.mapFailure(IllegalStateException.class, e -> new IllegalArgumentException(e.getMessage()));
+    }
+
+    @Benchmark
+    public Result<Integer> mapOptional() {
+
+        return result.mapOptional(i -> Optional.of(i + 1));
+    }
+
+    @Benchmark
+    public Result<Integer> mapValue() {
+
+        return result.mapValue(i -> i + 1);
+    }
+
+    @Benchmark
+    public Result<Integer> recover() {
+
+        return result.recover(IllegalStateException.class, (Function<IllegalStateException, Integer>) e -> value);
+    }
+
+    @Benchmark
+    public Result<Integer> recoverOptional() {
+
+        return result.recoverOptional(IllegalStateException.class, e -> Optional.of(value));
+    }
+
+    @Benchmark
+    public Result<Integer> recoverValue() {
+
+        return result.recoverValue(IllegalStateException.class, e -> value);
+    }
+
+    @Benchmark
+    public Integer recoverValueOrElseThrow() {
+
+        return result.recoverValue(IllegalStateException.class, e -> value).orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.ResultParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ResultParsers} with wrapping the parse methods of the JDK in {@link Result#of}, on inputs where
+ * a given percentage is invalid, e.g. because of a stray character.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(ResultParsersBenchmark.INPUTS)
+public class ResultParsersBenchmark {
+
+    static final int INPUTS = 1024;
+
+    @Param({"0", "10", "50"})
+    public int invalidPercent;
+
+    private String[] ints;
+
+    private String[] doubles;
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(42);
+
+        ints = new String[INPUTS];
+
+        doubles = new String[INPUTS];
+
+        for (int i = 0; i < INPUTS; i++) {
+            boolean invalid = random.nextInt(100) < invalidPercent;
+
+            String suffix = invalid ? "x" : "";
+
+            ints[i] = random.nextInt() + suffix;
+
+            doubles[i] = random.nextInt(1_000_000) + "." + random.nextInt(1000) + suffix;
+        }
+    }
+
+    @Benchmark
+    public void jdkInts(Blackhole blackhole) {
+
+        for (String input : ints) {
+            blackhole.consume(Result.of(() -> Integer.parseInt(input)));
+        }
+    }
+
+    @Benchmark
+    public void parserInts(Blackhole blackhole) {
+
+        for (String input : ints) {
+            blackhole.consume(ResultParsers.ints().parse(input));
+        }
+    }
+
+    @Benchmark
+    public void jdkDoubles(Blackhole blackhole) {
+
+        for (String input : doubles) {
+            blackhole.consume(Result.of(() -> Double.parseDouble(input)));
+        }
+    }
+
+    @Benchmark
+    public void parserDoubles(Blackhole blackhole) {
+
+        for (String input : doubles) {
+            blackhole.consume(ResultParsers.doubles().parse(input));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.ResultStream;
+import eu.borglum.functional.core.Results;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares a chain of {@code mapValue}, {@code filter} and {@code recoverValue} applied to every {@link Result} of a
+ * {@link java.util.stream.Stream}, which creates a {@link Result} per element and operation, with the same chain
+ * fused by {@link ResultStream}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultStreamBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private List<Integer> values;
+
+    @Setup
+    public void setUp() {
+
+        values = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Result<List<Integer>> streamOfResults() {
+
+        return Results.sequence(values.stream()
+            .map(value -> Result.of(() -> value))
+            .map(result -> result.mapValue(value -> value * 3))
+            .map(result -> result.filter(value -> value % 2 == 0))
+            .map(result -> result.recoverValue(IllegalStateException.class, e -> -1))
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public Result<List<Integer>> resultStream() {
+
+        return ResultStream.ofValues(values.stream())
+            .mapValue(value -> value * 3)
+            .filter(value -> value % 2 == 0)
+            .recover(IllegalStateException.class, e -> -1)
+            .toList();
+    }
+}
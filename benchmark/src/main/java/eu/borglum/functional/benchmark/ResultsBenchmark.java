@@ -0,0 +1,83 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.Results;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link Results#sequence} of lists, sets and streams of different sizes. On the failure path the last
+ * {@link Result} is a {@code failure}, so the whole input is still traversed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ResultsBenchmark {
+
+    private static final IllegalStateException EXCEPTION = new IllegalStateException("failure");
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"success", "failure"})
+    public String path;
+
+    private List<Result<Integer>> list;
+
+    private Set<Result<Integer>> set;
+
+    @Setup
+    public void setUp() {
+
+        list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            int value = i;
+
+            boolean fail = "failure".equals(path) && i == size - 1;
+
+            list.add(fail ? Result.of(() -> {
+                throw EXCEPTION;
+            }) : Result.of(() -> value));
+        }
+
+        set = new HashSet<>(list);
+    }
+
+    @Benchmark
+    public Result<List<Integer>> sequenceList() {
+
+        return Results.sequence(list);
+    }
+
+    @Benchmark
+    public Result<Set<Integer>> sequenceSet() {
+
+        return Results.sequence(set);
+    }
+
+    @Benchmark
+    public Result<Stream<Integer>> sequenceStream() {
+
+        return Results.sequence(list.stream());
+    }
+}
@@ -0,0 +1,143 @@
+package eu.borglum.functional.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * A workload scenario of the {@link WorkloadHarness}, described by a small {@code .properties} file. Every key is
+ * optional:
+ * <ul>
+ *     <li>{@code name} - the name printed in the report.</li>
+ *     <li>{@code records} - the number of records to parse, 10,000,000 by default.</li>
+ *     <li>{@code warmupRecords} - the number of records parsed before measuring, 1,000,000 by default.</li>
+ *     <li>{@code fanOut} - the number of fields of every record, each parsed into its own {@code Result} and
+ *     combined with {@code Results.sequence}, 4 by default.</li>
+ *     <li>{@code failureRate} - the fraction of fields that are malformed, 0.01 by default.</li>
+ *     <li>{@code recoverableRate} - the fraction of malformed fields the recovery switch can recover, 0.5 by
+ *     default.</li>
+ *     <li>{@code threads} - the number of platform threads, the number of processors by default.</li>
+ *     <li>{@code virtualThreads} - run every chunk of records on its own virtual thread instead, false by
+ *     default. It requires a JVM with virtual threads.</li>
+ *     <li>{@code chunkSize} - the number of records handed to a thread at a time, 10,000 by default.</li>
+ *     <li>{@code seed} - the seed of the generated records, 42 by default.</li>
+ * </ul>
+ */
+final class Scenario {
+
+    private final String name;
+
+    private final long records;
+
+    private final long warmupRecords;
+
+    private final int fanOut;
+
+    private final double failureRate;
+
+    private final double recoverableRate;
+
+    private final int threads;
+
+    private final boolean virtualThreads;
+
+    private final int chunkSize;
+
+    private final long seed;
+
+    private Scenario(Properties properties) {
+
+        this.name = properties.getProperty("name", "default");
+
+        this.records = Long.parseLong(properties.getProperty("records", "10000000"));
+
+        this.warmupRecords = Long.parseLong(properties.getProperty("warmupRecords", "1000000"));
+
+        this.fanOut = Integer.parseInt(properties.getProperty("fanOut", "4"));
+
+        this.failureRate = Double.parseDouble(properties.getProperty("failureRate", "0.01"));
+
+        this.recoverableRate = Double.parseDouble(properties.getProperty("recoverableRate", "0.5"));
+
+        this.threads = Integer.parseInt(
+            properties.getProperty("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        this.virtualThreads = Boolean.parseBoolean(properties.getProperty("virtualThreads", "false"));
+
+        this.chunkSize = Integer.parseInt(properties.getProperty("chunkSize", "10000"));
+
+        this.seed = Long.parseLong(properties.getProperty("seed", "42"));
+
+        if (records <= 0 || warmupRecords < 0 || fanOut <= 0 || threads <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("The record, fan-out, thread and chunk counts must be positive");
+        }
+
+        if (failureRate < 0 || failureRate > 1 || recoverableRate < 0 || recoverableRate > 1) {
+            throw new IllegalArgumentException("The failure and recoverable rates must be between 0 and 1");
+        }
+    }
+
+    static Scenario load(Path path) throws IOException {
+
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        return new Scenario(properties);
+    }
+
+    String getName() {
+
+        return name;
+    }
+
+    long getRecords() {
+
+        return records;
+    }
+
+    long getWarmupRecords() {
+
+        return warmupRecords;
+    }
+
+    int getFanOut() {
+
+        return fanOut;
+    }
+
+    double getFailureRate() {
+
+        return failureRate;
+    }
+
+    double getRecoverableRate() {
+
+        return recoverableRate;
+    }
+
+    int getThreads() {
+
+        return threads;
+    }
+
+    boolean isVirtualThreads() {
+
+        return virtualThreads;
+    }
+
+    int getChunkSize() {
+
+        return chunkSize;
+    }
+
+    long getSeed() {
+
+        return seed;
+    }
+}
@@ -0,0 +1,47 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.Results;
+import eu.borglum.functional.core.Switch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first call of {@link Result#of}, {@link Results#sequence(List)} and a {@link Switch} evaluation in a
+ * fresh JVM, i.e. including class loading, linking and initialization of the library, but not the start of the JVM
+ * itself. Every fork measures a single call. {@link FirstCall} measures the same from the start of the process and
+ * can also be built as a native image.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    @Benchmark
+    public Integer firstResultOf() {
+
+        return FirstCall.resultOf();
+    }
+
+    @Benchmark
+    public List<Integer> firstSequence() {
+
+        return FirstCall.sequence();
+    }
+
+    @Benchmark
+    public Integer firstSwitch() {
+
+        return FirstCall.switchEvaluation();
+    }
+}
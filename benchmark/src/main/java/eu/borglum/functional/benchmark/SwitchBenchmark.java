@@ -0,0 +1,104 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Case;
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.Switch;
+import eu.borglum.functional.core.SwitchSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation of a {@link Switch} with different case counts, where only the last {@link Case} matches.
+ * The success path evaluates the {@link Switch} through {@link Result#map(SwitchSupplier)} and the failure path
+ * through {@link Result#orElseRecover(SwitchSupplier)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SwitchBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int cases;
+
+    private Result<Integer> success;
+
+    private Result<Integer> failure;
+
+    private SwitchSupplier<Integer, Integer> valueSwitch;
+
+    private SwitchSupplier<Exception, Integer> exceptionSwitch;
+
+    @Setup
+    public void setUp() {
+
+        int last = cases - 1;
+
+        success = Result.of(() -> last);
+
+        failure = Result.of(() -> {
+            throw new IndexedException(last);
+        });
+
+        List<Case<Integer, Integer>> valueCases = new ArrayList<>(cases);
+
+        List<Case<Exception, Integer>> exceptionCases = new ArrayList<>(cases);
+
+        for (int i = 0; i < cases; i++) {
+            int index = i;
+
+            valueCases.add(Case.of(value -> value == index, value -> value + 1));
+
+            exceptionCases.add(Case.of(
+                exception -> exception instanceof IndexedException && ((IndexedException) exception).index == index,
+                exception -> index));
+        }
+
+        Switch<Integer, Integer> valueInstance = Switch.of(valueCases);
+
+        Switch<Exception, Integer> exceptionInstance = Switch.of(exceptionCases);
+
+        valueSwitch = () -> valueInstance;
+
+        exceptionSwitch = () -> exceptionInstance;
+    }
+
+    @Benchmark
+    public Result<Integer> mapSwitch() {
+
+        return success.map(valueSwitch);
+    }
+
+    @Benchmark
+    public Integer orElseRecoverSwitch() {
+
+        return failure.orElseRecover(exceptionSwitch);
+    }
+
+    private static final class IndexedException extends RuntimeException {
+
+        private final int index;
+
+        private IndexedException(int index) {
+
+            super("case " + index, null, false, false);
+
+            this.index = index;
+        }
+    }
+}
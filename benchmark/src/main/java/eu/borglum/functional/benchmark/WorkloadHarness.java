@@ -0,0 +1,280 @@
+package eu.borglum.functional.benchmark;
+
+import eu.borglum.functional.core.Case;
+import eu.borglum.functional.core.HistogramSnapshot;
+import eu.borglum.functional.core.LatencyHistogram;
+import eu.borglum.functional.core.Result;
+import eu.borglum.functional.core.Results;
+import eu.borglum.functional.core.Switch;
+import eu.borglum.functional.core.SwitchSupplier;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A macro load test replaying a {@link Scenario} of parsing records with {@link Result} pipelines under sustained
+ * load. Every record consists of {@code fanOut} fields that are parsed into a {@link Result} each, recovered through
+ * a {@link Switch} where possible and combined with {@link Results#sequence(List)}. The report contains the
+ * throughput, the p50, p99 and p99.9 latency of a record, the allocation per record and the GC totals of the
+ * measurement.
+ * <p>
+ * Usage: {@code java -cp benchmark/target/benchmarks.jar eu.borglum.functional.benchmark.WorkloadHarness
+ * benchmark/scenarios/parse-records.properties}
+ */
+public final class WorkloadHarness {
+
+    private static final int FIELD_POOL_SIZE = 1 << 16;
+
+    private static final SwitchSupplier<Exception, Long> RECOVERY = recoverySwitch();
+
+    private final Scenario scenario;
+
+    private final String[] fields;
+
+    private final LongAdder successes = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private volatile boolean allocationSupported = true;
+
+    private volatile LatencyHistogram latency = LatencyHistogram.create();
+
+    private WorkloadHarness(Scenario scenario) {
+
+        this.scenario = scenario;
+
+        this.fields = generateFields(scenario);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+
+        if (args.length != 1) {
+            System.err.println("Usage: WorkloadHarness <scenario.properties>");
+            System.exit(2);
+        }
+
+        Path path = Paths.get(args[0]);
+
+        new WorkloadHarness(Scenario.load(path)).run(System.out);
+    }
+
+    private void run(PrintStream out) throws InterruptedException, ExecutionException {
+
+        ExecutorService executor = createExecutor();
+
+        try {
+            if (scenario.getWarmupRecords() > 0) {
+                execute(executor, scenario.getWarmupRecords());
+            }
+
+            successes.reset();
+            failures.reset();
+            allocatedBytes.reset();
+            latency = LatencyHistogram.create();
+
+            long gcCountBefore = gcCount();
+            long gcTimeBefore = gcTime();
+
+            long start = System.nanoTime();
+
+            execute(executor, scenario.getRecords());
+
+            long elapsed = System.nanoTime() - start;
+
+            report(out, elapsed, gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private void execute(ExecutorService executor, long records) throws InterruptedException, ExecutionException {
+
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (long from = 0; from < records; from += scenario.getChunkSize()) {
+            long first = from;
+            long last = Math.min(records, from + scenario.getChunkSize());
+
+            futures.add(executor.submit(() -> parseChunk(first, last)));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void parseChunk(long first, long last) {
+
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+        LatencyHistogram histogram = latency;
+
+        long succeeded = 0;
+
+        for (long record = first; record < last; record++) {
+            long start = System.nanoTime();
+
+            Result<Long> result = parseRecord(record);
+
+            histogram.record(System.nanoTime() - start);
+
+            if (result.recoverValue(Exception.class, e -> -1L).orElseThrow() >= 0) {
+                succeeded++;
+            }
+        }
+
+        long allocatedAfter = threads.getThreadAllocatedBytes(threadId);
+
+        if (allocatedBefore < 0 || allocatedAfter < 0) {
+            allocationSupported = false;
+        } else {
+            allocatedBytes.add(allocatedAfter - allocatedBefore);
+        }
+
+        successes.add(succeeded);
+        failures.add(last - first - succeeded);
+    }
+
+    private Result<Long> parseRecord(long record) {
+
+        List<Result<Long>> parsed = new ArrayList<>(scenario.getFanOut());
+
+        for (int i = 0; i < scenario.getFanOut(); i++) {
+            String field = fields[(int) ((record * scenario.getFanOut() + i) & (FIELD_POOL_SIZE - 1))];
+
+            parsed.add(Result.of(() -> Result.of(() -> parseField(field)).orElseRecover(RECOVERY)));
+        }
+
+        return Results.sequence(parsed)
+            .mapValue(values -> values.stream().mapToLong(Long::longValue).sum());
+    }
+
+    private void report(PrintStream out, long elapsedNanos, long gcCount, long gcTimeMillis) {
+
+        HistogramSnapshot snapshot = latency.snapshot();
+
+        long records = scenario.getRecords();
+
+        out.println(String.format(Locale.ROOT, "scenario=%s records=%d fanOut=%d failureRate=%s threads=%s",
+            scenario.getName(), records, scenario.getFanOut(), scenario.getFailureRate(),
+            scenario.isVirtualThreads() ? "virtual" : String.valueOf(scenario.getThreads())));
+
+        out.println(String.format(Locale.ROOT, "throughput=%.1f records/s elapsed=%.3f s successes=%d failures=%d",
+            records / (elapsedNanos / 1e9), elapsedNanos / 1e9, successes.sum(), failures.sum()));
+
+        out.println(String.format(Locale.ROOT, "latency p50=%d p99=%d p99.9=%d max=%d mean=%.1f ns",
+            snapshot.getValueAtPercentile(50), snapshot.getValueAtPercentile(99),
+            snapshot.getValueAtPercentile(99.9), snapshot.getMax(), snapshot.getMean()));
+
+        out.println(allocationSupported
+            ? String.format(Locale.ROOT, "allocation=%.1f B/record", (double) allocatedBytes.sum() / records)
+            : "allocation=n/a");
+
+        out.println(String.format(Locale.ROOT, "gc count=%d time=%d ms", gcCount, gcTimeMillis));
+    }
+
+    private ExecutorService createExecutor() {
+
+        if (!scenario.isVirtualThreads()) {
+            return Executors.newFixedThreadPool(scenario.getThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "workload");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        try {
+            //looked up reflectively so that the harness still compiles for and runs on a JVM without virtual threads
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM", e);
+        }
+    }
+
+    private static long parseField(String field) {
+
+        if (field.isEmpty()) {
+            throw new MissingFieldException();
+        }
+
+        return Long.parseLong(field);
+    }
+
+    private static String[] generateFields(Scenario scenario) {
+
+        SplittableRandom random = new SplittableRandom(scenario.getSeed());
+
+        String[] fields = new String[FIELD_POOL_SIZE];
+
+        for (int i = 0; i < FIELD_POOL_SIZE; i++) {
+            if (random.nextDouble() >= scenario.getFailureRate()) {
+                fields[i] = Long.toString(random.nextInt(1_000_000));
+            } else if (random.nextDouble() < scenario.getRecoverableRate()) {
+                fields[i] = "";
+            } else {
+                fields[i] = "n/a";
+            }
+        }
+
+        return fields;
+    }
+
+    private static SwitchSupplier<Exception, Long> recoverySwitch() {
+
+        Switch<Exception, Long> recovery = Switch.of(List.of(
+            Case.of(exception -> exception instanceof MissingFieldException, exception -> 0L)
+        ));
+
+        return () -> recovery;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    private static long gcCount() {
+
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+            .filter(count -> count > 0)
+            .sum();
+    }
+
+    private static long gcTime() {
+
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+            .filter(time -> time > 0)
+            .sum();
+    }
+
+    private static final class MissingFieldException extends RuntimeException {
+
+        private MissingFieldException() {
+
+            super("The field is missing");
+        }
+    }
+}
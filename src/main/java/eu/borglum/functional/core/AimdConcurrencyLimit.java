@@ -0,0 +1,54 @@
+package eu.borglum.functional.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class AimdConcurrencyLimit implements ConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+
+    AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                         double backoffRatio) {
+
+        this.minLimit = minLimit;
+
+        this.maxLimit = maxLimit;
+
+        this.latencyThresholdNanos = latencyThresholdNanos;
+
+        this.backoffRatio = backoffRatio;
+
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    @Override
+    public int getLimit() {
+
+        return limit.get();
+    }
+
+    @Override
+    public void onSuccess(long latencyNanos, int inFlight) {
+
+        int current = limit.get();
+
+        int next;
+        if (latencyNanos > latencyThresholdNanos) {
+            next = Math.max(minLimit, (int) (current * backoffRatio));
+        } else if (inFlight * 2 >= current) {
+            next = Math.min(maxLimit, current + 1);
+        } else {
+            return;
+        }
+
+        //losing the race to another sample is fine, since the limit is only ever an estimate
+        limit.compareAndSet(current, next);
+    }
+}
@@ -0,0 +1,441 @@
+package eu.borglum.functional.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+public final class BatchingSink<T> implements AutoCloseable {
+
+    private final Function<? super List<T>, ? extends List<? extends Result<T>>> writer;
+
+    private final Consumer<? super Exception> failureHandler;
+
+    private final ConcurrencyLimit batchSize;
+
+    private final long maxDelayNanos;
+
+    private final long maxBytes;
+
+    private final ToLongFunction<? super T> sizeEstimator;
+
+    /**
+     * The pending values, which are offered by the submitters and only ever polled by the flusher.
+     */
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The oldest pending value, which the flusher has polled and taken but not yet written, as it did not fit in
+     * the byte budget of the last batch or is waiting for the next. It is only accessed by the flusher.
+     */
+    private Entry<T> carried;
+
+    /**
+     * The number and the estimated bytes of the pending values, which are only used to decide when to wake the
+     * flusher. They might briefly be behind the queue, as they are updated after it.
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final Thread flusher;
+
+    private volatile boolean closed;
+
+    private BatchingSink(Function<? super List<T>, ? extends List<? extends Result<T>>> writer,
+                         Consumer<? super Exception> failureHandler, ConcurrencyLimit batchSize, long maxDelayNanos,
+                         long maxBytes, ToLongFunction<? super T> sizeEstimator) {
+
+        this.writer = writer;
+
+        this.failureHandler = failureHandler;
+
+        this.batchSize = batchSize;
+
+        this.maxDelayNanos = maxDelayNanos;
+
+        this.maxBytes = maxBytes;
+
+        this.sizeEstimator = sizeEstimator;
+
+        this.flusher = new Thread(this::run, "functional-batching-sink");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Create a {@link BatchingSink} that writes the values of the submitted {@code successes} in batches of at most
+     * {@code maxBatchSize} values. A batch is written as soon as it is full, or when its oldest value has waited for
+     * the {@code maxDelay}.
+     * <p>
+     * The {@code writer} is given the values of a batch in the order they were submitted and must return a
+     * {@link Result} for each of them in the same order, which completes the {@link CompletionStage} returned to the
+     * submitter of the value. If the {@code writer} throws an {@link Exception} or returns a {@link List} of another
+     * size, every value of the batch is completed with a {@code failure} holding it. The batches are written one at
+     * a time by a single thread owned by the {@link BatchingSink}, which is started when the first value is
+     * submitted.
+     *
+     * @param writer         the {@link Function} writing a batch of values.
+     * @param failureHandler the {@link Consumer} of the {@link Exception} of the submitted {@code failures}.
+     * @param maxBatchSize   the largest number of values in a batch.
+     * @param maxDelay       the longest {@link Duration} a value waits before its batch is written.
+     * @param <U>            the type of the values.
+     * @return a new {@link BatchingSink}.
+     * @throws IllegalArgumentException if the {@code maxBatchSize} or the {@code maxDelay} is not positive.
+     * @throws NullPointerException     if the {@code writer}, the {@code failureHandler} or the {@code maxDelay} is
+     *                                  {@code null}.
+     * @since 1.0
+     */
+    public static <U> BatchingSink<U> of(Function<? super List<U>, ? extends List<? extends Result<U>>> writer,
+                                         Consumer<? super Exception> failureHandler, int maxBatchSize,
+                                         Duration maxDelay) {
+
+        return of(writer, failureHandler, ConcurrencyLimit.fixed(maxBatchSize), maxDelay);
+    }
+
+    /**
+     * Create a {@link BatchingSink} like {@link #of(Function, Consumer, int, Duration)}, where the largest number of
+     * values in a batch is given by the {@link ConcurrencyLimit}. The {@link ConcurrencyLimit} is told the latency
+     * of every batch that is written without throwing an {@link Exception} and the number of values in it, so
+     * {@link ConcurrencyLimit#aimd(int, int, int, Duration, double)} shrinks the batches while writing them is
+     * slower than its latency threshold and grows them again while full batches are written faster.
+     *
+     * @param writer         the {@link Function} writing a batch of values.
+     * @param failureHandler the {@link Consumer} of the {@link Exception} of the submitted {@code failures}.
+     * @param batchSize      the {@link ConcurrencyLimit} of the number of values in a batch.
+     * @param maxDelay       the longest {@link Duration} a value waits before its batch is written.
+     * @param <U>            the type of the values.
+     * @return a new {@link BatchingSink}.
+     * @throws IllegalArgumentException if the {@code maxDelay} is not positive.
+     * @throws NullPointerException     if the {@code writer}, the {@code failureHandler}, the {@code batchSize} or
+     *                                  the {@code maxDelay} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> BatchingSink<U> of(Function<? super List<U>, ? extends List<? extends Result<U>>> writer,
+                                         Consumer<? super Exception> failureHandler, ConcurrencyLimit batchSize,
+                                         Duration maxDelay) {
+
+        Objects.requireNonNull(writer);
+
+        Objects.requireNonNull(failureHandler);
+
+        Objects.requireNonNull(batchSize);
+
+        Objects.requireNonNull(maxDelay);
+
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("The max delay must be positive");
+        }
+
+        return new BatchingSink<>(writer, failureHandler, batchSize, maxDelay.toNanos(), Long.MAX_VALUE,
+            value -> 0);
+    }
+
+    /**
+     * Create a {@link BatchingSink} like this one that also writes a batch as soon as the estimated size of its
+     * values reaches {@code maxBytes}. A single value larger than {@code maxBytes} is written in a batch of its
+     * own. The {@code sizeEstimator} is applied by the thread submitting the value.
+     *
+     * @param maxBytes      the largest estimated number of bytes in a batch.
+     * @param sizeEstimator the {@link ToLongFunction} estimating the number of bytes of a value.
+     * @return a new {@link BatchingSink}.
+     * @throws IllegalArgumentException if the {@code maxBytes} is not positive.
+     * @throws NullPointerException     if the {@code sizeEstimator} is {@code null}.
+     * @since 1.0
+     */
+    public BatchingSink<T> withByteBudget(long maxBytes, ToLongFunction<? super T> sizeEstimator) {
+
+        Objects.requireNonNull(sizeEstimator);
+
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The max bytes must be positive");
+        }
+
+        return new BatchingSink<>(writer, failureHandler, batchSize, maxDelayNanos, maxBytes, sizeEstimator);
+    }
+
+    /**
+     * Submit the {@link Result} to be written. The value of a {@code success} is added to the next batch, and the
+     * returned {@link CompletionStage} is completed by the flusher with the {@link Result} of writing it, so
+     * dependent actions that are not asynchronous are run by the flusher and delay the next batch. A
+     * {@code failure} is handed to the {@code failureHandler} by the calling thread, and a {@code failure} or a
+     * {@code success} without a value is returned completed with the submitted {@link Result}.
+     * <p>
+     * Submitting never blocks, as the pending values are kept in a lock-free queue.
+     *
+     * @param result the {@link Result} to write.
+     * @return the {@link CompletionStage} of the {@link Result} of writing the value.
+     * @throws IllegalStateException if the {@link BatchingSink} has been closed.
+     * @since 1.0
+     */
+    public CompletionStage<Result<T>> submit(Result<T> result) {
+
+        InternalResult<T> internal = InternalResult.of(result);
+
+        if (closed) {
+            throw new IllegalStateException("The sink has been closed");
+        }
+
+        if (internal.isFailure()) {
+            failureHandler.accept(internal.getCause());
+
+            return CompletableFuture.completedFuture(result);
+        }
+
+        T value = internal.getOptional().orElse(null);
+
+        if (value == null) {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        start();
+
+        Entry<T> entry = new Entry<>(value, sizeEstimator.applyAsLong(value), System.nanoTime());
+
+        pending.offer(entry);
+
+        int count = pendingCount.incrementAndGet();
+
+        long bytes = pendingBytes.addAndGet(entry.bytes);
+
+        //the flusher is woken when it has to start waiting for the delay or when a batch has filled up
+        if (count == 1 || count == batchSize.getLimit() || (bytes >= maxBytes && bytes - entry.bytes < maxBytes)) {
+            LockSupport.unpark(flusher);
+        }
+
+        //the flusher might have stopped before the value was offered, in which case it will never take it
+        if (closed && entry.abandon()) {
+            entry.future.complete(Failure.create(new IllegalStateException("The sink has been closed")));
+        }
+
+        return entry.future;
+    }
+
+    /**
+     * @return the largest number of values in the next batch.
+     * @since 1.0
+     */
+    public int getBatchSize() {
+
+        return batchSize.getLimit();
+    }
+
+    /**
+     * Close the {@link BatchingSink} and wait for the pending values to be written. Submitting a {@link Result}
+     * afterwards throws an {@link IllegalStateException}. If the calling thread is interrupted while waiting, the
+     * pending values are still written, but the interrupt status is set and it returns before they are.
+     *
+     * @since 1.0
+     */
+    @Override
+    public void close() {
+
+        closed = true;
+
+        if (!started.get() || Thread.currentThread() == flusher) {
+            return;
+        }
+
+        LockSupport.unpark(flusher);
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void start() {
+
+        if (!started.get() && started.compareAndSet(false, true)) {
+            flusher.start();
+        }
+    }
+
+    private void run() {
+
+        while (true) {
+            //closed is read before the queue, so a value offered by a submitter that saw it open is written
+            boolean closing = closed;
+
+            Entry<T> oldest = head();
+
+            if (oldest == null) {
+                if (closing) {
+                    return;
+                }
+
+                //a bounded wait guards against a wake-up lost while the counters are behind the queue
+                LockSupport.parkNanos(this, maxDelayNanos);
+
+                continue;
+            }
+
+            long waited = System.nanoTime() - oldest.enqueuedNanos;
+
+            if (closing || waited >= maxDelayNanos || pendingCount.get() >= batchSize.getLimit()
+                || pendingBytes.get() >= maxBytes) {
+                flush();
+            } else {
+                LockSupport.parkNanos(this, maxDelayNanos - waited);
+            }
+        }
+    }
+
+    private void flush() {
+
+        int limit = Math.max(1, batchSize.getLimit());
+
+        List<Entry<T>> entries = new ArrayList<>(Math.min(limit, 1024));
+
+        List<T> values = new ArrayList<>(Math.min(limit, 1024));
+
+        long bytes = 0;
+
+        Entry<T> entry;
+        while (entries.size() < limit && (entry = head()) != null) {
+            if (!entries.isEmpty() && bytes + entry.bytes > maxBytes) {
+                break;
+            }
+
+            carried = null;
+
+            entries.add(entry);
+
+            values.add(entry.value);
+
+            bytes += entry.bytes;
+        }
+
+        pendingCount.addAndGet(-entries.size());
+
+        pendingBytes.addAndGet(-bytes);
+
+        long start = System.nanoTime();
+
+        List<? extends Result<T>> results;
+        try {
+            results = writer.apply(Collections.unmodifiableList(values));
+
+            if (results.size() != entries.size()) {
+                throw new IllegalStateException("The writer returned " + results.size() + " results for "
+                    + entries.size() + " values");
+            }
+        } catch (Exception e) {
+            Result<T> failure = Failure.create(e);
+
+            for (Entry<T> failed : entries) {
+                failed.future.complete(failure);
+            }
+
+            return;
+        }
+
+        batchSize.onSuccess(System.nanoTime() - start, entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+            Result<T> result = results.get(i);
+
+            entries.get(i).future.complete(result == null
+                ? Failure.create(new NullPointerException("The writer returned a null result"))
+                : result);
+        }
+    }
+
+    /**
+     * @return the oldest pending value that has been taken by the flusher, or {@code null} if there is none. Values
+     * abandoned by their submitters are skipped.
+     */
+    private Entry<T> head() {
+
+        while (carried == null) {
+            Entry<T> entry = pending.poll();
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry.take()) {
+                carried = entry;
+            } else {
+                pendingCount.decrementAndGet();
+
+                pendingBytes.addAndGet(-entry.bytes);
+            }
+        }
+
+        return carried;
+    }
+
+    private static final class Entry<T> {
+
+        private static final int PENDING = 0;
+
+        private static final int TAKEN = 1;
+
+        private static final int ABANDONED = 2;
+
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(Entry.class, "state", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final T value;
+
+        private final long bytes;
+
+        private final long enqueuedNanos;
+
+        private final CompletableFuture<Result<T>> future = new CompletableFuture<>();
+
+        @SuppressWarnings("unused")
+        private volatile int state;
+
+        private Entry(T value, long bytes, long enqueuedNanos) {
+
+            this.value = value;
+
+            this.bytes = bytes;
+
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        /**
+         * @return {@code true} if the flusher has taken the value, which it then always writes, or {@code false} if
+         * the submitter has abandoned it.
+         */
+        private boolean take() {
+
+            return STATE.compareAndSet(this, PENDING, TAKEN);
+        }
+
+        /**
+         * @return {@code true} if the submitter has abandoned the value, which the flusher then never writes, or
+         * {@code false} if the flusher has taken it.
+         */
+        private boolean abandon() {
+
+            return STATE.compareAndSet(this, PENDING, ABANDONED);
+        }
+    }
+}
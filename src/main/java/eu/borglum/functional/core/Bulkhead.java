@@ -0,0 +1,291 @@
+package eu.borglum.functional.core;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class Bulkhead {
+
+    private final ConcurrencyLimit limit;
+
+    private final long maxWaitNanos;
+
+    private final QueueOrder queueOrder;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final Deque<Thread> waiters = new ConcurrentLinkedDeque<>();
+
+    private Bulkhead(ConcurrencyLimit limit, long maxWaitNanos, QueueOrder queueOrder) {
+
+        this.limit = limit;
+
+        this.maxWaitNanos = maxWaitNanos;
+
+        this.queueOrder = queueOrder;
+    }
+
+    /**
+     * A convenience method that does the same as {@link #of(ConcurrencyLimit, Duration, QueueOrder)} with a
+     * {@link ConcurrencyLimit#fixed(int)} limit where calls above the limit are rejected immediately.
+     *
+     * @param maxConcurrentCalls the number of calls that may be in flight.
+     * @return a new {@link Bulkhead}.
+     * @throws IllegalArgumentException if the {@code maxConcurrentCalls} is not positive.
+     * @since 1.0
+     */
+    public static Bulkhead of(int maxConcurrentCalls) {
+
+        return of(ConcurrencyLimit.fixed(maxConcurrentCalls), Duration.ZERO, QueueOrder.FIFO);
+    }
+
+    /**
+     * Create a {@link Bulkhead} that limits the number of calls in flight to the {@link ConcurrencyLimit}. A call
+     * above the limit waits at most {@code maxWait} for another call to complete before it is rejected.
+     *
+     * @param limit      the {@link ConcurrencyLimit} of the bulkhead.
+     * @param maxWait    the longest {@link Duration} a call waits for permission.
+     * @param queueOrder the {@link QueueOrder} in which waiting calls are permitted.
+     * @return a new {@link Bulkhead}.
+     * @throws NullPointerException     if the {@code limit}, the {@code maxWait} or the {@code queueOrder} is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException if the {@code maxWait} is negative.
+     * @since 1.0
+     */
+    public static Bulkhead of(ConcurrencyLimit limit, Duration maxWait, QueueOrder queueOrder) {
+
+        Objects.requireNonNull(limit);
+
+        Objects.requireNonNull(maxWait);
+
+        Objects.requireNonNull(queueOrder);
+
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("The max wait must not be negative");
+        }
+
+        return new Bulkhead(limit, maxWait.toNanos(), queueOrder);
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if the bulkhead permits the call. Otherwise a
+     * stackless {@link BulkheadFullException} is thrown, which {@link Result#map(Function)} turns into a
+     * {@code failure}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> call(() -> function.apply(value));
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if the bulkhead permits the call. Otherwise a
+     * {@code failure} containing a stackless {@link BulkheadFullException} is returned. Only a {@link Result}
+     * returned as a {@code success} is used to adapt the {@link ConcurrencyLimit}. It is intended to be used with
+     * {@link Result#flatMap(Function)}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value of the {@link Result} returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, Result<R>> decorateResultFunction(
+        Function<? super T, ? extends Result<? extends R>> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> {
+            int permitted = acquire();
+            if (permitted == 0) {
+                return Failure.create(BulkheadFullException.INSTANCE);
+            }
+
+            long start = System.nanoTime();
+
+            Result<? extends R> result;
+            try {
+                result = function.apply(value);
+            } finally {
+                release();
+            }
+
+            if (result != null && InternalResult.of(result).isSuccess()) {
+                limit.onSuccess(System.nanoTime() - start, permitted);
+            }
+
+            //noinspection unchecked
+            return (Result<R>) result;
+        };
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that it is only applied if the bulkhead permits the call. Otherwise a
+     * stackless {@link BulkheadFullException} is thrown, which {@link Result#of(Supplier)} turns into a
+     * {@code failure}.
+     *
+     * @param supplier the {@link Supplier} to decorate.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier} is {@code null}.
+     * @since 1.0
+     */
+    public <U> Supplier<U> decorateSupplier(Supplier<U> supplier) {
+
+        Objects.requireNonNull(supplier);
+
+        return () -> call(supplier);
+    }
+
+    /**
+     * @return the number of calls currently in flight.
+     * @since 1.0
+     */
+    public int getInFlight() {
+
+        return inFlight.get();
+    }
+
+    /**
+     * @return the number of calls currently permitted to be in flight.
+     * @since 1.0
+     */
+    public int getLimit() {
+
+        return limit.getLimit();
+    }
+
+    /**
+     * @return the number of calls that have been rejected since the bulkhead was created.
+     * @since 1.0
+     */
+    public long getRejected() {
+
+        return rejected.sum();
+    }
+
+    private <U> U call(Supplier<U> supplier) {
+
+        int permitted = acquire();
+        if (permitted == 0) {
+            throw BulkheadFullException.INSTANCE;
+        }
+
+        long start = System.nanoTime();
+
+        U value;
+        try {
+            value = supplier.get();
+        } finally {
+            release();
+        }
+
+        limit.onSuccess(System.nanoTime() - start, permitted);
+
+        return value;
+    }
+
+    /**
+     * @return the number of calls in flight including the permitted call or {@code 0} if the call was rejected.
+     */
+    private int acquire() {
+
+        if (waiters.isEmpty()) {
+            int permitted = tryAcquire();
+            if (permitted > 0) {
+                return permitted;
+            }
+        }
+
+        if (maxWaitNanos == 0) {
+            rejected.increment();
+
+            return 0;
+        }
+
+        return await();
+    }
+
+    private int await() {
+
+        Thread current = Thread.currentThread();
+
+        if (queueOrder == QueueOrder.FIFO) {
+            waiters.addLast(current);
+        } else {
+            waiters.addFirst(current);
+        }
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+
+        try {
+            while (true) {
+                if (waiters.peekFirst() == current) {
+                    int permitted = tryAcquire();
+                    if (permitted > 0) {
+                        return permitted;
+                    }
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || current.isInterrupted()) {
+                    rejected.increment();
+
+                    return 0;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            waiters.removeFirstOccurrence(current);
+
+            //the next waiter may have missed a release while this thread was at the head of the queue
+            signalNext();
+        }
+    }
+
+    private int tryAcquire() {
+
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return 0;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        return current + 1;
+    }
+
+    private void release() {
+
+        inFlight.decrementAndGet();
+
+        signalNext();
+    }
+
+    private void signalNext() {
+
+        Thread next = waiters.peekFirst();
+        if (next != null) {
+            LockSupport.unpark(next);
+        }
+    }
+}
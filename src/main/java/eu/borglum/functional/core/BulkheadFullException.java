@@ -0,0 +1,10 @@
+package eu.borglum.functional.core;
+
+public class BulkheadFullException extends RuntimeException {
+
+    static final BulkheadFullException INSTANCE = new BulkheadFullException("The bulkhead is full");
+
+    public BulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
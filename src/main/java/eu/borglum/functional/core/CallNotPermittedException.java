@@ -0,0 +1,10 @@
+package eu.borglum.functional.core;
+
+public class CallNotPermittedException extends RuntimeException {
+
+    static final CallNotPermittedException INSTANCE = new CallNotPermittedException("The circuit breaker is open");
+
+    public CallNotPermittedException(String message) {
+        super(message, null, false, false);
+    }
+}
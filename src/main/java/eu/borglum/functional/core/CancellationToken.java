@@ -0,0 +1,55 @@
+package eu.borglum.functional.core;
+
+import java.util.concurrent.CancellationException;
+
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    private CancellationToken() {
+        //does nothing
+    }
+
+    /**
+     * @return a new {@link CancellationToken} that has not been cancelled.
+     * @since 1.0
+     */
+    public static CancellationToken create() {
+
+        return new CancellationToken();
+    }
+
+    /**
+     * Cancel the token. Cancelling a token that has already been cancelled has no effect.
+     *
+     * @since 1.0
+     */
+    public void cancel() {
+
+        cancelled = true;
+    }
+
+    /**
+     * @return {@code true} if the token has been cancelled and {@code false} otherwise.
+     * @since 1.0
+     */
+    public boolean isCancelled() {
+
+        return cancelled;
+    }
+
+    /**
+     * A convenience method for long-running suppliers that should stop as soon as the token is cancelled. Thrown
+     * inside {@link Result#of}, {@link Result#map} or {@link Result#flatMap} it turns the step into a
+     * {@code failure}.
+     *
+     * @throws CancellationException if the token has been cancelled.
+     * @since 1.0
+     */
+    public void throwIfCancelled() {
+
+        if (cancelled) {
+            throw new CancellationException("The operation has been cancelled");
+        }
+    }
+}
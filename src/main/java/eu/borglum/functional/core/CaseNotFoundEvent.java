@@ -0,0 +1,39 @@
+package eu.borglum.functional.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("eu.borglum.functional.CaseNotFound")
+@Label("Case Not Found")
+@Description("A switch was evaluated and none of its cases matched the value")
+@Category({"Functional", "Switch"})
+final class CaseNotFoundEvent extends Event {
+
+    /**
+     * Only used to ask whether the event is enabled without allocating, see {@link SlowSupplierEvent}.
+     */
+    private static final CaseNotFoundEvent PROBE = new CaseNotFoundEvent();
+
+    @Label("Value Class")
+    Class<?> valueClass;
+
+    @Label("Case Count")
+    int caseCount;
+
+    static void emit(Object value, int caseCount) {
+
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+
+        CaseNotFoundEvent event = new CaseNotFoundEvent();
+        if (event.shouldCommit()) {
+            event.valueClass = value == null ? null : value.getClass();
+            event.caseCount = caseCount;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package eu.borglum.functional.core;
+
+import java.util.Objects;
+
+public final class Checkpoint {
+
+    static final Checkpoint START = new Checkpoint(0, 0, 0);
+
+    private final long offset;
+
+    private final long successes;
+
+    private final long failures;
+
+    Checkpoint(long offset, long successes, long failures) {
+
+        this.offset = offset;
+
+        this.successes = successes;
+
+        this.failures = failures;
+    }
+
+    /**
+     * @return the number of inputs that have been processed, which is the offset of the next input to process.
+     * @since 1.0
+     */
+    public long getOffset() {
+
+        return offset;
+    }
+
+    /**
+     * @return the number of inputs that have been processed into a {@code success}.
+     * @since 1.0
+     */
+    public long getSuccesses() {
+
+        return successes;
+    }
+
+    /**
+     * @return the number of inputs that have been processed into a {@code failure}.
+     * @since 1.0
+     */
+    public long getFailures() {
+
+        return failures;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Checkpoint checkpoint = (Checkpoint) o;
+
+        return offset == checkpoint.offset && successes == checkpoint.successes && failures == checkpoint.failures;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(offset, successes, failures);
+    }
+
+    @Override
+    public String toString() {
+
+        return "Checkpoint[offset=" + offset + ", successes=" + successes + ", failures=" + failures + "]";
+    }
+}
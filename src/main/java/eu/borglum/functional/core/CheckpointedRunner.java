@@ -0,0 +1,266 @@
+package eu.borglum.functional.core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class CheckpointedRunner implements AutoCloseable {
+
+    /**
+     * The offset, the number of successes, the number of failures and the checksum of a checkpoint.
+     */
+    private static final int SLOT_SIZE = 4 * Long.BYTES;
+
+    private static final long MAGIC = 0x52455355_4C54434BL;
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final MappedByteBuffer buffer;
+
+    private final int chunkSize;
+
+    private final long syncIntervalNanos;
+
+    private Checkpoint checkpoint;
+
+    /**
+     * The checkpoint is written to the two slots in turn, so that the slot of the previous checkpoint is intact if
+     * the process crashes while writing the next one.
+     */
+    private int slot;
+
+    private long lastSync;
+
+    private CheckpointedRunner(MappedByteBuffer buffer, int chunkSize, long syncIntervalNanos) {
+
+        this.buffer = buffer;
+
+        this.chunkSize = chunkSize;
+
+        this.syncIntervalNanos = syncIntervalNanos;
+
+        Checkpoint first = read(buffer, 0);
+
+        Checkpoint second = read(buffer, 1);
+
+        if (first == null && second == null) {
+            checkpoint = Checkpoint.START;
+        } else if (second == null || first != null && first.getOffset() >= second.getOffset()) {
+            checkpoint = first;
+            slot = 1;
+        } else {
+            checkpoint = second;
+        }
+
+        lastSync = System.nanoTime();
+    }
+
+    /**
+     * Open a {@link CheckpointedRunner} that records its progress in the checkpoint file, which is created if it
+     * does not exist. If the file holds a checkpoint from an earlier run, processing resumes after the last input of
+     * the last completed chunk.
+     * <p>
+     * The checkpoint is written to the memory-mapped file after every chunk, which costs a few stores, and the file
+     * is only written to the storage device once the {@code syncInterval} has passed since it was last written, so
+     * the interval bounds the work that is repeated after a crash of the operating system. A {@link Duration#ZERO}
+     * writes the file after every chunk.
+     *
+     * @param file         the checkpoint file.
+     * @param chunkSize    the number of inputs processed between two checkpoints.
+     * @param syncInterval the minimum {@link Duration} between two writes of the file to the storage device.
+     * @return a new {@link CheckpointedRunner}.
+     * @throws IOException              if the file cannot be created or mapped.
+     * @throws IllegalArgumentException if the {@code chunkSize} is less than {@code 1} or if the
+     *                                  {@code syncInterval} is negative.
+     * @throws NullPointerException     if the {@code file} or the {@code syncInterval} is {@code null}.
+     * @since 1.0
+     */
+    public static CheckpointedRunner open(Path file, int chunkSize, Duration syncInterval) throws IOException {
+
+        Objects.requireNonNull(file);
+
+        Objects.requireNonNull(syncInterval);
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be at least 1");
+        }
+
+        if (syncInterval.isNegative()) {
+            throw new IllegalArgumentException("The sync interval must not be negative");
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2 * SLOT_SIZE);
+        }
+
+        return new CheckpointedRunner(buffer, chunkSize, syncInterval.toNanos());
+    }
+
+    /**
+     * Process the inputs that have not been processed by an earlier run, in order. Every input is applied to the
+     * {@link Function}, and the {@link Result} is handed to the {@link Consumer} before the input counts as
+     * processed. An exception thrown by the {@link Function} is processed into a {@code failure}, whereas an
+     * exception thrown by the {@link Consumer} ends the run without checkpointing the current chunk.
+     * <p>
+     * The inputs of a chunk that was not checkpointed before a crash are processed again on restart, so the
+     * {@link Consumer} should be idempotent. The inputs must be in the same order in every run.
+     *
+     * @param inputs   the inputs to process.
+     * @param function the {@link Function} processing an input.
+     * @param consumer the {@link Consumer} of the {@link Result} of every input.
+     * @param <T>      the type of the inputs.
+     * @param <R>      the type of the values of the {@link Result}.
+     * @return the {@link Checkpoint} after processing every input.
+     * @throws NullPointerException if the {@code inputs}, the {@code function} or the {@code consumer} is
+     *                              {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Checkpoint run(Iterable<? extends T> inputs, Function<? super T, ? extends Result<R>> function,
+                                 Consumer<? super Result<R>> consumer) {
+
+        Objects.requireNonNull(inputs);
+
+        Objects.requireNonNull(function);
+
+        Objects.requireNonNull(consumer);
+
+        Iterator<? extends T> iterator = inputs.iterator();
+
+        long offset = checkpoint.getOffset();
+
+        for (long skipped = 0; skipped < offset; skipped++) {
+            if (!iterator.hasNext()) {
+                return checkpoint;
+            }
+
+            iterator.next();
+        }
+
+        long successes = checkpoint.getSuccesses();
+
+        long failures = checkpoint.getFailures();
+
+        int processed = 0;
+
+        while (iterator.hasNext()) {
+            Result<R> result = apply(function, iterator.next());
+
+            consumer.accept(result);
+
+            if (InternalResult.of(result).isFailure()) {
+                failures++;
+            } else {
+                successes++;
+            }
+
+            offset++;
+
+            if (++processed == chunkSize) {
+                save(offset, successes, failures);
+
+                processed = 0;
+            }
+        }
+
+        if (processed > 0) {
+            save(offset, successes, failures);
+        }
+
+        sync();
+
+        return checkpoint;
+    }
+
+    /**
+     * @return the {@link Checkpoint} of the last completed chunk.
+     * @since 1.0
+     */
+    public Checkpoint getCheckpoint() {
+
+        return checkpoint;
+    }
+
+    /**
+     * Write the checkpoint file to the storage device.
+     *
+     * @since 1.0
+     */
+    @Override
+    public void close() {
+
+        sync();
+    }
+
+    private static <T, R> Result<R> apply(Function<? super T, ? extends Result<R>> function, T input) {
+
+        try {
+            return Objects.requireNonNull(function.apply(input));
+        } catch (Exception e) {
+            return Failure.create(e);
+        }
+    }
+
+    private void save(long offset, long successes, long failures) {
+
+        int position = slot * SLOT_SIZE;
+
+        buffer.putLong(position, offset);
+        buffer.putLong(position + Long.BYTES, successes);
+        buffer.putLong(position + 2 * Long.BYTES, failures);
+        buffer.putLong(position + 3 * Long.BYTES, checksum(offset, successes, failures));
+
+        slot ^= 1;
+
+        checkpoint = new Checkpoint(offset, successes, failures);
+
+        if (System.nanoTime() - lastSync >= syncIntervalNanos) {
+            sync();
+        }
+    }
+
+    private void sync() {
+
+        buffer.force();
+
+        lastSync = System.nanoTime();
+    }
+
+    /**
+     * @return the {@link Checkpoint} of the slot, or {@code null} if the slot has not been written or was not
+     * completely written.
+     */
+    private static Checkpoint read(MappedByteBuffer buffer, int slot) {
+
+        int position = slot * SLOT_SIZE;
+
+        long offset = buffer.getLong(position);
+        long successes = buffer.getLong(position + Long.BYTES);
+        long failures = buffer.getLong(position + 2 * Long.BYTES);
+
+        if (buffer.getLong(position + 3 * Long.BYTES) != checksum(offset, successes, failures)) {
+            return null;
+        }
+
+        return new Checkpoint(offset, successes, failures);
+    }
+
+    private static long checksum(long offset, long successes, long failures) {
+
+        long hash = MAGIC;
+
+        hash = (hash ^ offset) * MULTIPLIER;
+        hash = (hash ^ successes) * MULTIPLIER;
+        hash = (hash ^ failures) * MULTIPLIER;
+
+        return hash ^ hash >>> 32;
+    }
+}
@@ -0,0 +1,325 @@
+package eu.borglum.functional.core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class CircuitBreaker {
+
+    private final CircuitBreakerConfig config;
+
+    private final SlidingWindow window;
+
+    private final long waitNanosInOpenState;
+
+    private final ClassValue<Boolean> ignored;
+
+    private final ClassValue<Boolean> recorded;
+
+    private final AtomicReference<Phase> phase;
+
+    private CircuitBreaker(CircuitBreakerConfig config) {
+
+        this.config = config;
+
+        this.window = config.createSlidingWindow();
+
+        this.waitNanosInOpenState = config.getWaitDurationInOpenState().toNanos();
+
+        this.ignored = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return config.getIgnoredExceptions().stream().anyMatch(c -> c.isAssignableFrom(type));
+            }
+        };
+
+        this.recorded = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return config.getRecordedExceptions().isEmpty() ||
+                    config.getRecordedExceptions().stream().anyMatch(c -> c.isAssignableFrom(type));
+            }
+        };
+
+        this.phase = new AtomicReference<>(Phase.closed());
+    }
+
+    /**
+     * @param config the {@link CircuitBreakerConfig} of the circuit breaker.
+     * @return a new {@link CircuitBreaker} that is initially {@link CircuitState#CLOSED}.
+     * @throws NullPointerException if the {@code config} is {@code null}.
+     * @since 1.0
+     */
+    public static CircuitBreaker of(CircuitBreakerConfig config) {
+
+        Objects.requireNonNull(config);
+
+        return new CircuitBreaker(config);
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if the circuit breaker permits the call. Otherwise a
+     * stackless {@link CallNotPermittedException} is thrown, which {@link Result#map(Function)} turns into a
+     * {@code failure}. The outcome of every applied call is recorded by the circuit breaker.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> call(() -> function.apply(value));
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if the circuit breaker permits the call. Otherwise a
+     * {@code failure} containing a stackless {@link CallNotPermittedException} is returned. A {@link Result}
+     * returned as a {@code failure} is recorded as a failed call. It is intended to be used with
+     * {@link Result#flatMap(Function)}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value of the {@link Result} returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, Result<R>> decorateResultFunction(
+        Function<? super T, ? extends Result<? extends R>> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> {
+            Phase acquired = acquirePermission();
+            if (acquired == null) {
+                return Failure.create(CallNotPermittedException.INSTANCE);
+            }
+
+            Result<? extends R> result;
+            try {
+                result = function.apply(value);
+            } catch (Throwable t) {
+                onError(acquired, t);
+                throw t;
+            }
+
+            InternalResult<? extends R> internalResult = InternalResult.of(Objects.requireNonNull(result));
+            if (internalResult.isFailure()) {
+                onError(acquired, internalResult.getCause());
+            } else {
+                onSuccess(acquired);
+            }
+
+            //noinspection unchecked
+            return (Result<R>) result;
+        };
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that it is only applied if the circuit breaker permits the call. Otherwise a
+     * stackless {@link CallNotPermittedException} is thrown, which {@link Result#of(Supplier)} turns into a
+     * {@code failure}. The outcome of every applied call is recorded by the circuit breaker.
+     *
+     * @param supplier the {@link Supplier} to decorate.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier} is {@code null}.
+     * @since 1.0
+     */
+    public <U> Supplier<U> decorateSupplier(Supplier<U> supplier) {
+
+        Objects.requireNonNull(supplier);
+
+        return () -> call(supplier);
+    }
+
+    /**
+     * @return the percentage of failed calls in the sliding window or {@code -1} if too few calls have been
+     * recorded to calculate it.
+     * @since 1.0
+     */
+    public float getFailureRate() {
+
+        return window.failureRate(config.getMinimumCalls());
+    }
+
+    /**
+     * @return the current {@link CircuitState} of the circuit breaker.
+     * @since 1.0
+     */
+    public CircuitState getState() {
+
+        return phase.get().state;
+    }
+
+    private <U> U call(Supplier<U> supplier) {
+
+        Phase acquired = acquirePermission();
+        if (acquired == null) {
+            throw CallNotPermittedException.INSTANCE;
+        }
+
+        U value;
+        try {
+            value = supplier.get();
+        } catch (Throwable t) {
+            onError(acquired, t);
+            throw t;
+        }
+
+        onSuccess(acquired);
+
+        return value;
+    }
+
+    private Phase acquirePermission() {
+
+        while (true) {
+            Phase current = phase.get();
+
+            switch (current.state) {
+                case CLOSED:
+                    return current;
+                case OPEN:
+                    if (System.nanoTime() - current.openedAt < waitNanosInOpenState) {
+                        return null;
+                    }
+
+                    phase.compareAndSet(current, Phase.halfOpen(config.getPermittedCallsInHalfOpenState()));
+                    break;
+                default:
+                    return current.tryAcquireTrialCall() ? current : null;
+            }
+        }
+    }
+
+    private void onError(Phase acquired, Throwable t) {
+
+        if (!(t instanceof Exception) || ignored.get(t.getClass())) {
+            acquired.releaseTrialCall();
+        } else {
+            onOutcome(acquired, recorded.get(t.getClass()));
+        }
+    }
+
+    private void onSuccess(Phase acquired) {
+
+        onOutcome(acquired, false);
+    }
+
+    private void onOutcome(Phase acquired, boolean failure) {
+
+        if (acquired.state == CircuitState.CLOSED) {
+            window.record(failure);
+
+            if (window.failureRate(config.getMinimumCalls()) >= config.getFailureRateThreshold()) {
+                open(acquired);
+            }
+        } else if (acquired.state == CircuitState.HALF_OPEN) {
+            float failureRate = acquired.recordTrialCall(failure);
+
+            if (failureRate >= config.getFailureRateThreshold()) {
+                open(acquired);
+            } else if (failureRate >= 0) {
+                close(acquired);
+            }
+        }
+    }
+
+    private void open(Phase from) {
+
+        phase.compareAndSet(from, Phase.open(System.nanoTime()));
+    }
+
+    private void close(Phase from) {
+
+        if (phase.compareAndSet(from, Phase.closed())) {
+            window.reset();
+        }
+    }
+
+    /**
+     * An immutable state of the circuit breaker. A new phase is installed on every transition so that outcomes of
+     * calls permitted in an earlier phase cannot affect a later one.
+     */
+    private static final class Phase {
+
+        private final CircuitState state;
+
+        private final long openedAt;
+
+        private final int permittedTrialCalls;
+
+        private final AtomicInteger trialPermits;
+
+        private final AtomicInteger trialCalls;
+
+        private final AtomicInteger trialFailures;
+
+        private Phase(CircuitState state, long openedAt, int permittedTrialCalls) {
+
+            this.state = state;
+
+            this.openedAt = openedAt;
+
+            this.permittedTrialCalls = permittedTrialCalls;
+
+            this.trialPermits = new AtomicInteger(permittedTrialCalls);
+
+            this.trialCalls = new AtomicInteger();
+
+            this.trialFailures = new AtomicInteger();
+        }
+
+        private static Phase closed() {
+
+            return new Phase(CircuitState.CLOSED, 0, 0);
+        }
+
+        private static Phase halfOpen(int permittedTrialCalls) {
+
+            return new Phase(CircuitState.HALF_OPEN, 0, permittedTrialCalls);
+        }
+
+        private static Phase open(long openedAt) {
+
+            return new Phase(CircuitState.OPEN, openedAt, 0);
+        }
+
+        private boolean tryAcquireTrialCall() {
+
+            int permits;
+            do {
+                permits = trialPermits.get();
+                if (permits <= 0) {
+                    return false;
+                }
+            } while (!trialPermits.compareAndSet(permits, permits - 1));
+
+            return true;
+        }
+
+        private void releaseTrialCall() {
+
+            if (state == CircuitState.HALF_OPEN) {
+                trialPermits.incrementAndGet();
+            }
+        }
+
+        private float recordTrialCall(boolean failure) {
+
+            int failures = failure ? trialFailures.incrementAndGet() : trialFailures.get();
+
+            int calls = trialCalls.incrementAndGet();
+
+            return calls < permittedTrialCalls ? -1 : failures * 100.0f / calls;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package eu.borglum.functional.core;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+public final class CircuitBreakerConfig {
+
+    private final boolean timeBased;
+
+    private final int windowSize;
+
+    private final int minimumCalls;
+
+    private final float failureRateThreshold;
+
+    private final Duration waitDurationInOpenState;
+
+    private final int permittedCallsInHalfOpenState;
+
+    private final Set<Class<? extends Exception>> recordedExceptions;
+
+    private final Set<Class<? extends Exception>> ignoredExceptions;
+
+    private CircuitBreakerConfig(boolean timeBased, int windowSize, int minimumCalls, float failureRateThreshold,
+                                 Duration waitDurationInOpenState, int permittedCallsInHalfOpenState,
+                                 Set<Class<? extends Exception>> recordedExceptions,
+                                 Set<Class<? extends Exception>> ignoredExceptions) {
+
+        this.timeBased = timeBased;
+
+        this.windowSize = windowSize;
+
+        this.minimumCalls = minimumCalls;
+
+        this.failureRateThreshold = failureRateThreshold;
+
+        this.waitDurationInOpenState = waitDurationInOpenState;
+
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+
+        this.recordedExceptions = recordedExceptions;
+
+        this.ignoredExceptions = ignoredExceptions;
+    }
+
+    /**
+     * Create a configuration where the failure rate is calculated from the outcome of the last {@code windowSize}
+     * calls. The circuit opens when half of the calls in a full window have failed and stays open for 60 seconds
+     * before 10 trial calls are permitted. Every {@link Exception} counts as a failure.
+     *
+     * @param windowSize the number of calls in the sliding window.
+     * @return a new {@link CircuitBreakerConfig}.
+     * @throws IllegalArgumentException if the {@code windowSize} is not positive.
+     * @since 1.0
+     */
+    public static CircuitBreakerConfig countBased(int windowSize) {
+
+        requirePositive(windowSize, "The window size must be positive");
+
+        return new CircuitBreakerConfig(false, windowSize, windowSize, 50.0f, Duration.ofSeconds(60), 10,
+            Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Create a configuration where the failure rate is calculated from the outcome of the calls made within the
+     * last {@code windowDuration}, rounded up to whole seconds. The circuit opens when half of at least 10 calls in
+     * the window have failed and stays open for 60 seconds before 10 trial calls are permitted. Every
+     * {@link Exception} counts as a failure.
+     *
+     * @param windowDuration the {@link Duration} of the sliding window.
+     * @return a new {@link CircuitBreakerConfig}.
+     * @throws NullPointerException     if the {@code windowDuration} is {@code null}.
+     * @throws IllegalArgumentException if the {@code windowDuration} is not positive.
+     * @since 1.0
+     */
+    public static CircuitBreakerConfig timeBased(Duration windowDuration) {
+
+        Objects.requireNonNull(windowDuration);
+
+        if (windowDuration.isNegative() || windowDuration.isZero()) {
+            throw new IllegalArgumentException("The window duration must be positive");
+        }
+
+        int seconds = (int) Math.min(Integer.MAX_VALUE, (windowDuration.toMillis() + 999) / 1000);
+
+        return new CircuitBreakerConfig(true, seconds, 10, 50.0f, Duration.ofSeconds(60), 10,
+            Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * @param failureRateThreshold the percentage of failed calls at or above which the circuit opens.
+     * @return a copy of the configuration with the given {@code failureRateThreshold}.
+     * @throws IllegalArgumentException if the {@code failureRateThreshold} is not within {@code (0, 100]}.
+     * @since 1.0
+     */
+    public CircuitBreakerConfig withFailureRateThreshold(float failureRateThreshold) {
+
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 100)) {
+            throw new IllegalArgumentException("The failure rate threshold must be within (0, 100]");
+        }
+
+        return new CircuitBreakerConfig(timeBased, windowSize, minimumCalls, failureRateThreshold,
+            waitDurationInOpenState, permittedCallsInHalfOpenState, recordedExceptions, ignoredExceptions);
+    }
+
+    /**
+     * @param minimumCalls the number of calls that must be recorded before the failure rate is calculated.
+     * @return a copy of the configuration with the given {@code minimumCalls}.
+     * @throws IllegalArgumentException if the {@code minimumCalls} is not positive.
+     * @since 1.0
+     */
+    public CircuitBreakerConfig withMinimumCalls(int minimumCalls) {
+
+        requirePositive(minimumCalls, "The minimum calls must be positive");
+
+        return new CircuitBreakerConfig(timeBased, windowSize, minimumCalls, failureRateThreshold,
+            waitDurationInOpenState, permittedCallsInHalfOpenState, recordedExceptions, ignoredExceptions);
+    }
+
+    /**
+     * @param waitDurationInOpenState the {@link Duration} the circuit stays open before trial calls are permitted.
+     * @return a copy of the configuration with the given {@code waitDurationInOpenState}.
+     * @throws NullPointerException     if the {@code waitDurationInOpenState} is {@code null}.
+     * @throws IllegalArgumentException if the {@code waitDurationInOpenState} is negative.
+     * @since 1.0
+     */
+    public CircuitBreakerConfig withWaitDurationInOpenState(Duration waitDurationInOpenState) {
+
+        Objects.requireNonNull(waitDurationInOpenState);
+
+        if (waitDurationInOpenState.isNegative()) {
+            throw new IllegalArgumentException("The wait duration in open state must not be negative");
+        }
+
+        return new CircuitBreakerConfig(timeBased, windowSize, minimumCalls, failureRateThreshold,
+            waitDurationInOpenState, permittedCallsInHalfOpenState, recordedExceptions, ignoredExceptions);
+    }
+
+    /**
+     * @param permittedCallsInHalfOpenState the number of trial calls permitted while the circuit is half open.
+     * @return a copy of the configuration with the given {@code permittedCallsInHalfOpenState}.
+     * @throws IllegalArgumentException if the {@code permittedCallsInHalfOpenState} is not positive.
+     * @since 1.0
+     */
+    public CircuitBreakerConfig withPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+
+        requirePositive(permittedCallsInHalfOpenState, "The permitted calls in half open state must be positive");
+
+        return new CircuitBreakerConfig(timeBased, windowSize, minimumCalls, failureRateThreshold,
+            waitDurationInOpenState, permittedCallsInHalfOpenState, recordedExceptions, ignoredExceptions);
+    }
+
+    /**
+     * @param recordedExceptions the {@link Exception} classes, including their subclasses, that count as failures.
+     *                           If empty every {@link Exception} that is not ignored counts as a failure.
+     * @return a copy of the configuration with the given {@code recordedExceptions}.
+     * @throws NullPointerException if the {@code recordedExceptions} is {@code null}.
+     * @since 1.0
+     */
+    public CircuitBreakerConfig withRecordedExceptions(Set<Class<? extends Exception>> recordedExceptions) {
+
+        Objects.requireNonNull(recordedExceptions);
+
+        return new CircuitBreakerConfig(timeBased, windowSize, minimumCalls, failureRateThreshold,
+            waitDurationInOpenState, permittedCallsInHalfOpenState, Set.copyOf(recordedExceptions),
+            ignoredExceptions);
+    }
+
+    /**
+     * @param ignoredExceptions the {@link Exception} classes, including their subclasses, that count as neither
+     *                          success nor failure. Ignoring takes precedence over recording.
+     * @return a copy of the configuration with the given {@code ignoredExceptions}.
+     * @throws NullPointerException if the {@code ignoredExceptions} is {@code null}.
+     * @since 1.0
+     */
+    public CircuitBreakerConfig withIgnoredExceptions(Set<Class<? extends Exception>> ignoredExceptions) {
+
+        Objects.requireNonNull(ignoredExceptions);
+
+        return new CircuitBreakerConfig(timeBased, windowSize, minimumCalls, failureRateThreshold,
+            waitDurationInOpenState, permittedCallsInHalfOpenState, recordedExceptions,
+            Set.copyOf(ignoredExceptions));
+    }
+
+    SlidingWindow createSlidingWindow() {
+
+        return timeBased ? new TimeBasedSlidingWindow(windowSize) : new CountBasedSlidingWindow(windowSize);
+    }
+
+    int getMinimumCalls() {
+
+        return minimumCalls;
+    }
+
+    float getFailureRateThreshold() {
+
+        return failureRateThreshold;
+    }
+
+    Duration getWaitDurationInOpenState() {
+
+        return waitDurationInOpenState;
+    }
+
+    int getPermittedCallsInHalfOpenState() {
+
+        return permittedCallsInHalfOpenState;
+    }
+
+    Set<Class<? extends Exception>> getRecordedExceptions() {
+
+        return recordedExceptions;
+    }
+
+    Set<Class<? extends Exception>> getIgnoredExceptions() {
+
+        return ignoredExceptions;
+    }
+
+    private static void requirePositive(int value, String message) {
+
+        if (value <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
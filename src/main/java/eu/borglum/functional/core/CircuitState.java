@@ -0,0 +1,19 @@
+package eu.borglum.functional.core;
+
+public enum CircuitState {
+
+    /**
+     * Calls are permitted and their outcomes are recorded in the sliding window.
+     */
+    CLOSED,
+
+    /**
+     * Calls are not permitted and fail immediately.
+     */
+    OPEN,
+
+    /**
+     * A limited number of trial calls are permitted to decide whether the circuit should be closed or opened again.
+     */
+    HALF_OPEN
+}
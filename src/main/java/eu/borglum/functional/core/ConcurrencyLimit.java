@@ -0,0 +1,77 @@
+package eu.borglum.functional.core;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public interface ConcurrencyLimit {
+
+    /**
+     * @return the number of calls that may currently be in flight.
+     * @since 1.0
+     */
+    int getLimit();
+
+    /**
+     * Called by the {@link Bulkhead} every time a call has completed successfully.
+     *
+     * @param latencyNanos the latency of the call in nanoseconds.
+     * @param inFlight     the number of calls in flight when the call was permitted, including the call itself.
+     * @since 1.0
+     */
+    void onSuccess(long latencyNanos, int inFlight);
+
+    /**
+     * Create a {@link ConcurrencyLimit} that never changes.
+     *
+     * @param limit the number of calls that may be in flight.
+     * @return a new {@link ConcurrencyLimit}.
+     * @throws IllegalArgumentException if the {@code limit} is not positive.
+     * @since 1.0
+     */
+    static ConcurrencyLimit fixed(int limit) {
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The limit must be positive");
+        }
+
+        return new FixedConcurrencyLimit(limit);
+    }
+
+    /**
+     * Create a {@link ConcurrencyLimit} that adapts using additive increase and multiplicative decrease. The limit
+     * is increased by one when a call completes faster than the {@code latencyThreshold} while the limit is being
+     * used, and it is multiplied by the {@code backoffRatio} when a call is slower than the
+     * {@code latencyThreshold}.
+     *
+     * @param initialLimit     the initial limit.
+     * @param minLimit         the lowest limit.
+     * @param maxLimit         the highest limit.
+     * @param latencyThreshold the latency above which the limit is decreased.
+     * @param backoffRatio     the ratio the limit is multiplied by when it is decreased.
+     * @return a new {@link ConcurrencyLimit}.
+     * @throws NullPointerException     if the {@code latencyThreshold} is {@code null}.
+     * @throws IllegalArgumentException if {@code 0 < minLimit <= initialLimit <= maxLimit} does not hold, if the
+     *                                  {@code latencyThreshold} is not positive or if the {@code backoffRatio} is
+     *                                  not within {@code (0, 1)}.
+     * @since 1.0
+     */
+    static ConcurrencyLimit aimd(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                 double backoffRatio) {
+
+        Objects.requireNonNull(latencyThreshold);
+
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("The limits must satisfy 0 < minLimit <= initialLimit <= maxLimit");
+        }
+
+        if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+            throw new IllegalArgumentException("The latency threshold must be positive");
+        }
+
+        if (!(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException("The backoff ratio must be within (0, 1)");
+        }
+
+        return new AimdConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(), backoffRatio);
+    }
+}
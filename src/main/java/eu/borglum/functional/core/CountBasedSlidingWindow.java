@@ -0,0 +1,75 @@
+package eu.borglum.functional.core;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class CountBasedSlidingWindow implements SlidingWindow {
+
+    private static final int EMPTY = 0;
+
+    private static final int SUCCESS = 1;
+
+    private static final int FAILURE = 2;
+
+    private final AtomicIntegerArray outcomes;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * The number of calls in the high 32 bits and the number of failures in the low 32 bits, so both can be
+     * updated and read together. The low half is read as a signed int since concurrent updates may make it
+     * transiently negative.
+     */
+    private final AtomicLong counts = new AtomicLong();
+
+    CountBasedSlidingWindow(int size) {
+
+        this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    @Override
+    public void record(boolean failure) {
+
+        int outcome = failure ? FAILURE : SUCCESS;
+
+        int index = (int) Long.remainderUnsigned(cursor.getAndIncrement(), outcomes.length());
+
+        int previous = outcomes.getAndSet(index, outcome);
+
+        long totalDelta = previous == EMPTY ? 1 : 0;
+
+        long failureDelta = (outcome == FAILURE ? 1 : 0) - (previous == FAILURE ? 1 : 0);
+
+        if (totalDelta != 0 || failureDelta != 0) {
+            counts.addAndGet((totalDelta << 32) + failureDelta);
+        }
+    }
+
+    @Override
+    public float failureRate(int minimumCalls) {
+
+        long packed = counts.get();
+
+        int failures = (int) packed;
+
+        long total = (packed - failures) >> 32;
+
+        if (total < Math.max(1, minimumCalls)) {
+            return -1;
+        }
+
+        return Math.max(0, failures) * 100.0f / total;
+    }
+
+    @Override
+    public void reset() {
+
+        for (int i = 0; i < outcomes.length(); i++) {
+            int previous = outcomes.getAndSet(i, EMPTY);
+
+            if (previous != EMPTY) {
+                counts.addAndGet(-(1L << 32) - (previous == FAILURE ? 1 : 0));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package eu.borglum.functional.core;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+public final class DeadLetter {
+
+    private final String key;
+
+    private final String exceptionClassName;
+
+    private final String message;
+
+    private final Instant timestamp;
+
+    DeadLetter(String key, String exceptionClassName, String message, Instant timestamp) {
+
+        this.key = key;
+
+        this.exceptionClassName = exceptionClassName;
+
+        this.message = message;
+
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the key of the input that failed.
+     * @since 1.0
+     */
+    public String getKey() {
+
+        return key;
+    }
+
+    /**
+     * @return the name of the {@link Class} of the {@link Exception} of the {@code failure}. The name is kept instead
+     * of the {@link Class}, so that a {@link DeadLetter} can be replayed where the {@link Class} cannot be loaded.
+     * @since 1.0
+     */
+    public String getExceptionClassName() {
+
+        return exceptionClassName;
+    }
+
+    /**
+     * @return the message of the {@link Exception} of the {@code failure}, if any.
+     * @since 1.0
+     */
+    public Optional<String> getMessage() {
+
+        return Optional.ofNullable(message);
+    }
+
+    /**
+     * @return the {@link Instant} the {@code failure} was appended, in milliseconds.
+     * @since 1.0
+     */
+    public Instant getTimestamp() {
+
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DeadLetter deadLetter = (DeadLetter) o;
+
+        return key.equals(deadLetter.key) && exceptionClassName.equals(deadLetter.exceptionClassName)
+            && Objects.equals(message, deadLetter.message) && timestamp.equals(deadLetter.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(key, exceptionClassName, message, timestamp);
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("DeadLetter[key=%s,exceptionClassName=%s,message=%s,timestamp=%s]",
+            key, exceptionClassName, message, timestamp);
+    }
+}
@@ -0,0 +1,625 @@
+package eu.borglum.functional.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class DeadLetterLog implements Iterable<DeadLetter>, AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+    private static final String SUFFIX = ".dlq";
+
+    /**
+     * The length of an entry is written last with release semantics, so a reader that sees a length also sees the
+     * entry. A length of {@code 0} has not been written yet and {@link #END_OF_SEGMENT} means that the rest of the
+     * segment is unused.
+     */
+    private static final VarHandle LENGTH = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final int END_OF_SEGMENT = -1;
+
+    private static final int NO_MESSAGE = -1;
+
+    private static final long MIN_PARK_NANOS = 1_000;
+
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    /**
+     * The length, timestamp, key length, exception class name length and message length of an entry.
+     */
+    private static final int ENTRY_HEADER = Integer.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES + Integer.BYTES;
+
+    private static final ClassValue<byte[]> CLASS_NAMES = new ClassValue<>() {
+
+        @Override
+        protected byte[] computeValue(Class<?> type) {
+
+            return type.getName().getBytes(StandardCharsets.UTF_8);
+        }
+    };
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    /**
+     * Maps the next segment ahead of time and writes a full segment to the storage device, so that neither is done
+     * on the append path.
+     */
+    private final ExecutorService background;
+
+    private volatile Segment current;
+
+    /**
+     * The segment that follows the current one, which is being mapped by the background thread. It is replaced
+     * before the current segment is, so the producer that rolls the current segment never takes the same one.
+     */
+    private volatile CompletableFuture<Segment> next;
+
+    private volatile RuntimeException broken;
+
+    private volatile boolean closed;
+
+    private DeadLetterLog(Path directory, int segmentSize, Segment current) {
+
+        this.directory = directory;
+
+        this.segmentSize = segmentSize;
+
+        this.background = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "functional-dead-letter-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.current = current;
+
+        this.next = prepare(current.index + 1);
+    }
+
+    /**
+     * A convenience method that does the same as {@link #open(Path, int)} with segments of 64 MiB.
+     *
+     * @param directory the directory of the segments.
+     * @return a new {@link DeadLetterLog}.
+     * @throws IOException          if the directory cannot be created or the first segment cannot be mapped.
+     * @throws NullPointerException if the {@code directory} is {@code null}.
+     * @since 1.0
+     */
+    public static DeadLetterLog open(Path directory) throws IOException {
+
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open an append-only log of {@code failures} and the keys of the inputs that failed, kept off the heap in
+     * memory-mapped segment files of a fixed size in the directory. Entries already in the directory are kept and
+     * new entries are appended to a new segment. The segment after the current one is always mapped ahead of time,
+     * so the directory holds an empty segment at the end.
+     * <p>
+     * An entry holds the key, the name of the {@link Class} and the message of the {@link Exception}, and the time
+     * it was appended. The stack trace is not kept.
+     *
+     * @param directory   the directory of the segments. It is created if it does not exist.
+     * @param segmentSize the size in bytes of a segment, which limits the size of an entry. It is rounded up to a
+     *                    multiple of {@code 4}.
+     * @return a new {@link DeadLetterLog}.
+     * @throws IOException              if the directory cannot be created or the first segment cannot be mapped.
+     * @throws IllegalArgumentException if the {@code segmentSize} is less than {@code 64}.
+     * @throws NullPointerException     if the {@code directory} is {@code null}.
+     * @since 1.0
+     */
+    public static DeadLetterLog open(Path directory, int segmentSize) throws IOException {
+
+        Objects.requireNonNull(directory);
+
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("The segment size must be at least 64");
+        }
+
+        Files.createDirectories(directory);
+
+        List<Path> segments = segments(directory);
+
+        int next = segments.isEmpty() ? 0 : index(segments.get(segments.size() - 1)) + 1;
+
+        int alignedSize = (int) Math.min(align(segmentSize), Integer.MAX_VALUE & ~3);
+
+        return new DeadLetterLog(directory, alignedSize, Segment.create(directory, next, alignedSize));
+    }
+
+    /**
+     * Append the {@code failure} of the input with the key to the log, if the {@link Result} is a {@code failure}.
+     *
+     * @param key    the key of the input.
+     * @param result the {@link Result} of the input.
+     * @return {@code true} if the {@link Result} is a {@code failure} and it was appended.
+     * @throws NullPointerException if the {@code key} or the {@code result} is {@code null}.
+     * @see #append(String, Exception)
+     * @since 1.0
+     */
+    public boolean append(String key, Result<?> result) {
+
+        Objects.requireNonNull(key);
+
+        InternalResult<?> internal = InternalResult.of(result);
+
+        if (!internal.isFailure()) {
+            return false;
+        }
+
+        append(key, internal.getCause());
+
+        return true;
+    }
+
+    /**
+     * Append the {@link Exception} of the input with the key to the log. Appends are lock-free: a producer reserves
+     * the space of its entry with a single atomic add and writes the entry in place, and only the producer whose
+     * entry does not fit in the current segment switches to the next one, which has been mapped ahead of time by
+     * a background thread. The other producers that do not fit park until it has. A segment is written to the
+     * storage device by the background thread once every entry of it has been written.
+     *
+     * @param key   the key of the input.
+     * @param cause the {@link Exception} of the input.
+     * @throws IllegalArgumentException if the entry is larger than a segment.
+     * @throws IllegalStateException    if the log has been closed.
+     * @throws NullPointerException     if the {@code key} or the {@code cause} is {@code null}.
+     * @throws UncheckedIOException     if the next segment cannot be mapped.
+     * @since 1.0
+     */
+    public void append(String key, Exception cause) {
+
+        Objects.requireNonNull(key);
+
+        Objects.requireNonNull(cause);
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+        byte[] className = CLASS_NAMES.get(cause.getClass());
+
+        String message = cause.getMessage();
+
+        byte[] messageBytes = message == null ? null : message.getBytes(StandardCharsets.UTF_8);
+
+        long length = align(
+            (long) ENTRY_HEADER + keyBytes.length + className.length + (messageBytes == null ? 0 : messageBytes.length)
+        );
+
+        if (length > segmentSize - Integer.BYTES) {
+            throw new IllegalArgumentException("The entry of the key '" + key + "' is larger than a segment");
+        }
+
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("The dead letter log has been closed");
+            }
+
+            Segment segment = current;
+
+            long start = segment.reserved.getAndAdd(length);
+
+            if (start + length <= segmentSize) {
+                write(segment.buffer, (int) start, (int) length, keyBytes, className, messageBytes);
+
+                written(segment, length);
+
+                return;
+            }
+
+            if (start <= segmentSize) {
+                roll(segment, start);
+            } else {
+                awaitRoll(segment);
+            }
+        }
+    }
+
+    /**
+     * Replay the entries of the log through the {@link Switch} of the {@link SwitchSupplier}, in the same way as
+     * {@link Result#map(SwitchSupplier)}. An entry that is not matched by any {@link Case} is replayed into a
+     * {@code failure} holding a {@link CaseNotFoundException}.
+     *
+     * @param supplier the {@link SwitchSupplier} of the recovery.
+     * @param <R>      the type of the recovered values.
+     * @return an {@link Iterator} of the {@link Result} of every entry.
+     * @throws NullPointerException if the {@code supplier} is {@code null}.
+     * @since 1.0
+     */
+    public <R> Iterator<Result<R>> replay(SwitchSupplier<? super DeadLetter, ? extends R> supplier) {
+
+        Objects.requireNonNull(supplier);
+
+        Iterator<DeadLetter> deadLetters = iterator();
+
+        return new Iterator<>() {
+
+            private Switch<? super DeadLetter, ? extends R> recovery;
+
+            @Override
+            public boolean hasNext() {
+
+                return deadLetters.hasNext();
+            }
+
+            @Override
+            public Result<R> next() {
+
+                DeadLetter deadLetter = deadLetters.next();
+
+                if (recovery == null) {
+                    recovery = supplier.get();
+                }
+
+                return Result.ofValue(() -> recovery.evaluateRequired(deadLetter));
+            }
+        };
+    }
+
+    /**
+     * Iterate the entries of the log in the order of the segments, and within a segment in the order their space
+     * was reserved. The segments are read lazily, so only the current entry is on the heap. An entry that is still
+     * being written, or was never finished because of a crash, ends the iteration of its segment, so the log should
+     * be read once the producers have finished.
+     *
+     * @return an {@link Iterator} of the entries of the log.
+     * @throws UncheckedIOException if the segments cannot be listed or mapped.
+     * @since 1.0
+     */
+    @Override
+    public Iterator<DeadLetter> iterator() {
+
+        try {
+            return new DeadLetterIterator(segments(directory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the entries of the current segment to the storage device.
+     *
+     * @since 1.0
+     */
+    public void force() {
+
+        current.buffer.force();
+    }
+
+    /**
+     * Write the entries of the current segment to the storage device and reject further appends. The full
+     * segments that are still being written by the background thread are written before the method returns.
+     *
+     * @since 1.0
+     */
+    @Override
+    public void close() {
+
+        closed = true;
+
+        background.shutdown();
+
+        force();
+
+        try {
+            while (!background.awaitTermination(1, TimeUnit.SECONDS)) {
+                //the background thread finishes the tasks submitted before the shutdown
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void roll(Segment segment, long start) {
+
+        if (start + Integer.BYTES <= segmentSize) {
+            LENGTH.setRelease(segment.buffer, (int) start, END_OF_SEGMENT);
+        }
+
+        //nobody writes the rest of the segment, so it counts as written
+        if (start < segmentSize) {
+            written(segment, segmentSize - start);
+        }
+
+        Segment following;
+        try {
+            following = next.join();
+        } catch (CompletionException e) {
+            broken = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+
+            throw broken;
+        }
+
+        next = prepare(following.index + 1);
+
+        current = following;
+    }
+
+    private void awaitRoll(Segment segment) {
+
+        long parkNanos = MIN_PARK_NANOS;
+
+        while (current == segment) {
+            RuntimeException failure = broken;
+
+            if (failure != null) {
+                throw failure;
+            }
+
+            //the producer that rolls the segment normally only takes the segment that was mapped ahead of time, but
+            //it may have to wait for the mapping, so the other producers back off instead of spinning
+            LockSupport.parkNanos(parkNanos);
+
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    private CompletableFuture<Segment> prepare(int index) {
+
+        CompletableFuture<Segment> segment = new CompletableFuture<>();
+
+        try {
+            background.execute(() -> {
+                try {
+                    segment.complete(Segment.create(directory, index, segmentSize));
+                } catch (IOException e) {
+                    segment.completeExceptionally(new UncheckedIOException(e));
+                } catch (RuntimeException e) {
+                    segment.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            segment.completeExceptionally(new IllegalStateException("The dead letter log has been closed"));
+        }
+
+        return segment;
+    }
+
+    /**
+     * Count the bytes of the segment as written, and once all of them are, write the segment to the storage device
+     * on the background thread.
+     */
+    private void written(Segment segment, long length) {
+
+        if (segment.written.addAndGet(length) != segmentSize) {
+            return;
+        }
+
+        try {
+            background.execute(segment.buffer::force);
+        } catch (RejectedExecutionException e) {
+            //the log has been closed, so there is no background thread to do it
+            segment.buffer.force();
+        }
+    }
+
+    private static void write(MappedByteBuffer buffer, int start, int length, byte[] key, byte[] className,
+                              byte[] message) {
+
+        int position = start + Integer.BYTES;
+
+        buffer.putLong(position, System.currentTimeMillis());
+        position += Long.BYTES;
+
+        buffer.putInt(position, key.length);
+        position = put(buffer, position + Integer.BYTES, key);
+
+        buffer.putShort(position, (short) className.length);
+        position = put(buffer, position + Short.BYTES, className);
+
+        buffer.putInt(position, message == null ? NO_MESSAGE : message.length);
+        if (message != null) {
+            put(buffer, position + Integer.BYTES, message);
+        }
+
+        LENGTH.setRelease(buffer, start, length);
+    }
+
+    private static int put(ByteBuffer buffer, int position, byte[] bytes) {
+
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(position + i, bytes[i]);
+        }
+
+        return position + bytes.length;
+    }
+
+    private static long align(long length) {
+
+        return (length + 3) & ~3L;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static int index(Path segment) {
+
+        String name = segment.getFileName().toString();
+
+        return Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode, long size, StandardOpenOption... options)
+        throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, size < 0 ? channel.size() : size);
+        }
+    }
+
+    private static final class Segment {
+
+        private final int index;
+
+        private final MappedByteBuffer buffer;
+
+        private final AtomicLong reserved = new AtomicLong();
+
+        /**
+         * The number of bytes whose entries have been written, including the unused rest of the segment once it has
+         * been rolled.
+         */
+        private final AtomicLong written = new AtomicLong();
+
+        private Segment(int index, MappedByteBuffer buffer) {
+
+            this.index = index;
+
+            this.buffer = buffer;
+        }
+
+        private static Segment create(Path directory, int index, int size) throws IOException {
+
+            Path file = directory.resolve(String.format("%010d%s", index, SUFFIX));
+
+            MappedByteBuffer buffer = map(file, FileChannel.MapMode.READ_WRITE, size, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            return new Segment(index, buffer);
+        }
+    }
+
+    private static final class DeadLetterIterator implements Iterator<DeadLetter> {
+
+        private final Iterator<Path> segments;
+
+        private MappedByteBuffer buffer;
+
+        private int position;
+
+        private DeadLetter next;
+
+        private DeadLetterIterator(List<Path> segments) {
+
+            this.segments = new ArrayList<>(segments).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (next == null) {
+                next = read();
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public DeadLetter next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            DeadLetter deadLetter = next;
+
+            next = null;
+
+            return deadLetter;
+        }
+
+        private DeadLetter read() {
+
+            while (true) {
+                if (buffer == null || position + Integer.BYTES > buffer.capacity()) {
+                    if (!segments.hasNext()) {
+                        return null;
+                    }
+
+                    nextSegment();
+
+                    continue;
+                }
+
+                int length = (int) LENGTH.getAcquire(buffer, position);
+
+                if (length == END_OF_SEGMENT || length == 0) {
+                    position = buffer.capacity();
+                } else {
+                    DeadLetter deadLetter = decode(buffer, position);
+
+                    position += length;
+
+                    return deadLetter;
+                }
+            }
+        }
+
+        private void nextSegment() {
+
+            try {
+                buffer = map(segments.next(), FileChannel.MapMode.READ_ONLY, -1, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            position = 0;
+        }
+
+        private static DeadLetter decode(ByteBuffer buffer, int start) {
+
+            int position = start + Integer.BYTES;
+
+            Instant timestamp = Instant.ofEpochMilli(buffer.getLong(position));
+            position += Long.BYTES;
+
+            int keyLength = buffer.getInt(position);
+            String key = string(buffer, position + Integer.BYTES, keyLength);
+            position += Integer.BYTES + keyLength;
+
+            int classNameLength = Short.toUnsignedInt(buffer.getShort(position));
+            String className = string(buffer, position + Short.BYTES, classNameLength);
+            position += Short.BYTES + classNameLength;
+
+            int messageLength = buffer.getInt(position);
+            String message = messageLength == NO_MESSAGE
+                ? null
+                : string(buffer, position + Integer.BYTES, messageLength);
+
+            return new DeadLetter(key, className, message, timestamp);
+        }
+
+        private static String string(ByteBuffer buffer, int position, int length) {
+
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + i);
+            }
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
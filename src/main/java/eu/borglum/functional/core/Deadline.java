@@ -0,0 +1,189 @@
+package eu.borglum.functional.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class Deadline implements AutoCloseable {
+
+    private final long deadlineNanos;
+
+    private final CancellationToken token;
+
+    private final Timeout timeout;
+
+    private Deadline(long deadlineNanos, CancellationToken token, Timeout timeout) {
+
+        this.deadlineNanos = deadlineNanos;
+
+        this.token = token;
+
+        this.timeout = timeout;
+    }
+
+    /**
+     * A convenience method that does the same as {@link #after(Duration, HashedWheelTimer)} using the
+     * {@link HashedWheelTimer#shared()} timer.
+     *
+     * @param budget the time that may be spent before the {@link Deadline} expires.
+     * @return a new {@link Deadline}.
+     * @throws NullPointerException if the {@code budget} is {@code null}.
+     * @since 1.0
+     */
+    public static Deadline after(Duration budget) {
+
+        return after(budget, HashedWheelTimer.shared());
+    }
+
+    /**
+     * Create a {@link Deadline} that expires when the {@code budget} has been spent. When the {@link Deadline}
+     * expires its {@link CancellationToken} is cancelled by the {@link HashedWheelTimer}, so that long-running
+     * suppliers observing the token can stop early.
+     *
+     * @param budget the time that may be spent before the {@link Deadline} expires.
+     * @param timer  the {@link HashedWheelTimer} used to cancel the {@link CancellationToken} on expiry.
+     * @return a new {@link Deadline}.
+     * @throws NullPointerException if the {@code budget} or the {@code timer} is {@code null}.
+     * @since 1.0
+     */
+    public static Deadline after(Duration budget, HashedWheelTimer timer) {
+
+        Objects.requireNonNull(budget);
+
+        Objects.requireNonNull(timer);
+
+        long deadlineNanos = System.nanoTime() + budget.toNanos();
+
+        CancellationToken token = CancellationToken.create();
+
+        return new Deadline(deadlineNanos, token, timer.schedule(token::cancel, budget));
+    }
+
+    /**
+     * Release the {@link Timeout} of the {@link Deadline} once the chain it guards has completed, so the
+     * {@link HashedWheelTimer} does not have to keep track of it until it expires. The {@link CancellationToken}
+     * is not cancelled.
+     *
+     * @since 1.0
+     */
+    @Override
+    public void close() {
+
+        timeout.cancel();
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if the {@link Deadline} has not expired and its
+     * {@link CancellationToken} has not been cancelled. Otherwise a {@link DeadlineExceededException} or a
+     * {@link CancellationException} is thrown, which {@link Result#map(Function)} turns into a {@code failure}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> {
+            checkRemaining();
+
+            return function.apply(value);
+        };
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if the {@link Deadline} has not expired and its
+     * {@link CancellationToken} has not been cancelled. Otherwise a {@code failure} is returned containing either
+     * a {@link DeadlineExceededException} or a {@link CancellationException}. It is intended to be used with
+     * {@link Result#flatMap(Function)}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value of the {@link Result} returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, Result<R>> decorateResultFunction(
+        Function<? super T, ? extends Result<? extends R>> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> {
+            try {
+                checkRemaining();
+            } catch (RuntimeException e) {
+                return Failure.create(e);
+            }
+
+            //noinspection unchecked
+            return (Result<R>) function.apply(value);
+        };
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that it is only applied if the {@link Deadline} has not expired and its
+     * {@link CancellationToken} has not been cancelled. Otherwise a {@link DeadlineExceededException} or a
+     * {@link CancellationException} is thrown, which {@link Result#of(Supplier)} turns into a {@code failure}.
+     *
+     * @param supplier the {@link Supplier} to decorate.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier} is {@code null}.
+     * @since 1.0
+     */
+    public <U> Supplier<U> decorateSupplier(Supplier<U> supplier) {
+
+        Objects.requireNonNull(supplier);
+
+        return () -> {
+            checkRemaining();
+
+            return supplier.get();
+        };
+    }
+
+    /**
+     * @return the {@link CancellationToken} that is cancelled when the {@link Deadline} expires.
+     * @since 1.0
+     */
+    public CancellationToken getToken() {
+
+        return token;
+    }
+
+    /**
+     * @return {@code true} if the {@link Deadline} has expired and {@code false} otherwise.
+     * @since 1.0
+     */
+    public boolean isExpired() {
+
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @return the remaining budget of the {@link Deadline}, or {@link Duration#ZERO} if it has expired.
+     * @since 1.0
+     */
+    public Duration remaining() {
+
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    private void checkRemaining() {
+
+        if (isExpired()) {
+            token.cancel();
+
+            throw DeadlineExceededException.INSTANCE;
+        }
+
+        token.throwIfCancelled();
+    }
+}
@@ -0,0 +1,10 @@
+package eu.borglum.functional.core;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    static final DeadlineExceededException INSTANCE = new DeadlineExceededException("The deadline has been exceeded");
+
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
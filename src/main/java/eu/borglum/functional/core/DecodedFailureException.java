@@ -0,0 +1,41 @@
+package eu.borglum.functional.core;
+
+import java.util.Objects;
+
+public class DecodedFailureException extends RuntimeException {
+
+    private final String exceptionClassName;
+
+    public DecodedFailureException(String exceptionClassName, String message) {
+        super(message, null, false, true);
+
+        this.exceptionClassName = Objects.requireNonNull(exceptionClassName);
+    }
+
+    /**
+     * @return the name of the {@link Class} of the {@link Exception} that was encoded.
+     * @since 1.0
+     */
+    public String getExceptionClassName() {
+
+        return exceptionClassName;
+    }
+
+    /**
+     * The stack trace is not filled in, as it would be the stack of the decoder. It is set to the encoded stack
+     * trace, if any.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+
+        return this;
+    }
+
+    @Override
+    public String toString() {
+
+        String message = getMessage();
+
+        return message == null ? exceptionClassName : exceptionClassName + ": " + message;
+    }
+}
@@ -1,10 +1,5 @@
 package eu.borglum.functional.core;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apache.commons.lang3.builder.ToStringStyle;
-
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -23,6 +18,19 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(exception);
 
+        ResultInstrumentation.failure(exception);
+
+        return new Failure<>(exception);
+    }
+
+    /**
+     * Recreate a {@code failure} whose exception has already been reported by {@link #create(Exception)}, e.g. when
+     * it has been stored in a {@link ResultBatch}, so that it is not counted twice.
+     */
+    static <U> Failure<U> restore(Exception exception) {
+
+        Objects.requireNonNull(exception);
+
         return new Failure<>(exception);
     }
 
@@ -39,9 +47,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Failure<?> failure = (Failure<?>) o;
 
-        return new EqualsBuilder()
-            .append(exception, failure.exception)
-            .isEquals();
+        return Objects.equals(exception, failure.exception);
     }
 
     @Override
@@ -49,7 +55,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(predicate);
 
-        return create(exception);
+        return propagate();
     }
 
     @Override
@@ -57,7 +63,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(function);
 
-        return create(exception);
+        return propagate();
     }
 
     @Override
@@ -87,9 +93,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
     @Override
     public int hashCode() {
 
-        return new HashCodeBuilder(17, 37)
-            .append(exception)
-            .toHashCode();
+        return Objects.hashCode(exception);
     }
 
     @Override
@@ -109,7 +113,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(supplier);
 
-        return create(exception);
+        return propagate();
     }
 
     @Override
@@ -117,25 +121,21 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
                                                       Function<? super X, ? extends Exception> function) {
         validate(exceptionClass, function);
 
-        Optional<? extends InternalResult<? extends Exception>> internalResult = Optional
-            .of(exception)
-            .filter(ex -> exceptionClass.isAssignableFrom(ex.getClass()))
-            .map(exceptionClass::cast)
-            .map(ex -> Result.of(() -> function.apply(ex)))
-            .map(InternalResult::of);
+        if (!exceptionClass.isInstance(exception)) {
+            return this;
+        }
 
-        //noinspection unchecked
-        return (Result<T>) internalResult
-            .filter(InternalResult::isSuccess)
-            .flatMap(InternalResult::getOptional)
-            .map(Exception.class::cast)
-            .or(
-                () -> internalResult
-                    .filter(InternalResult::isFailure)
-                    .map(InternalResult::getCause)
-            )
-            .map(Failure::create)
-            .orElseGet(() -> create(exception));
+        X cause = exceptionClass.cast(exception);
+
+        //the mapped exception is reported once, whether the function returns it or throws it
+        Exception mapped;
+        try {
+            mapped = function.apply(cause);
+        } catch (Exception e) {
+            return Failure.create(e);
+        }
+
+        return Failure.create(Objects.requireNonNull(mapped));
     }
 
     @Override
@@ -143,7 +143,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(function);
 
-        return create(exception);
+        return propagate();
     }
 
     @Override
@@ -151,7 +151,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(function);
 
-        return create(exception);
+        return propagate();
     }
 
     @Override
@@ -159,10 +159,13 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(supplier);
 
-        return supplier
+        Optional<T> recovered = supplier
             .get()
-            .evaluate(exception)
-            .orElseGet(this::throwException);
+            .evaluate(exception);
+
+        ResultInstrumentation.recovery(supplier, exception, recovered.isPresent());
+
+        return recovered.orElseGet(this::throwException);
     }
 
     @Override
@@ -189,13 +192,14 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
                                                            OptionalFunction<? super X, ? extends T> function) {
         validate(exceptionClass, function);
 
+        if (!isRecoverable(exceptionClass, function)) {
+            return this;
+        }
+
+        X cause = exceptionClass.cast(exception);
+
         //noinspection unchecked
-        return (Result<T>) Optional
-            .of(exception)
-            .filter(ex -> exceptionClass.isAssignableFrom(ex.getClass()))
-            .map(exceptionClass::cast)
-            .map(ex -> Result.of(() -> function.apply(ex)))
-            .orElseGet(() -> create(exception));
+        return (Result<T>) Result.ofOptional(() -> (Optional<T>) function.apply(cause));
     }
 
     @Override
@@ -203,13 +207,29 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
                                                         Function<? super X, ? extends T> function) {
         validate(exceptionClass, function);
 
+        if (!isRecoverable(exceptionClass, function)) {
+            return this;
+        }
+
+        X cause = exceptionClass.cast(exception);
+
+        return Result.ofValue(() -> function.apply(cause));
+    }
+
+    private boolean isRecoverable(Class<? extends Exception> exceptionClass, Function<?, ?> function) {
+
+        boolean recoverable = exceptionClass.isAssignableFrom(exception.getClass());
+
+        ResultInstrumentation.recovery(function, exception, recoverable);
+
+        return recoverable;
+    }
+
+    private <U> Failure<U> propagate() {
+
+        //a failure never holds a value, so it can be reused as a failure of any type
         //noinspection unchecked
-        return (Result<T>) Optional
-            .of(exception)
-            .filter(ex -> exceptionClass.isAssignableFrom(ex.getClass()))
-            .map(exceptionClass::cast)
-            .map(ex -> Result.of(() -> function.apply(ex)))
-            .orElseGet(() -> create(exception));
+        return (Failure<U>) this;
     }
 
     private <E extends Exception> T throwException() throws E {
@@ -221,9 +241,7 @@ final class Failure<T> implements InternalResult<T>, Result<T> {
     @Override
     public String toString() {
 
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
-            .append("exception", exception)
-            .toString();
+        return "Failure[exception=" + exception + "]";
     }
 
     private <X extends Exception> void validate(Class<X> exceptionClass, Function<?, ?> function) {
@@ -0,0 +1,41 @@
+package eu.borglum.functional.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("eu.borglum.functional.FailureCreated")
+@Label("Failure Created")
+@Description("A failure was created from an exception")
+@Category({"Functional", "Result"})
+@StackTrace(false)
+final class FailureCreatedEvent extends Event {
+
+    /**
+     * Only used to ask whether the event is enabled without allocating, see {@link SlowSupplierEvent}.
+     */
+    private static final FailureCreatedEvent PROBE = new FailureCreatedEvent();
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+
+    static void emit(Exception exception) {
+
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+
+        FailureCreatedEvent event = new FailureCreatedEvent();
+        if (event.shouldCommit()) {
+            event.exceptionClass = exception.getClass();
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+}
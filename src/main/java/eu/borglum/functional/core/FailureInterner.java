@@ -0,0 +1,125 @@
+package eu.borglum.functional.core;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public final class FailureInterner {
+
+    private final Function<? super Exception, ?> key;
+
+    /**
+     * The canonical exception and the count of every key. The map only grows, so an interner should be scoped to a
+     * batch job rather than kept for the lifetime of the application when the keys are unbounded.
+     */
+    private final Map<Object, Canonical> canonicals = new ConcurrentHashMap<>();
+
+    private FailureInterner(Function<? super Exception, ?> key) {
+
+        this.key = key;
+    }
+
+    /**
+     * A convenience method that does the same as {@link #by(Function)} where exceptions of the same class with the
+     * same message are equivalent.
+     *
+     * @return a new {@link FailureInterner}.
+     * @since 1.0
+     */
+    public static FailureInterner byClassAndMessage() {
+
+        return by(exception -> Arrays.asList(exception.getClass(), exception.getMessage()));
+    }
+
+    /**
+     * Create a {@link FailureInterner} where exceptions are equivalent if the {@link Function} returns equal keys
+     * for them. The first exception interned for a key becomes the canonical exception of every equivalent one, so
+     * that a batch where a single cause fails a million elements only keeps a single exception reachable.
+     *
+     * @param key the {@link Function} returning the key of an exception.
+     * @return a new {@link FailureInterner}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public static FailureInterner by(Function<? super Exception, ?> key) {
+
+        return new FailureInterner(Objects.requireNonNull(key));
+    }
+
+    /**
+     * Intern the exception and count it for its key. Interning is thread-safe, so an interner can be shared by
+     * batches processed concurrently.
+     *
+     * @param exception the exception to intern.
+     * @return the canonical exception that is equivalent to the exception.
+     * @throws NullPointerException if the exception is {@code null} or the key of it is {@code null}.
+     * @since 1.0
+     */
+    public Exception intern(Exception exception) {
+
+        Objects.requireNonNull(exception);
+
+        Object exceptionKey = Objects.requireNonNull(key.apply(exception));
+
+        Canonical canonical = canonicals.get(exceptionKey);
+        if (canonical == null) {
+            canonical = canonicals.computeIfAbsent(exceptionKey, ignored -> new Canonical(exception));
+        }
+
+        canonical.count.increment();
+
+        return canonical.exception;
+    }
+
+    /**
+     * @param exception an exception, which does not have to be the canonical one.
+     * @return the number of times an exception equivalent to the exception has been interned.
+     * @throws NullPointerException if the exception is {@code null} or the key of it is {@code null}.
+     * @since 1.0
+     */
+    public long getCount(Exception exception) {
+
+        Canonical canonical = canonicals.get(Objects.requireNonNull(key.apply(Objects.requireNonNull(exception))));
+
+        return canonical == null ? 0 : canonical.count.sum();
+    }
+
+    /**
+     * @return the number of times every canonical exception has been interned, by canonical exception.
+     * @since 1.0
+     */
+    public Map<Exception, Long> getCounts() {
+
+        Map<Exception, Long> counts = new LinkedHashMap<>();
+
+        canonicals.values().forEach(canonical -> counts.put(canonical.exception, canonical.count.sum()));
+
+        return counts;
+    }
+
+    /**
+     * @return the canonical exceptions interned so far.
+     * @since 1.0
+     */
+    public List<Exception> getCanonicals() {
+
+        return List.copyOf(getCounts().keySet());
+    }
+
+    private static final class Canonical {
+
+        private final Exception exception;
+
+        private final LongAdder count = new LongAdder();
+
+        private Canonical(Exception exception) {
+
+            this.exception = exception;
+        }
+    }
+}
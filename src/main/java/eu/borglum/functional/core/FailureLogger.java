@@ -0,0 +1,308 @@
+package eu.borglum.functional.core;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class FailureLogger implements ResultMetrics, AutoCloseable {
+
+    private static final StackTraceElement UNKNOWN_SITE = new StackTraceElement("Unknown", "unknown", null, -1);
+
+    private final Logger logger;
+
+    private final Duration window;
+
+    private final RateLimiter rateLimiter;
+
+    private final Map<Class<?>, Sites> groups = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private FailureLogger(Logger logger, Duration window, RateLimiter rateLimiter) {
+
+        this.logger = logger;
+
+        this.window = window;
+
+        this.rateLimiter = rateLimiter;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "functional-failure-logger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a {@link FailureLogger} that groups identical {@code failures}, i.e. {@code failures} whose
+     * {@link Exception} has the same {@link Class} and was thrown from the same place, and logs one summary line
+     * per group at the end of every {@code window} with the number of {@code failures} and a sample. At most
+     * {@code maxLinesPerSecond} lines are logged; the {@code failures} of a summary above the ceiling are carried
+     * forward and included in the summary of the group at the end of the next window.
+     * <p>
+     * The {@link FailureLogger} is given {@code failures} either by reporting them explicitly, e.g. from an
+     * {@link Result#orElseRecover(SwitchSupplier)} fallback, or by installing it with
+     * {@link ResultInstrumentation#install(ResultMetrics)}. The throw site of an {@link Exception} is found from
+     * its stack trace, which the JVM copies, and builds on first access, every time it is read. The throw site of
+     * the most recently reported {@link Exception} of every {@link Class} is remembered, so reporting the same
+     * instance again, e.g. a preallocated or interned {@link Exception}, is two hash lookups and an atomic
+     * increment, while reporting a new instance also costs reading its stack trace.
+     *
+     * @param logger            the {@link Logger} to log the summaries to.
+     * @param window            the {@link Duration} of the window in which identical {@code failures} are grouped.
+     * @param maxLinesPerSecond the ceiling on the number of lines logged per second.
+     * @return a new {@link FailureLogger}.
+     * @throws NullPointerException     if the {@code logger} or the {@code window} is {@code null}.
+     * @throws IllegalArgumentException if the {@code window} or {@code maxLinesPerSecond} is not positive.
+     * @since 1.0
+     */
+    public static FailureLogger create(Logger logger, Duration window, double maxLinesPerSecond) {
+
+        Objects.requireNonNull(logger);
+
+        Objects.requireNonNull(window);
+
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("The window must be positive");
+        }
+
+        RateLimiter rateLimiter = RateLimiter.of(maxLinesPerSecond, (int) Math.max(1, maxLinesPerSecond));
+
+        FailureLogger failureLogger = new FailureLogger(logger, window, rateLimiter);
+
+        long windowNanos = window.toNanos();
+        failureLogger.scheduler.scheduleAtFixedRate(failureLogger::flush, windowNanos, windowNanos,
+            TimeUnit.NANOSECONDS);
+
+        return failureLogger;
+    }
+
+    /**
+     * Stop logging summaries. The {@code failures} of the current window are logged before the method returns.
+     *
+     * @since 1.0
+     */
+    @Override
+    public void close() {
+
+        scheduler.shutdownNow();
+
+        flush();
+    }
+
+    /**
+     * Log a summary line for every group of identical {@code failures} reported since the last flush. It is called
+     * at the end of every window, but it can also be called explicitly.
+     *
+     * @since 1.0
+     */
+    public synchronized void flush() {
+
+        long deferred = 0;
+
+        for (Map.Entry<Class<?>, Sites> classEntry : groups.entrySet()) {
+            Sites sites = classEntry.getValue();
+
+            for (Map.Entry<StackTraceElement, Group> entry : sites.groups.entrySet()) {
+                Group group = entry.getValue();
+
+                if (group.carried == 0 && group.count.compareAndSet(0, Group.DEAD)) {
+                    //forget throw sites that have been quiet for a whole window; a reporter that finds the group
+                    //dead replaces it instead of using it, so the removal only succeeds if it has not been replaced
+                    sites.groups.remove(entry.getKey(), group);
+
+                    sites.forget(group);
+                    continue;
+                }
+
+                long count = group.count.getAndSet(0) + group.carried;
+
+                Exception sample = group.sample.getAndSet(null);
+
+                boolean logged = log(sample, "{0} x {1} at {2} in the last {3}: {4}", count,
+                    classEntry.getKey().getName(), entry.getKey(), window.multipliedBy(group.carriedWindows + 1L),
+                    sample == null ? null : sample.getMessage());
+
+                if (logged) {
+                    group.carried = 0;
+
+                    group.carriedWindows = 0;
+                } else {
+                    //the failures are carried forward to the next summary of the group instead of being lost
+                    group.carried = count;
+
+                    group.carriedWindows++;
+
+                    group.sample.compareAndSet(null, sample);
+
+                    deferred++;
+                }
+            }
+        }
+
+        if (deferred > 0) {
+            log(null, "{0} failure summaries were deferred to the next window by the log rate ceiling", deferred);
+        }
+    }
+
+    @Override
+    public void onFailure(Exception exception) {
+
+        report(exception);
+    }
+
+    /**
+     * Report a {@code failure} to be included in the summary of the current window.
+     *
+     * @param exception the {@link Exception} of the {@code failure}.
+     * @throws NullPointerException if the {@code exception} is {@code null}.
+     * @since 1.0
+     */
+    public void report(Exception exception) {
+
+        Objects.requireNonNull(exception);
+
+        Sites sites = groups.get(exception.getClass());
+        if (sites == null) {
+            sites = groups.computeIfAbsent(exception.getClass(), c -> new Sites());
+        }
+
+        Group group = sites.groupOf(exception);
+
+        while (group.count.getAndIncrement() < 0) {
+            //the group was forgotten by a flush after it was looked up, so the failure is counted by its replacement
+            group = sites.groupOf(exception);
+        }
+
+        if (group.sample.get() == null) {
+            group.sample.compareAndSet(null, exception);
+        }
+    }
+
+    /**
+     * @return {@code true} if the line was logged, or {@code false} if it was suppressed by the log rate ceiling.
+     */
+    private boolean log(Exception sample, String format, Object... parameters) {
+
+        if (!rateLimiter.tryAcquire()) {
+            return false;
+        }
+
+        if (sample == null) {
+            logger.log(Level.WARNING, format, parameters);
+        } else {
+            logger.log(Level.WARNING, () -> MessageFormat.format(format, parameters), sample);
+        }
+
+        return true;
+    }
+
+    private static StackTraceElement throwSite(Exception exception) {
+
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+
+        return stackTrace.length == 0 ? UNKNOWN_SITE : stackTrace[0];
+    }
+
+    /**
+     * The groups of the {@code failures} of one {@link Class} by their throw site.
+     */
+    private static final class Sites {
+
+        private final Map<StackTraceElement, Group> groups = new ConcurrentHashMap<>();
+
+        /**
+         * The most recently reported {@link Exception} and its {@link Group}, so that reporting the same instance
+         * again does not read its stack trace.
+         */
+        private volatile LastReported last;
+
+        private Group groupOf(Exception exception) {
+
+            LastReported lastReported = last;
+            if (lastReported != null && lastReported.exception == exception && !lastReported.group.isDead()) {
+                return lastReported.group;
+            }
+
+            Group group = liveGroup(throwSite(exception));
+
+            last = new LastReported(exception, group);
+
+            return group;
+        }
+
+        /**
+         * @return the group of the throw site, where a group that has been marked dead by {@link #flush()} is
+         * replaced rather than used, since its count would never be logged once it is removed.
+         */
+        private Group liveGroup(StackTraceElement site) {
+
+            Group group = groups.get(site);
+            if (group == null || group.isDead()) {
+                group = groups.compute(site, (s, current) -> current == null || current.isDead() ? new Group()
+                    : current);
+            }
+
+            return group;
+        }
+
+        private void forget(Group group) {
+
+            LastReported lastReported = last;
+            if (lastReported != null && lastReported.group == group) {
+                last = null;
+            }
+        }
+    }
+
+    private static final class LastReported {
+
+        private final Exception exception;
+
+        private final Group group;
+
+        private LastReported(Exception exception, Group group) {
+
+            this.exception = exception;
+
+            this.group = group;
+        }
+    }
+
+    private static final class Group {
+
+        /**
+         * The value that {@link #flush()} swaps for a count of zero before it removes the group. Killing the group
+         * and counting a {@code failure} in it are single atomic operations on the same counter, so a reporter that
+         * looked the group up before it was killed either counts the {@code failure} before, in which case the group
+         * is not killed, or finds the count negative and counts it in the replacement of the group.
+         */
+        private static final long DEAD = Long.MIN_VALUE;
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicReference<Exception> sample = new AtomicReference<>();
+
+        /**
+         * The number of {@code failures} and windows of summaries that were suppressed by the log rate ceiling,
+         * which are only accessed by {@link #flush()}.
+         */
+        private long carried;
+
+        private int carriedWindows;
+
+        private boolean isDead() {
+
+            return count.get() < 0;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package eu.borglum.functional.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class FailureRecorder implements ResultMetrics {
+
+    private static final long WRITING = Long.MIN_VALUE;
+
+    private static final long EMPTY = -1;
+
+    private static final int MAX_EXCEPTION_CLASSES = 1024;
+
+    private final Slot[] slots;
+
+    private final int mask;
+
+    private final int stackSampleRate;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    private final Map<Class<?>, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private FailureRecorder(int capacity, int stackSampleRate) {
+
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+
+        this.mask = capacity - 1;
+
+        this.stackSampleRate = stackSampleRate;
+    }
+
+    /**
+     * Create a {@link FailureRecorder} that keeps the most recent {@code failures} in a ring buffer of a fixed size
+     * and counts every {@code failure} by the {@link Class} of its {@link Exception}. It records the
+     * {@code failures} it is given once installed with {@link ResultInstrumentation#install(ResultMetrics)}.
+     * <p>
+     * Recording is wait-free and, apart from the first {@code failure} of every {@link Exception} class and the
+     * sampled stack traces, does not allocate, so it stays cheap during failure storms. A {@code failure} whose slot
+     * of the ring buffer is still being written by the {@code failure} a whole lap before it is counted, but not
+     * kept in the ring buffer, since two writers of the same slot would mix their fields.
+     *
+     * @param capacity        the number of recent {@code failures} to keep. It is rounded up to the nearest power
+     *                        of two.
+     * @param stackSampleRate keep the stack trace of every {@code stackSampleRate}th {@code failure}, or of none if
+     *                        it is {@code 0}.
+     * @return a new {@link FailureRecorder}.
+     * @throws IllegalArgumentException if the {@code capacity} is not within {@code [1, 2^30]} or if the
+     *                                  {@code stackSampleRate} is negative.
+     * @since 1.0
+     */
+    public static FailureRecorder create(int capacity, int stackSampleRate) {
+
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^30");
+        }
+
+        if (stackSampleRate < 0) {
+            throw new IllegalArgumentException("The stack sample rate must not be negative");
+        }
+
+        int normalizedCapacity = 1;
+        while (normalizedCapacity < capacity) {
+            normalizedCapacity <<= 1;
+        }
+
+        return new FailureRecorder(normalizedCapacity, stackSampleRate);
+    }
+
+    @Override
+    public void onFailure(Exception exception) {
+
+        long sequence = cursor.getAndIncrement();
+
+        Slot slot = slots[(int) (sequence & mask)];
+
+        count(exception.getClass());
+
+        if (!slot.claim(sequence)) {
+            return;
+        }
+
+        slot.exceptionClass = exception.getClass();
+        slot.message = exception.getMessage();
+        slot.timestamp = System.currentTimeMillis();
+        slot.stackTrace = stackSampleRate > 0 && sequence % stackSampleRate == 0 ? exception.getStackTrace() : null;
+
+        slot.sequence = sequence;
+    }
+
+    /**
+     * @return the recorded {@code failures} still in the ring buffer, most recent first. A {@code failure} that is
+     * being overwritten while the snapshot is taken is left out.
+     * @since 1.0
+     */
+    public List<RecordedFailure> getRecentFailures() {
+
+        long end = cursor.get();
+
+        long start = Math.max(0, end - slots.length);
+
+        List<RecordedFailure> recent = new ArrayList<>((int) (end - start));
+
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            Slot slot = slots[(int) (sequence & mask)];
+
+            long before = slot.sequence;
+
+            Class<?> exceptionClass = slot.exceptionClass;
+            String message = slot.message;
+            long timestamp = slot.timestamp;
+            StackTraceElement[] stackTrace = slot.stackTrace;
+
+            VarHandle.acquireFence();
+
+            if (before == sequence && slot.sequence == sequence) {
+                recent.add(new RecordedFailure(
+                    exceptionClass,
+                    message,
+                    Instant.ofEpochMilli(timestamp),
+                    stackTrace == null ? Collections.emptyList() : List.of(stackTrace)
+                ));
+            }
+        }
+
+        return recent;
+    }
+
+    /**
+     * @param n the number of {@link Exception} classes to include.
+     * @return the {@code n} {@link Exception} classes with the most {@code failures}, in descending order of their
+     * number of {@code failures}.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     * @since 1.0
+     */
+    public Map<Class<?>, Long> getTopFailures(int n) {
+
+        if (n < 0) {
+            throw new IllegalArgumentException("The number of exception classes must not be negative");
+        }
+
+        Map<Class<?>, Long> top = new LinkedHashMap<>();
+
+        counts
+            .entrySet()
+            .stream()
+            .map(entry -> Map.<Class<?>, Long>entry(entry.getKey(), entry.getValue().sum()))
+            .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+            .limit(n)
+            .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+
+        return top;
+    }
+
+    /**
+     * @return the total number of recorded {@code failures}.
+     * @since 1.0
+     */
+    public long getTotalFailures() {
+
+        return cursor.get();
+    }
+
+    private void count(Class<?> exceptionClass) {
+
+        LongAdder counter = counts.get(exceptionClass);
+
+        if (counter == null) {
+            //bounds the memory used if exception classes are generated at runtime
+            if (counts.size() >= MAX_EXCEPTION_CLASSES) {
+                return;
+            }
+
+            counter = counts.computeIfAbsent(exceptionClass, c -> new LongAdder());
+        }
+
+        counter.increment();
+    }
+
+    /**
+     * A slot of the ring buffer guarded by a sequence lock. The sequence is {@link #WRITING} while the slot is
+     * being written, so a reader can tell whether it has read a consistent copy.
+     */
+    private static final class Slot {
+
+        private static final VarHandle SEQUENCE;
+
+        static {
+            try {
+                SEQUENCE = MethodHandles.lookup().findVarHandle(Slot.class, "sequence", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long sequence = EMPTY;
+
+        private Class<?> exceptionClass;
+
+        private String message;
+
+        private long timestamp;
+
+        private StackTraceElement[] stackTrace;
+
+        /**
+         * Claim the slot for the writer of the {@code sequence} from the writer of an earlier lap, which fails if
+         * the slot is being written or if a writer of a later lap has already written it. The slot is claimed from
+         * any earlier lap rather than only from the previous one, since a lap whose claim failed leaves the slot with
+         * the sequence of the lap before it.
+         */
+        private boolean claim(long sequence) {
+
+            long current = this.sequence;
+
+            while (current != WRITING && current < sequence) {
+                long witness = (long) SEQUENCE.compareAndExchange(this, current, WRITING);
+                if (witness == current) {
+                    return true;
+                }
+
+                current = witness;
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package eu.borglum.functional.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The sparse side table of the {@code failure}s of a batch: their indexes in ascending order and, at the same
+ * positions, their exceptions. It grows while a batch is being built and is not modified afterwards.
+ * <p>
+ * If it has a {@link FailureInterner} every exception of a newly created {@code failure} is interned, and so are
+ * those of the tables derived from it, whereas the {@code failure}s copied from one table to the next are not
+ * counted again.
+ */
+final class FailureTable {
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    private static final Exception[] NO_CAUSES = new Exception[0];
+
+    private final FailureInterner interner;
+
+    private int[] indexes;
+
+    private Exception[] causes;
+
+    private int count;
+
+    FailureTable(int capacity) {
+
+        this(capacity, null);
+    }
+
+    private FailureTable(int capacity, FailureInterner interner) {
+
+        this.interner = interner;
+
+        indexes = capacity == 0 ? NO_INDEXES : new int[capacity];
+
+        causes = capacity == 0 ? NO_CAUSES : new Exception[capacity];
+    }
+
+    /**
+     * @return an empty table for the next batch, with room for the {@code failure}s of this one and the same
+     * {@link FailureInterner}.
+     */
+    FailureTable derive() {
+
+        return new FailureTable(count, interner);
+    }
+
+    /**
+     * @return a copy of the table where every exception has been interned by the {@link FailureInterner}, which
+     * is also used by the tables derived from the copy.
+     */
+    FailureTable intern(FailureInterner interner) {
+
+        FailureTable interned = new FailureTable(count, Objects.requireNonNull(interner));
+        for (int i = 0; i < count; i++) {
+            interned.addCreated(indexes[i], causes[i]);
+        }
+
+        return interned;
+    }
+
+    /**
+     * Add a {@code failure} that has just been created, interning its exception if the table has a
+     * {@link FailureInterner}.
+     */
+    void addCreated(int index, Exception cause) {
+
+        add(index, interner == null ? cause : interner.intern(cause));
+    }
+
+    void add(int index, Exception cause) {
+
+        if (count == indexes.length) {
+            int capacity = Math.max(8, count * 2);
+
+            indexes = Arrays.copyOf(indexes, capacity);
+
+            causes = Arrays.copyOf(causes, capacity);
+        }
+
+        indexes[count] = index;
+        causes[count] = cause;
+        count++;
+    }
+
+    int count() {
+
+        return count;
+    }
+
+    int indexAt(int position) {
+
+        return indexes[position];
+    }
+
+    Exception causeAt(int position) {
+
+        return causes[position];
+    }
+
+    Exception causeOf(int index) {
+
+        return causes[Arrays.binarySearch(indexes, 0, count, index)];
+    }
+
+    List<Exception> causes() {
+
+        return Arrays.asList(Arrays.copyOf(causes, count));
+    }
+
+    static long[] bitset(int size) {
+
+        return new long[(size + 63) >>> 6];
+    }
+
+    static boolean isSet(long[] bitset, int index) {
+
+        return (bitset[index >>> 6] & 1L << index) != 0;
+    }
+
+    static void set(long[] bitset, int index) {
+
+        bitset[index >>> 6] |= 1L << index;
+    }
+
+    static void clear(long[] bitset, int index) {
+
+        bitset[index >>> 6] &= ~(1L << index);
+    }
+}
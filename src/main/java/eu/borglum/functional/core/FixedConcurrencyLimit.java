@@ -0,0 +1,22 @@
+package eu.borglum.functional.core;
+
+final class FixedConcurrencyLimit implements ConcurrencyLimit {
+
+    private final int limit;
+
+    FixedConcurrencyLimit(int limit) {
+
+        this.limit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+
+        return limit;
+    }
+
+    @Override
+    public void onSuccess(long latencyNanos, int inFlight) {
+        //a fixed limit does not adapt
+    }
+}
@@ -0,0 +1,62 @@
+package eu.borglum.functional.core;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Holds every access to the flight recorder besides the events themselves, since the {@code jdk.jfr} module is not
+ * part of every Java runtime, e.g. one built by {@code jlink} without it. Whether the module is present is probed
+ * once, and while it is not, neither the classes of the module nor the events are loaded and every method does
+ * nothing.
+ * <p>
+ * The events are not touched either until the flight recorder has been initialized, since loading a subclass of
+ * {@link jdk.jfr.Event} registers it with the flight recorder, which would add hundreds of milliseconds of reflection
+ * and bytecode generation to the first call of {@link Result#of}.
+ */
+final class FlightRecorderEvents {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private FlightRecorderEvents() {
+        //does nothing
+    }
+
+    static void failureCreated(Exception exception) {
+
+        if (isInitialized()) {
+            FailureCreatedEvent.emit(exception);
+        }
+    }
+
+    static void recoveryApplied(Object handler, Exception exception) {
+
+        if (isInitialized()) {
+            RecoveryAppliedEvent.emit(handler, exception);
+        }
+    }
+
+    static void caseNotFound(Object value, int caseCount) {
+
+        if (isInitialized()) {
+            CaseNotFoundEvent.emit(value, caseCount);
+        }
+    }
+
+    /**
+     * @return the started {@link SlowSupplierEvent}, typed as {@link Object} so that the callers do not refer to
+     * the event class, or {@code null} if the event is not enabled.
+     */
+    static Object beginSupplier() {
+
+        return isInitialized() ? SlowSupplierEvent.beginIfEnabled() : null;
+    }
+
+    static void endSupplier(Object event, Object supplier, boolean success) {
+
+        SlowSupplierEvent.end((SlowSupplierEvent) event, supplier, success);
+    }
+
+    private static boolean isInitialized() {
+
+        return AVAILABLE && FlightRecorder.isInitialized();
+    }
+}
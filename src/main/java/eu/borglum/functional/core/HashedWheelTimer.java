@@ -0,0 +1,369 @@
+package eu.borglum.functional.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public final class HashedWheelTimer {
+
+    private static final int STATE_INIT = 0;
+
+    private static final int STATE_STARTED = 1;
+
+    private static final int STATE_STOPPED = 2;
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+    private final Thread worker;
+
+    private volatile long startTime;
+
+    private HashedWheelTimer(long tickNanos, int ticksPerWheel) {
+
+        this.tickNanos = tickNanos;
+
+        this.wheel = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        this.mask = ticksPerWheel - 1;
+
+        this.worker = new Thread(this::run, "functional-hashed-wheel-timer");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Create a new {@link HashedWheelTimer}. The worker thread of the timer is not started until the first
+     * {@link Timeout} is scheduled.
+     *
+     * @param tickDuration  the {@link Duration} between two ticks of the wheel, i.e. the precision of the timer.
+     * @param ticksPerWheel the number of buckets in the wheel. It is rounded up to the nearest power of two.
+     * @return a new {@link HashedWheelTimer}.
+     * @throws NullPointerException     if the {@code tickDuration} is {@code null}.
+     * @throws IllegalArgumentException if the {@code tickDuration} is not positive or if {@code ticksPerWheel} is
+     *                                  not positive or larger than 2^30.
+     * @since 1.0
+     */
+    public static HashedWheelTimer of(Duration tickDuration, int ticksPerWheel) {
+
+        Objects.requireNonNull(tickDuration);
+
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("The tick duration must be positive");
+        }
+
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("The ticks per wheel must be between 1 and 2^30");
+        }
+
+        int normalizedTicksPerWheel = 1;
+        while (normalizedTicksPerWheel < ticksPerWheel) {
+            normalizedTicksPerWheel <<= 1;
+        }
+
+        return new HashedWheelTimer(tickDuration.toNanos(), normalizedTicksPerWheel);
+    }
+
+    /**
+     * @return the {@link HashedWheelTimer} shared by everything that has not been given a timer of its own. It
+     * ticks every 10 milliseconds and has 512 buckets.
+     * @since 1.0
+     */
+    public static HashedWheelTimer shared() {
+
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Schedule the {@link Runnable} to be run once by the worker thread of the timer after the {@code delay}. The
+     * {@link Runnable} should be short and must not block, since all the tasks of the timer are run by the same
+     * thread.
+     *
+     * @param task  the {@link Runnable} to run.
+     * @param delay the {@link Duration} to wait before running the {@link Runnable}.
+     * @return a {@link Timeout} that can be used to cancel the task.
+     * @throws NullPointerException  if the {@link Runnable} or the {@code delay} is {@code null}.
+     * @throws IllegalStateException if the timer has been stopped.
+     * @since 1.0
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+
+        Objects.requireNonNull(task);
+
+        Objects.requireNonNull(delay);
+
+        start();
+
+        long deadline = System.nanoTime() + Math.max(0, delay.toNanos()) - startTime;
+
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingTimeouts.add(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * Stop the timer. Tasks that have not yet been run are never run.
+     *
+     * @since 1.0
+     */
+    public void stop() {
+
+        if (state.getAndSet(STATE_STOPPED) == STATE_STARTED) {
+            worker.interrupt();
+        }
+    }
+
+    private void start() {
+
+        switch (state.get()) {
+            case STATE_INIT:
+                if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    long now = System.nanoTime();
+                    //zero is used to signal that the timer has not yet been started
+                    startTime = now == 0 ? 1 : now;
+                    worker.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("The timer has been stopped");
+        }
+
+        while (startTime == 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void run() {
+
+        long tick = 0;
+
+        while (state.get() == STATE_STARTED) {
+            long currentTime = waitForNextTick(tick);
+            if (currentTime < 0) {
+                continue;
+            }
+
+            removeCancelled();
+
+            transferPending(tick);
+
+            wheel[(int) (tick & mask)].expire(currentTime);
+
+            tick++;
+        }
+    }
+
+    private long waitForNextTick(long tick) {
+
+        long deadline = tickNanos * (tick + 1);
+
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+
+            long sleepNanos = deadline - currentTime;
+            if (sleepNanos <= 0) {
+                return currentTime;
+            }
+
+            LockSupport.parkNanos(this, sleepNanos);
+
+            if (state.get() != STATE_STARTED) {
+                return -1;
+            }
+        }
+    }
+
+    private void removeCancelled() {
+
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            timeout.remove();
+        }
+    }
+
+    private void transferPending(long tick) {
+
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            long calculatedTick = timeout.deadline / tickNanos;
+
+            timeout.remainingRounds = (calculatedTick - tick) / wheel.length;
+
+            wheel[(int) (Math.max(calculatedTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private static final class SharedHolder {
+
+        private static final HashedWheelTimer INSTANCE = of(Duration.ofMillis(10), 512);
+    }
+
+    private static final class Bucket {
+
+        private WheelTimeout head;
+
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+
+            timeout.bucket = this;
+
+            if (head == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+            }
+
+            tail = timeout;
+        }
+
+        private void expire(long currentTime) {
+
+            WheelTimeout timeout = head;
+
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= currentTime) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+
+            if (timeout == head) {
+                head = timeout.next;
+            }
+
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class WheelTimeout implements Timeout {
+
+        private static final int STATE_PENDING = 0;
+
+        private static final int STATE_CANCELLED = 1;
+
+        private static final int STATE_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        private long remainingRounds;
+
+        private Bucket bucket;
+
+        private WheelTimeout prev;
+
+        private WheelTimeout next;
+
+        private WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+
+            this.timer = timer;
+
+            this.task = task;
+
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+
+            timer.cancelledTimeouts.add(this);
+
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+
+            return state.get() == STATE_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                //a failing task must not stop the worker thread
+            }
+        }
+
+        private void remove() {
+
+            if (bucket != null) {
+                bucket.remove(this);
+            }
+        }
+    }
+}
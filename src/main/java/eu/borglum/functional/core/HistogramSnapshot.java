@@ -0,0 +1,86 @@
+package eu.borglum.functional.core;
+
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+
+    private final long count;
+
+    private final long sum;
+
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long sum, long max) {
+
+        this.counts = counts;
+
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+
+        this.count = total;
+
+        this.sum = sum;
+
+        this.max = max;
+    }
+
+    /**
+     * @return the number of recorded values.
+     * @since 1.0
+     */
+    public long getCount() {
+
+        return count;
+    }
+
+    /**
+     * @return the largest recorded value or {@code 0} if no values have been recorded.
+     * @since 1.0
+     */
+    public long getMax() {
+
+        return max;
+    }
+
+    /**
+     * @return the mean of the recorded values or {@code 0} if no values have been recorded.
+     * @since 1.0
+     */
+    public double getMean() {
+
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile the percentile, e.g. {@code 99.9}.
+     * @return the highest value that is equivalent to the value at the {@code percentile}, capped by the largest
+     * recorded value, or {@code 0} if no values have been recorded.
+     * @throws IllegalArgumentException if the {@code percentile} is not within {@code [0, 100]}.
+     * @since 1.0
+     */
+    public long getValueAtPercentile(double percentile) {
+
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("The percentile must be within [0, 100]");
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.min(max, LatencyHistogram.highestValueOf(i));
+            }
+        }
+
+        return max;
+    }
+}
@@ -0,0 +1,469 @@
+package eu.borglum.functional.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+public final class IntResultBatch {
+
+    /**
+     * The value of every element. The value of a {@code failure} or an empty {@code success} is meaningless, which
+     * lets the arithmetic operations run over every element without a branch.
+     */
+    private final int[] values;
+
+    /**
+     * A bit per element that is set if the element is a {@code failure}.
+     */
+    private final long[] failed;
+
+    /**
+     * A bit per element that is set if the element is an empty {@code success}.
+     */
+    private final long[] empty;
+
+    private final FailureTable failures;
+
+    private IntResultBatch(int[] values, long[] failed, long[] empty, FailureTable failures) {
+
+        this.values = values;
+
+        this.failed = failed;
+
+        this.empty = empty;
+
+        this.failures = failures;
+    }
+
+    static IntResultBatch create(int[] values, long[] failed, FailureTable failures) {
+
+        return new IntResultBatch(values, failed, FailureTable.bitset(values.length), failures);
+    }
+
+    /**
+     * Create an {@link IntResultBatch} where every element is a {@code success} holding one of the values.
+     *
+     * @param values the values of the batch, which are copied.
+     * @return a new {@link IntResultBatch}.
+     * @throws NullPointerException if the {@code values} is {@code null}.
+     * @since 1.0
+     */
+    public static IntResultBatch ofValues(int... values) {
+
+        Objects.requireNonNull(values);
+
+        long[] none = FailureTable.bitset(values.length);
+
+        return new IntResultBatch(values.clone(), none, none, new FailureTable(0));
+    }
+
+    /**
+     * Create an {@link IntResultBatch} holding the {@link Result}s in their original order.
+     *
+     * @param results the {@link Result}s of the batch.
+     * @return a new {@link IntResultBatch}.
+     * @throws NullPointerException if the {@code results} or any of them is {@code null}.
+     * @since 1.0
+     */
+    public static IntResultBatch of(List<Result<Integer>> results) {
+
+        Objects.requireNonNull(results);
+
+        int[] values = new int[results.size()];
+
+        long[] failed = FailureTable.bitset(values.length);
+
+        long[] empty = FailureTable.bitset(values.length);
+
+        FailureTable failures = new FailureTable(0);
+
+        int i = 0;
+        for (Result<Integer> result : results) {
+            InternalResult<Integer> internal = InternalResult.of(Objects.requireNonNull(result));
+
+            if (internal.isFailure()) {
+                FailureTable.set(failed, i);
+
+                failures.add(i, internal.getCause());
+            } else {
+                Integer value = internal.getOptional().orElse(null);
+
+                if (value == null) {
+                    FailureTable.set(empty, i);
+                } else {
+                    values[i] = value;
+                }
+            }
+
+            i++;
+        }
+
+        return new IntResultBatch(values, failed, empty, failures);
+    }
+
+    /**
+     * Add the {@code addend} to the value of every {@code success}, overflowing in the same way as {@code +}. The
+     * loop has neither a branch nor a call, so that the JIT compiler can vectorize it.
+     *
+     * @param addend the value to add.
+     * @return a new {@link IntResultBatch} with the sums.
+     * @since 1.0
+     */
+    public IntResultBatch add(int addend) {
+
+        int[] sums = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sums[i] = values[i] + addend;
+        }
+
+        return new IntResultBatch(sums, failed, empty, failures);
+    }
+
+    /**
+     * Multiply the value of every {@code success} by the {@code multiplier}, overflowing in the same way as
+     * {@code *}. The loop has neither a branch nor a call, so that the JIT compiler can vectorize it.
+     *
+     * @param multiplier the value to multiply by.
+     * @return a new {@link IntResultBatch} with the products.
+     * @since 1.0
+     */
+    public IntResultBatch multiply(int multiplier) {
+
+        int[] products = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            products[i] = values[i] * multiplier;
+        }
+
+        return new IntResultBatch(products, failed, empty, failures);
+    }
+
+    /**
+     * Apply the {@link IntUnaryOperator} to the value of every {@code success} that is not empty, in the same way
+     * as {@link Result#map(java.util.function.Function)}. An element where the {@link IntUnaryOperator} throws
+     * becomes a {@code failure}.
+     *
+     * @param operator the {@link IntUnaryOperator} to apply.
+     * @return a new {@link IntResultBatch} with the mapped values.
+     * @throws NullPointerException if the {@link IntUnaryOperator} is {@code null}.
+     * @since 1.0
+     */
+    public IntResultBatch map(IntUnaryOperator operator) {
+
+        Objects.requireNonNull(operator);
+
+        int[] mapped = new int[values.length];
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (FailureTable.isSet(failed, i)) {
+                table.add(failures.indexAt(next), failures.causeAt(next));
+                next++;
+
+                continue;
+            }
+
+            if (FailureTable.isSet(empty, i)) {
+                continue;
+            }
+
+            try {
+                mapped[i] = operator.applyAsInt(values[i]);
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                FailureTable.set(mask, i);
+                table.addCreated(i, e);
+
+                continue;
+            }
+        }
+
+        return new IntResultBatch(mapped, mask, empty, table);
+    }
+
+    /**
+     * Keep the value of every {@code success} that is between {@code min} and {@code max}, both inclusive. Every
+     * other {@code success} becomes empty. The elements are compared without a branch, a word of the bitset at a
+     * time.
+     *
+     * @param min the lowest value to keep.
+     * @param max the highest value to keep.
+     * @return a new {@link IntResultBatch} with the values in the range.
+     * @since 1.0
+     */
+    public IntResultBatch filterRange(int min, int max) {
+
+        long[] mask = new long[empty.length];
+
+        for (int word = 0; word < mask.length; word++) {
+            int offset = word << 6;
+
+            int length = Math.min(64, values.length - offset);
+
+            long outside = 0;
+            for (int bit = 0; bit < length; bit++) {
+                int value = values[offset + bit];
+
+                outside |= (value < min | value > max ? 1L : 0L) << bit;
+            }
+
+            mask[word] = empty[word] | outside & ~failed[word];
+        }
+
+        return new IntResultBatch(values, failed, mask, failures);
+    }
+
+    /**
+     * Test the value of every {@code success} that is not empty, in the same way as {@link Result#filter}. An
+     * element whose value does not match becomes an empty {@code success} and an element where the
+     * {@link IntPredicate} throws becomes a {@code failure}.
+     *
+     * @param predicate the {@link IntPredicate} to test the values with.
+     * @return a new {@link IntResultBatch} with the matching values.
+     * @throws NullPointerException if the {@link IntPredicate} is {@code null}.
+     * @since 1.0
+     */
+    public IntResultBatch filter(IntPredicate predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        long[] mask = failed.clone();
+
+        long[] filtered = empty.clone();
+
+        FailureTable table = failures.derive();
+
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (FailureTable.isSet(failed, i)) {
+                table.add(failures.indexAt(next), failures.causeAt(next));
+                next++;
+
+                continue;
+            }
+
+            if (FailureTable.isSet(empty, i)) {
+                continue;
+            }
+
+            boolean matches;
+            try {
+                matches = predicate.test(values[i]);
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                FailureTable.set(mask, i);
+                table.addCreated(i, e);
+
+                continue;
+            }
+
+            if (!matches) {
+                FailureTable.set(filtered, i);
+            }
+        }
+
+        return new IntResultBatch(values, mask, filtered, table);
+    }
+
+    /**
+     * Recover every {@code failure} whose exception is an instance of the {@code exceptionClass}, in the same way
+     * as {@link ResultBatch#recover}. Only the {@code failure}s are visited.
+     *
+     * @param exceptionClass the class of the exceptions to recover.
+     * @param function       the {@link ToIntFunction} returning the value to recover with.
+     * @param <X>            the type of the exceptions to recover.
+     * @return a new {@link IntResultBatch} with the recovered values.
+     * @throws NullPointerException if the {@code exceptionClass} or the {@link ToIntFunction} is {@code null}.
+     * @since 1.0
+     */
+    public <X extends Exception> IntResultBatch recover(Class<X> exceptionClass, ToIntFunction<? super X> function) {
+
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(function);
+
+        if (failures.count() == 0) {
+            return this;
+        }
+
+        int[] recovered = values.clone();
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        Map<Class<?>, Boolean> recoverable = new IdentityHashMap<>();
+
+        for (int f = 0; f < failures.count(); f++) {
+            int index = failures.indexAt(f);
+
+            Exception cause = failures.causeAt(f);
+
+            boolean hit = recoverable.computeIfAbsent(cause.getClass(), exceptionClass::isAssignableFrom);
+
+            ResultInstrumentation.recovery(function, cause, hit);
+
+            if (!hit) {
+                table.add(index, cause);
+
+                continue;
+            }
+
+            try {
+                recovered[index] = function.applyAsInt(exceptionClass.cast(cause));
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                table.addCreated(index, e);
+
+                continue;
+            }
+
+            ResultInstrumentation.success();
+
+            FailureTable.clear(mask, index);
+        }
+
+        return new IntResultBatch(recovered, mask, empty, table);
+    }
+
+    /**
+     * @return a {@code success} holding the values of the {@code success}es that are not empty in their original
+     * order, or the {@code failure} with the lowest index if there is any.
+     * @since 1.0
+     */
+    public Result<int[]> sequence() {
+
+        if (failures.count() > 0) {
+            return Failure.restore(failures.causeAt(0));
+        }
+
+        int[] present = new int[values.length];
+
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            present[count] = values[i];
+
+            count += FailureTable.isSet(empty, i) ? 0 : 1;
+        }
+
+        return Success.create(count == values.length ? present : Arrays.copyOf(present, count));
+    }
+
+    /**
+     * @return the sum of the values of the {@code success}es that are not empty.
+     * @since 1.0
+     */
+    public long sum() {
+
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += FailureTable.isSet(failed, i) || FailureTable.isSet(empty, i) ? 0 : values[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Intern the exceptions of the {@code failure}s with the {@link FailureInterner}, so that equivalent
+     * {@code failure}s share a single exception instance. The batches returned by the operations of the new batch
+     * intern the exceptions of the {@code failure}s they create as well.
+     *
+     * @param interner the {@link FailureInterner} to intern the exceptions with.
+     * @return a new {@link IntResultBatch} using the {@link FailureInterner}.
+     * @throws NullPointerException if the {@link FailureInterner} is {@code null}.
+     * @since 1.0
+     */
+    public IntResultBatch withInterner(FailureInterner interner) {
+
+        return new IntResultBatch(values, failed, empty, failures.intern(interner));
+    }
+
+    /**
+     * @param index the index of the element.
+     * @return the element at the index as a {@link Result}.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     * @since 1.0
+     */
+    public Result<Integer> get(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        if (FailureTable.isSet(failed, index)) {
+            return Failure.restore(failures.causeOf(index));
+        }
+
+        return FailureTable.isSet(empty, index) ? Success.create() : Success.create(values[index]);
+    }
+
+    /**
+     * @param index the index of the element.
+     * @return {@code true} if the element at the index is a {@code failure} and {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     * @since 1.0
+     */
+    public boolean isFailure(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        return FailureTable.isSet(failed, index);
+    }
+
+    /**
+     * @return the number of {@code failure}s in the batch.
+     * @since 1.0
+     */
+    public int getFailureCount() {
+
+        return failures.count();
+    }
+
+    /**
+     * @return the number of elements in the batch.
+     * @since 1.0
+     */
+    public int size() {
+
+        return values.length;
+    }
+
+    /**
+     * @return the elements of the batch as a {@link ResultBatch} of boxed values.
+     * @since 1.0
+     */
+    public ResultBatch<Integer> toResultBatch() {
+
+        return ResultBatch.of(toList());
+    }
+
+    /**
+     * @return the elements of the batch as {@link Result}s in their original order.
+     * @since 1.0
+     */
+    public List<Result<Integer>> toList() {
+
+        List<Result<Integer>> results = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            results.add(get(i));
+        }
+
+        return results;
+    }
+
+    @Override
+    public String toString() {
+
+        return "IntResultBatch[size=" + values.length + ", failures=" + failures.count() + "]";
+    }
+}
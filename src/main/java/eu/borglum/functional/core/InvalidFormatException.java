@@ -0,0 +1,10 @@
+package eu.borglum.functional.core;
+
+public class InvalidFormatException extends RuntimeException {
+
+    static final InvalidFormatException INSTANCE = new InvalidFormatException("The input could not be parsed");
+
+    public InvalidFormatException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,106 @@
+package eu.borglum.functional.core;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class KeyedRateLimiter<K> {
+
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    private final int maxKeys;
+
+    private final Map<K, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private KeyedRateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+
+        this.permitsPerSecond = permitsPerSecond;
+
+        this.burst = burst;
+
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Create a {@link KeyedRateLimiter} that keeps a separate {@link RateLimiter} for every key, e.g. one per
+     * partner or per tenant. At most {@code maxKeys} limiters are kept. When the bound is exceeded the limiters that
+     * are idle, i.e. whose buckets are full, are evicted first, since recreating them does not change their state.
+     *
+     * @param permitsPerSecond the number of permits per second of every key.
+     * @param burst            the capacity of the bucket of every key.
+     * @param maxKeys          the maximum number of keys to keep a {@link RateLimiter} for.
+     * @param <K>              the type of the keys.
+     * @return a new {@link KeyedRateLimiter}.
+     * @throws IllegalArgumentException if the {@code permitsPerSecond}, the {@code burst} or the {@code maxKeys} is
+     *                                  not positive.
+     * @since 1.0
+     */
+    public static <K> KeyedRateLimiter<K> of(double permitsPerSecond, int burst, int maxKeys) {
+
+        //validates the arguments of the per key limiters up front
+        RateLimiter.of(permitsPerSecond, burst);
+
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("The max keys must be positive");
+        }
+
+        return new KeyedRateLimiter<>(permitsPerSecond, burst, maxKeys);
+    }
+
+    /**
+     * @param key the key to get the {@link RateLimiter} of.
+     * @return the {@link RateLimiter} of the key, creating it if it does not exist.
+     * @throws NullPointerException if the {@code key} is {@code null}.
+     * @since 1.0
+     */
+    public RateLimiter get(K key) {
+
+        Objects.requireNonNull(key);
+
+        RateLimiter limiter = limiters.get(key);
+        if (limiter != null) {
+            return limiter;
+        }
+
+        limiter = limiters.computeIfAbsent(key, k -> RateLimiter.of(permitsPerSecond, burst));
+
+        if (limiters.size() > maxKeys) {
+            evict(key);
+        }
+
+        return limiter;
+    }
+
+    /**
+     * @return the number of keys a {@link RateLimiter} is currently kept for.
+     * @since 1.0
+     */
+    public int size() {
+
+        return limiters.size();
+    }
+
+    private void evict(K retained) {
+
+        int excess = limiters.size() - maxKeys;
+
+        for (Iterator<Map.Entry<K, RateLimiter>> it = limiters.entrySet().iterator(); it.hasNext() && excess > 0; ) {
+            Map.Entry<K, RateLimiter> entry = it.next();
+
+            if (!entry.getKey().equals(retained) && entry.getValue().isIdle()) {
+                it.remove();
+                excess--;
+            }
+        }
+
+        for (Iterator<K> it = limiters.keySet().iterator(); it.hasNext() && excess > 0; ) {
+            if (!it.next().equals(retained)) {
+                it.remove();
+                excess--;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package eu.borglum.functional.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+
+    /**
+     * Every power of two is split into 2^5 linear sub-buckets, which bounds the relative error of a recorded value
+     * to about 3% while the whole range of a {@code long} fits into less than 2000 buckets.
+     */
+    static final int SUB_BUCKET_BITS = 5;
+
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    private LatencyHistogram() {
+        //does nothing
+    }
+
+    /**
+     * @return a new {@link LatencyHistogram} without any recorded values.
+     * @since 1.0
+     */
+    public static LatencyHistogram create() {
+
+        return new LatencyHistogram();
+    }
+
+    /**
+     * Record a value. Recording is lock-free and does not allocate. Negative values are recorded as zero.
+     *
+     * @param value the value to record, e.g. a latency in nanoseconds.
+     * @since 1.0
+     */
+    public void record(long value) {
+
+        long normalized = Math.max(0, value);
+
+        counts.incrementAndGet(indexOf(normalized));
+
+        sum.add(normalized);
+
+        max.accumulate(normalized);
+    }
+
+    /**
+     * @return a {@link HistogramSnapshot} of the values recorded so far.
+     * @since 1.0
+     */
+    public HistogramSnapshot snapshot() {
+
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+
+        return new HistogramSnapshot(copy, sum.sum(), max.get());
+    }
+
+    /**
+     * Take a {@link HistogramSnapshot} and reset the histogram, so that periodic snapshots each cover the values
+     * recorded since the previous one. Every recorded value is included in exactly one snapshot, but values
+     * recorded while the snapshot is taken may be split between two snapshots in their sum and maximum.
+     *
+     * @return a {@link HistogramSnapshot} of the values recorded since the last reset.
+     * @since 1.0
+     */
+    public HistogramSnapshot snapshotAndReset() {
+
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.getAndSet(i, 0);
+        }
+
+        return new HistogramSnapshot(copy, sum.sumThenReset(), max.getThenReset());
+    }
+
+    static int indexOf(long value) {
+
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+        int shift = exponent - SUB_BUCKET_BITS;
+
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+
+        long lowest = (SUB_BUCKET_COUNT + subBucket) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,175 @@
+package eu.borglum.functional.core;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public final class LongAdderResultMetrics implements ResultMetrics {
+
+    private final LongAdder successes = new LongAdder();
+
+    private final Map<Class<?>, LongAdder> failures = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, LongAdder> recoveryHits = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, LongAdder> recoveryMisses = new ConcurrentHashMap<>();
+
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+
+    private LongAdderResultMetrics() {
+        //does nothing
+    }
+
+    /**
+     * @return a new {@link LongAdderResultMetrics} where every count is zero.
+     * @since 1.0
+     */
+    public static LongAdderResultMetrics create() {
+
+        return new LongAdderResultMetrics();
+    }
+
+    @Override
+    public void onSuccess() {
+
+        successes.increment();
+    }
+
+    @Override
+    public void onFailure(Exception exception) {
+
+        counter(failures, exception.getClass()).increment();
+    }
+
+    @Override
+    public void onRecovery(Class<?> handlerClass, boolean hit) {
+
+        counter(hit ? recoveryHits : recoveryMisses, handlerClass).increment();
+    }
+
+    @Override
+    public void onTiming(String name, long nanos, boolean success) {
+
+        Timing timing = timings.get(name);
+        if (timing == null) {
+            timing = timings.computeIfAbsent(name, n -> new Timing());
+        }
+
+        timing.count.increment();
+        timing.nanos.add(nanos);
+
+        if (!success) {
+            timing.failures.increment();
+        }
+    }
+
+    /**
+     * @return the number of {@code failures} created, by the {@link Class} of their {@link Exception}.
+     * @since 1.0
+     */
+    public Map<Class<?>, Long> getFailures() {
+
+        return snapshot(failures);
+    }
+
+    /**
+     * @param handlerClass the {@link Class} of a recovery handler.
+     * @return the number of {@code failures} the recovery handler was applied to.
+     * @since 1.0
+     */
+    public long getRecoveryHits(Class<?> handlerClass) {
+
+        return sum(recoveryHits, handlerClass);
+    }
+
+    /**
+     * @param handlerClass the {@link Class} of a recovery handler.
+     * @return the number of {@code failures} given to the recovery handler that it did not handle.
+     * @since 1.0
+     */
+    public long getRecoveryMisses(Class<?> handlerClass) {
+
+        return sum(recoveryMisses, handlerClass);
+    }
+
+    /**
+     * @return the number of {@code successes} created.
+     * @since 1.0
+     */
+    public long getSuccesses() {
+
+        return successes.sum();
+    }
+
+    /**
+     * @param name the name of a timed supplier.
+     * @return the number of times the supplier has been applied.
+     * @since 1.0
+     */
+    public long getTimedCount(String name) {
+
+        Timing timing = timings.get(Objects.requireNonNull(name));
+
+        return timing == null ? 0 : timing.count.sum();
+    }
+
+    /**
+     * @param name the name of a timed supplier.
+     * @return the number of times the supplier has thrown an {@link Exception}.
+     * @since 1.0
+     */
+    public long getTimedFailures(String name) {
+
+        Timing timing = timings.get(Objects.requireNonNull(name));
+
+        return timing == null ? 0 : timing.failures.sum();
+    }
+
+    /**
+     * @param name the name of a timed supplier.
+     * @return the total time spent applying the supplier in nanoseconds.
+     * @since 1.0
+     */
+    public long getTimedNanos(String name) {
+
+        Timing timing = timings.get(Objects.requireNonNull(name));
+
+        return timing == null ? 0 : timing.nanos.sum();
+    }
+
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+
+        return counter;
+    }
+
+    private static <K> long sum(Map<K, LongAdder> counters, K key) {
+
+        LongAdder counter = counters.get(Objects.requireNonNull(key));
+
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private static <K> Map<K, Long> snapshot(Map<K, LongAdder> counters) {
+
+        return counters
+            .entrySet()
+            .stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    private static final class Timing {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -0,0 +1,469 @@
+package eu.borglum.functional.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+public final class LongResultBatch {
+
+    /**
+     * The value of every element. The value of a {@code failure} or an empty {@code success} is meaningless, which
+     * lets the arithmetic operations run over every element without a branch.
+     */
+    private final long[] values;
+
+    /**
+     * A bit per element that is set if the element is a {@code failure}.
+     */
+    private final long[] failed;
+
+    /**
+     * A bit per element that is set if the element is an empty {@code success}.
+     */
+    private final long[] empty;
+
+    private final FailureTable failures;
+
+    private LongResultBatch(long[] values, long[] failed, long[] empty, FailureTable failures) {
+
+        this.values = values;
+
+        this.failed = failed;
+
+        this.empty = empty;
+
+        this.failures = failures;
+    }
+
+    static LongResultBatch create(long[] values, long[] failed, FailureTable failures) {
+
+        return new LongResultBatch(values, failed, FailureTable.bitset(values.length), failures);
+    }
+
+    /**
+     * Create an {@link LongResultBatch} where every element is a {@code success} holding one of the values.
+     *
+     * @param values the values of the batch, which are copied.
+     * @return a new {@link LongResultBatch}.
+     * @throws NullPointerException if the {@code values} is {@code null}.
+     * @since 1.0
+     */
+    public static LongResultBatch ofValues(long... values) {
+
+        Objects.requireNonNull(values);
+
+        long[] none = FailureTable.bitset(values.length);
+
+        return new LongResultBatch(values.clone(), none, none, new FailureTable(0));
+    }
+
+    /**
+     * Create an {@link LongResultBatch} holding the {@link Result}s in their original order.
+     *
+     * @param results the {@link Result}s of the batch.
+     * @return a new {@link LongResultBatch}.
+     * @throws NullPointerException if the {@code results} or any of them is {@code null}.
+     * @since 1.0
+     */
+    public static LongResultBatch of(List<Result<Long>> results) {
+
+        Objects.requireNonNull(results);
+
+        long[] values = new long[results.size()];
+
+        long[] failed = FailureTable.bitset(values.length);
+
+        long[] empty = FailureTable.bitset(values.length);
+
+        FailureTable failures = new FailureTable(0);
+
+        int i = 0;
+        for (Result<Long> result : results) {
+            InternalResult<Long> internal = InternalResult.of(Objects.requireNonNull(result));
+
+            if (internal.isFailure()) {
+                FailureTable.set(failed, i);
+
+                failures.add(i, internal.getCause());
+            } else {
+                Long value = internal.getOptional().orElse(null);
+
+                if (value == null) {
+                    FailureTable.set(empty, i);
+                } else {
+                    values[i] = value;
+                }
+            }
+
+            i++;
+        }
+
+        return new LongResultBatch(values, failed, empty, failures);
+    }
+
+    /**
+     * Add the {@code addend} to the value of every {@code success}, overflowing in the same way as {@code +}. The
+     * loop has neither a branch nor a call, so that the JIT compiler can vectorize it.
+     *
+     * @param addend the value to add.
+     * @return a new {@link LongResultBatch} with the sums.
+     * @since 1.0
+     */
+    public LongResultBatch add(long addend) {
+
+        long[] sums = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sums[i] = values[i] + addend;
+        }
+
+        return new LongResultBatch(sums, failed, empty, failures);
+    }
+
+    /**
+     * Multiply the value of every {@code success} by the {@code multiplier}, overflowing in the same way as
+     * {@code *}. The loop has neither a branch nor a call, so that the JIT compiler can vectorize it.
+     *
+     * @param multiplier the value to multiply by.
+     * @return a new {@link LongResultBatch} with the products.
+     * @since 1.0
+     */
+    public LongResultBatch multiply(long multiplier) {
+
+        long[] products = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            products[i] = values[i] * multiplier;
+        }
+
+        return new LongResultBatch(products, failed, empty, failures);
+    }
+
+    /**
+     * Apply the {@link LongUnaryOperator} to the value of every {@code success} that is not empty, in the same way
+     * as {@link Result#map(java.util.function.Function)}. An element where the {@link LongUnaryOperator} throws
+     * becomes a {@code failure}.
+     *
+     * @param operator the {@link LongUnaryOperator} to apply.
+     * @return a new {@link LongResultBatch} with the mapped values.
+     * @throws NullPointerException if the {@link LongUnaryOperator} is {@code null}.
+     * @since 1.0
+     */
+    public LongResultBatch map(LongUnaryOperator operator) {
+
+        Objects.requireNonNull(operator);
+
+        long[] mapped = new long[values.length];
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (FailureTable.isSet(failed, i)) {
+                table.add(failures.indexAt(next), failures.causeAt(next));
+                next++;
+
+                continue;
+            }
+
+            if (FailureTable.isSet(empty, i)) {
+                continue;
+            }
+
+            try {
+                mapped[i] = operator.applyAsLong(values[i]);
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                FailureTable.set(mask, i);
+                table.addCreated(i, e);
+
+                continue;
+            }
+        }
+
+        return new LongResultBatch(mapped, mask, empty, table);
+    }
+
+    /**
+     * Keep the value of every {@code success} that is between {@code min} and {@code max}, both inclusive. Every
+     * other {@code success} becomes empty. The elements are compared without a branch, a word of the bitset at a
+     * time.
+     *
+     * @param min the lowest value to keep.
+     * @param max the highest value to keep.
+     * @return a new {@link LongResultBatch} with the values in the range.
+     * @since 1.0
+     */
+    public LongResultBatch filterRange(long min, long max) {
+
+        long[] mask = new long[empty.length];
+
+        for (int word = 0; word < mask.length; word++) {
+            int offset = word << 6;
+
+            int length = Math.min(64, values.length - offset);
+
+            long outside = 0;
+            for (int bit = 0; bit < length; bit++) {
+                long value = values[offset + bit];
+
+                outside |= (value < min | value > max ? 1L : 0L) << bit;
+            }
+
+            mask[word] = empty[word] | outside & ~failed[word];
+        }
+
+        return new LongResultBatch(values, failed, mask, failures);
+    }
+
+    /**
+     * Test the value of every {@code success} that is not empty, in the same way as {@link Result#filter}. An
+     * element whose value does not match becomes an empty {@code success} and an element where the
+     * {@link LongPredicate} throws becomes a {@code failure}.
+     *
+     * @param predicate the {@link LongPredicate} to test the values with.
+     * @return a new {@link LongResultBatch} with the matching values.
+     * @throws NullPointerException if the {@link LongPredicate} is {@code null}.
+     * @since 1.0
+     */
+    public LongResultBatch filter(LongPredicate predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        long[] mask = failed.clone();
+
+        long[] filtered = empty.clone();
+
+        FailureTable table = failures.derive();
+
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (FailureTable.isSet(failed, i)) {
+                table.add(failures.indexAt(next), failures.causeAt(next));
+                next++;
+
+                continue;
+            }
+
+            if (FailureTable.isSet(empty, i)) {
+                continue;
+            }
+
+            boolean matches;
+            try {
+                matches = predicate.test(values[i]);
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                FailureTable.set(mask, i);
+                table.addCreated(i, e);
+
+                continue;
+            }
+
+            if (!matches) {
+                FailureTable.set(filtered, i);
+            }
+        }
+
+        return new LongResultBatch(values, mask, filtered, table);
+    }
+
+    /**
+     * Recover every {@code failure} whose exception is an instance of the {@code exceptionClass}, in the same way
+     * as {@link ResultBatch#recover}. Only the {@code failure}s are visited.
+     *
+     * @param exceptionClass the class of the exceptions to recover.
+     * @param function       the {@link ToLongFunction} returning the value to recover with.
+     * @param <X>            the type of the exceptions to recover.
+     * @return a new {@link LongResultBatch} with the recovered values.
+     * @throws NullPointerException if the {@code exceptionClass} or the {@link ToLongFunction} is {@code null}.
+     * @since 1.0
+     */
+    public <X extends Exception> LongResultBatch recover(Class<X> exceptionClass, ToLongFunction<? super X> function) {
+
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(function);
+
+        if (failures.count() == 0) {
+            return this;
+        }
+
+        long[] recovered = values.clone();
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        Map<Class<?>, Boolean> recoverable = new IdentityHashMap<>();
+
+        for (int f = 0; f < failures.count(); f++) {
+            int index = failures.indexAt(f);
+
+            Exception cause = failures.causeAt(f);
+
+            boolean hit = recoverable.computeIfAbsent(cause.getClass(), exceptionClass::isAssignableFrom);
+
+            ResultInstrumentation.recovery(function, cause, hit);
+
+            if (!hit) {
+                table.add(index, cause);
+
+                continue;
+            }
+
+            try {
+                recovered[index] = function.applyAsLong(exceptionClass.cast(cause));
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                table.addCreated(index, e);
+
+                continue;
+            }
+
+            ResultInstrumentation.success();
+
+            FailureTable.clear(mask, index);
+        }
+
+        return new LongResultBatch(recovered, mask, empty, table);
+    }
+
+    /**
+     * @return a {@code success} holding the values of the {@code success}es that are not empty in their original
+     * order, or the {@code failure} with the lowest index if there is any.
+     * @since 1.0
+     */
+    public Result<long[]> sequence() {
+
+        if (failures.count() > 0) {
+            return Failure.restore(failures.causeAt(0));
+        }
+
+        long[] present = new long[values.length];
+
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            present[count] = values[i];
+
+            count += FailureTable.isSet(empty, i) ? 0 : 1;
+        }
+
+        return Success.create(count == values.length ? present : Arrays.copyOf(present, count));
+    }
+
+    /**
+     * @return the sum of the values of the {@code success}es that are not empty.
+     * @since 1.0
+     */
+    public long sum() {
+
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += FailureTable.isSet(failed, i) || FailureTable.isSet(empty, i) ? 0 : values[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Intern the exceptions of the {@code failure}s with the {@link FailureInterner}, so that equivalent
+     * {@code failure}s share a single exception instance. The batches returned by the operations of the new batch
+     * intern the exceptions of the {@code failure}s they create as well.
+     *
+     * @param interner the {@link FailureInterner} to intern the exceptions with.
+     * @return a new {@link LongResultBatch} using the {@link FailureInterner}.
+     * @throws NullPointerException if the {@link FailureInterner} is {@code null}.
+     * @since 1.0
+     */
+    public LongResultBatch withInterner(FailureInterner interner) {
+
+        return new LongResultBatch(values, failed, empty, failures.intern(interner));
+    }
+
+    /**
+     * @param index the index of the element.
+     * @return the element at the index as a {@link Result}.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     * @since 1.0
+     */
+    public Result<Long> get(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        if (FailureTable.isSet(failed, index)) {
+            return Failure.restore(failures.causeOf(index));
+        }
+
+        return FailureTable.isSet(empty, index) ? Success.create() : Success.create(values[index]);
+    }
+
+    /**
+     * @param index the index of the element.
+     * @return {@code true} if the element at the index is a {@code failure} and {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     * @since 1.0
+     */
+    public boolean isFailure(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        return FailureTable.isSet(failed, index);
+    }
+
+    /**
+     * @return the number of {@code failure}s in the batch.
+     * @since 1.0
+     */
+    public int getFailureCount() {
+
+        return failures.count();
+    }
+
+    /**
+     * @return the number of elements in the batch.
+     * @since 1.0
+     */
+    public int size() {
+
+        return values.length;
+    }
+
+    /**
+     * @return the elements of the batch as a {@link ResultBatch} of boxed values.
+     * @since 1.0
+     */
+    public ResultBatch<Long> toResultBatch() {
+
+        return ResultBatch.of(toList());
+    }
+
+    /**
+     * @return the elements of the batch as {@link Result}s in their original order.
+     * @since 1.0
+     */
+    public List<Result<Long>> toList() {
+
+        List<Result<Long>> results = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            results.add(get(i));
+        }
+
+        return results;
+    }
+
+    @Override
+    public String toString() {
+
+        return "LongResultBatch[size=" + values.length + ", failures=" + failures.count() + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package eu.borglum.functional.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public final class Partition<T> {
+
+    private final List<T> successes;
+
+    private final List<Exception> failures;
+
+    private Partition(List<T> successes, List<Exception> failures) {
+
+        this.successes = successes;
+
+        this.failures = failures;
+    }
+
+    static <U> Partition<U> create(List<U> successes, List<Exception> failures) {
+
+        return new Partition<>(Collections.unmodifiableList(successes), Collections.unmodifiableList(failures));
+    }
+
+    /**
+     * @return the values of every {@code success} in their original order. An empty {@code success} has no value
+     * and is therefore not included.
+     * @since 1.0
+     */
+    public List<T> getSuccesses() {
+
+        return successes;
+    }
+
+    /**
+     * @return the exception of every {@code failure} in their original order.
+     * @since 1.0
+     */
+    public List<Exception> getFailures() {
+
+        return failures;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Partition<?> partition = (Partition<?>) o;
+
+        return successes.equals(partition.successes) && failures.equals(partition.failures);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(successes, failures);
+    }
+
+    @Override
+    public String toString() {
+
+        return "Partition[successes=" + successes + ", failures=" + failures + "]";
+    }
+}
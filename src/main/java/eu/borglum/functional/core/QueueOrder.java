@@ -0,0 +1,15 @@
+package eu.borglum.functional.core;
+
+public enum QueueOrder {
+
+    /**
+     * Waiting calls are permitted in the order they arrived.
+     */
+    FIFO,
+
+    /**
+     * The most recently arrived waiting call is permitted first, which favours the calls that are least likely
+     * to have been given up on by their callers.
+     */
+    LIFO
+}
@@ -0,0 +1,286 @@
+package eu.borglum.functional.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final long REJECTED = -1;
+
+    private final long intervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final long origin = System.nanoTime();
+
+    /**
+     * The token bucket is kept as the theoretical arrival time of the next permit relative to {@code origin}, so a
+     * permit is accounted for with a single compare-and-set and no separate refill step.
+     */
+    private final AtomicLong nextPermitNanos = new AtomicLong();
+
+    private RateLimiter(long intervalNanos, int burst) {
+
+        this.intervalNanos = intervalNanos;
+
+        this.burstToleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * Create a {@link RateLimiter} that permits {@code permitsPerSecond} on average and at most {@code burst}
+     * permits at once after it has been idle. The {@link RateLimiter} starts with a full bucket.
+     *
+     * @param permitsPerSecond the number of permits per second.
+     * @param burst            the capacity of the bucket.
+     * @return a new {@link RateLimiter}.
+     * @throws IllegalArgumentException if the {@code permitsPerSecond} or the {@code burst} is not positive.
+     * @since 1.0
+     */
+    public static RateLimiter of(double permitsPerSecond, int burst) {
+
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("The permits per second must be positive");
+        }
+
+        if (burst <= 0) {
+            throw new IllegalArgumentException("The burst must be positive");
+        }
+
+        return new RateLimiter(Math.max(1, (long) (NANOS_PER_SECOND / permitsPerSecond)), burst);
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied if a permit is immediately available. Otherwise a
+     * stackless {@link RequestNotPermittedException} is thrown, which {@link Result#map(Function)} turns into a
+     * {@code failure}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function) {
+
+        return decorateFunction(function, Duration.ZERO);
+    }
+
+    /**
+     * Decorate the {@link Function} so that it is only applied once a permit is available, blocking at most
+     * {@code maxWait}. If no permit becomes available in time a stackless {@link RequestNotPermittedException} is
+     * thrown without waiting, which {@link Result#map(Function)} turns into a {@code failure}. It is also thrown if
+     * the calling thread is interrupted while waiting, in which case the interrupt status is kept and the reserved
+     * permit is not given back.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param maxWait  the longest {@link Duration} to wait for a permit.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} or the {@code maxWait} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function, Duration maxWait) {
+
+        Objects.requireNonNull(function);
+
+        long maxWaitNanos = Objects.requireNonNull(maxWait).toNanos();
+
+        return value -> {
+            acquireOrThrow(maxWaitNanos);
+
+            return function.apply(value);
+        };
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that it is only applied if a permit is immediately available. Otherwise a
+     * stackless {@link RequestNotPermittedException} is thrown, which {@link Result#of(Supplier)} turns into a
+     * {@code failure}.
+     *
+     * @param supplier the {@link Supplier} to decorate.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier} is {@code null}.
+     * @since 1.0
+     */
+    public <U> Supplier<U> decorateSupplier(Supplier<U> supplier) {
+
+        return decorateSupplier(supplier, Duration.ZERO);
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that it is only applied once a permit is available, blocking at most
+     * {@code maxWait}. If no permit becomes available in time a stackless {@link RequestNotPermittedException} is
+     * thrown without waiting, which {@link Result#of(Supplier)} turns into a {@code failure}. It is also thrown if
+     * the calling thread is interrupted while waiting, in which case the interrupt status is kept and the reserved
+     * permit is not given back.
+     *
+     * @param supplier the {@link Supplier} to decorate.
+     * @param maxWait  the longest {@link Duration} to wait for a permit.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier} or the {@code maxWait} is {@code null}.
+     * @since 1.0
+     */
+    public <U> Supplier<U> decorateSupplier(Supplier<U> supplier, Duration maxWait) {
+
+        Objects.requireNonNull(supplier);
+
+        long maxWaitNanos = Objects.requireNonNull(maxWait).toNanos();
+
+        return () -> {
+            acquireOrThrow(maxWaitNanos);
+
+            return supplier.get();
+        };
+    }
+
+    /**
+     * Reserve a permit and apply the {@link Supplier} on the {@link Executor} once the permit is available, without
+     * blocking the calling thread. If the permit would not be available within {@code maxWait} the returned
+     * {@link CompletableFuture} is completed immediately with a {@code failure} containing a stackless
+     * {@link RequestNotPermittedException}.
+     *
+     * @param supplier the {@link Supplier} to apply.
+     * @param maxWait  the longest {@link Duration} to wait for a permit.
+     * @param executor the {@link Executor} that applies the {@link Supplier}.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return a {@link CompletableFuture} that is completed with the {@link Result} of applying the
+     * {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier}, the {@code maxWait} or the {@link Executor} is
+     *                              {@code null}.
+     * @since 1.0
+     */
+    public <U> CompletableFuture<Result<U>> submit(Supplier<U> supplier, Duration maxWait, Executor executor) {
+
+        Objects.requireNonNull(supplier);
+
+        Objects.requireNonNull(maxWait);
+
+        Objects.requireNonNull(executor);
+
+        long waitNanos = reserve(maxWait.toNanos());
+        if (waitNanos == REJECTED) {
+            return CompletableFuture.completedFuture(Failure.create(RequestNotPermittedException.INSTANCE));
+        }
+
+        Executor delayed = waitNanos == 0
+            ? executor
+            : CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, executor);
+
+        return CompletableFuture.supplyAsync(() -> Result.ofValue(supplier), delayed);
+    }
+
+    /**
+     * Acquire a permit if one is immediately available.
+     *
+     * @return {@code true} if a permit was acquired and {@code false} otherwise.
+     * @since 1.0
+     */
+    public boolean tryAcquire() {
+
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Acquire a permit, blocking at most {@code maxWait} until it is available. No permit is reserved and the
+     * calling thread is not blocked if the permit would not be available in time. If the calling thread is
+     * interrupted while waiting, the interrupt status is kept and the reserved permit is not given back.
+     *
+     * @param maxWait the longest {@link Duration} to wait for a permit.
+     * @return {@code true} if a permit was acquired and {@code false} if it would not be available in time or the
+     * calling thread was interrupted while waiting for it.
+     * @throws NullPointerException if the {@code maxWait} is {@code null}.
+     * @since 1.0
+     */
+    public boolean tryAcquire(Duration maxWait) {
+
+        Objects.requireNonNull(maxWait);
+
+        long waitNanos = reserve(maxWait.toNanos());
+        if (waitNanos == REJECTED) {
+            return false;
+        }
+
+        return park(waitNanos);
+    }
+
+    /**
+     * @return {@code true} if a full burst of permits is available and {@code false} otherwise.
+     */
+    boolean isIdle() {
+
+        return nextPermitNanos.get() <= System.nanoTime() - origin;
+    }
+
+    private void acquireOrThrow(long maxWaitNanos) {
+
+        long waitNanos = reserve(maxWaitNanos);
+        if (waitNanos == REJECTED) {
+            throw RequestNotPermittedException.INSTANCE;
+        }
+
+        if (!park(waitNanos)) {
+            throw RequestNotPermittedException.INSTANCE;
+        }
+    }
+
+    /**
+     * @return the nanoseconds to wait before the reserved permit may be used or {@link #REJECTED} if no permit
+     * could be reserved within {@code maxWaitNanos}.
+     */
+    private long reserve(long maxWaitNanos) {
+
+        while (true) {
+            long current = nextPermitNanos.get();
+
+            long now = System.nanoTime() - origin;
+
+            long start = Math.max(current, now);
+
+            long waitNanos = Math.max(0, start - now - burstToleranceNanos);
+
+            //rejecting before the compare-and-set keeps an exhausted limiter free of contended writes
+            if (waitNanos > maxWaitNanos) {
+                return REJECTED;
+            }
+
+            if (nextPermitNanos.compareAndSet(current, start + intervalNanos)) {
+                return waitNanos;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the wait has elapsed, or {@code false} if the calling thread was interrupted before
+     * it had, in which case the permit must not be used, as using it early would exceed the rate.
+     */
+    private static boolean park(long waitNanos) {
+
+        long deadline = System.nanoTime() + waitNanos;
+
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            LockSupport.parkNanos(remaining);
+
+            remaining = deadline - System.nanoTime();
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package eu.borglum.functional.core;
+
+public class RecordException extends RuntimeException {
+
+    private final long offset;
+
+    public RecordException(long offset, Exception cause) {
+        super("The record at offset " + offset + " could not be parsed", cause, false, false);
+
+        this.offset = offset;
+    }
+
+    /**
+     * @return the offset in bytes of the first byte of the record from the start of the file.
+     * @since 1.0
+     */
+    public long getOffset() {
+
+        return offset;
+    }
+}
@@ -0,0 +1,359 @@
+package eu.borglum.functional.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class RecordReader<T> implements AutoCloseable {
+
+    /**
+     * The size of the part of the file that is mapped at a time. A file can be larger than a single mapping, which
+     * is limited to {@link Integer#MAX_VALUE} bytes, and a mapping is released by the garbage collector once the
+     * reader has moved past it.
+     */
+    static final int WINDOW_SIZE = 1 << 28;
+
+    /**
+     * The smallest range of the file that is split for parallel processing.
+     */
+    static final long MIN_SPLIT_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final byte delimiter;
+
+    private final boolean stripCarriageReturn;
+
+    private final Function<? super ByteBuffer, ? extends Result<T>> parser;
+
+    private final int windowSize;
+
+    private final long minSplitSize;
+
+    private RecordReader(FileChannel channel, byte delimiter, boolean stripCarriageReturn,
+                         Function<? super ByteBuffer, ? extends Result<T>> parser, int windowSize,
+                         long minSplitSize) throws IOException {
+
+        this.channel = channel;
+
+        this.size = channel.size();
+
+        this.delimiter = delimiter;
+
+        this.stripCarriageReturn = stripCarriageReturn;
+
+        this.parser = parser;
+
+        this.windowSize = windowSize;
+
+        this.minSplitSize = minSplitSize;
+    }
+
+    /**
+     * A convenience method that does the same as {@link #open(Path, byte, Function)} for records separated by
+     * {@code \n}, where a {@code \r} before the {@code \n} is not part of the record.
+     *
+     * @param file   the file to read.
+     * @param parser the {@link Function} parsing a record.
+     * @param <U>    the type of the parsed records.
+     * @return a new {@link RecordReader}.
+     * @throws IOException          if the file cannot be opened.
+     * @throws NullPointerException if the {@code file} or the {@code parser} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> RecordReader<U> lines(Path file, Function<? super ByteBuffer, ? extends Result<U>> parser)
+        throws IOException {
+
+        return create(file, (byte) '\n', true, parser, WINDOW_SIZE, MIN_SPLIT_SIZE);
+    }
+
+    /**
+     * Open a {@link RecordReader} of the records of the file, which are separated by the {@code delimiter}. The file
+     * is memory-mapped, and every record is handed to the {@code parser} as a read-only {@link ByteBuffer} view of
+     * the mapping between its position and limit, so records are neither copied nor decoded before they are parsed.
+     * The view is reused for the next record, so the {@code parser} must not keep it. Any
+     * {@link ResultParser#parse(ByteBuffer)} can be used as the {@code parser}.
+     *
+     * @param file      the file to read.
+     * @param delimiter the byte separating the records, which is not part of any record.
+     * @param parser    the {@link Function} parsing a record.
+     * @param <U>       the type of the parsed records.
+     * @return a new {@link RecordReader}.
+     * @throws IOException          if the file cannot be opened.
+     * @throws NullPointerException if the {@code file} or the {@code parser} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> RecordReader<U> open(Path file, byte delimiter,
+                                           Function<? super ByteBuffer, ? extends Result<U>> parser)
+        throws IOException {
+
+        return create(file, delimiter, false, parser, WINDOW_SIZE, MIN_SPLIT_SIZE);
+    }
+
+    static <U> RecordReader<U> create(Path file, byte delimiter, boolean stripCarriageReturn,
+                                      Function<? super ByteBuffer, ? extends Result<U>> parser, int windowSize,
+                                      long minSplitSize) throws IOException {
+        Objects.requireNonNull(file);
+
+        Objects.requireNonNull(parser);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new RecordReader<>(channel, delimiter, stripCarriageReturn, parser, windowSize, minSplitSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Stream the parsed records in the order of the file. The stream is lazy and only a window of the file is
+     * mapped at a time, so the heap usage does not depend on the size of the file. A {@code failure} holds a
+     * {@link RecordException} with the offset of the record, whose cause is the exception of the {@code failure}
+     * returned by, or thrown by, the parser.
+     * <p>
+     * A parallel stream splits the file at record boundaries. An {@link UncheckedIOException} is thrown from the
+     * stream if the file cannot be mapped.
+     *
+     * @return a {@link Stream} of the parsed records.
+     * @since 1.0
+     */
+    public Stream<Result<T>> stream() {
+
+        return StreamSupport.stream(new RecordSpliterator(0, size), false);
+    }
+
+    /**
+     * @return the size of the file in bytes.
+     * @since 1.0
+     */
+    public long size() {
+
+        return size;
+    }
+
+    /**
+     * Close the file. Mappings that are still referenced by a stream stay valid until they are garbage collected.
+     *
+     * @throws IOException if the file cannot be closed.
+     * @since 1.0
+     */
+    @Override
+    public void close() throws IOException {
+
+        channel.close();
+    }
+
+    private Result<T> parse(ByteBuffer record, long offset) {
+
+        Result<T> result;
+        try {
+            result = Objects.requireNonNull(parser.apply(record));
+        } catch (Exception e) {
+            return Failure.create(new RecordException(offset, e));
+        }
+
+        InternalResult<T> internal = InternalResult.of(result);
+
+        //the failure has already been reported by the parser, it is only given the offset of the record
+        return internal.isFailure() ? Failure.restore(new RecordException(offset, internal.getCause())) : result;
+    }
+
+    private MappedByteBuffer map(long position, long length) {
+
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the offset of the first record starting at or after the {@code offset}.
+     */
+    private long nextRecordStart(long offset) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        long position = offset - 1;
+        while (position < size) {
+            buffer.clear();
+
+            int read;
+            try {
+                read = channel.read(buffer, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (read < 0) {
+                return size;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == delimiter) {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        return size;
+    }
+
+    private final class RecordSpliterator implements Spliterator<Result<T>> {
+
+        private long position;
+
+        private final long end;
+
+        private long windowStart;
+
+        private MappedByteBuffer window;
+
+        /**
+         * The view of the current window that is handed to the parser, so that records can be parsed without
+         * allocating a {@link ByteBuffer} for each of them.
+         */
+        private ByteBuffer view;
+
+        private RecordSpliterator(long position, long end) {
+
+            this.position = position;
+
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Result<T>> action) {
+
+            if (position >= end) {
+                return false;
+            }
+
+            long start = position;
+
+            long recordEnd = findDelimiter(start);
+
+            position = recordEnd + 1;
+
+            if (stripCarriageReturn && recordEnd > start && byteAt(recordEnd - 1) == '\r') {
+                recordEnd--;
+            }
+
+            view.clear();
+            view.position((int) (start - windowStart));
+            view.limit((int) (recordEnd - windowStart));
+
+            action.accept(parse(view, start));
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Result<T>> action) {
+
+            //noinspection StatementWithEmptyBody
+            while (tryAdvance(action)) {
+            }
+        }
+
+        @Override
+        public Spliterator<Result<T>> trySplit() {
+
+            if (end - position < minSplitSize * 2) {
+                return null;
+            }
+
+            long boundary = nextRecordStart(position + (end - position) / 2);
+
+            if (boundary >= end) {
+                return null;
+            }
+
+            RecordSpliterator prefix = new RecordSpliterator(position, boundary);
+
+            position = boundary;
+
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * @return the offset of the delimiter ending the record starting at the {@code start}, or the size of the
+         * file if it is the last record and is not followed by a delimiter. The record is mapped on return.
+         */
+        private long findDelimiter(long start) {
+
+            ensureMapped(start, Math.min(size, start + 1));
+
+            long offset = start;
+            while (true) {
+                int limit = window.limit();
+
+                int i = (int) (offset - windowStart);
+                while (i < limit && window.get(i) != delimiter) {
+                    i++;
+                }
+
+                offset = windowStart + i;
+
+                if (i < limit || offset == size) {
+                    return offset;
+                }
+
+                //the record continues past the window, so map a window starting at the record that is large enough
+                ensureMapped(start, Math.min(size, start + Math.max(windowSize, 2 * (offset - start))));
+            }
+        }
+
+        private byte byteAt(long offset) {
+
+            return window.get((int) (offset - windowStart));
+        }
+
+        private void ensureMapped(long from, long to) {
+
+            if (window != null && from >= windowStart && to <= windowStart + window.limit()) {
+                return;
+            }
+
+            long length = Math.max(to - from, Math.min(windowSize, size - from));
+
+            if (length > Integer.MAX_VALUE) {
+                throw new UncheckedIOException(new IOException("The record at offset " + from + " is too large"));
+            }
+
+            windowStart = from;
+
+            window = map(from, length);
+
+            view = window.asReadOnlyBuffer();
+        }
+    }
+}
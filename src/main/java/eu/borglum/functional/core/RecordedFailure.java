@@ -0,0 +1,71 @@
+package eu.borglum.functional.core;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public final class RecordedFailure {
+
+    private final Class<?> exceptionClass;
+
+    private final String message;
+
+    private final Instant timestamp;
+
+    private final List<StackTraceElement> stackTrace;
+
+    RecordedFailure(Class<?> exceptionClass, String message, Instant timestamp, List<StackTraceElement> stackTrace) {
+
+        this.exceptionClass = exceptionClass;
+
+        this.message = message;
+
+        this.timestamp = timestamp;
+
+        this.stackTrace = stackTrace;
+    }
+
+    /**
+     * @return the {@link Class} of the {@link Exception} of the {@code failure}.
+     * @since 1.0
+     */
+    public Class<?> getExceptionClass() {
+
+        return exceptionClass;
+    }
+
+    /**
+     * @return the message of the {@link Exception} of the {@code failure}, if any.
+     * @since 1.0
+     */
+    public Optional<String> getMessage() {
+
+        return Optional.ofNullable(message);
+    }
+
+    /**
+     * @return the stack trace of the {@link Exception} if the {@code failure} was sampled and an empty {@link List}
+     * otherwise.
+     * @since 1.0
+     */
+    public List<StackTraceElement> getStackTrace() {
+
+        return stackTrace;
+    }
+
+    /**
+     * @return the {@link Instant} the {@code failure} was created.
+     * @since 1.0
+     */
+    public Instant getTimestamp() {
+
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("RecordedFailure[exceptionClass=%s,message=%s,timestamp=%s]",
+            exceptionClass.getName(), message, timestamp);
+    }
+}
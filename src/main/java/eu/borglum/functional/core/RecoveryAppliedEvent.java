@@ -0,0 +1,41 @@
+package eu.borglum.functional.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("eu.borglum.functional.RecoveryApplied")
+@Label("Recovery Applied")
+@Description("A recovery handler was applied to a failure")
+@Category({"Functional", "Result"})
+@StackTrace(false)
+final class RecoveryAppliedEvent extends Event {
+
+    /**
+     * Only used to ask whether the event is enabled without allocating, see {@link SlowSupplierEvent}.
+     */
+    private static final RecoveryAppliedEvent PROBE = new RecoveryAppliedEvent();
+
+    @Label("Handler Class")
+    Class<?> handlerClass;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    static void emit(Object handler, Exception exception) {
+
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+
+        RecoveryAppliedEvent event = new RecoveryAppliedEvent();
+        if (event.shouldCommit()) {
+            event.handlerClass = handler.getClass();
+            event.exceptionClass = exception.getClass();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package eu.borglum.functional.core;
+
+public class RequestNotPermittedException extends RuntimeException {
+
+    static final RequestNotPermittedException INSTANCE =
+        new RequestNotPermittedException("The rate limit has been exceeded");
+
+    public RequestNotPermittedException(String message) {
+        super(message, null, false, false);
+    }
+}
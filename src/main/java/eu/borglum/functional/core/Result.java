@@ -182,14 +182,13 @@ public interface Result<T> {
     static <U> Result<U> ofOptional(OptionalSupplier<U> supplier) {
         Objects.requireNonNull(supplier);
 
-        Optional<U> value;
-        try {
-            value = supplier.get();
-        } catch (Exception e) {
-            return Failure.create(e);
+        Result<U> result = Success.applyOptional(supplier);
+
+        if (result instanceof Success) {
+            ResultInstrumentation.success();
         }
 
-        return Success.create(value);
+        return result;
     }
 
     /**
@@ -206,14 +205,13 @@ public interface Result<T> {
     static <U> Result<U> ofValue(Supplier<U> supplier) {
         Objects.requireNonNull(supplier);
 
-        U value;
-        try {
-            value = supplier.get();
-        } catch (Exception e) {
-            return Failure.create(e);
+        Result<U> result = Success.applyValue(supplier);
+
+        if (result instanceof Success) {
+            ResultInstrumentation.success();
         }
 
-        return Success.create(value);
+        return result;
     }
 
     /**
@@ -0,0 +1,239 @@
+package eu.borglum.functional.core;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public final class ResultBalancer<T> {
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double MIN_SUCCESS_RATE = 0.001;
+
+    private static final double FAILURE_HALF_LIFE_NANOS = 1_000_000_000.0;
+
+    private final List<Supplier<T>> sources;
+
+    private final SourceStatistics[] statistics;
+
+    private final int maxAttempts;
+
+    private ResultBalancer(List<Supplier<T>> sources, int maxAttempts) {
+
+        this.sources = sources;
+
+        this.statistics = new SourceStatistics[sources.size()];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new SourceStatistics();
+        }
+
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * A convenience method that does the same as {@link #of(List, int)} without falling back to another source
+     * when a source fails.
+     *
+     * @param sources the equivalent {@link Supplier}s to balance between.
+     * @param <U>     the type of the value returned by the {@link Supplier}s.
+     * @return a new {@link ResultBalancer}.
+     * @throws NullPointerException     if the {@code sources} or any of the {@link Supplier}s is {@code null}.
+     * @throws IllegalArgumentException if the {@code sources} are empty.
+     * @since 1.0
+     */
+    public static <U> ResultBalancer<U> of(List<Supplier<U>> sources) {
+
+        return of(sources, 1);
+    }
+
+    /**
+     * Create a {@link ResultBalancer} that applies one of several equivalent {@link Supplier}s, e.g. replicas or
+     * caches of the same data. The source is picked by comparing two randomly chosen sources and using the one with
+     * the lowest expected cost, based on the moving average of its latency, its failure rate and the number of calls
+     * currently in flight. The failure rate of a source that is not called decays with a half-life of one second,
+     * so an avoided source is eventually tried again. When a source fails, up to {@code maxAttempts} sources in
+     * total are tried, each time using the cheapest source that has not been tried yet.
+     *
+     * @param sources     the equivalent {@link Supplier}s to balance between.
+     * @param maxAttempts the maximum number of sources to try for a single call.
+     * @param <U>         the type of the value returned by the {@link Supplier}s.
+     * @return a new {@link ResultBalancer}.
+     * @throws NullPointerException     if the {@code sources} or any of the {@link Supplier}s is {@code null}.
+     * @throws IllegalArgumentException if the {@code sources} are empty or if the {@code maxAttempts} is not
+     *                                  positive.
+     * @since 1.0
+     */
+    public static <U> ResultBalancer<U> of(List<Supplier<U>> sources, int maxAttempts) {
+
+        Objects.requireNonNull(sources);
+
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("At least one source is required");
+        }
+
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("The max attempts must be positive");
+        }
+
+        return new ResultBalancer<>(List.copyOf(sources), Math.min(maxAttempts, sources.size()));
+    }
+
+    /**
+     * Apply one of the sources and create a {@link Result} as either a {@code success} or a {@code failure}
+     * depending on the outcome. If every attempted source fails the {@code failure} of the last attempt is
+     * returned.
+     *
+     * @return the {@link Result} of applying one of the sources.
+     * @since 1.0
+     */
+    public Result<T> get() {
+
+        int index = pick();
+
+        Result<T> result = call(index);
+        if (maxAttempts == 1 || InternalResult.of(result).isSuccess()) {
+            return result;
+        }
+
+        boolean[] attempted = new boolean[statistics.length];
+        attempted[index] = true;
+
+        for (int attempt = 1; attempt < maxAttempts && InternalResult.of(result).isFailure(); attempt++) {
+            index = cheapest(attempted);
+            attempted[index] = true;
+
+            result = call(index);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param index the index of the source.
+     * @return the moving average of the failure rate of the source as a fraction between {@code 0} and {@code 1}.
+     * @throws IndexOutOfBoundsException if the {@code index} is not the index of a source.
+     * @since 1.0
+     */
+    public double getFailureRate(int index) {
+
+        return Double.longBitsToDouble(statistics[index].failureRate.get());
+    }
+
+    /**
+     * @param index the index of the source.
+     * @return the moving average of the latency of the calls to the source in nanoseconds.
+     * @throws IndexOutOfBoundsException if the {@code index} is not the index of a source.
+     * @since 1.0
+     */
+    public double getLatencyNanos(int index) {
+
+        return Double.longBitsToDouble(statistics[index].latencyNanos.get());
+    }
+
+    private Result<T> call(int index) {
+
+        SourceStatistics source = statistics[index];
+
+        source.inFlight.incrementAndGet();
+
+        long start = System.nanoTime();
+
+        Result<T> result;
+        try {
+            result = Result.ofValue(sources.get(index));
+        } finally {
+            source.inFlight.decrementAndGet();
+        }
+
+        long end = System.nanoTime();
+
+        update(source.latencyNanos, end - start);
+
+        update(source.failureRate, InternalResult.of(result).isSuccess() ? 0 : 1);
+
+        source.lastCallNanos.set(end);
+
+        return result;
+    }
+
+    private int pick() {
+
+        int size = statistics.length;
+        if (size == 1) {
+            return 0;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        int first = random.nextInt(size);
+
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        return cost(second) < cost(first) ? second : first;
+    }
+
+    private int cheapest(boolean[] attempted) {
+
+        int cheapest = -1;
+
+        double cheapestCost = Double.MAX_VALUE;
+
+        for (int i = 0; i < statistics.length; i++) {
+            if (!attempted[i]) {
+                double cost = cost(i);
+
+                if (cheapest < 0 || cost < cheapestCost) {
+                    cheapest = i;
+                    cheapestCost = cost;
+                }
+            }
+        }
+
+        return cheapest;
+    }
+
+    private double cost(int index) {
+
+        SourceStatistics source = statistics[index];
+
+        //the failure rate decays while a source is not called, so a source that has been avoided is retried
+        double idleNanos = System.nanoTime() - source.lastCallNanos.get();
+
+        double failureRate = getFailureRate(index) * Math.pow(0.5, idleNanos / FAILURE_HALF_LIFE_NANOS);
+
+        //the expected cost of getting a success from the source grows with the number of attempts it takes
+        double successRate = Math.max(MIN_SUCCESS_RATE, 1 - failureRate);
+
+        return (getLatencyNanos(index) + 1) * (source.inFlight.get() + 1) / successRate;
+    }
+
+    private static void update(AtomicLong average, double sample) {
+
+        long current;
+        long next;
+        do {
+            current = average.get();
+
+            double value = Double.longBitsToDouble(current);
+
+            next = Double.doubleToRawLongBits(value + SMOOTHING * (sample - value));
+        } while (!average.compareAndSet(current, next));
+    }
+
+    private static final class SourceStatistics {
+
+        private final AtomicLong latencyNanos = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        private final AtomicLong failureRate = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        private final AtomicLong lastCallNanos = new AtomicLong(System.nanoTime());
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+}
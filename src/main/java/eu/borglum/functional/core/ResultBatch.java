@@ -0,0 +1,390 @@
+package eu.borglum.functional.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class ResultBatch<T> {
+
+    /**
+     * The value of every element, and {@code null} for an empty {@code success} as well as for a {@code failure},
+     * so that a batch of {@code success}es costs little more than the array of values itself.
+     */
+    private final Object[] values;
+
+    /**
+     * A bit per element that is set if the element is a {@code failure}.
+     */
+    private final long[] failed;
+
+    private final FailureTable failures;
+
+    private ResultBatch(Object[] values, long[] failed, FailureTable failures) {
+
+        this.values = values;
+
+        this.failed = failed;
+
+        this.failures = failures;
+    }
+
+    /**
+     * Create a {@link ResultBatch} holding the {@link Result}s in their original order.
+     *
+     * @param results the {@link Result}s of the batch.
+     * @param <U>     the type of the values.
+     * @return a new {@link ResultBatch}.
+     * @throws NullPointerException if the {@code results} or any of them is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultBatch<U> of(List<Result<U>> results) {
+
+        Objects.requireNonNull(results);
+
+        Object[] values = new Object[results.size()];
+
+        long[] failed = FailureTable.bitset(values.length);
+
+        FailureTable failures = new FailureTable(0);
+
+        int i = 0;
+        for (Result<U> result : results) {
+            InternalResult<U> internal = InternalResult.of(Objects.requireNonNull(result));
+
+            if (internal.isFailure()) {
+                FailureTable.set(failed, i);
+
+                failures.add(i, internal.getCause());
+            } else {
+                values[i] = internal.getOptional().orElse(null);
+            }
+
+            i++;
+        }
+
+        return new ResultBatch<>(values, failed, failures);
+    }
+
+    /**
+     * Create a {@link ResultBatch} where every element is a {@code success} holding one of the values.
+     *
+     * @param values the values of the batch.
+     * @param <U>    the type of the values.
+     * @return a new {@link ResultBatch}.
+     * @throws NullPointerException if the {@code values} or any of them is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultBatch<U> ofValues(List<U> values) {
+
+        Objects.requireNonNull(values);
+
+        Object[] copy = values.toArray();
+        for (Object value : copy) {
+            Objects.requireNonNull(value);
+        }
+
+        return new ResultBatch<>(copy, FailureTable.bitset(copy.length), new FailureTable(0));
+    }
+
+    /**
+     * Apply the {@link Function} to the value of every {@code success} that is not empty, in the same way as
+     * {@link Result#map(Function)}. An element where the {@link Function} throws becomes a {@code failure}.
+     *
+     * @param function the {@link Function} to apply.
+     * @param <U>      the type of the values returned by the {@link Function}.
+     * @return a new {@link ResultBatch} with the mapped values.
+     * @throws NullPointerException if the {@link Function} is {@code null} or returns {@code null}.
+     * @since 1.0
+     */
+    public <U> ResultBatch<U> map(Function<? super T, ? extends U> function) {
+
+        Objects.requireNonNull(function);
+
+        Object[] mapped = new Object[values.length];
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (FailureTable.isSet(failed, i)) {
+                table.add(failures.indexAt(next), failures.causeAt(next));
+                next++;
+
+                continue;
+            }
+
+            //noinspection unchecked
+            T value = (T) values[i];
+            if (value == null) {
+                continue;
+            }
+
+            U result;
+            try {
+                result = function.apply(value);
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                FailureTable.set(mask, i);
+                table.addCreated(i, e);
+
+                continue;
+            }
+
+            mapped[i] = Objects.requireNonNull(result);
+        }
+
+        return new ResultBatch<>(mapped, mask, table);
+    }
+
+    /**
+     * Test the value of every {@code success} that is not empty, in the same way as {@link Result#filter}. An
+     * element whose value does not match becomes an empty {@code success} and an element where the
+     * {@link Predicate} throws becomes a {@code failure}.
+     *
+     * @param predicate the {@link Predicate} to test the values with.
+     * @return a new {@link ResultBatch} with the matching values.
+     * @throws NullPointerException if the {@link Predicate} is {@code null}.
+     * @since 1.0
+     */
+    public ResultBatch<T> filter(Predicate<? super T> predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        Object[] filtered = new Object[values.length];
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (FailureTable.isSet(failed, i)) {
+                table.add(failures.indexAt(next), failures.causeAt(next));
+                next++;
+
+                continue;
+            }
+
+            //noinspection unchecked
+            T value = (T) values[i];
+            if (value == null) {
+                continue;
+            }
+
+            boolean matches;
+            try {
+                matches = predicate.test(value);
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                FailureTable.set(mask, i);
+                table.addCreated(i, e);
+
+                continue;
+            }
+
+            if (matches) {
+                filtered[i] = value;
+            }
+        }
+
+        return new ResultBatch<>(filtered, mask, table);
+    }
+
+    /**
+     * Recover every {@code failure} whose exception is an instance of the {@code exceptionClass}, in the same way
+     * as {@link Result#recover(Class, Function)}. Only the {@code failure}s are visited, and whether an exception
+     * is recoverable is decided once per exception class rather than once per {@code failure}. An element where
+     * the {@link Function} throws remains a {@code failure} holding the new exception.
+     *
+     * @param exceptionClass the class of the exceptions to recover.
+     * @param function       the {@link Function} returning the value to recover with.
+     * @param <X>            the type of the exceptions to recover.
+     * @return a new {@link ResultBatch} with the recovered values.
+     * @throws NullPointerException if the {@code exceptionClass} or the {@link Function} is {@code null}, or the
+     *                              {@link Function} returns {@code null}.
+     * @since 1.0
+     */
+    public <X extends Exception> ResultBatch<T> recover(Class<X> exceptionClass,
+                                                        Function<? super X, ? extends T> function) {
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(function);
+
+        if (failures.count() == 0) {
+            return this;
+        }
+
+        Object[] recovered = values.clone();
+
+        long[] mask = failed.clone();
+
+        FailureTable table = failures.derive();
+
+        Map<Class<?>, Boolean> recoverable = new IdentityHashMap<>();
+
+        for (int f = 0; f < failures.count(); f++) {
+            int index = failures.indexAt(f);
+
+            Exception cause = failures.causeAt(f);
+
+            boolean hit = recoverable.computeIfAbsent(cause.getClass(), exceptionClass::isAssignableFrom);
+
+            ResultInstrumentation.recovery(function, cause, hit);
+
+            if (!hit) {
+                table.add(index, cause);
+
+                continue;
+            }
+
+            T value;
+            try {
+                value = function.apply(exceptionClass.cast(cause));
+            } catch (Exception e) {
+                ResultInstrumentation.failure(e);
+
+                table.addCreated(index, e);
+
+                continue;
+            }
+
+            ResultInstrumentation.success();
+
+            recovered[index] = Objects.requireNonNull(value);
+            FailureTable.clear(mask, index);
+        }
+
+        return new ResultBatch<>(recovered, mask, table);
+    }
+
+    /**
+     * The columnar counterpart of {@link Results#sequence(List)}.
+     *
+     * @return a {@code success} holding the values in their original order, where an empty {@code success} is
+     * represented by {@code null}, or the {@code failure} with the lowest index if there is any.
+     * @since 1.0
+     */
+    public Result<List<T>> sequence() {
+
+        if (failures.count() > 0) {
+            return Failure.restore(failures.causeAt(0));
+        }
+
+        //noinspection unchecked
+        return Success.create(new ArrayList<>(Arrays.asList((T[]) values)));
+    }
+
+    /**
+     * The columnar counterpart of {@link Results#partition(List)}.
+     *
+     * @return a {@link Partition} of the elements.
+     * @since 1.0
+     */
+    public Partition<T> partition() {
+
+        List<T> successes = new ArrayList<>(values.length - failures.count());
+        for (Object value : values) {
+            if (value != null) {
+                //noinspection unchecked
+                successes.add((T) value);
+            }
+        }
+
+        return Partition.create(successes, failures.causes());
+    }
+
+    /**
+     * Intern the exceptions of the {@code failure}s with the {@link FailureInterner}, so that equivalent
+     * {@code failure}s share a single exception instance. The batches returned by the operations of the new batch
+     * intern the exceptions of the {@code failure}s they create as well.
+     *
+     * @param interner the {@link FailureInterner} to intern the exceptions with.
+     * @return a new {@link ResultBatch} using the {@link FailureInterner}.
+     * @throws NullPointerException if the {@link FailureInterner} is {@code null}.
+     * @since 1.0
+     */
+    public ResultBatch<T> withInterner(FailureInterner interner) {
+
+        return new ResultBatch<>(values, failed, failures.intern(interner));
+    }
+
+    /**
+     * @param index the index of the element.
+     * @return the element at the index as a {@link Result}.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     * @since 1.0
+     */
+    public Result<T> get(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        if (isFailure(index)) {
+            return Failure.restore(failures.causeOf(index));
+        }
+
+        //noinspection unchecked
+        T value = (T) values[index];
+
+        return value == null ? Success.create() : Success.create(value);
+    }
+
+    /**
+     * @param index the index of the element.
+     * @return {@code true} if the element at the index is a {@code failure} and {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     * @since 1.0
+     */
+    public boolean isFailure(int index) {
+
+        Objects.checkIndex(index, values.length);
+
+        return FailureTable.isSet(failed, index);
+    }
+
+    /**
+     * @return the number of {@code failure}s in the batch.
+     * @since 1.0
+     */
+    public int getFailureCount() {
+
+        return failures.count();
+    }
+
+    /**
+     * @return the number of elements in the batch.
+     * @since 1.0
+     */
+    public int size() {
+
+        return values.length;
+    }
+
+    /**
+     * @return the elements of the batch as {@link Result}s in their original order.
+     * @since 1.0
+     */
+    public List<Result<T>> toList() {
+
+        List<Result<T>> results = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            results.add(get(i));
+        }
+
+        return results;
+    }
+
+    @Override
+    public String toString() {
+
+        return "ResultBatch[size=" + values.length + ", failures=" + failures.count() + "]";
+    }
+}
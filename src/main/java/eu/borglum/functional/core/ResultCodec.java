@@ -0,0 +1,287 @@
+package eu.borglum.functional.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class ResultCodec<T> {
+
+    private static final byte EMPTY = 0;
+
+    private static final byte SUCCESS = 1;
+
+    private static final byte FAILURE = 2;
+
+    private static final byte FAILURE_WITH_STACK_TRACE = 3;
+
+    /**
+     * The id of an {@link Exception} class that has not been registered, whose name is written instead.
+     */
+    private static final int UNREGISTERED = 0;
+
+    private final ValueCodec<T> valueCodec;
+
+    private final List<Function<? super String, ? extends Exception>> factories;
+
+    private final Map<Class<?>, Integer> ids;
+
+    private final boolean stackTraces;
+
+    private ResultCodec(ValueCodec<T> valueCodec, List<Function<? super String, ? extends Exception>> factories,
+                        Map<Class<?>, Integer> ids, boolean stackTraces) {
+
+        this.valueCodec = valueCodec;
+
+        this.factories = factories;
+
+        this.ids = ids;
+
+        this.stackTraces = stackTraces;
+    }
+
+    /**
+     * Create a {@link ResultCodec} that writes a {@link Result} as a tag byte followed by the value written by the
+     * {@link ValueCodec} for a {@code success} holding a value, or by the {@link Exception} for a {@code failure}.
+     * <p>
+     * The {@link Exception} of a {@code failure} is written as the name of its {@link Class} and its message, and is
+     * decoded into a {@link DecodedFailureException} holding them. Registering the {@link Class} with
+     * {@link #withException(Class, Function)} writes a small id instead of the name and decodes it into an
+     * {@link Exception} of the {@link Class}. The cause of the {@link Exception} is not written.
+     * <p>
+     * A {@link ResultCodec} is immutable and thread-safe.
+     *
+     * @param valueCodec the {@link ValueCodec} of the values of a {@code success}.
+     * @param <U>        the type of the values.
+     * @return a new {@link ResultCodec}.
+     * @throws NullPointerException if the {@code valueCodec} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultCodec<U> of(ValueCodec<U> valueCodec) {
+
+        Objects.requireNonNull(valueCodec);
+
+        return new ResultCodec<>(valueCodec, List.of(), Map.of(), false);
+    }
+
+    /**
+     * Create a {@link ResultCodec} that also registers the {@link Exception} class in its dictionary, so that the
+     * {@link Exception} is written as an id of {@code 1} or {@code 2} bytes and decoded by applying the
+     * {@code factory} to its message. The ids are given in the order the classes are registered, so the encoder and
+     * the decoder must register the same classes in the same order. Subclasses of the {@link Class} are not
+     * registered by it.
+     * <p>
+     * Filling in the stack trace of the created {@link Exception} dominates the cost of decoding, so a
+     * {@code factory} creating an {@link Exception} without a writable stack trace decodes much faster. Such an
+     * {@link Exception} cannot be given a stack trace either, so a stack trace written by a {@link ResultCodec}
+     * created with {@link #withStackTraces()} is read past but dropped when it is decoded.
+     *
+     * @param exceptionClass the {@link Class} of the {@link Exception}.
+     * @param factory        the {@link Function} creating the {@link Exception} from its message, which might be
+     *                       {@code null}.
+     * @param <X>            the type of the {@link Exception}.
+     * @return a new {@link ResultCodec}.
+     * @throws IllegalArgumentException if the {@code exceptionClass} has already been registered.
+     * @throws NullPointerException     if the {@code exceptionClass} or the {@code factory} is {@code null}.
+     * @since 1.0
+     */
+    public <X extends Exception> ResultCodec<T> withException(Class<X> exceptionClass,
+                                                             Function<? super String, ? extends X> factory) {
+
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(factory);
+
+        if (ids.containsKey(exceptionClass)) {
+            throw new IllegalArgumentException("The exception class " + exceptionClass.getName()
+                + " has already been registered");
+        }
+
+        List<Function<? super String, ? extends Exception>> newFactories = new ArrayList<>(factories);
+        newFactories.add(factory);
+
+        Map<Class<?>, Integer> newIds = new HashMap<>(ids);
+        newIds.put(exceptionClass, newFactories.size());
+
+        return new ResultCodec<>(valueCodec, Collections.unmodifiableList(newFactories),
+            Collections.unmodifiableMap(newIds), stackTraces);
+    }
+
+    /**
+     * Create a {@link ResultCodec} that also writes the stack trace of the {@link Exception} of a {@code failure}.
+     * A stack trace is decoded by any {@link ResultCodec}, so only the encoder has to write it. It is dropped when
+     * decoded into an {@link Exception} without a writable stack trace, see {@link #withException(Class, Function)}.
+     *
+     * @return a new {@link ResultCodec}.
+     * @since 1.0
+     */
+    public ResultCodec<T> withStackTraces() {
+
+        return new ResultCodec<>(valueCodec, factories, ids, true);
+    }
+
+    /**
+     * Write the {@link Result} at the position of the {@link ByteBuffer} and advance the position past it. The
+     * {@link ByteBuffer} might be heap, direct or mapped.
+     *
+     * @param result the {@link Result} to write.
+     * @param target the {@link ByteBuffer} to write to.
+     * @throws java.nio.BufferOverflowException if the {@link Result} does not fit in the remaining bytes, in which
+     *                                          case some of it might have been written.
+     * @throws NullPointerException             if the {@code result} or the {@code target} is {@code null}.
+     * @since 1.0
+     */
+    public void encode(Result<? extends T> result, ByteBuffer target) {
+
+        Objects.requireNonNull(target);
+
+        InternalResult<? extends T> internal = InternalResult.of(result);
+
+        if (internal.isFailure()) {
+            encodeFailure(internal.getCause(), target);
+
+            return;
+        }
+
+        T value = internal.getOptional().orElse(null);
+
+        if (value == null) {
+            target.put(EMPTY);
+        } else {
+            target.put(SUCCESS);
+
+            valueCodec.encode(value, target);
+        }
+    }
+
+    /**
+     * Read a {@link Result} written by {@link #encode(Result, ByteBuffer)} at the position of the
+     * {@link ByteBuffer} and advance the position past it. The bytes are read in place, without copying them to the
+     * heap first, so a direct or mapped {@link ByteBuffer} is read without copying the whole record. A decoded
+     * {@code failure} is not reported to {@link ResultInstrumentation}, as it was reported where it was created.
+     *
+     * @param source the {@link ByteBuffer} to read from.
+     * @return the {@link Result}.
+     * @throws java.nio.BufferUnderflowException if the {@link Result} is not within the remaining bytes.
+     * @throws IllegalArgumentException          if the bytes are not a {@link Result} written by a
+     *                                           {@link ResultCodec} with the same registered classes.
+     * @throws NullPointerException              if the {@code source} is {@code null}.
+     * @since 1.0
+     */
+    public Result<T> decode(ByteBuffer source) {
+
+        Objects.requireNonNull(source);
+
+        byte tag = source.get();
+
+        switch (tag) {
+            case EMPTY:
+                return Success.create();
+            case SUCCESS:
+                return Success.create(valueCodec.decode(source));
+            case FAILURE:
+            case FAILURE_WITH_STACK_TRACE:
+                return Failure.restore(decodeFailure(source, tag == FAILURE_WITH_STACK_TRACE));
+            default:
+                throw new IllegalArgumentException("The tag " + tag + " is not the tag of a result");
+        }
+    }
+
+    private void encodeFailure(Exception exception, ByteBuffer target) {
+
+        target.put(stackTraces ? FAILURE_WITH_STACK_TRACE : FAILURE);
+
+        Integer id = ids.get(exception.getClass());
+
+        if (id == null) {
+            ValueCodecs.putVarint(UNREGISTERED, target);
+
+            ValueCodecs.putNullableString(exceptionClassName(exception), target);
+        } else {
+            ValueCodecs.putVarint(id, target);
+        }
+
+        ValueCodecs.putNullableString(exception.getMessage(), target);
+
+        if (stackTraces) {
+            StackTraceElement[] stackTrace = exception.getStackTrace();
+
+            ValueCodecs.putVarint(stackTrace.length, target);
+
+            for (StackTraceElement element : stackTrace) {
+                ValueCodecs.putNullableString(element.getClassName(), target);
+                ValueCodecs.putNullableString(element.getMethodName(), target);
+                ValueCodecs.putNullableString(element.getFileName(), target);
+
+                //the line number is -1 if it is unknown and -2 for a native method
+                ValueCodecs.putVarint(element.getLineNumber() + 2, target);
+            }
+        }
+    }
+
+    private Exception decodeFailure(ByteBuffer source, boolean hasStackTrace) {
+
+        int id = ValueCodecs.getVarint(source);
+
+        if (id < 0 || id > factories.size()) {
+            throw new IllegalArgumentException("The exception id " + id + " has not been registered");
+        }
+
+        String className = id == UNREGISTERED ? getRequiredString(source, "exception class name") : null;
+
+        String message = ValueCodecs.getNullableString(source);
+
+        Exception exception = id == UNREGISTERED
+            ? new DecodedFailureException(className, message)
+            : Objects.requireNonNull(factories.get(id - 1).apply(message));
+
+        if (hasStackTrace) {
+            StackTraceElement[] stackTrace = new StackTraceElement[ValueCodecs.getLength(source)];
+
+            for (int i = 0; i < stackTrace.length; i++) {
+                stackTrace[i] = new StackTraceElement(
+                    getRequiredString(source, "declaring class of a stack trace element"),
+                    getRequiredString(source, "method name of a stack trace element"),
+                    ValueCodecs.getNullableString(source),
+                    ValueCodecs.getVarint(source) - 2
+                );
+            }
+
+            //does nothing if the exception was created without a writable stack trace
+            exception.setStackTrace(stackTrace);
+        }
+
+        return exception;
+    }
+
+    /**
+     * @return the string, which is only {@code null} in corrupt input, since it is never written as {@code null}.
+     */
+    private static String getRequiredString(ByteBuffer source, String name) {
+
+        String value = ValueCodecs.getNullableString(source);
+
+        if (value == null) {
+            throw new IllegalArgumentException("The " + name + " must not be null");
+        }
+
+        return value;
+    }
+
+    /**
+     * @return the name of the encoded {@link Class}, which for a {@link DecodedFailureException} is the name of the
+     * {@link Class} it was decoded from, so that a {@code failure} can be passed on without losing its class.
+     */
+    private static String exceptionClassName(Exception exception) {
+
+        if (exception instanceof DecodedFailureException) {
+            return ((DecodedFailureException) exception).getExceptionClassName();
+        }
+
+        return exception.getClass().getName();
+    }
+}
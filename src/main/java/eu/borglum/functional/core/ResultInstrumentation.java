@@ -0,0 +1,127 @@
+package eu.borglum.functional.core;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public final class ResultInstrumentation {
+
+    /**
+     * {@code null} while nothing is installed, so that the only cost on the hot paths is a single field read and
+     * the check of whether the corresponding flight recorder event is enabled, see {@link FlightRecorderEvents}.
+     */
+    private static volatile ResultMetrics metrics;
+
+    private ResultInstrumentation() {
+        //does nothing
+    }
+
+    /**
+     * Install the {@link ResultMetrics} that every {@link Result} reports to, replacing any {@link ResultMetrics}
+     * installed before. Use {@link ResultMetrics#compose(ResultMetrics...)} to report to more than one.
+     *
+     * @param resultMetrics the {@link ResultMetrics} to install.
+     * @throws NullPointerException if the {@code resultMetrics} is {@code null}.
+     * @since 1.0
+     */
+    public static void install(ResultMetrics resultMetrics) {
+
+        metrics = Objects.requireNonNull(resultMetrics);
+    }
+
+    /**
+     * Remove the installed {@link ResultMetrics}, if any.
+     *
+     * @since 1.0
+     */
+    public static void uninstall() {
+
+        metrics = null;
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that the time it takes to apply it is reported to the installed
+     * {@link ResultMetrics} under the given {@code name}. If nothing is installed when the {@link Supplier} is
+     * applied it is not timed.
+     *
+     * @param name     the name to report the timing under.
+     * @param supplier the {@link Supplier} to time.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@code name} or the {@link Supplier} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> Supplier<U> timed(String name, Supplier<U> supplier) {
+
+        Objects.requireNonNull(name);
+
+        Objects.requireNonNull(supplier);
+
+        return () -> {
+            ResultMetrics current = metrics;
+            if (current == null) {
+                return supplier.get();
+            }
+
+            long start = System.nanoTime();
+
+            U value;
+            try {
+                value = supplier.get();
+            } catch (RuntimeException e) {
+                current.onTiming(name, System.nanoTime() - start, false);
+                throw e;
+            }
+
+            current.onTiming(name, System.nanoTime() - start, true);
+
+            return value;
+        };
+    }
+
+    static void success() {
+
+        ResultMetrics current = metrics;
+        if (current != null) {
+            current.onSuccess();
+        }
+    }
+
+    static void failure(Exception exception) {
+
+        ResultMetrics current = metrics;
+        if (current != null) {
+            current.onFailure(exception);
+        }
+
+        FlightRecorderEvents.failureCreated(exception);
+    }
+
+    static void recovery(Object handler, Exception exception, boolean hit) {
+
+        ResultMetrics current = metrics;
+        if (current != null) {
+            current.onRecovery(handler.getClass(), hit);
+        }
+
+        if (hit) {
+            FlightRecorderEvents.recoveryApplied(handler, exception);
+        }
+    }
+
+    static void caseNotFound(Object value, int caseCount) {
+
+        FlightRecorderEvents.caseNotFound(value, caseCount);
+    }
+
+    static Object beginSupplier() {
+
+        return FlightRecorderEvents.beginSupplier();
+    }
+
+    static void endSupplier(Object event, Object supplier, boolean success) {
+
+        if (event != null) {
+            FlightRecorderEvents.endSupplier(event, supplier, success);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package eu.borglum.functional.core;
+
+import java.util.List;
+
+public interface ResultMetrics {
+
+    /**
+     * Called when a {@code success} enters a chain, i.e. when it is created by {@link Result#ofValue},
+     * {@link Result#ofOptional} or a {@link ResultParser}, or when a {@code failure} is recovered by one of the
+     * {@code recover} methods. It is not called when an operator such as {@link Result#mapValue} or
+     * {@link Result#filter} passes a {@code success} on, so the ratio of {@code successes} to {@code failures} does
+     * not depend on the length of the chains.
+     *
+     * @since 1.0
+     */
+    default void onSuccess() {
+        //does nothing
+    }
+
+    /**
+     * Called when a {@code failure} is created from an {@link Exception}. It is not called when an existing
+     * {@code failure} is passed on unchanged, e.g. by {@link Result#map(java.util.function.Function)}.
+     *
+     * @param exception the {@link Exception} of the {@code failure}.
+     * @since 1.0
+     */
+    default void onFailure(Exception exception) {
+        //does nothing
+    }
+
+    /**
+     * Called when a {@code failure} is given to a recovery handler, i.e. the function of one of the
+     * {@code recover} methods or the {@link SwitchSupplier} of {@link Result#orElseRecover(SwitchSupplier)}.
+     *
+     * @param handlerClass the {@link Class} of the recovery handler.
+     * @param hit          {@code true} if the handler was applied to the {@link Exception} of the {@code failure}
+     *                     and {@code false} if the {@link Exception} was not handled by it.
+     * @since 1.0
+     */
+    default void onRecovery(Class<?> handlerClass, boolean hit) {
+        //does nothing
+    }
+
+    /**
+     * Called when a {@link java.util.function.Supplier} decorated by {@link ResultInstrumentation#timed} has been
+     * applied.
+     *
+     * @param name    the name of the supplier.
+     * @param nanos   the time it took to apply the supplier in nanoseconds.
+     * @param success {@code true} if the supplier returned a value and {@code false} if it threw.
+     * @since 1.0
+     */
+    default void onTiming(String name, long nanos, boolean success) {
+        //does nothing
+    }
+
+    /**
+     * @param metrics the {@link ResultMetrics} to report to.
+     * @return a {@link ResultMetrics} that reports to every one of the {@code metrics} in order.
+     * @throws NullPointerException if the {@code metrics} or any of its elements is {@code null}.
+     * @since 1.0
+     */
+    static ResultMetrics compose(ResultMetrics... metrics) {
+
+        List<ResultMetrics> delegates = List.of(metrics);
+
+        return new ResultMetrics() {
+            @Override
+            public void onSuccess() {
+                for (ResultMetrics delegate : delegates) {
+                    delegate.onSuccess();
+                }
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                for (ResultMetrics delegate : delegates) {
+                    delegate.onFailure(exception);
+                }
+            }
+
+            @Override
+            public void onRecovery(Class<?> handlerClass, boolean hit) {
+                for (ResultMetrics delegate : delegates) {
+                    delegate.onRecovery(handlerClass, hit);
+                }
+            }
+
+            @Override
+            public void onTiming(String name, long nanos, boolean success) {
+                for (ResultMetrics delegate : delegates) {
+                    delegate.onTiming(name, nanos, success);
+                }
+            }
+        };
+    }
+}
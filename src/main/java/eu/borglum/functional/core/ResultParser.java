@@ -0,0 +1,117 @@
+package eu.borglum.functional.core;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+public final class ResultParser<T> {
+
+    private final Kernel<T> kernel;
+
+    private final Exception failure;
+
+    /**
+     * Every invalid input is parsed into this {@code failure}, so that the failure path neither allocates nor
+     * fills in a stack trace.
+     */
+    private final Failure<T> invalid;
+
+    private ResultParser(Kernel<T> kernel, Exception failure) {
+
+        this.kernel = kernel;
+
+        this.failure = failure;
+
+        this.invalid = Failure.restore(failure);
+    }
+
+    static <U> ResultParser<U> create(Kernel<U> kernel) {
+
+        return new ResultParser<>(kernel, InvalidFormatException.INSTANCE);
+    }
+
+    /**
+     * Create a {@link ResultParser} that parses an invalid input into a {@code failure} holding the exception
+     * instead of an {@link InvalidFormatException}. The exception is shared by every {@code failure}, so it should
+     * not have a stack trace.
+     *
+     * @param failure the exception of the {@code failure} of an invalid input.
+     * @return a new {@link ResultParser}.
+     * @throws NullPointerException if the {@code failure} is {@code null}.
+     * @since 1.0
+     */
+    public ResultParser<T> withFailure(Exception failure) {
+
+        return new ResultParser<>(kernel, Objects.requireNonNull(failure));
+    }
+
+    /**
+     * @param input the characters to parse.
+     * @return a {@code success} holding the parsed value, or a {@code failure} if the input is invalid.
+     * @throws NullPointerException if the {@code input} is {@code null}.
+     * @since 1.0
+     */
+    public Result<T> parse(CharSequence input) {
+
+        Objects.requireNonNull(input);
+
+        return parseRange(input, 0, input.length());
+    }
+
+    /**
+     * @param input  the array holding the characters to parse.
+     * @param offset the index of the first character to parse.
+     * @param length the number of characters to parse.
+     * @return a {@code success} holding the parsed value, or a {@code failure} if the input is invalid.
+     * @throws NullPointerException      if the {@code input} is {@code null}.
+     * @throws IndexOutOfBoundsException if the {@code offset} and {@code length} are out of bounds.
+     * @since 1.0
+     */
+    public Result<T> parse(char[] input, int offset, int length) {
+
+        Objects.requireNonNull(input);
+
+        Objects.checkFromIndexSize(offset, length, input.length);
+
+        return parseRange(input, offset, offset + length);
+    }
+
+    /**
+     * Parse the bytes between the position and the limit of the {@link ByteBuffer} as ISO-8859-1 characters. The
+     * position of the {@link ByteBuffer} is not changed.
+     *
+     * @param input the {@link ByteBuffer} holding the bytes to parse.
+     * @return a {@code success} holding the parsed value, or a {@code failure} if the input is invalid.
+     * @throws NullPointerException if the {@code input} is {@code null}.
+     * @since 1.0
+     */
+    public Result<T> parse(ByteBuffer input) {
+
+        Objects.requireNonNull(input);
+
+        return parseRange(input, input.position(), input.limit());
+    }
+
+    private Result<T> parseRange(Object source, int from, int to) {
+
+        T value = kernel.parse(source, from, to);
+
+        if (value == null) {
+            ResultInstrumentation.failure(failure);
+
+            return invalid;
+        }
+
+        ResultInstrumentation.success();
+
+        return Success.create(value);
+    }
+
+    /**
+     * Parses the characters from {@code from}, inclusive, to {@code to}, exclusive, of a {@link CharSequence}, a
+     * {@code char[]} or a {@link ByteBuffer}, returning {@code null} if they are invalid.
+     */
+    interface Kernel<T> {
+
+        T parse(Object source, int from, int to);
+    }
+}
@@ -0,0 +1,671 @@
+package eu.borglum.functional.core;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+public final class ResultParsers {
+
+    /**
+     * The powers of ten that are exactly representable as a {@code double}, see {@link #parseDouble}.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int[] NANOS_SCALE = {
+        0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    /**
+     * The result of {@link #parseNegatedLong} for an invalid input, which is positive and so cannot be confused
+     * with the negated magnitude of a valid input.
+     */
+    private static final long INVALID_LONG = 1;
+
+    private static final ResultParser<Integer> INTS = ResultParser.create(ResultParsers::parseInteger);
+
+    private static final ResultParser<Long> LONGS = ResultParser.create(ResultParsers::parseLongObject);
+
+    private static final ResultParser<Double> DOUBLES = ResultParser.create(ResultParsers::parseDoubleObject);
+
+    private static final ResultParser<Boolean> BOOLEANS = ResultParser.create(ResultParsers::parseBoolean);
+
+    private static final ResultParser<UUID> UUIDS = ResultParser.create(ResultParsers::parseUuid);
+
+    private static final ResultParser<LocalDate> LOCAL_DATES = ResultParser.create(ResultParsers::parseLocalDate);
+
+    private static final ResultParser<LocalTime> LOCAL_TIMES = ResultParser.create(ResultParsers::parseLocalTime);
+
+    private static final ResultParser<LocalDateTime> LOCAL_DATE_TIMES =
+        ResultParser.create(ResultParsers::parseLocalDateTime);
+
+    private static final ResultParser<Instant> INSTANTS = ResultParser.create(ResultParsers::parseInstant);
+
+    private ResultParsers() {
+        //does nothing
+    }
+
+    /**
+     * @return a {@link ResultParser} of the same decimal integers as {@link Integer#parseInt(String)}, restricted to
+     * ASCII digits.
+     * @since 1.0
+     */
+    public static ResultParser<Integer> ints() {
+
+        return INTS;
+    }
+
+    /**
+     * @return a {@link ResultParser} of the same decimal integers as {@link Long#parseLong(String)}, restricted to
+     * ASCII digits.
+     * @since 1.0
+     */
+    public static ResultParser<Long> longs() {
+
+        return LONGS;
+    }
+
+    /**
+     * A decimal number with an optional sign, fraction and exponent, such as {@code -12.5e3}, is parsed to the same
+     * value as by {@link Double#parseDouble(String)}. Unlike {@link Double#parseDouble(String)} hexadecimal
+     * numbers, {@code NaN}, {@code Infinity}, type suffixes and surrounding whitespace are not accepted.
+     * <p>
+     * Numbers whose significant digits fit in 53 bits and whose decimal exponent is between -22 and 22 are parsed
+     * without allocating, since both the digits and the power of ten are then exact and a single multiplication or
+     * division is correctly rounded. Any other valid number falls back to {@link Double#parseDouble(String)}.
+     *
+     * @return a {@link ResultParser} of decimal floating point numbers.
+     * @since 1.0
+     */
+    public static ResultParser<Double> doubles() {
+
+        return DOUBLES;
+    }
+
+    /**
+     * @return a {@link ResultParser} of {@code true} and {@code false}, ignoring case. Unlike
+     * {@link Boolean#parseBoolean(String)} any other input is invalid.
+     * @since 1.0
+     */
+    public static ResultParser<Boolean> booleans() {
+
+        return BOOLEANS;
+    }
+
+    /**
+     * @return a {@link ResultParser} of {@link UUID}s in the canonical 8-4-4-4-12 hexadecimal form.
+     * @since 1.0
+     */
+    public static ResultParser<UUID> uuids() {
+
+        return UUIDS;
+    }
+
+    /**
+     * @return a {@link ResultParser} of ISO dates such as {@code 2024-02-29}, with a year of four digits.
+     * @since 1.0
+     */
+    public static ResultParser<LocalDate> localDates() {
+
+        return LOCAL_DATES;
+    }
+
+    /**
+     * @return a {@link ResultParser} of ISO times such as {@code 10:15}, {@code 10:15:30} or
+     * {@code 10:15:30.123456789}.
+     * @since 1.0
+     */
+    public static ResultParser<LocalTime> localTimes() {
+
+        return LOCAL_TIMES;
+    }
+
+    /**
+     * @return a {@link ResultParser} of ISO date-times such as {@code 2024-02-29T10:15:30}.
+     * @since 1.0
+     */
+    public static ResultParser<LocalDateTime> localDateTimes() {
+
+        return LOCAL_DATE_TIMES;
+    }
+
+    /**
+     * @return a {@link ResultParser} of ISO instants in UTC such as {@code 2024-02-29T10:15:30Z}.
+     * @since 1.0
+     */
+    public static ResultParser<Instant> instants() {
+
+        return INSTANTS;
+    }
+
+    /**
+     * Parse every input with {@link #ints()} into an {@link IntResultBatch}, without boxing the values and without
+     * allocating anything for an invalid input.
+     *
+     * @param inputs the characters to parse.
+     * @return an {@link IntResultBatch} where every invalid input is a {@code failure} holding an
+     * {@link InvalidFormatException}.
+     * @throws NullPointerException if the {@code inputs} or any of them is {@code null}.
+     * @since 1.0
+     */
+    public static IntResultBatch parseInts(List<? extends CharSequence> inputs) {
+
+        Objects.requireNonNull(inputs);
+
+        int[] values = new int[inputs.size()];
+
+        long[] failed = FailureTable.bitset(values.length);
+
+        FailureTable failures = new FailureTable(0);
+
+        int i = 0;
+        for (CharSequence input : inputs) {
+            long negated = parseNegatedLong(input, 0, input.length());
+
+            long value = negated == INVALID_LONG ? Long.MIN_VALUE : applySign(input, 0, negated);
+
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                ResultInstrumentation.failure(InvalidFormatException.INSTANCE);
+
+                FailureTable.set(failed, i);
+                failures.add(i, InvalidFormatException.INSTANCE);
+            } else {
+                ResultInstrumentation.success();
+
+                values[i] = (int) value;
+            }
+
+            i++;
+        }
+
+        return IntResultBatch.create(values, failed, failures);
+    }
+
+    /**
+     * Parse every input with {@link #longs()} into a {@link LongResultBatch}, without boxing the values and without
+     * allocating anything for an invalid input.
+     *
+     * @param inputs the characters to parse.
+     * @return a {@link LongResultBatch} where every invalid input is a {@code failure} holding an
+     * {@link InvalidFormatException}.
+     * @throws NullPointerException if the {@code inputs} or any of them is {@code null}.
+     * @since 1.0
+     */
+    public static LongResultBatch parseLongs(List<? extends CharSequence> inputs) {
+
+        Objects.requireNonNull(inputs);
+
+        long[] values = new long[inputs.size()];
+
+        long[] failed = FailureTable.bitset(values.length);
+
+        FailureTable failures = new FailureTable(0);
+
+        int i = 0;
+        for (CharSequence input : inputs) {
+            long negated = parseNegatedLong(input, 0, input.length());
+
+            if (negated == INVALID_LONG) {
+                ResultInstrumentation.failure(InvalidFormatException.INSTANCE);
+
+                FailureTable.set(failed, i);
+                failures.add(i, InvalidFormatException.INSTANCE);
+            } else {
+                ResultInstrumentation.success();
+
+                values[i] = applySign(input, 0, negated);
+            }
+
+            i++;
+        }
+
+        return LongResultBatch.create(values, failed, failures);
+    }
+
+    private static Integer parseInteger(Object source, int from, int to) {
+
+        long negated = parseNegatedLong(source, from, to);
+
+        if (negated == INVALID_LONG) {
+            return null;
+        }
+
+        long value = applySign(source, from, negated);
+
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? null : (int) value;
+    }
+
+    private static Long parseLongObject(Object source, int from, int to) {
+
+        long negated = parseNegatedLong(source, from, to);
+
+        return negated == INVALID_LONG ? null : applySign(source, from, negated);
+    }
+
+    /**
+     * Parse a decimal {@code long} in the same way as {@link Long#parseLong(String)}, accumulating negatively so
+     * that {@link Long#MIN_VALUE} does not overflow.
+     *
+     * @return the negated magnitude of the value, which is never positive, or {@link #INVALID_LONG} if the input is
+     * invalid. The value is given by {@link #applySign}.
+     */
+    private static long parseNegatedLong(Object source, int from, int to) {
+
+        if (from >= to) {
+            return INVALID_LONG;
+        }
+
+        int i = from;
+
+        char first = charAt(source, i);
+
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            i++;
+
+            if (i == to) {
+                return INVALID_LONG;
+            }
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+
+        long multiplicationLimit = limit / 10;
+
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = charAt(source, i) - '0';
+
+            if (digit < 0 || digit > 9 || result < multiplicationLimit) {
+                return INVALID_LONG;
+            }
+
+            result *= 10;
+
+            if (result < limit + digit) {
+                return INVALID_LONG;
+            }
+
+            result -= digit;
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the value of the negated magnitude returned by {@link #parseNegatedLong} for the same input. The
+     * negation cannot overflow, since the magnitude of a positive value is at most {@link Long#MAX_VALUE}.
+     */
+    private static long applySign(Object source, int from, long negated) {
+
+        return charAt(source, from) == '-' ? negated : -negated;
+    }
+
+    private static Double parseDoubleObject(Object source, int from, int to) {
+
+        double value = parseDouble(source, from, to);
+
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Parse a decimal {@code double} using the fast path described by Clinger when the significant digits fit in
+     * 53 bits and the exponent is small enough for the power of ten to be exact.
+     *
+     * @return the value, or {@link Double#NaN} if the input is invalid, which cannot be confused with a value since
+     * {@code NaN} is not accepted as input.
+     */
+    static double parseDouble(Object source, int from, int to) {
+
+        int i = from;
+
+        boolean negative = false;
+        if (i < to && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+            negative = charAt(source, i) == '-';
+            i++;
+        }
+
+        long significand = 0;
+
+        int significantDigits = 0;
+
+        int exponent = 0;
+
+        boolean hasDigits = false;
+
+        boolean truncated = false;
+
+        for (; i < to && isDigit(charAt(source, i)); i++) {
+            int digit = charAt(source, i) - '0';
+
+            hasDigits = true;
+
+            if (significantDigits < 18) {
+                significand = significand * 10 + digit;
+                significantDigits += significand == 0 ? 0 : 1;
+            } else {
+                exponent++;
+                truncated |= digit != 0;
+            }
+        }
+
+        if (i < to && charAt(source, i) == '.') {
+            for (i++; i < to && isDigit(charAt(source, i)); i++) {
+                int digit = charAt(source, i) - '0';
+
+                hasDigits = true;
+
+                if (significantDigits < 18) {
+                    significand = significand * 10 + digit;
+                    significantDigits += significand == 0 ? 0 : 1;
+                    exponent--;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+
+        if (!hasDigits) {
+            return Double.NaN;
+        }
+
+        if (i < to && (charAt(source, i) == 'e' || charAt(source, i) == 'E')) {
+            i++;
+
+            boolean negativeExponent = false;
+            if (i < to && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+                negativeExponent = charAt(source, i) == '-';
+                i++;
+            }
+
+            if (i == to) {
+                return Double.NaN;
+            }
+
+            int explicit = 0;
+            for (; i < to && isDigit(charAt(source, i)); i++) {
+                //saturate, since any exponent this large overflows or underflows anyway
+                explicit = Math.min(explicit * 10 + charAt(source, i) - '0', 1_000_000);
+            }
+
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (i != to) {
+            return Double.NaN;
+        }
+
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (!truncated && significand <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+            double value = significand;
+
+            value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+
+            return negative ? -value : value;
+        }
+
+        //the syntax has been validated, and it is a subset of what Double.parseDouble accepts
+        return Double.parseDouble(toString(source, from, to));
+    }
+
+    private static Boolean parseBoolean(Object source, int from, int to) {
+
+        if (matchesIgnoreCase(source, from, to, "true")) {
+            return Boolean.TRUE;
+        }
+
+        return matchesIgnoreCase(source, from, to, "false") ? Boolean.FALSE : null;
+    }
+
+    private static UUID parseUuid(Object source, int from, int to) {
+
+        if (to - from != 36) {
+            return null;
+        }
+
+        long mostSignificantBits = 0;
+
+        long leastSignificantBits = 0;
+
+        for (int i = 0; i < 36; i++) {
+            char c = charAt(source, from + i);
+
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+
+                continue;
+            }
+
+            int digit = hexDigit(c);
+            if (digit < 0) {
+                return null;
+            }
+
+            if (i < 18) {
+                mostSignificantBits = mostSignificantBits << 4 | digit;
+            } else {
+                leastSignificantBits = leastSignificantBits << 4 | digit;
+            }
+        }
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static LocalDate parseLocalDate(Object source, int from, int to) {
+
+        if (to - from != 10) {
+            return null;
+        }
+
+        long date = parseDate(source, from);
+
+        return date < 0 ? null : LocalDate.of((int) (date / 10000), (int) (date / 100 % 100), (int) (date % 100));
+    }
+
+    private static LocalTime parseLocalTime(Object source, int from, int to) {
+
+        long nanoOfDay = parseTime(source, from, to);
+
+        return nanoOfDay < 0 ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    private static LocalDateTime parseLocalDateTime(Object source, int from, int to) {
+
+        if (to - from < 16 || charAt(source, from + 10) != 'T') {
+            return null;
+        }
+
+        long date = parseDate(source, from);
+
+        long nanoOfDay = parseTime(source, from + 11, to);
+
+        if (date < 0 || nanoOfDay < 0) {
+            return null;
+        }
+
+        return LocalDateTime.of(
+            LocalDate.of((int) (date / 10000), (int) (date / 100 % 100), (int) (date % 100)),
+            LocalTime.ofNanoOfDay(nanoOfDay)
+        );
+    }
+
+    private static Instant parseInstant(Object source, int from, int to) {
+
+        if (to - from < 17 || charAt(source, to - 1) != 'Z') {
+            return null;
+        }
+
+        LocalDateTime dateTime = parseLocalDateTime(source, from, to - 1);
+
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return the date of the ten characters {@code yyyy-MM-dd} as {@code yyyyMMdd}, or {@code -1} if it is invalid.
+     */
+    private static long parseDate(Object source, int from) {
+
+        int year = digits(source, from, 4);
+
+        int month = digits(source, from + 5, 2);
+
+        int day = digits(source, from + 8, 2);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return -1;
+        }
+
+        if (charAt(source, from + 4) != '-' || charAt(source, from + 7) != '-') {
+            return -1;
+        }
+
+        return year * 10000L + month * 100L + day;
+    }
+
+    /**
+     * @return the nano of day of {@code HH:mm}, {@code HH:mm:ss} or {@code HH:mm:ss.fffffffff} with up to nine
+     * fraction digits, or {@code -1} if it is invalid.
+     */
+    private static long parseTime(Object source, int from, int to) {
+
+        int length = to - from;
+
+        if (length != 5 && length != 8 && (length < 9 || length > 18)) {
+            return -1;
+        }
+
+        int hour = digits(source, from, 2);
+
+        int minute = digits(source, from + 3, 2);
+
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || charAt(source, from + 2) != ':') {
+            return -1;
+        }
+
+        int second = 0;
+
+        int nano = 0;
+
+        if (length > 5) {
+            second = digits(source, from + 6, 2);
+
+            if (second < 0 || second > 59 || charAt(source, from + 5) != ':') {
+                return -1;
+            }
+        }
+
+        if (length > 8) {
+            int fractionDigits = length - 9;
+
+            int fraction = digits(source, from + 9, fractionDigits);
+
+            if (fraction < 0 || charAt(source, from + 8) != '.') {
+                return -1;
+            }
+
+            nano = fraction * NANOS_SCALE[fractionDigits];
+        }
+
+        return ((hour * 60L + minute) * 60L + second) * 1_000_000_000L + nano;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+
+        if (month == 2) {
+            return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * @return the value of the {@code count} decimal digits, or {@code -1} if any of them is not a digit.
+     */
+    private static int digits(Object source, int from, int count) {
+
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = charAt(source, i);
+
+            if (!isDigit(c)) {
+                return -1;
+            }
+
+            value = value * 10 + c - '0';
+        }
+
+        return value;
+    }
+
+    private static boolean matchesIgnoreCase(Object source, int from, int to, String expected) {
+
+        if (to - from != expected.length()) {
+            return false;
+        }
+
+        for (int i = from; i < to; i++) {
+            //only ASCII letters are expected, for which setting the 0x20 bit is the same as converting to lower case
+            if ((charAt(source, i) | 0x20) != expected.charAt(i - from)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+
+        return c >= '0' && c <= '9';
+    }
+
+    private static int hexDigit(char c) {
+
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+
+        char lower = (char) (c | 0x20);
+
+        return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : -1;
+    }
+
+    /**
+     * The only place where the kind of source is distinguished, so that every parser is written once. The exact
+     * class checks of arrays and buffers are tested first since they are the cheapest.
+     */
+    private static char charAt(Object source, int index) {
+
+        if (source instanceof char[]) {
+            return ((char[]) source)[index];
+        }
+
+        if (source instanceof ByteBuffer) {
+            return (char) (((ByteBuffer) source).get(index) & 0xFF);
+        }
+
+        return ((CharSequence) source).charAt(index);
+    }
+
+    private static String toString(Object source, int from, int to) {
+
+        StringBuilder builder = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            builder.append(charAt(source, i));
+        }
+
+        return builder.toString();
+    }
+}
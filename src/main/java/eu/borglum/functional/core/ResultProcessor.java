@@ -0,0 +1,198 @@
+package eu.borglum.functional.core;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public final class ResultProcessor<T, R> implements Flow.Processor<Result<T>, Result<R>> {
+
+    private final Function<? super Result<T>, ? extends Result<R>> operator;
+
+    private static final int CONNECTING = 1;
+
+    private static final int CONNECTED = 2;
+
+    private static final int ENDED = 4;
+
+    private volatile Flow.Subscription upstream;
+
+    private volatile Flow.Subscriber<? super Result<R>> downstream;
+
+    /**
+     * The progress of the connection and whether the upstream publisher has ended. The end is passed on by whichever
+     * of {@link #connect()} and the end itself sets the second of {@link #CONNECTED} and {@link #ENDED}, so it is
+     * passed on exactly once and never before the subscription, without calling the downstream subscriber while
+     * holding a lock.
+     */
+    private final AtomicInteger state = new AtomicInteger();
+
+    /**
+     * The error of the upstream publisher, or {@code null} if it completed. It is written before {@link #ENDED} is
+     * set and read after it has been seen.
+     */
+    private Throwable error;
+
+    private ResultProcessor(Function<? super Result<T>, ? extends Result<R>> operator) {
+
+        this.operator = operator;
+    }
+
+    /**
+     * Create a {@link ResultProcessor} that applies {@link Result#map(Function)} to every published {@link Result}.
+     * Every {@link Result} is published as one mapped {@link Result}, so the demand of the subscriber is passed on
+     * to the publisher unchanged.
+     *
+     * @param function the {@link Function} to map the values by.
+     * @param <U>      the type of the values of the published {@link Result}.
+     * @param <V>      the type of the values of the mapped {@link Result}.
+     * @return a new {@link ResultProcessor}.
+     * @throws NullPointerException if the {@code function} is {@code null}.
+     * @since 1.0
+     */
+    public static <U, V> ResultProcessor<U, V> mapResult(Function<? super U, ? extends V> function) {
+
+        Objects.requireNonNull(function);
+
+        return new ResultProcessor<>(result -> result.map(function));
+    }
+
+    /**
+     * Create a {@link ResultProcessor} that applies {@link Result#recover(Class, Function)} to every published
+     * {@link Result}. Every {@link Result} is published as one recovered {@link Result}, so the demand of the
+     * subscriber is passed on to the publisher unchanged.
+     *
+     * @param exceptionClass the {@link Class} of the {@link Exception} to recover from.
+     * @param function       the {@link Function} to recover by.
+     * @param <U>            the type of the values of the {@link Result}.
+     * @param <X>            the type of the {@link Exception} to recover from.
+     * @return a new {@link ResultProcessor}.
+     * @throws NullPointerException if the {@code exceptionClass} or the {@code function} is {@code null}.
+     * @since 1.0
+     */
+    public static <U, X extends Exception> ResultProcessor<U, U> recoverResult(
+        Class<X> exceptionClass, Function<? super X, ? extends U> function) {
+
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(function);
+
+        return new ResultProcessor<>(result -> result.recover(exceptionClass, function));
+    }
+
+    /**
+     * @param subscriber the {@link Flow.Subscriber} of the processed {@link Result}. A second
+     *                   {@link Flow.Subscriber} is given an {@link IllegalStateException} by
+     *                   {@link Flow.Subscriber#onError(Throwable)}.
+     * @throws NullPointerException if the {@code subscriber} is {@code null}.
+     * @since 1.0
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Result<R>> subscriber) {
+
+        Objects.requireNonNull(subscriber);
+
+        synchronized (this) {
+            if (downstream == null) {
+                downstream = subscriber;
+
+                subscriber = null;
+            }
+        }
+
+        if (subscriber != null) {
+            ResultPublisher.reject(subscriber, new IllegalStateException("The processor can only be subscribed once"));
+
+            return;
+        }
+
+        connect();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+
+        Objects.requireNonNull(subscription);
+
+        synchronized (this) {
+            if (upstream == null) {
+                upstream = subscription;
+
+                subscription = null;
+            }
+        }
+
+        if (subscription != null) {
+            subscription.cancel();
+
+            return;
+        }
+
+        connect();
+    }
+
+    @Override
+    public void onNext(Result<T> item) {
+
+        downstream.onNext(operator.apply(item));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+
+        Objects.requireNonNull(throwable);
+
+        end(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+
+        end(null);
+    }
+
+    private void end(Throwable throwable) {
+
+        if ((state.get() & ENDED) != 0) {
+            return;
+        }
+
+        error = throwable;
+
+        int previous = state.getAndUpdate(current -> current | ENDED);
+
+        if ((previous & (CONNECTED | ENDED)) == CONNECTED) {
+            passOnEnd();
+        }
+    }
+
+    /**
+     * Subscribe the downstream subscriber once both it and the upstream subscription are present, and pass on the
+     * end of the upstream publisher if it ended before the subscription returned.
+     */
+    private void connect() {
+
+        if (upstream == null || downstream == null) {
+            return;
+        }
+
+        if ((state.getAndUpdate(current -> current | CONNECTING) & CONNECTING) != 0) {
+            return;
+        }
+
+        downstream.onSubscribe(upstream);
+
+        if ((state.getAndUpdate(current -> current | CONNECTED) & ENDED) != 0) {
+            passOnEnd();
+        }
+    }
+
+    private void passOnEnd() {
+
+        if (error == null) {
+            downstream.onComplete();
+        } else {
+            downstream.onError(error);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package eu.borglum.functional.core;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class ResultPublisher<T> implements Flow.Publisher<Result<T>> {
+
+    private final Iterator<? extends Result<T>> results;
+
+    private final Runnable onTerminate;
+
+    private final boolean failFast;
+
+    /**
+     * The handler of the {@code failures} that are skipped, or {@code null} if the {@code failures} are not skipped.
+     */
+    private final Consumer<? super Exception> failureHandler;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private ResultPublisher(Iterator<? extends Result<T>> results, Runnable onTerminate, boolean failFast,
+                            Consumer<? super Exception> failureHandler) {
+
+        this.results = results;
+
+        this.onTerminate = onTerminate;
+
+        this.failFast = failFast;
+
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Create a {@link ResultPublisher} that publishes every {@link Result} of the {@link Iterator}, including the
+     * {@code failures}, so that they can be processed by e.g.
+     * {@link ResultProcessor#recoverResult(Class, java.util.function.Function)}.
+     * <p>
+     * A {@link Result} is only taken from the {@link Iterator} once it has been requested by the
+     * {@link Flow.Subscriber}, and it is published on the thread that requested it, so a slow
+     * {@link Flow.Subscriber} throttles the producer of the {@link Iterator} instead of the {@link Result} being
+     * buffered. A {@link ResultPublisher} can only be subscribed once.
+     *
+     * @param results the {@link Iterator} of the {@link Result} to publish.
+     * @param <U>     the type of the values of the {@link Result}.
+     * @return a new {@link ResultPublisher}.
+     * @throws NullPointerException if the {@code results} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultPublisher<U> of(Iterator<? extends Result<U>> results) {
+
+        Objects.requireNonNull(results);
+
+        return new ResultPublisher<>(results, () -> {
+        }, false, null);
+    }
+
+    /**
+     * A convenience method that does the same as {@link #of(Iterator)} for the {@link Iterator} of the
+     * {@link Stream}. The {@link Stream} is closed when the {@link ResultPublisher} completes, fails or is
+     * cancelled.
+     *
+     * @param results the {@link Stream} of the {@link Result} to publish.
+     * @param <U>     the type of the values of the {@link Result}.
+     * @return a new {@link ResultPublisher}.
+     * @throws NullPointerException if the {@code results} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultPublisher<U> of(Stream<? extends Result<U>> results) {
+
+        Objects.requireNonNull(results);
+
+        return new ResultPublisher<>(results.iterator(), results::close, false, null);
+    }
+
+    /**
+     * Create a {@link ResultPublisher} that publishes the {@link Result} of the {@link Iterator} until the first
+     * {@code failure}, which is published as an error by {@link Flow.Subscriber#onError(Throwable)} holding the
+     * {@link Exception} of the {@code failure}.
+     *
+     * @param results the {@link Iterator} of the {@link Result} to publish.
+     * @param <U>     the type of the values of the {@link Result}.
+     * @return a new {@link ResultPublisher}.
+     * @throws NullPointerException if the {@code results} is {@code null}.
+     * @see #of(Iterator)
+     * @since 1.0
+     */
+    public static <U> ResultPublisher<U> failFast(Iterator<? extends Result<U>> results) {
+
+        Objects.requireNonNull(results);
+
+        return new ResultPublisher<>(results, () -> {
+        }, true, null);
+    }
+
+    /**
+     * A convenience method that does the same as {@link #failFast(Iterator)} for the {@link Iterator} of the
+     * {@link Stream}. The {@link Stream} is closed when the {@link ResultPublisher} completes, fails or is
+     * cancelled.
+     *
+     * @param results the {@link Stream} of the {@link Result} to publish.
+     * @param <U>     the type of the values of the {@link Result}.
+     * @return a new {@link ResultPublisher}.
+     * @throws NullPointerException if the {@code results} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultPublisher<U> failFast(Stream<? extends Result<U>> results) {
+
+        Objects.requireNonNull(results);
+
+        return new ResultPublisher<>(results.iterator(), results::close, true, null);
+    }
+
+    /**
+     * Create a {@link ResultPublisher} that publishes every {@code success} of the {@link Iterator} and hands the
+     * {@link Exception} of every {@code failure} to the {@code failureHandler} instead of publishing it. A skipped
+     * {@code failure} does not use any of the demand of the {@link Flow.Subscriber}.
+     *
+     * @param results        the {@link Iterator} of the {@link Result} to publish.
+     * @param failureHandler the {@link Consumer} of the {@link Exception} of the skipped {@code failures}.
+     * @param <U>            the type of the values of the {@link Result}.
+     * @return a new {@link ResultPublisher}.
+     * @throws NullPointerException if the {@code results} or the {@code failureHandler} is {@code null}.
+     * @see #failFast(Iterator)
+     * @since 1.0
+     */
+    public static <U> ResultPublisher<U> skipFailures(Iterator<? extends Result<U>> results,
+                                                      Consumer<? super Exception> failureHandler) {
+
+        Objects.requireNonNull(results);
+
+        Objects.requireNonNull(failureHandler);
+
+        return new ResultPublisher<>(results, () -> {
+        }, false, failureHandler);
+    }
+
+    /**
+     * A convenience method that does the same as {@link #skipFailures(Iterator, Consumer)} for the {@link Iterator}
+     * of the {@link Stream}. The {@link Stream} is closed when the {@link ResultPublisher} completes, fails or is
+     * cancelled.
+     *
+     * @param results        the {@link Stream} of the {@link Result} to publish.
+     * @param failureHandler the {@link Consumer} of the {@link Exception} of the skipped {@code failures}.
+     * @param <U>            the type of the values of the {@link Result}.
+     * @return a new {@link ResultPublisher}.
+     * @throws NullPointerException if the {@code results} or the {@code failureHandler} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultPublisher<U> skipFailures(Stream<? extends Result<U>> results,
+                                                      Consumer<? super Exception> failureHandler) {
+
+        Objects.requireNonNull(results);
+
+        Objects.requireNonNull(failureHandler);
+
+        return new ResultPublisher<>(results.iterator(), results::close, false, failureHandler);
+    }
+
+    /**
+     * @param subscriber the {@link Flow.Subscriber} of the {@link Result}. A second {@link Flow.Subscriber} is
+     *                   given an {@link IllegalStateException} by {@link Flow.Subscriber#onError(Throwable)}.
+     * @throws NullPointerException if the {@code subscriber} is {@code null}.
+     * @since 1.0
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Result<T>> subscriber) {
+
+        Objects.requireNonNull(subscriber);
+
+        if (!subscribed.compareAndSet(false, true)) {
+            reject(subscriber, new IllegalStateException("The publisher can only be subscribed once"));
+
+            return;
+        }
+
+        subscriber.onSubscribe(new ResultSubscription(subscriber));
+    }
+
+    static void reject(Flow.Subscriber<?> subscriber, Throwable error) {
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {
+                //does nothing
+            }
+
+            @Override
+            public void cancel() {
+                //does nothing
+            }
+        });
+
+        subscriber.onError(error);
+    }
+
+    /**
+     * @return the sum, or {@link Long#MAX_VALUE} if it overflows, which is treated as an unbounded demand.
+     */
+    private static long addCapped(long current, long added) {
+
+        long sum = current + added;
+
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private final class ResultSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Result<T>> subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * The number of times the subscription has been asked to publish, so that only one thread publishes at a
+         * time and a request made from {@link Flow.Subscriber#onNext(Object)} is handled by the loop that is already
+         * publishing, instead of recursively.
+         */
+        private final AtomicInteger work = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        /**
+         * The first number of requested results that was not positive, or {@code 1} if every request was valid.
+         */
+        private volatile long invalidRequest = 1;
+
+        private boolean terminated;
+
+        private ResultSubscription(Flow.Subscriber<? super Result<T>> subscriber) {
+
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+
+            if (n <= 0) {
+                invalidRequest = n;
+            } else {
+                requested.getAndAccumulate(n, ResultPublisher::addCapped);
+            }
+
+            publish();
+        }
+
+        @Override
+        public void cancel() {
+
+            cancelled = true;
+
+            publish();
+        }
+
+        private void publish() {
+
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    publishRequested();
+                }
+
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void publishRequested() {
+
+            long published = 0;
+
+            long demand = requested.get();
+
+            try {
+                while (true) {
+                    if (cancelled) {
+                        terminate();
+
+                        return;
+                    }
+
+                    if (invalidRequest <= 0) {
+                        terminate();
+
+                        subscriber.onError(new IllegalArgumentException(
+                            "The number of requested results must be positive, but was " + invalidRequest
+                        ));
+
+                        return;
+                    }
+
+                    if (published == demand) {
+                        demand = requested.addAndGet(-published);
+
+                        published = 0;
+
+                        if (demand == 0) {
+                            return;
+                        }
+                    }
+
+                    if (!results.hasNext()) {
+                        terminate();
+
+                        subscriber.onComplete();
+
+                        return;
+                    }
+
+                    Result<T> result = results.next();
+
+                    InternalResult<T> internal = InternalResult.of(result);
+
+                    if (internal.isFailure() && failFast) {
+                        terminate();
+
+                        subscriber.onError(internal.getCause());
+
+                        return;
+                    }
+
+                    if (internal.isFailure() && failureHandler != null) {
+                        failureHandler.accept(internal.getCause());
+                    } else {
+                        onNext(result);
+
+                        published++;
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (terminated) {
+                    //the subscriber failed, which is raised to the caller rather than signalled back to it
+                    throw e;
+                }
+
+                //the iterator or the failure handler failed
+                terminate();
+
+                subscriber.onError(e);
+            }
+        }
+
+        /**
+         * Publish the {@link Result}, and treat the subscription as cancelled if the subscriber throws, since a
+         * subscriber that violates the specification must not be signalled any further, not even the error.
+         */
+        private void onNext(Result<T> result) {
+
+            try {
+                subscriber.onNext(result);
+            } catch (RuntimeException e) {
+                terminate();
+
+                throw e;
+            }
+        }
+
+        private void terminate() {
+
+            terminated = true;
+
+            cancelled = true;
+
+            onTerminate.run();
+        }
+    }
+}
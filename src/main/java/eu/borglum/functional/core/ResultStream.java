@@ -0,0 +1,569 @@
+package eu.borglum.functional.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class ResultStream<T> {
+
+    /**
+     * Stands in for an empty {@code success} when the elements are passed on as {@link Result}.
+     */
+    private static final Object EMPTY = new Object();
+
+    private final Spliterator<?> source;
+
+    /**
+     * {@code true} if the elements of the source are values and {@code false} if they are {@link Result}.
+     */
+    private final boolean values;
+
+    private final Stage[] stages;
+
+    private final boolean parallel;
+
+    private boolean linked;
+
+    private ResultStream(Spliterator<?> source, boolean values, Stage[] stages, boolean parallel) {
+
+        this.source = source;
+
+        this.values = values;
+
+        this.stages = stages;
+
+        this.parallel = parallel;
+    }
+
+    /**
+     * Create a {@link ResultStream} of the {@link Result} of the {@link Stream}. The {@link ResultStream} is parallel
+     * if the {@link Stream} is.
+     * <p>
+     * The operations of a {@link ResultStream} are applied to every element in a single pass when a terminal
+     * operation is invoked, without creating a {@link Result} for every element and operation. Like a
+     * {@link Stream}, a {@link ResultStream} can only be operated upon once.
+     *
+     * @param results the {@link Stream} of the {@link Result}.
+     * @param <U>     the type of the values of the {@link Result}.
+     * @return a new {@link ResultStream}.
+     * @throws NullPointerException if the {@code results} is {@code null}.
+     * @since 1.0
+     */
+    public static <U> ResultStream<U> of(Stream<? extends Result<U>> results) {
+
+        Objects.requireNonNull(results);
+
+        return new ResultStream<>(results.spliterator(), false, new Stage[0], results.isParallel());
+    }
+
+    /**
+     * Create a {@link ResultStream} of a {@code success} of every value of the {@link Stream}, without creating a
+     * {@link Result} for each of them. A {@code null} value is an empty {@code success}. The {@link ResultStream} is
+     * parallel if the {@link Stream} is.
+     *
+     * @param values the {@link Stream} of the values.
+     * @param <U>    the type of the values.
+     * @return a new {@link ResultStream}.
+     * @throws NullPointerException if the {@code values} is {@code null}.
+     * @see #of(Stream)
+     * @since 1.0
+     */
+    public static <U> ResultStream<U> ofValues(Stream<? extends U> values) {
+
+        Objects.requireNonNull(values);
+
+        return new ResultStream<>(values.spliterator(), true, new Stage[0], values.isParallel());
+    }
+
+    /**
+     * @return a parallel {@link ResultStream} of the same elements.
+     * @since 1.0
+     */
+    public ResultStream<T> parallel() {
+
+        link();
+
+        return new ResultStream<>(source, values, stages, true);
+    }
+
+    /**
+     * Apply {@link Result#mapValue(Function)} to every element.
+     *
+     * @param function the {@link Function} to map the values by.
+     * @param <R>      the type of the mapped values.
+     * @return a new {@link ResultStream} of the mapped elements.
+     * @throws NullPointerException if the {@code function} is {@code null}.
+     * @since 1.0
+     */
+    public <R> ResultStream<R> mapValue(Function<? super T, ? extends R> function) {
+
+        Objects.requireNonNull(function);
+
+        return then(element -> {
+            if (element.value == null) {
+                return;
+            }
+
+            //noinspection unchecked
+            T value = (T) element.value;
+
+            try {
+                element.value = function.apply(value);
+            } catch (Exception e) {
+                element.fail(e);
+
+                return;
+            }
+
+            Objects.requireNonNull(element.value);
+        });
+    }
+
+    /**
+     * Apply {@link Result#flatMap(Function)} to every element.
+     *
+     * @param function the {@link Function} to map the values by.
+     * @param <R>      the type of the values of the mapped {@link Result}.
+     * @return a new {@link ResultStream} of the mapped elements.
+     * @throws NullPointerException if the {@code function} is {@code null}.
+     * @since 1.0
+     */
+    public <R> ResultStream<R> flatMap(Function<? super T, ? extends Result<? extends R>> function) {
+
+        Objects.requireNonNull(function);
+
+        return then(element -> {
+            if (element.value == null) {
+                return;
+            }
+
+            //noinspection unchecked
+            T value = (T) element.value;
+
+            element.load(Objects.requireNonNull(function.apply(value)));
+        });
+    }
+
+    /**
+     * Apply {@link Result#filter(Predicate)} to every element, so a value that is not matched by the
+     * {@link Predicate} becomes an empty {@code success}.
+     *
+     * @param predicate the {@link Predicate} to match the values by.
+     * @return a new {@link ResultStream} of the filtered elements.
+     * @throws NullPointerException if the {@code predicate} is {@code null}.
+     * @since 1.0
+     */
+    public ResultStream<T> filter(Predicate<? super T> predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        return then(element -> {
+            if (element.value == null) {
+                return;
+            }
+
+            //noinspection unchecked
+            T value = (T) element.value;
+
+            boolean matched;
+            try {
+                matched = predicate.test(value);
+            } catch (Exception e) {
+                element.fail(e);
+
+                return;
+            }
+
+            if (!matched) {
+                element.value = null;
+            }
+        });
+    }
+
+    /**
+     * Apply {@link Result#recover(Class, Function)} to every element.
+     *
+     * @param exceptionClass the {@link Class} of the {@link Exception} to recover from.
+     * @param function       the {@link Function} to recover by.
+     * @param <X>            the type of the {@link Exception} to recover from.
+     * @return a new {@link ResultStream} of the recovered elements.
+     * @throws NullPointerException if the {@code exceptionClass} or the {@code function} is {@code null}.
+     * @since 1.0
+     */
+    public <X extends Exception> ResultStream<T> recover(Class<X> exceptionClass,
+                                                         Function<? super X, ? extends T> function) {
+
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(function);
+
+        return then(element -> {
+            if (element.cause == null) {
+                return;
+            }
+
+            boolean recoverable = exceptionClass.isInstance(element.cause);
+
+            ResultInstrumentation.recovery(function, element.cause, recoverable);
+
+            if (!recoverable) {
+                return;
+            }
+
+            X cause = exceptionClass.cast(element.cause);
+
+            try {
+                element.value = function.apply(cause);
+            } catch (Exception e) {
+                element.fail(e);
+
+                return;
+            }
+
+            element.cause = null;
+
+            Objects.requireNonNull(element.value);
+
+            ResultInstrumentation.success();
+        });
+    }
+
+    /**
+     * Apply {@link Result#mapFailure(Class, Function)} to every element.
+     *
+     * @param exceptionClass the {@link Class} of the {@link Exception} to map.
+     * @param function       the {@link Function} to map the {@link Exception} by.
+     * @param <X>            the type of the {@link Exception} to map.
+     * @return a new {@link ResultStream} of the mapped elements.
+     * @throws NullPointerException if the {@code exceptionClass} or the {@code function} is {@code null}.
+     * @since 1.0
+     */
+    public <X extends Exception> ResultStream<T> mapFailure(Class<X> exceptionClass,
+                                                            Function<? super X, ? extends Exception> function) {
+
+        Objects.requireNonNull(exceptionClass);
+
+        Objects.requireNonNull(function);
+
+        return then(element -> {
+            if (!exceptionClass.isInstance(element.cause)) {
+                return;
+            }
+
+            X cause = exceptionClass.cast(element.cause);
+
+            Exception mapped;
+            try {
+                mapped = Objects.requireNonNull(function.apply(cause));
+            } catch (Exception e) {
+                mapped = e;
+            }
+
+            element.fail(mapped);
+        });
+    }
+
+    /**
+     * Collect the values into a {@link List} in encounter order, unless an element is a {@code failure}. The first
+     * {@code failure} stops the processing of the remaining elements, also of the remaining splits of a parallel
+     * {@link ResultStream}, in which case the {@code failure} is the first one found rather than the first in
+     * encounter order. Empty {@code successes} are not collected.
+     *
+     * @return a {@code success} holding an unmodifiable {@link List} of the values, or the first {@code failure}.
+     * @since 1.0
+     */
+    public Result<List<T>> toList() {
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        //noinspection unchecked
+        List<T> list = (List<T>) stream(failure).collect(Collectors.toList());
+
+        Exception cause = failure.get();
+
+        //the failure was reported when it was created
+        return cause == null ? Success.create(Collections.unmodifiableList(list)) : Failure.restore(cause);
+    }
+
+    /**
+     * Split the elements into the values of the {@code successes} and the exceptions of the {@code failures}, in
+     * encounter order, in the same way as {@link Results#partition(List)}.
+     *
+     * @return a {@link Partition} of the elements.
+     * @since 1.0
+     */
+    public Partition<T> partition() {
+
+        Map<Boolean, List<Object>> split = stream(null)
+            .collect(Collectors.partitioningBy(FailedElement.class::isInstance));
+
+        //noinspection unchecked
+        List<T> successes = (List<T>) split.get(false);
+
+        List<Exception> failures = new ArrayList<>(split.get(true).size());
+        for (Object failed : split.get(true)) {
+            failures.add(((FailedElement) failed).cause);
+        }
+
+        return Partition.create(successes, failures);
+    }
+
+    /**
+     * @return the number of {@code failures}.
+     * @since 1.0
+     */
+    public long countFailures() {
+
+        return stream(null)
+            .filter(FailedElement.class::isInstance)
+            .count();
+    }
+
+    /**
+     * Find the first {@code failure}, which stops the processing of the remaining elements in the same way as
+     * {@link #toList()}.
+     *
+     * @return the {@link Exception} of the first {@code failure}, if any.
+     * @since 1.0
+     */
+    public Optional<Exception> firstFailure() {
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        stream(failure).forEach(element -> {
+            //only the failure is needed
+        });
+
+        return Optional.ofNullable(failure.get());
+    }
+
+    /**
+     * @return a {@link Stream} of the elements as {@link Result}, including the empty {@code successes}.
+     * @since 1.0
+     */
+    public Stream<Result<T>> toStream() {
+
+        link();
+
+        return StreamSupport.stream(new FusedSpliterator(source, values, stages, null, true), parallel)
+            .map(ResultStream::toResult);
+    }
+
+    private <R> ResultStream<R> then(Stage stage) {
+
+        link();
+
+        Stage[] chained = Arrays.copyOf(stages, stages.length + 1);
+        chained[stages.length] = stage;
+
+        return new ResultStream<>(source, values, chained, parallel);
+    }
+
+    private Stream<Object> stream(AtomicReference<Exception> failure) {
+
+        link();
+
+        return StreamSupport.stream(new FusedSpliterator(source, values, stages, failure, false), parallel);
+    }
+
+    private void link() {
+
+        if (linked) {
+            throw new IllegalStateException("stream has already been operated upon or closed");
+        }
+
+        linked = true;
+    }
+
+    private static <U> Result<U> toResult(Object element) {
+
+        if (element instanceof FailedElement) {
+            return Failure.restore(((FailedElement) element).cause);
+        }
+
+        //noinspection unchecked
+        return element == EMPTY ? Success.create() : Success.create((U) element);
+    }
+
+    /**
+     * The state of the element that is being processed, which is reused for every element of a split.
+     */
+    private static final class Element {
+
+        private Object value;
+
+        private Exception cause;
+
+        private void load(Object result) {
+
+            InternalResult<?> internal = InternalResult.of((Result<?>) result);
+
+            if (internal.isFailure()) {
+                value = null;
+
+                cause = internal.getCause();
+            } else {
+                value = internal.getOptional().orElse(null);
+
+                cause = null;
+            }
+        }
+
+        private void fail(Exception exception) {
+
+            ResultInstrumentation.failure(exception);
+
+            value = null;
+
+            cause = exception;
+        }
+    }
+
+    private interface Stage {
+
+        void apply(Element element);
+    }
+
+    private static final class FailedElement {
+
+        private final Exception cause;
+
+        private FailedElement(Exception cause) {
+
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Applies the stages to the elements of a split of the source and passes on the value of a {@code success} or a
+     * {@link FailedElement}. In fail-fast mode, the first {@code failure} of any split is set and ends every split.
+     */
+    private static final class FusedSpliterator implements Spliterator<Object> {
+
+        private final Spliterator<?> source;
+
+        private final boolean values;
+
+        private final Stage[] stages;
+
+        private final AtomicReference<Exception> failure;
+
+        /**
+         * {@code true} if empty {@code successes} are passed on as {@link #EMPTY}.
+         */
+        private final boolean empties;
+
+        private final Element element = new Element();
+
+        private final Consumer<Object> loader;
+
+        private FusedSpliterator(Spliterator<?> source, boolean values, Stage[] stages,
+                                 AtomicReference<Exception> failure, boolean empties) {
+
+            this.source = source;
+
+            this.values = values;
+
+            this.stages = stages;
+
+            this.failure = failure;
+
+            this.empties = empties;
+
+            this.loader = values ? this::loadValue : element::load;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object> action) {
+
+            while (true) {
+                if (failure != null && failure.get() != null) {
+                    return false;
+                }
+
+                if (!source.tryAdvance(loader)) {
+                    return false;
+                }
+
+                for (Stage stage : stages) {
+                    stage.apply(element);
+                }
+
+                if (element.cause != null) {
+                    if (failure != null) {
+                        failure.compareAndSet(null, element.cause);
+
+                        return false;
+                    }
+
+                    action.accept(new FailedElement(element.cause));
+
+                    return true;
+                }
+
+                if (element.value != null) {
+                    action.accept(element.value);
+
+                    return true;
+                }
+
+                if (empties) {
+                    action.accept(EMPTY);
+
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Object> action) {
+
+            //noinspection StatementWithEmptyBody
+            while (tryAdvance(action)) {
+            }
+        }
+
+        @Override
+        public Spliterator<Object> trySplit() {
+
+            if (failure != null && failure.get() != null) {
+                return null;
+            }
+
+            Spliterator<?> split = source.trySplit();
+
+            return split == null ? null : new FusedSpliterator(split, values, stages, failure, empties);
+        }
+
+        @Override
+        public long estimateSize() {
+
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+
+            return source.characteristics() & ORDERED | NONNULL;
+        }
+
+        private void loadValue(Object value) {
+
+            element.value = value;
+
+            element.cause = null;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package eu.borglum.functional.core;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,4 +57,57 @@ public class Results {
                 )
         );
     }
+
+    /**
+     * Split the {@link Result}s into the values of the {@code success}es and the exceptions of the
+     * {@code failure}s. Unlike {@link #sequence(List)} every {@code failure} is kept instead of only the first.
+     *
+     * @param results the {@link Result}s to partition.
+     * @param <T>     the type of the values.
+     * @return a {@link Partition} of the {@link Result}s.
+     * @throws NullPointerException if the {@code results} is {@code null}.
+     * @since 1.0
+     */
+    public static <T> Partition<T> partition(List<Result<T>> results) {
+
+        return partition(results, UnaryOperator.identity());
+    }
+
+    /**
+     * Does the same as {@link #partition(List)}, except that the exception of every {@code failure} is interned by
+     * the {@link FailureInterner}, so that equivalent {@code failure}s share a single exception in the
+     * {@link Partition}.
+     *
+     * @param results  the {@link Result}s to partition.
+     * @param interner the {@link FailureInterner} to intern the exceptions with.
+     * @param <T>      the type of the values.
+     * @return a {@link Partition} of the {@link Result}s.
+     * @throws NullPointerException if the {@code results} or the {@link FailureInterner} is {@code null}.
+     * @since 1.0
+     */
+    public static <T> Partition<T> partition(List<Result<T>> results, FailureInterner interner) {
+        Objects.requireNonNull(interner);
+
+        return partition(results, interner::intern);
+    }
+
+    private static <T> Partition<T> partition(List<Result<T>> results, UnaryOperator<Exception> intern) {
+        Objects.requireNonNull(results);
+
+        List<T> successes = new ArrayList<>(results.size());
+
+        List<Exception> failures = new ArrayList<>();
+
+        for (Result<T> result : results) {
+            InternalResult<T> internal = InternalResult.of(result);
+
+            if (internal.isFailure()) {
+                failures.add(intern.apply(internal.getCause()));
+            } else {
+                internal.getOptional().ifPresent(successes::add);
+            }
+        }
+
+        return Partition.create(successes, failures);
+    }
 }
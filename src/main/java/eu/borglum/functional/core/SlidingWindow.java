@@ -0,0 +1,23 @@
+package eu.borglum.functional.core;
+
+interface SlidingWindow {
+
+    /**
+     * Record the outcome of a call.
+     *
+     * @param failure {@code true} if the call failed and {@code false} otherwise.
+     */
+    void record(boolean failure);
+
+    /**
+     * @param minimumCalls the minimum number of calls in the window before a failure rate is calculated.
+     * @return the percentage of failed calls in the window or {@code -1} if fewer than {@code minimumCalls} calls
+     * have been recorded.
+     */
+    float failureRate(int minimumCalls);
+
+    /**
+     * Forget every recorded outcome.
+     */
+    void reset();
+}
@@ -0,0 +1,53 @@
+package eu.borglum.functional.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("eu.borglum.functional.SlowSupplier")
+@Label("Slow Supplier")
+@Description("A supplier applied by Result.of took longer than the threshold")
+@Category({"Functional", "Result"})
+@Threshold("20 ms")
+final class SlowSupplierEvent extends Event {
+
+    /**
+     * An instance that is never committed and is only used to ask whether the event is enabled. Once a recording
+     * enables the event, {@link #isEnabled()} reports it for every instance, so {@link Result#of} does not have to
+     * allocate an event just to find out that it is disabled. That allocation would otherwise keep escape analysis
+     * from removing the {@code success} and the lambdas of a chain.
+     */
+    private static final SlowSupplierEvent PROBE = new SlowSupplierEvent();
+
+    @Label("Supplier Class")
+    Class<?> supplierClass;
+
+    @Label("Success")
+    boolean success;
+
+    static SlowSupplierEvent beginIfEnabled() {
+
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+
+        SlowSupplierEvent event = new SlowSupplierEvent();
+        event.begin();
+
+        return event;
+    }
+
+    static void end(SlowSupplierEvent event, Object supplier, boolean success) {
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.supplierClass = supplier.getClass();
+            event.success = success;
+            event.commit();
+        }
+    }
+}
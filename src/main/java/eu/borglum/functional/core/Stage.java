@@ -0,0 +1,160 @@
+package eu.borglum.functional.core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class Stage {
+
+    private final String name;
+
+    private final LatencyHistogram latency = LatencyHistogram.create();
+
+    private final LongAdder successes = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private Stage(String name) {
+
+        this.name = name;
+    }
+
+    static Stage create(String name) {
+
+        return new Stage(name);
+    }
+
+    /**
+     * Decorate the {@link Function} so that the latency of every application and whether it threw is recorded by
+     * the stage. It can be used with {@link Result#map(Function)} as well as with the {@code recover} methods.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> call(() -> function.apply(value));
+    }
+
+    /**
+     * Decorate the {@link Function} so that the latency of every application and whether it returned a
+     * {@code failure} is recorded by the stage. It is intended to be used with {@link Result#flatMap(Function)}.
+     *
+     * @param function the {@link Function} to decorate.
+     * @param <T>      the type of the value the {@link Function} is applied to.
+     * @param <R>      the type of the value of the {@link Result} returned by the {@link Function}.
+     * @return the decorated {@link Function}.
+     * @throws NullPointerException if the {@link Function} is {@code null}.
+     * @since 1.0
+     */
+    public <T, R> Function<T, Result<R>> decorateResultFunction(
+        Function<? super T, ? extends Result<? extends R>> function) {
+
+        Objects.requireNonNull(function);
+
+        return value -> {
+            long start = System.nanoTime();
+
+            Result<? extends R> result;
+            try {
+                result = function.apply(value);
+            } catch (RuntimeException e) {
+                record(start, false);
+                throw e;
+            }
+
+            record(start, result != null && InternalResult.of(result).isSuccess());
+
+            //noinspection unchecked
+            return (Result<R>) result;
+        };
+    }
+
+    /**
+     * Decorate the {@link Supplier} so that the latency of every application and whether it threw is recorded by
+     * the stage. It is intended to be used with {@link Result#of(Supplier)}.
+     *
+     * @param supplier the {@link Supplier} to decorate.
+     * @param <U>      the type of the value returned by the {@link Supplier}.
+     * @return the decorated {@link Supplier}.
+     * @throws NullPointerException if the {@link Supplier} is {@code null}.
+     * @since 1.0
+     */
+    public <U> Supplier<U> decorateSupplier(Supplier<U> supplier) {
+
+        Objects.requireNonNull(supplier);
+
+        return () -> call(supplier);
+    }
+
+    /**
+     * @return the number of applications of the stage that failed.
+     * @since 1.0
+     */
+    public long getFailures() {
+
+        return failures.sum();
+    }
+
+    /**
+     * @return the {@link LatencyHistogram} of the stage in nanoseconds.
+     * @since 1.0
+     */
+    public LatencyHistogram getLatency() {
+
+        return latency;
+    }
+
+    /**
+     * @return the name of the stage.
+     * @since 1.0
+     */
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return the number of applications of the stage that succeeded.
+     * @since 1.0
+     */
+    public long getSuccesses() {
+
+        return successes.sum();
+    }
+
+    private <U> U call(Supplier<U> supplier) {
+
+        long start = System.nanoTime();
+
+        U value;
+        try {
+            value = supplier.get();
+        } catch (RuntimeException e) {
+            record(start, false);
+            throw e;
+        }
+
+        record(start, true);
+
+        return value;
+    }
+
+    private void record(long start, boolean success) {
+
+        latency.record(System.nanoTime() - start);
+
+        if (success) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package eu.borglum.functional.core;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class Stages {
+
+    private static final ConcurrentMap<String, Stage> STAGES = new ConcurrentHashMap<>();
+
+    private Stages() {
+        //does nothing
+    }
+
+    /**
+     * Get the {@link Stage} with the given {@code name}, creating it the first time the name is used. Stages are
+     * looked up by name so that a pipeline can name its steps inline, e.g.
+     * {@code result.map(Stages.named("parse").decorateFunction(parser))}.
+     *
+     * @param name the name of the {@link Stage}.
+     * @return the {@link Stage} with the given {@code name}.
+     * @throws NullPointerException if the {@code name} is {@code null}.
+     * @since 1.0
+     */
+    public static Stage named(String name) {
+
+        Objects.requireNonNull(name);
+
+        Stage stage = STAGES.get(name);
+        if (stage != null) {
+            return stage;
+        }
+
+        return STAGES.computeIfAbsent(name, Stage::create);
+    }
+
+    /**
+     * Write a line per {@link Stage}, sorted by name, with its success and failure counts and its latency
+     * percentiles in nanoseconds, e.g.
+     * <pre>
+     * stage=parse successes=1000 failures=3 mean=1520.4 p50=1407 p90=2111 p99=4351 p99.9=9215 max=10240
+     * </pre>
+     *
+     * @param appendable the {@link Appendable} to write to.
+     * @param reset      {@code true} if the latency histograms should be reset, so that the next export only
+     *                   covers the latencies recorded after this one, and {@code false} otherwise.
+     * @throws NullPointerException if the {@code appendable} is {@code null}.
+     * @throws IOException          if the {@code appendable} throws.
+     * @since 1.0
+     */
+    public static void export(Appendable appendable, boolean reset) throws IOException {
+
+        Objects.requireNonNull(appendable);
+
+        Stage[] stages = STAGES
+            .values()
+            .stream()
+            .sorted((first, second) -> first.getName().compareTo(second.getName()))
+            .toArray(Stage[]::new);
+
+        for (Stage stage : stages) {
+            HistogramSnapshot snapshot = reset
+                ? stage.getLatency().snapshotAndReset()
+                : stage.getLatency().snapshot();
+
+            appendable
+                .append("stage=").append(stage.getName())
+                .append(" successes=").append(Long.toString(stage.getSuccesses()))
+                .append(" failures=").append(Long.toString(stage.getFailures()))
+                .append(" mean=").append(String.format(Locale.ROOT, "%.1f", snapshot.getMean()))
+                .append(" p50=").append(Long.toString(snapshot.getValueAtPercentile(50)))
+                .append(" p90=").append(Long.toString(snapshot.getValueAtPercentile(90)))
+                .append(" p99=").append(Long.toString(snapshot.getValueAtPercentile(99)))
+                .append(" p99.9=").append(Long.toString(snapshot.getValueAtPercentile(99.9)))
+                .append(" max=").append(Long.toString(snapshot.getMax()))
+                .append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * @return every {@link Stage} that has been named so far, by name.
+     * @since 1.0
+     */
+    public static Map<String, Stage> getStages() {
+
+        return Map.copyOf(STAGES);
+    }
+}
@@ -1,41 +1,91 @@
 package eu.borglum.functional.core;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apache.commons.lang3.builder.ToStringStyle;
-
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 final class Success<T> implements InternalResult<T>, Result<T> {
 
-    private final Optional<T> optionalValue;
+    private static final Success<?> EMPTY = new Success<>(null);
+
+    /**
+     * The value is held directly, and {@code null} for an empty {@code success}, instead of in an {@link Optional},
+     * so that creating a {@code success} is a single allocation that escape analysis can remove from a chain.
+     */
+    private final T value;
 
-    private Success(Optional<T> optionalValue) {
+    private Success(T value) {
 
-        this.optionalValue = optionalValue;
+        this.value = value;
     }
 
     static <U> Success<U> create() {
 
-        return new Success<>(Optional.empty());
+        //noinspection unchecked
+        return (Success<U>) EMPTY;
     }
 
     static <U> Success<U> create(U value) {
 
         Objects.requireNonNull(value);
 
-        return new Success<>(Optional.of(value));
+        return new Success<>(value);
     }
 
     static <U> Success<U> create(Optional<U> value) {
 
         Objects.requireNonNull(value);
 
-        return new Success<>(value);
+        return value.isPresent() ? create(value.get()) : create();
+    }
+
+    /**
+     * Apply the {@link Supplier} in the same way as {@link Result#ofValue(Supplier)}, except that a {@code success}
+     * is not reported to the installed {@link ResultMetrics}. The operators of a {@code success} pass it on through
+     * here, so that a {@code success} is counted once when it enters a chain rather than once per step of it.
+     */
+    static <U> Result<U> applyValue(Supplier<U> supplier) {
+
+        Object event = ResultInstrumentation.beginSupplier();
+
+        U value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            ResultInstrumentation.endSupplier(event, supplier, false);
+
+            return Failure.create(e);
+        }
+
+        ResultInstrumentation.endSupplier(event, supplier, true);
+
+        return create(value);
+    }
+
+    /**
+     * Apply the {@link OptionalSupplier} in the same way as {@link Result#ofOptional(OptionalSupplier)}, except that
+     * a {@code success} is not reported to the installed {@link ResultMetrics}.
+     *
+     * @see #applyValue(Supplier)
+     */
+    static <U> Result<U> applyOptional(OptionalSupplier<U> supplier) {
+
+        Object event = ResultInstrumentation.beginSupplier();
+
+        Optional<U> value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            ResultInstrumentation.endSupplier(event, supplier, false);
+
+            return Failure.create(e);
+        }
+
+        ResultInstrumentation.endSupplier(event, supplier, true);
+
+        return create(value);
     }
 
     @Override
@@ -47,9 +97,7 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Success<?> success = (Success<?>) o;
 
-        return new EqualsBuilder()
-            .append(optionalValue, success.optionalValue)
-            .isEquals();
+        return Objects.equals(value, success.value);
     }
 
     @Override
@@ -57,8 +105,8 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(predicate);
 
-        return Result.of(
-            () -> optionalValue.filter(predicate)
+        return applyOptional(
+            () -> value != null && predicate.test(value) ? Optional.of(value) : Optional.empty()
         );
     }
 
@@ -67,10 +115,14 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(function);
 
+        if (value == null) {
+            //an empty success never holds a value, so it can be reused as an empty success of any type
+            //noinspection unchecked
+            return (Result<U>) this;
+        }
+
         //noinspection unchecked
-        return optionalValue
-            .map(value -> (Result<U>) Objects.requireNonNull(function.apply(value)))
-            .orElseGet(Success::create);
+        return (Result<U>) Objects.requireNonNull(function.apply(value));
     }
 
     @Override
@@ -94,15 +146,13 @@ final class Success<T> implements InternalResult<T>, Result<T> {
     @Override
     public Optional<T> getOptional() {
 
-        return optionalValue;
+        return Optional.ofNullable(value);
     }
 
     @Override
     public int hashCode() {
 
-        return new HashCodeBuilder(17, 37)
-            .append(optionalValue)
-            .toHashCode();
+        return Objects.hashCode(value);
     }
 
     @Override
@@ -122,12 +172,14 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(supplier);
 
+        if (value == null) {
+            return create();
+        }
+
         //noinspection unchecked
-        return (Result<U>) optionalValue
-            .map(v -> Result.of(
-                () -> supplier.get().evaluateRequired(v)
-            ))
-            .orElseGet(Success::create);
+        return (Result<U>) applyValue(
+            () -> supplier.get().evaluateRequired(value)
+        );
     }
 
     @Override
@@ -135,7 +187,7 @@ final class Success<T> implements InternalResult<T>, Result<T> {
                                                       Function<? super X, ? extends Exception> function) {
         validate(exceptionClass, function);
 
-        return create(optionalValue);
+        return this;
     }
 
     @Override
@@ -143,12 +195,14 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(function);
 
+        if (value == null) {
+            return create();
+        }
+
         //noinspection unchecked
-        return (Result<U>) optionalValue
-            .map(v -> Result.of(
-                () -> function.apply(v)
-            ))
-            .orElseGet(Success::create);
+        return (Result<U>) applyOptional(
+            () -> (Optional<U>) function.apply(value)
+        );
     }
 
     @Override
@@ -156,12 +210,13 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(function);
 
-        //noinspection unchecked
-        return (Result<U>) optionalValue
-            .map(v -> Result.of(
-                () -> function.apply(v)
-            ))
-            .orElseGet(Success::create);
+        if (value == null) {
+            return create();
+        }
+
+        return applyValue(
+            () -> function.apply(value)
+        );
     }
 
     @Override
@@ -169,13 +224,13 @@ final class Success<T> implements InternalResult<T>, Result<T> {
 
         Objects.requireNonNull(supplier);
 
-        return optionalValue.orElse(null);
+        return value;
     }
 
     @Override
     public T orElseThrow() {
 
-        return optionalValue.orElse(null);
+        return value;
     }
 
     @Override
@@ -196,7 +251,7 @@ final class Success<T> implements InternalResult<T>, Result<T> {
                                                            OptionalFunction<? super X, ? extends T> function) {
         validate(exceptionClass, function);
 
-        return create(optionalValue);
+        return this;
     }
 
     @Override
@@ -204,15 +259,13 @@ final class Success<T> implements InternalResult<T>, Result<T> {
                                                         Function<? super X, ? extends T> function) {
         validate(exceptionClass, function);
 
-        return create(optionalValue);
+        return this;
     }
 
     @Override
     public String toString() {
 
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
-            .append("optionalValue", optionalValue)
-            .toString();
+        return "Success[value=" + value + "]";
     }
 
     private <X extends Exception> void validate(Class<X> exceptionClass, Function<?, ?> function) {
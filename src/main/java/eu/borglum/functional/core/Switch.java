@@ -44,9 +44,15 @@ public final class Switch<T, R> {
 
     private Optional<Case<T, R>> findCase(T value) {
 
-        return cases
+        Optional<Case<T, R>> found = cases
             .stream()
             .filter(c -> c.accept(value))
             .findFirst();
+
+        if (found.isEmpty()) {
+            ResultInstrumentation.caseNotFound(value, cases.size());
+        }
+
+        return found;
     }
 }
@@ -0,0 +1,91 @@
+package eu.borglum.functional.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class TimeBasedSlidingWindow implements SlidingWindow {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int seconds;
+
+    private final AtomicLongArray epochs;
+
+    private final AtomicLongArray calls;
+
+    private final AtomicLongArray failures;
+
+    private final long origin = System.nanoTime();
+
+    TimeBasedSlidingWindow(int seconds) {
+
+        this.seconds = seconds;
+
+        this.epochs = new AtomicLongArray(seconds);
+
+        this.calls = new AtomicLongArray(seconds);
+
+        this.failures = new AtomicLongArray(seconds);
+
+        for (int i = 0; i < seconds; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    @Override
+    public void record(boolean failure) {
+
+        long epoch = currentEpoch();
+
+        int index = (int) (epoch % seconds);
+
+        long bucketEpoch = epochs.get(index);
+
+        if (bucketEpoch != epoch && epochs.compareAndSet(index, bucketEpoch, epoch)) {
+            //a few outcomes may be lost while the bucket is reused, which is acceptable for a failure rate
+            calls.set(index, 0);
+            failures.set(index, 0);
+        }
+
+        calls.incrementAndGet(index);
+
+        if (failure) {
+            failures.incrementAndGet(index);
+        }
+    }
+
+    @Override
+    public float failureRate(int minimumCalls) {
+
+        long epoch = currentEpoch();
+
+        long totalCalls = 0;
+
+        long totalFailures = 0;
+
+        for (int i = 0; i < seconds; i++) {
+            if (epochs.get(i) > epoch - seconds) {
+                totalCalls += calls.get(i);
+                totalFailures += failures.get(i);
+            }
+        }
+
+        if (totalCalls < Math.max(1, minimumCalls)) {
+            return -1;
+        }
+
+        return Math.min(totalCalls, totalFailures) * 100.0f / totalCalls;
+    }
+
+    @Override
+    public void reset() {
+
+        for (int i = 0; i < seconds; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    private long currentEpoch() {
+
+        return (System.nanoTime() - origin) / NANOS_PER_SECOND;
+    }
+}
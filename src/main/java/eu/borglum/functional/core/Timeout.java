@@ -0,0 +1,25 @@
+package eu.borglum.functional.core;
+
+public interface Timeout {
+
+    /**
+     * Attempt to cancel the {@link Timeout}. A {@link Timeout} that has already expired or has already been
+     * cancelled cannot be cancelled.
+     *
+     * @return {@code true} if the {@link Timeout} was cancelled by this call and {@code false} otherwise.
+     * @since 1.0
+     */
+    boolean cancel();
+
+    /**
+     * @return {@code true} if the {@link Timeout} has been cancelled and {@code false} otherwise.
+     * @since 1.0
+     */
+    boolean isCancelled();
+
+    /**
+     * @return {@code true} if the {@link Timeout} has expired and its task has been run and {@code false} otherwise.
+     * @since 1.0
+     */
+    boolean isExpired();
+}
@@ -0,0 +1,77 @@
+package eu.borglum.functional.core;
+
+import java.nio.ByteBuffer;
+
+public interface ValueCodec<T> {
+
+    /**
+     * Write the value at the position of the {@link ByteBuffer} and advance the position past it.
+     *
+     * @param value  the value to write.
+     * @param target the {@link ByteBuffer} to write to.
+     * @throws java.nio.BufferOverflowException if the value does not fit in the remaining bytes.
+     * @since 1.0
+     */
+    void encode(T value, ByteBuffer target);
+
+    /**
+     * Read a value written by {@link #encode(Object, ByteBuffer)} at the position of the {@link ByteBuffer} and
+     * advance the position past it.
+     *
+     * @param source the {@link ByteBuffer} to read from.
+     * @return the value, which must not be {@code null}.
+     * @throws java.nio.BufferUnderflowException if the value is not within the remaining bytes.
+     * @since 1.0
+     */
+    T decode(ByteBuffer source);
+
+    /**
+     * @return a {@link ValueCodec} writing an {@link Integer} as {@code 4} bytes.
+     * @since 1.0
+     */
+    static ValueCodec<Integer> ints() {
+
+        return ValueCodecs.INTS;
+    }
+
+    /**
+     * @return a {@link ValueCodec} writing a {@link Long} as {@code 8} bytes.
+     * @since 1.0
+     */
+    static ValueCodec<Long> longs() {
+
+        return ValueCodecs.LONGS;
+    }
+
+    /**
+     * @return a {@link ValueCodec} writing a {@link Double} as {@code 8} bytes.
+     * @since 1.0
+     */
+    static ValueCodec<Double> doubles() {
+
+        return ValueCodecs.DOUBLES;
+    }
+
+    /**
+     * @return a {@link ValueCodec} writing a {@link String} as its length followed by its UTF-8 bytes.
+     * @since 1.0
+     */
+    static ValueCodec<String> strings() {
+
+        return ValueCodecs.STRINGS;
+    }
+
+    /**
+     * The returned {@link ValueCodec} decodes a {@link ByteBuffer} without copying, as a view of the bytes of the
+     * source between its position and limit. The view shares the content of the source, so it is only valid as long
+     * as the source is, e.g. until a mapped file is truncated or a reused buffer is overwritten.
+     *
+     * @return a {@link ValueCodec} writing the remaining bytes of a {@link ByteBuffer} as their length followed by
+     * the bytes.
+     * @since 1.0
+     */
+    static ValueCodec<ByteBuffer> bytes() {
+
+        return ValueCodecs.BYTES;
+    }
+}
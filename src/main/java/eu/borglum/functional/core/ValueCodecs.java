@@ -0,0 +1,203 @@
+package eu.borglum.functional.core;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+final class ValueCodecs {
+
+    static final ValueCodec<Integer> INTS = new ValueCodec<>() {
+
+        @Override
+        public void encode(Integer value, ByteBuffer target) {
+
+            target.putInt(value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer source) {
+
+            return source.getInt();
+        }
+    };
+
+    static final ValueCodec<Long> LONGS = new ValueCodec<>() {
+
+        @Override
+        public void encode(Long value, ByteBuffer target) {
+
+            target.putLong(value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer source) {
+
+            return source.getLong();
+        }
+    };
+
+    static final ValueCodec<Double> DOUBLES = new ValueCodec<>() {
+
+        @Override
+        public void encode(Double value, ByteBuffer target) {
+
+            target.putDouble(value);
+        }
+
+        @Override
+        public Double decode(ByteBuffer source) {
+
+            return source.getDouble();
+        }
+    };
+
+    static final ValueCodec<String> STRINGS = new ValueCodec<>() {
+
+        @Override
+        public void encode(String value, ByteBuffer target) {
+
+            putString(value, target);
+        }
+
+        @Override
+        public String decode(ByteBuffer source) {
+
+            return getString(source);
+        }
+    };
+
+    static final ValueCodec<ByteBuffer> BYTES = new ValueCodec<>() {
+
+        @Override
+        public void encode(ByteBuffer value, ByteBuffer target) {
+
+            putVarint(value.remaining(), target);
+
+            target.put(value.duplicate());
+        }
+
+        @Override
+        public ByteBuffer decode(ByteBuffer source) {
+
+            int length = getLength(source);
+
+            ByteBuffer view = source.slice();
+            view.limit(length);
+
+            source.position(source.position() + length);
+
+            return view;
+        }
+    };
+
+    private ValueCodecs() {
+    }
+
+    /**
+     * Write a non-negative {@code int} as an unsigned LEB128 varint of {@code 1} to {@code 5} bytes, so that small
+     * lengths and ids take a single byte.
+     */
+    static void putVarint(int value, ByteBuffer target) {
+
+        while ((value & ~0x7F) != 0) {
+            target.put((byte) (value & 0x7F | 0x80));
+
+            value >>>= 7;
+        }
+
+        target.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer source) {
+
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = source.get();
+
+            value |= (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("The varint is longer than 5 bytes");
+    }
+
+    /**
+     * Write a nullable {@link String} as its length plus one, or {@code 0} if it is {@code null}, followed by its
+     * UTF-8 bytes.
+     */
+    static void putNullableString(String value, ByteBuffer target) {
+
+        if (value == null) {
+            target.put((byte) 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            putVarint(bytes.length + 1, target);
+
+            target.put(bytes);
+        }
+    }
+
+    static String getNullableString(ByteBuffer source) {
+
+        int length = getVarint(source);
+
+        return length == 0 ? null : getString(source, length - 1);
+    }
+
+    private static void putString(String value, ByteBuffer target) {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        putVarint(bytes.length, target);
+
+        target.put(bytes);
+    }
+
+    private static String getString(ByteBuffer source) {
+
+        return getString(source, getLength(source));
+    }
+
+    private static String getString(ByteBuffer source, int length) {
+
+        if (length < 0 || length > source.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        if (source.hasArray()) {
+            int offset = source.arrayOffset() + source.position();
+
+            source.position(source.position() + length);
+
+            return new String(source.array(), offset, length, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = new byte[length];
+
+        source.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a varint that is the length or the number of elements of what follows it, so that corrupt input is
+     * rejected before anything of that size is allocated.
+     *
+     * @throws BufferUnderflowException if it is negative or more than the remaining bytes, as every element takes
+     *                                  at least one byte.
+     */
+    static int getLength(ByteBuffer source) {
+
+        int length = getVarint(source);
+
+        if (length < 0 || length > source.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        return length;
+    }
+}
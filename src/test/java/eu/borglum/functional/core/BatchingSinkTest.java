@@ -0,0 +1,326 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingSinkTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private final List<Exception> handled = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testFlushOnSize() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(this::write, handled::add, 3, Duration.ofMinutes(1));
+
+        //when
+        List<CompletionStage<Result<Integer>>> actual = submit(sink, 0, 6);
+
+        //then
+        assertEquals(List.of(0, 10, 20, 30, 40, 50), values(actual));
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5)), batches);
+
+        sink.close();
+    }
+
+    @Test
+    void testFlushOnDelay() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(this::write, handled::add, 100, Duration.ofMillis(10));
+
+        //when
+        List<CompletionStage<Result<Integer>>> actual = submit(sink, 0, 2);
+
+        //then
+        assertEquals(List.of(0, 10), values(actual));
+        assertEquals(List.of(List.of(0, 1)), batches);
+
+        sink.close();
+    }
+
+    @Test
+    void testFlushOnByteBudget() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(this::write, handled::add, 100, Duration.ofMinutes(1))
+            .withByteBudget(10, value -> value);
+
+        //when
+        List<CompletionStage<Result<Integer>>> actual = submit(sink, 4, 7);
+        actual.addAll(submit(sink, 20, 21));
+
+        //then
+        assertEquals(List.of(40, 50, 60, 200), values(actual));
+        assertEquals(List.of(List.of(4, 5), List.of(6), List.of(20)), batches);
+
+        sink.close();
+    }
+
+    @Test
+    void testFailuresAreHandled() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(this::write, handled::add, 1, Duration.ofMinutes(1));
+        IllegalArgumentException exception = new IllegalArgumentException();
+        Result<Integer> failure = Result.of(() -> {
+            throw exception;
+        });
+        Result<Integer> empty = Result.ofOptional(Optional::empty);
+
+        //when
+        Result<Integer> actualFailure = sink.submit(failure).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Result<Integer> actualEmpty = sink.submit(empty).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        //then
+        assertSame(failure, actualFailure);
+        assertSame(empty, actualEmpty);
+        assertEquals(List.of(exception), handled);
+        assertTrue(batches.isEmpty());
+
+        sink.close();
+    }
+
+    @Test
+    void testWriterFails() throws Exception {
+
+        //given
+        IllegalStateException exception = new IllegalStateException();
+        BatchingSink<Integer> sink = BatchingSink.of(values -> {
+            throw exception;
+        }, handled::add, 2, Duration.ofMinutes(1));
+
+        //when
+        List<CompletionStage<Result<Integer>>> actual = submit(sink, 0, 2);
+
+        //then
+        for (CompletionStage<Result<Integer>> stage : actual) {
+            Result<Integer> result = stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            assertSame(exception, InternalResult.of(result).getCause());
+        }
+        assertTrue(handled.isEmpty());
+
+        sink.close();
+    }
+
+    @Test
+    void testWriterReturnsTooFewResults() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(values -> List.of(), handled::add, 1, Duration.ofMinutes(1));
+
+        //when
+        Result<Integer> actual = sink.submit(Result.of(() -> 1)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        //then
+        assertTrue(InternalResult.of(actual).getCause() instanceof IllegalStateException);
+
+        sink.close();
+    }
+
+    @Test
+    void testAdaptiveBatchSize() throws Exception {
+
+        //given
+        ConcurrencyLimit limit = ConcurrencyLimit.aimd(8, 1, 8, Duration.ofMillis(1), 0.5);
+        BatchingSink<Integer> sink = BatchingSink.of(values -> {
+            sleep(5);
+
+            return write(values);
+        }, handled::add, limit, Duration.ofMillis(1));
+
+        //when
+        values(submit(sink, 0, 16));
+
+        //then
+        assertEquals(1, sink.getBatchSize());
+
+        sink.close();
+    }
+
+    @Test
+    void testConcurrentSubmitters() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(this::write, handled::add, 64, Duration.ofMillis(1));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int from = i * 1000;
+
+            futures.add(executor.submit(() -> values(submit(sink, from, from + 1000))));
+        }
+
+        //then
+        for (int i = 0; i < 4; i++) {
+            List<Integer> actual = futures.get(i).get(10, TimeUnit.SECONDS);
+
+            for (int j = 0; j < 1000; j++) {
+                assertEquals((i * 1000 + j) * 10, actual.get(j));
+            }
+        }
+        assertEquals(4000, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 64));
+
+        executor.shutdown();
+        sink.close();
+    }
+
+    @Test
+    void testClose() throws Exception {
+
+        //given
+        BatchingSink<Integer> sink = BatchingSink.of(this::write, handled::add, 100, Duration.ofMinutes(1));
+        List<CompletionStage<Result<Integer>>> pending = submit(sink, 0, 3);
+
+        //when
+        sink.close();
+
+        //then
+        assertTrue(pending.stream().allMatch(stage -> stage.toCompletableFuture().isDone()));
+        assertEquals(List.of(0, 10, 20), values(pending));
+        assertThrows(IllegalStateException.class, () -> sink.submit(Result.of(() -> 1)));
+    }
+
+    @Test
+    void testCloseWhileSubmitting() throws Exception {
+
+        for (int round = 0; round < 50; round++) {
+            //given
+            List<List<Integer>> written = new CopyOnWriteArrayList<>();
+            Function<List<Integer>, List<Result<Integer>>> writer = values -> {
+                written.add(new ArrayList<>(values));
+
+                return write(values);
+            };
+            BatchingSink<Integer> sink = BatchingSink.of(writer, handled::add, 4, Duration.ofMillis(1))
+                .withByteBudget(3, value -> 2);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<CompletionStage<Result<Integer>>> stages = new CopyOnWriteArrayList<>();
+            List<Future<?>> submitters = new ArrayList<>();
+
+            //when
+            for (int i = 0; i < 4; i++) {
+                int from = i * 10_000;
+
+                submitters.add(executor.submit(() -> {
+                    for (int value = from; value < from + 10_000; value++) {
+                        int submitted = value;
+
+                        try {
+                            stages.add(sink.submit(Result.of(() -> submitted)));
+                        } catch (IllegalStateException e) {
+                            return;
+                        }
+                    }
+                }));
+            }
+            Thread.sleep(1);
+            sink.close();
+            for (Future<?> submitter : submitters) {
+                submitter.get(10, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            //then
+            List<Integer> writtenValues = written.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+            List<Integer> succeeded = new ArrayList<>();
+            for (CompletionStage<Result<Integer>> stage : stages) {
+                Result<Integer> result = stage.toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+                if (!InternalResult.of(result).isFailure()) {
+                    succeeded.add(result.orElseThrow() / 10);
+                }
+            }
+            assertEquals(writtenValues.size(), writtenValues.stream().distinct().count());
+            assertEquals(writtenValues.stream().sorted().collect(Collectors.toList()),
+                succeeded.stream().sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testOfInvalid() {
+
+        //given
+        Function<List<Integer>, List<Result<Integer>>> writer = this::write;
+
+        //then
+        assertThrows(NullPointerException.class, () -> BatchingSink.of(null, handled::add, 1, Duration.ofMillis(1)));
+        assertThrows(NullPointerException.class, () -> BatchingSink.of(writer, null, 1, Duration.ofMillis(1)));
+        assertThrows(NullPointerException.class, () -> BatchingSink.of(writer, handled::add, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> BatchingSink.of(writer, handled::add, 0,
+            Duration.ofMillis(1)));
+        assertThrows(IllegalArgumentException.class, () -> BatchingSink.of(writer, handled::add, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> BatchingSink.of(writer, handled::add, 1,
+            Duration.ofMillis(1)).withByteBudget(0, value -> 1));
+    }
+
+    private List<Result<Integer>> write(List<Integer> values) {
+
+        batches.add(new ArrayList<>(values));
+
+        return values.stream()
+            .map(value -> Result.of(() -> value * 10))
+            .collect(Collectors.toList());
+    }
+
+    private static List<CompletionStage<Result<Integer>>> submit(BatchingSink<Integer> sink, int from, int to) {
+
+        List<CompletionStage<Result<Integer>>> stages = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            int value = i;
+
+            stages.add(sink.submit(Result.of(() -> value)));
+        }
+
+        return stages;
+    }
+
+    private static List<Integer> values(List<CompletionStage<Result<Integer>>> stages) throws Exception {
+
+        List<Integer> values = new ArrayList<>();
+
+        for (CompletionStage<Result<Integer>> stage : stages) {
+            CompletableFuture<Result<Integer>> future = stage.toCompletableFuture();
+
+            values.add(future.get(10, TimeUnit.SECONDS).orElseThrow());
+        }
+
+        return values;
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadTest {
+
+    @Test
+    void testRejectWhenFull() throws Exception {
+
+        //given
+        Bulkhead bulkhead = Bulkhead.of(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Result<String>> blocked = CompletableFuture.supplyAsync(
+            () -> Result.ofValue(bulkhead.decorateSupplier(() -> {
+                started.countDown();
+                await(release);
+                return "Blocked";
+            }))
+        );
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //when
+        Result<String> actual = Result.ofValue(bulkhead.decorateSupplier(() -> "Value"));
+        int inFlight = bulkhead.getInFlight();
+        release.countDown();
+
+        //then
+        assertEquals(create(BulkheadFullException.INSTANCE), actual);
+        assertEquals(1, inFlight);
+        assertEquals(1, bulkhead.getRejected());
+        assertEquals(create("Blocked"), blocked.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void testBoundedWait() throws Exception {
+
+        //given
+        Bulkhead bulkhead = Bulkhead.of(ConcurrencyLimit.fixed(1), Duration.ofSeconds(5), QueueOrder.LIFO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Result<String>> blocked = CompletableFuture.supplyAsync(
+            () -> create("Blocked").flatMap(bulkhead.decorateResultFunction(str -> {
+                started.countDown();
+                await(release);
+                return create(str);
+            }))
+        );
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //when
+        CompletableFuture<Result<String>> waiting = CompletableFuture.supplyAsync(
+            () -> create("Value").mapValue(bulkhead.decorateFunction(String::toUpperCase))
+        );
+        release.countDown();
+
+        //then
+        assertEquals(create("Blocked"), blocked.get(5, TimeUnit.SECONDS));
+        assertEquals(create("VALUE"), waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getRejected());
+    }
+
+    @Test
+    void testAdaptiveLimit() {
+
+        //given
+        ConcurrencyLimit limit = ConcurrencyLimit.aimd(2, 1, 3, Duration.ofMillis(50), 0.5);
+        Bulkhead bulkhead = Bulkhead.of(limit, Duration.ZERO, QueueOrder.FIFO);
+
+        Supplier<String> fast = bulkhead.decorateSupplier(() -> "Fast");
+        Supplier<String> slow = bulkhead.decorateSupplier(() -> {
+            sleep(100);
+            return "Slow";
+        });
+
+        //when
+        Result.ofValue(fast);
+        int afterFirst = bulkhead.getLimit();
+        Result.ofValue(fast);
+        int afterSecond = bulkhead.getLimit();
+        Result.ofValue(slow);
+        int afterSlow = bulkhead.getLimit();
+
+        //then
+        assertEquals(3, afterFirst);
+        assertEquals(3, afterSecond);
+        assertEquals(1, afterSlow);
+    }
+
+    @Test
+    void testInvalid() {
+
+        //given
+        Bulkhead bulkhead = Bulkhead.of(1);
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> Bulkhead.of(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> Bulkhead.of(ConcurrencyLimit.fixed(1), Duration.ofMillis(-1), QueueOrder.FIFO));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConcurrencyLimit.aimd(1, 2, 3, Duration.ofMillis(1), 0.5));
+        assertThrows(NullPointerException.class, () -> bulkhead.decorateSupplier(null));
+        assertThrows(NullPointerException.class, () -> bulkhead.decorateFunction(null));
+        assertThrows(NullPointerException.class, () -> bulkhead.decorateResultFunction(null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CheckpointedRunnerTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException();
+
+    private static final List<Integer> INPUTS = IntStream.range(0, 25).boxed().collect(Collectors.toList());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRun() throws IOException {
+
+        //given
+        List<Result<Integer>> results = new ArrayList<>();
+
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ZERO)) {
+
+            //when
+            Checkpoint actual = runner.run(INPUTS, CheckpointedRunnerTest::process, results::add);
+
+            //then
+            assertEquals(new Checkpoint(25, 16, 9), actual);
+            assertEquals(actual, runner.getCheckpoint());
+            assertEquals(INPUTS.stream().map(CheckpointedRunnerTest::process).collect(Collectors.toList()), results);
+        }
+    }
+
+    @Test
+    void testResume() throws IOException {
+
+        //given
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ofHours(1))) {
+            assertThrows(IllegalStateException.class, () -> runner.run(INPUTS, CheckpointedRunnerTest::process,
+                result -> crashAt(result, 16)));
+        }
+
+        List<Integer> processed = new ArrayList<>();
+
+        //when
+        Checkpoint actual;
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ofHours(1))) {
+            actual = runner.run(INPUTS, input -> {
+                processed.add(input);
+
+                return process(input);
+            }, result -> {
+            });
+        }
+
+        //then
+        assertEquals(IntStream.range(10, 25).boxed().collect(Collectors.toList()), processed);
+        assertEquals(new Checkpoint(25, 16, 9), actual);
+    }
+
+    @Test
+    void testResumeCompleted() throws IOException {
+
+        //given
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ZERO)) {
+            runner.run(INPUTS, CheckpointedRunnerTest::process, result -> {
+            });
+        }
+
+        //when
+        Checkpoint actual;
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ZERO)) {
+            actual = runner.run(INPUTS, input -> {
+                throw ILLEGAL_STATE_EXCEPTION;
+            }, result -> {
+            });
+        }
+
+        //then
+        assertEquals(new Checkpoint(25, 16, 9), actual);
+    }
+
+    @Test
+    void testTornCheckpointFallsBack() throws IOException {
+
+        //given
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ZERO)) {
+            runner.run(INPUTS, CheckpointedRunnerTest::process, result -> {
+            });
+        }
+
+        //the last checkpoint is written to the first slot, as the three chunks are written to the slots in turn
+        try (FileChannel channel = FileChannel.open(checkpoint(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 42), Long.BYTES);
+        }
+
+        //when
+        Checkpoint actual;
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ZERO)) {
+            actual = runner.getCheckpoint();
+        }
+
+        //then
+        assertEquals(20, actual.getOffset());
+    }
+
+    @Test
+    void testFunctionThrows() throws IOException {
+
+        //given
+        List<Result<Integer>> results = new ArrayList<>();
+
+        try (CheckpointedRunner runner = CheckpointedRunner.open(checkpoint(), 10, Duration.ZERO)) {
+
+            //when
+            Checkpoint actual = runner.<Integer, Integer>run(List.of(1), input -> {
+                throw ILLEGAL_STATE_EXCEPTION;
+            }, results::add);
+
+            //then
+            assertEquals(new Checkpoint(1, 0, 1), actual);
+            assertEquals(List.of(Failure.create(ILLEGAL_STATE_EXCEPTION)), results);
+        }
+    }
+
+    @Test
+    void testInvalidChunkSize() {
+
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> CheckpointedRunner.open(checkpoint(), 0, Duration.ZERO));
+    }
+
+    private static Result<Integer> process(int input) {
+
+        return input % 3 == 0 ? Failure.create(ILLEGAL_STATE_EXCEPTION) : Result.of(() -> input);
+    }
+
+    private static void crashAt(Result<Integer> result, int input) {
+
+        if (result.equals(Result.of(() -> input))) {
+            throw ILLEGAL_STATE_EXCEPTION;
+        }
+    }
+
+    private Path checkpoint() {
+
+        return directory.resolve("checkpoint");
+    }
+}
@@ -0,0 +1,169 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    private static final IllegalArgumentException ILLEGAL_ARGUMENT_EXCEPTION = new IllegalArgumentException("");
+
+    @Test
+    void testOpenAfterFailureRateThreshold() {
+
+        //given
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(CircuitBreakerConfig.countBased(4));
+        AtomicInteger counter = new AtomicInteger();
+
+        Supplier<String> supplier = circuitBreaker.decorateSupplier(() -> {
+            counter.incrementAndGet();
+            throw ILLEGAL_STATE_EXCEPTION;
+        });
+
+        //when
+        Result<String> first = Result.ofValue(supplier);
+        Result.ofValue(supplier);
+        Result.ofValue(supplier);
+        Result.ofValue(supplier);
+        Result<String> rejected = Result.ofValue(supplier);
+
+        //then
+        assertEquals(create(ILLEGAL_STATE_EXCEPTION), first);
+        assertEquals(create(CallNotPermittedException.INSTANCE), rejected);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertEquals(4, counter.get());
+    }
+
+    @Test
+    void testStayClosedBelowFailureRateThreshold() {
+
+        //given
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(
+            CircuitBreakerConfig.countBased(4).withFailureRateThreshold(75)
+        );
+
+        Function<String, String> function = circuitBreaker.decorateFunction(str -> {
+            if (str.isEmpty()) {
+                throw ILLEGAL_STATE_EXCEPTION;
+            }
+            return str;
+        });
+
+        //when
+        create("").mapValue(function);
+        create("").mapValue(function);
+        create("Value").mapValue(function);
+        Result<String> actual = create("Value").mapValue(function);
+
+        //then
+        assertEquals(create("Value"), actual);
+        assertEquals(50.0f, circuitBreaker.getFailureRate());
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testRecordedAndIgnoredExceptions() {
+
+        //given
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(
+            CircuitBreakerConfig
+                .countBased(2)
+                .withRecordedExceptions(Set.of(IllegalStateException.class))
+                .withIgnoredExceptions(Set.of(UnsupportedOperationException.class))
+        );
+
+        //when
+        Result.ofValue(circuitBreaker.decorateSupplier(() -> {
+            throw ILLEGAL_ARGUMENT_EXCEPTION;
+        }));
+        Result.ofValue(circuitBreaker.decorateSupplier(() -> {
+            throw new UnsupportedOperationException();
+        }));
+        Result.ofValue(circuitBreaker.decorateSupplier(() -> {
+            throw ILLEGAL_STATE_EXCEPTION;
+        }));
+
+        //then
+        assertEquals(50.0f, circuitBreaker.getFailureRate());
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpen() {
+
+        //given
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(
+            CircuitBreakerConfig
+                .countBased(1)
+                .withWaitDurationInOpenState(Duration.ZERO)
+                .withPermittedCallsInHalfOpenState(2)
+        );
+
+        Function<String, Result<String>> function = circuitBreaker.decorateResultFunction(
+            str -> str.isEmpty() ? create(ILLEGAL_STATE_EXCEPTION) : create(str)
+        );
+
+        //when
+        Result<String> failure = create("").flatMap(function);
+        CircuitState afterFailure = circuitBreaker.getState();
+        create("Value").flatMap(function);
+        CircuitState afterTrialCall = circuitBreaker.getState();
+        Result<String> actual = create("Value").flatMap(function);
+
+        //then
+        assertEquals(create(ILLEGAL_STATE_EXCEPTION), failure);
+        assertEquals(CircuitState.OPEN, afterFailure);
+        assertEquals(CircuitState.HALF_OPEN, afterTrialCall);
+        assertEquals(create("Value"), actual);
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testTimeBased() {
+
+        //given
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(
+            CircuitBreakerConfig.timeBased(Duration.ofMinutes(1)).withMinimumCalls(2)
+        );
+
+        Supplier<String> supplier = circuitBreaker.decorateSupplier(() -> {
+            throw ILLEGAL_STATE_EXCEPTION;
+        });
+
+        //when
+        Result.ofValue(supplier);
+        Result.ofValue(supplier);
+        Result<String> actual = Result.ofValue(supplier);
+
+        //then
+        assertEquals(create(CallNotPermittedException.INSTANCE), actual);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testInvalid() {
+
+        //given
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(CircuitBreakerConfig.countBased(1));
+
+        //then
+        assertThrows(NullPointerException.class, () -> CircuitBreaker.of(null));
+        assertThrows(NullPointerException.class, () -> circuitBreaker.decorateSupplier(null));
+        assertThrows(NullPointerException.class, () -> circuitBreaker.decorateFunction(null));
+        assertThrows(NullPointerException.class, () -> circuitBreaker.decorateResultFunction(null));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreakerConfig.countBased(0));
+        assertThrows(IllegalArgumentException.class, () -> CircuitBreakerConfig.timeBased(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> CircuitBreakerConfig.countBased(1).withFailureRateThreshold(0));
+    }
+}
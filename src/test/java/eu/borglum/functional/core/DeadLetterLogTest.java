@@ -0,0 +1,238 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadLetterLogTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("ILLEGAL_STATE");
+
+    private static final IllegalArgumentException ILLEGAL_ARGUMENT_EXCEPTION = new IllegalArgumentException();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppend() throws IOException {
+
+        //given
+        List<DeadLetter> actual;
+        try (DeadLetterLog log = DeadLetterLog.open(directory)) {
+
+            //when
+            log.append("first", ILLEGAL_STATE_EXCEPTION);
+            log.append("second", ILLEGAL_ARGUMENT_EXCEPTION);
+
+            actual = toList(log);
+        }
+
+        //then
+        assertEquals(2, actual.size());
+        assertEquals("first", actual.get(0).getKey());
+        assertEquals(IllegalStateException.class.getName(), actual.get(0).getExceptionClassName());
+        assertEquals(Optional.of("ILLEGAL_STATE"), actual.get(0).getMessage());
+        assertEquals("second", actual.get(1).getKey());
+        assertEquals(IllegalArgumentException.class.getName(), actual.get(1).getExceptionClassName());
+        assertEquals(Optional.empty(), actual.get(1).getMessage());
+    }
+
+    @Test
+    void testAppendResult() throws IOException {
+
+        //given
+        try (DeadLetterLog log = DeadLetterLog.open(directory)) {
+
+            //when
+            boolean success = log.append("success", Result.of(() -> "value"));
+            boolean failure = log.append("failure", Result.of(() -> {
+                throw ILLEGAL_STATE_EXCEPTION;
+            }));
+
+            //then
+            assertFalse(success);
+            assertTrue(failure);
+            assertEquals(List.of("failure"), keys(log));
+        }
+    }
+
+    @Test
+    void testAppendAcrossSegments() throws IOException {
+
+        //given
+        List<String> expected = Stream.iterate(0, i -> i + 1)
+            .limit(100)
+            .map(i -> "key-" + i)
+            .collect(Collectors.toList());
+
+        try (DeadLetterLog log = DeadLetterLog.open(directory, 128)) {
+
+            //when
+            expected.forEach(key -> log.append(key, ILLEGAL_STATE_EXCEPTION));
+
+            //then
+            assertEquals(expected, keys(log));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+    }
+
+    @Test
+    void testNextSegmentIsMappedAhead() throws IOException {
+
+        //given
+        try (DeadLetterLog log = DeadLetterLog.open(directory, 128)) {
+
+            //when
+            log.append("key", ILLEGAL_STATE_EXCEPTION);
+        }
+
+        //then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        try (DeadLetterLog log = DeadLetterLog.open(directory, 128)) {
+            assertEquals(List.of("key"), keys(log));
+        }
+    }
+
+    @Test
+    void testConcurrentAppend() throws Exception {
+
+        //given
+        int producers = 8;
+        int appends = 2_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (DeadLetterLog log = DeadLetterLog.open(directory, 4096)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int producer = 0; producer < producers; producer++) {
+                int id = producer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int i = 0; i < appends; i++) {
+                        log.append(id + "-" + i, ILLEGAL_STATE_EXCEPTION);
+                    }
+
+                    return null;
+                }));
+            }
+
+            //when
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            //then
+            List<String> actual = keys(log);
+            assertEquals(producers * appends, actual.size());
+            assertEquals(producers * appends, Set.copyOf(actual).size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testReopen() throws IOException {
+
+        //given
+        try (DeadLetterLog log = DeadLetterLog.open(directory)) {
+            log.append("before", ILLEGAL_STATE_EXCEPTION);
+        }
+
+        //when
+        try (DeadLetterLog log = DeadLetterLog.open(directory)) {
+            log.append("after", ILLEGAL_STATE_EXCEPTION);
+
+            //then
+            assertEquals(List.of("before", "after"), keys(log));
+        }
+    }
+
+    @Test
+    void testReplay() throws IOException {
+
+        //given
+        SwitchSupplier<DeadLetter, String> recovery = () -> Switch.of(List.of(
+            Case.of(
+                deadLetter -> deadLetter.getExceptionClassName().equals(IllegalStateException.class.getName()),
+                deadLetter -> "recovered " + deadLetter.getKey()
+            )
+        ));
+
+        try (DeadLetterLog log = DeadLetterLog.open(directory)) {
+            log.append("first", ILLEGAL_STATE_EXCEPTION);
+            log.append("second", ILLEGAL_ARGUMENT_EXCEPTION);
+
+            //when
+            Iterator<Result<String>> actual = log.replay(recovery);
+
+            //then
+            assertEquals(Result.of(() -> "recovered first"), actual.next());
+            assertThrows(CaseNotFoundException.class, actual.next()::orElseThrow);
+            assertFalse(actual.hasNext());
+        }
+    }
+
+    @Test
+    void testAppendAfterClose() throws IOException {
+
+        //given
+        DeadLetterLog log = DeadLetterLog.open(directory);
+        log.close();
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> log.append("key", ILLEGAL_STATE_EXCEPTION));
+    }
+
+    @Test
+    void testAppendLargerThanSegment() throws IOException {
+
+        //given
+        try (DeadLetterLog log = DeadLetterLog.open(directory, 64)) {
+
+            //when
+            //then
+            assertThrows(IllegalArgumentException.class, () -> log.append("k".repeat(64), ILLEGAL_STATE_EXCEPTION));
+        }
+    }
+
+    private static List<String> keys(DeadLetterLog log) {
+
+        return toList(log).stream()
+            .map(DeadLetter::getKey)
+            .collect(Collectors.toList());
+    }
+
+    private static List<DeadLetter> toList(DeadLetterLog log) {
+
+        return StreamSupport.stream(log.spliterator(), false).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,113 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineTest {
+
+    @Test
+    void testWithinBudget() {
+
+        //given
+        try (Deadline deadline = Deadline.after(Duration.ofMinutes(1))) {
+
+            //when
+            Result<String> actual = Result
+                .ofValue(deadline.decorateSupplier(() -> "Value"))
+                .mapValue(deadline.decorateFunction(String::toUpperCase))
+                .flatMap(deadline.decorateResultFunction(str -> create(str + "!")));
+
+            //then
+            assertEquals(create("VALUE!"), actual);
+            assertFalse(deadline.isExpired());
+            assertFalse(deadline.getToken().isCancelled());
+        }
+    }
+
+    @Test
+    void testExpired() {
+
+        //given
+        AtomicInteger counter = new AtomicInteger();
+        Deadline deadline = Deadline.after(Duration.ZERO);
+
+        Function<String, String> function = deadline.decorateFunction(str -> {
+            counter.incrementAndGet();
+            return str;
+        });
+
+        //when
+        Result<String> actual = create("Value").mapValue(function);
+        Result<String> actualFlatMap = create("Value").flatMap(deadline.decorateResultFunction(
+            str -> {
+                counter.incrementAndGet();
+                return create(str);
+            }
+        ));
+
+        //then
+        assertEquals(create(DeadlineExceededException.INSTANCE), actual);
+        assertEquals(create(DeadlineExceededException.INSTANCE), actualFlatMap);
+        assertEquals(0, counter.get());
+        assertTrue(deadline.isExpired());
+        assertTrue(deadline.getToken().isCancelled());
+        assertEquals(Duration.ZERO, deadline.remaining());
+    }
+
+    @Test
+    void testCancelled() {
+
+        //given
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+        //when
+        deadline.getToken().cancel();
+        Result<String> actual = Result.ofValue(deadline.decorateSupplier(() -> "Value"));
+
+        //then
+        assertInstanceOf(CancellationException.class, InternalResult.of(actual).getCause());
+        deadline.close();
+    }
+
+    @Test
+    void testTokenCancelledOnExpiry() throws InterruptedException {
+
+        //given
+        Deadline deadline = Deadline.after(Duration.ofMillis(20));
+
+        //when
+        long limit = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!deadline.getToken().isCancelled() && System.nanoTime() < limit) {
+            Thread.sleep(5);
+        }
+
+        //then
+        assertTrue(deadline.getToken().isCancelled());
+        assertThrows(CancellationException.class, deadline.getToken()::throwIfCancelled);
+    }
+
+    @Test
+    void testDecorateInvalid() {
+
+        //given
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+        //then
+        assertThrows(NullPointerException.class, () -> deadline.decorateSupplier(null));
+        assertThrows(NullPointerException.class, () -> deadline.decorateFunction(null));
+        assertThrows(NullPointerException.class, () -> deadline.decorateResultFunction(null));
+        assertThrows(NullPointerException.class, () -> Deadline.after(null));
+        deadline.close();
+    }
+}
@@ -0,0 +1,139 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FailureInternerTest {
+
+    @Test
+    void testInternByClassAndMessage() {
+
+        //given
+        FailureInterner interner = FailureInterner.byClassAndMessage();
+
+        IllegalStateException first = new IllegalStateException("outage");
+
+        //when
+        Exception actual = interner.intern(new IllegalStateException("outage"));
+
+        //then
+        assertSame(interner.intern(first), interner.intern(new IllegalStateException("outage")));
+        assertNotSame(actual, interner.intern(new IllegalStateException("other")));
+        assertNotSame(actual, interner.intern(new IllegalArgumentException("outage")));
+        assertEquals(3, interner.getCount(first));
+        assertEquals(3, interner.getCanonicals().size());
+    }
+
+    @Test
+    void testInternByKey() {
+
+        //given
+        FailureInterner interner = FailureInterner.by(Exception::getClass);
+
+        IllegalStateException first = new IllegalStateException("first");
+
+        //when
+        interner.intern(first);
+        Exception actual = interner.intern(new IllegalStateException("second"));
+
+        //then
+        assertSame(first, actual);
+        assertEquals(Map.of(first, 2L), interner.getCounts());
+    }
+
+    @Test
+    void testInternWithNullKey() {
+
+        //given
+        FailureInterner interner = FailureInterner.by(exception -> null);
+
+        //when
+        //then
+        assertThrows(NullPointerException.class, () -> interner.intern(new IllegalStateException()));
+    }
+
+    @Test
+    void testPartition() {
+
+        //given
+        FailureInterner interner = FailureInterner.byClassAndMessage();
+
+        List<Result<String>> results = IntStream
+            .range(0, 1000)
+            .mapToObj(i -> i % 2 == 0 ? FailureInternerTest.<String>outage() : Result.of(() -> "value" + i))
+            .collect(Collectors.toList());
+
+        //when
+        Partition<String> actual = Results.partition(results, interner);
+
+        //then
+        assertEquals(500, actual.getSuccesses().size());
+        assertEquals(500, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().stream().distinct().count());
+        assertEquals(500, interner.getCount(actual.getFailures().get(0)));
+    }
+
+    @Test
+    void testResultBatch() {
+
+        //given
+        FailureInterner interner = FailureInterner.byClassAndMessage();
+
+        List<Result<Integer>> results = IntStream
+            .range(0, 1000)
+            .mapToObj(i -> i % 10 == 0 ? FailureInternerTest.<Integer>outage() : Result.of(() -> i))
+            .collect(Collectors.toList());
+
+        //when
+        ResultBatch<Integer> actual = ResultBatch
+            .of(results)
+            .withInterner(interner)
+            .map(value -> {
+                if (value % 10 == 1) {
+                    throw new ArithmeticException("overflow");
+                }
+
+                return value;
+            })
+            .filter(value -> value > 0);
+
+        //then
+        assertEquals(200, actual.getFailureCount());
+        assertEquals(2, actual.partition().getFailures().stream().distinct().count());
+        assertEquals(100, interner.getCount(new IllegalStateException("outage")));
+        assertEquals(100, interner.getCount(new ArithmeticException("overflow")));
+    }
+
+    @Test
+    void testIntResultBatch() {
+
+        //given
+        FailureInterner interner = FailureInterner.by(Exception::getClass);
+
+        //when
+        IntResultBatch actual = IntResultBatch
+            .ofValues(0, 1, 0, 2)
+            .withInterner(interner)
+            .map(value -> 4 / value);
+
+        //then
+        assertSame(InternalResult.of(actual.get(0)).getCause(), InternalResult.of(actual.get(2)).getCause());
+        assertEquals(2, interner.getCount(new ArithmeticException()));
+    }
+
+    private static <T> Result<T> outage() {
+
+        return Result.of(() -> {
+            throw new IllegalStateException("outage");
+        });
+    }
+}
@@ -0,0 +1,226 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.System.Logger;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailureLoggerTest {
+
+    @Test
+    void testGroupIdenticalFailures() {
+
+        //given
+        RecordingLogger logger = new RecordingLogger();
+
+        try (FailureLogger failureLogger = FailureLogger.create(logger, Duration.ofHours(1), 100)) {
+
+            //when
+            for (int i = 0; i < 3; i++) {
+                failureLogger.report(new IllegalStateException("state"));
+            }
+            failureLogger.report(new IllegalArgumentException("argument"));
+            failureLogger.flush();
+            failureLogger.flush();
+
+            //then
+            assertEquals(2, logger.lines.size());
+            assertTrue(logger.lines.stream().anyMatch(
+                line -> line.startsWith("3 x java.lang.IllegalStateException at ") && line.endsWith(": state")
+            ), logger.lines::toString);
+            assertTrue(logger.lines.stream().anyMatch(
+                line -> line.startsWith("1 x java.lang.IllegalArgumentException at ")
+            ), logger.lines::toString);
+        }
+    }
+
+    @Test
+    void testGroupByThrowSite() {
+
+        //given
+        RecordingLogger logger = new RecordingLogger();
+
+        try (FailureLogger failureLogger = FailureLogger.create(logger, Duration.ofHours(1), 100)) {
+
+            //when
+            failureLogger.report(new IllegalStateException("first site"));
+            failureLogger.report(new IllegalStateException("second site"));
+            failureLogger.flush();
+
+            //then
+            assertEquals(2, logger.lines.size());
+        }
+    }
+
+    @Test
+    void testLogRateCeiling() {
+
+        //given
+        RecordingLogger logger = new RecordingLogger();
+
+        try (FailureLogger failureLogger = FailureLogger.create(logger, Duration.ofHours(1), 1)) {
+
+            //when
+            failureLogger.report(new IllegalStateException("first site"));
+            failureLogger.report(new IllegalStateException("second site"));
+            failureLogger.flush();
+
+            //then
+            assertEquals(1, logger.lines.size());
+        }
+    }
+
+    @Test
+    void testLogRateCeilingCarriesFailuresForward() throws InterruptedException {
+
+        //given
+        RecordingLogger logger = new RecordingLogger();
+
+        try (FailureLogger failureLogger = FailureLogger.create(logger, Duration.ofHours(1), 1)) {
+
+            //when
+            failureLogger.report(new IllegalStateException("first site"));
+            for (int i = 0; i < 2; i++) {
+                failureLogger.report(new IllegalStateException("second site"));
+            }
+            failureLogger.flush();
+            Thread.sleep(1100);
+            failureLogger.flush();
+
+            //then
+            assertEquals(2, logger.lines.size(), logger.lines::toString);
+            assertEquals(3, logger.lines.stream()
+                .mapToInt(line -> Integer.parseInt(line.substring(0, line.indexOf(' '))))
+                .sum());
+        }
+    }
+
+    @Test
+    void testReportSameInstance() {
+
+        //given
+        RecordingLogger logger = new RecordingLogger();
+        IllegalStateException first = new IllegalStateException("first site");
+        IllegalStateException second = new IllegalStateException("second site");
+
+        try (FailureLogger failureLogger = FailureLogger.create(logger, Duration.ofHours(1), 100)) {
+
+            //when
+            for (int i = 0; i < 3; i++) {
+                failureLogger.report(first);
+            }
+            failureLogger.report(second);
+            failureLogger.report(first);
+            failureLogger.flush();
+
+            //then
+            assertEquals(2, logger.lines.size());
+            assertTrue(logger.lines.stream().anyMatch(
+                line -> line.startsWith("4 x ") && line.endsWith(": first site")
+            ), logger.lines::toString);
+            assertTrue(logger.lines.stream().anyMatch(
+                line -> line.startsWith("1 x ") && line.endsWith(": second site")
+            ), logger.lines::toString);
+        }
+    }
+
+    @Test
+    void testFlushWhileReporting() throws Exception {
+
+        //given
+        RecordingLogger logger = new RecordingLogger();
+        IllegalStateException[] interned = new IllegalStateException[4];
+        for (int i = 0; i < interned.length; i++) {
+            interned[i] = new IllegalStateException("interned");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> reporters = new ArrayList<>();
+
+        try (FailureLogger failureLogger = FailureLogger.create(logger, Duration.ofHours(1), 1_000_000)) {
+
+            //when
+            for (int i = 0; i < 4; i++) {
+                reporters.add(executor.submit(() -> {
+                    for (int j = 0; j < 20_000; j++) {
+                        //alternating between instances thrown from the same place makes every report look its
+                        //group up, and the pauses let the flushes forget the group while it is being looked up
+                        failureLogger.report(interned[j % interned.length]);
+
+                        if (j % 100 == 0) {
+                            LockSupport.parkNanos(10_000);
+                        }
+                    }
+                }));
+            }
+            while (reporters.stream().anyMatch(reporter -> !reporter.isDone())) {
+                failureLogger.flush();
+            }
+            for (Future<?> reporter : reporters) {
+                reporter.get(10, TimeUnit.SECONDS);
+            }
+            failureLogger.flush();
+
+            //then
+            assertEquals(80_000, logger.lines.stream()
+                .mapToLong(line -> Long.parseLong(line.substring(0, line.indexOf(' ')).replace(",", "")))
+                .sum());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testCreateInvalid() {
+
+        //then
+        assertThrows(NullPointerException.class, () -> FailureLogger.create(null, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> FailureLogger.create(new RecordingLogger(), Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> FailureLogger.create(new RecordingLogger(), Duration.ofSeconds(1), 0));
+    }
+
+    private static final class RecordingLogger implements Logger {
+
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public boolean isLoggable(Level level) {
+            return true;
+        }
+
+        @Override
+        public synchronized void log(Level level, Supplier<String> msgSupplier, Throwable thrown) {
+            lines.add(msgSupplier.get());
+        }
+
+        @Override
+        public synchronized void log(Level level, ResourceBundle bundle, String msg, Throwable thrown) {
+            lines.add(msg);
+        }
+
+        @Override
+        public synchronized void log(Level level, ResourceBundle bundle, String format, Object... params) {
+            lines.add(MessageFormat.format(format, params));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailureRecorderTest {
+
+    @AfterEach
+    void tearDown() {
+        ResultInstrumentation.uninstall();
+    }
+
+    @Test
+    void testRecentFailures() {
+
+        //given
+        FailureRecorder recorder = FailureRecorder.create(2, 0);
+        ResultInstrumentation.install(recorder);
+
+        //when
+        create(new IllegalStateException("first"));
+        create(new IllegalStateException("second"));
+        create(new IllegalArgumentException("third")).mapValue(String::length);
+        List<RecordedFailure> actual = recorder.getRecentFailures();
+
+        //then
+        assertEquals(2, actual.size());
+        assertEquals(IllegalArgumentException.class, actual.get(0).getExceptionClass());
+        assertEquals("third", actual.get(0).getMessage().orElseThrow());
+        assertEquals("second", actual.get(1).getMessage().orElseThrow());
+        assertTrue(actual.get(0).getStackTrace().isEmpty());
+        assertEquals(3, recorder.getTotalFailures());
+    }
+
+    @Test
+    void testTopFailures() {
+
+        //given
+        FailureRecorder recorder = FailureRecorder.create(16, 0);
+        ResultInstrumentation.install(recorder);
+
+        //when
+        create(new IllegalStateException());
+        create(new IllegalStateException());
+        create(new IllegalArgumentException());
+        create(new UnsupportedOperationException());
+        create(new UnsupportedOperationException());
+        create(new UnsupportedOperationException());
+        Map<Class<?>, Long> actual = recorder.getTopFailures(2);
+
+        //then
+        assertEquals(List.of(UnsupportedOperationException.class, IllegalStateException.class),
+            List.copyOf(actual.keySet()));
+        assertEquals(List.of(3L, 2L), List.copyOf(actual.values()));
+    }
+
+    @Test
+    void testStackSampling() {
+
+        //given
+        FailureRecorder recorder = FailureRecorder.create(4, 2);
+        ResultInstrumentation.install(recorder);
+
+        //when
+        create(new IllegalStateException("sampled"));
+        create(new IllegalStateException("not sampled"));
+        List<RecordedFailure> actual = recorder.getRecentFailures();
+
+        //then
+        assertTrue(actual.get(0).getStackTrace().isEmpty());
+        assertFalse(actual.get(1).getStackTrace().isEmpty());
+    }
+
+    @Test
+    void testConcurrentWritersOfTheSameSlot() throws Exception {
+
+        //given
+        FailureRecorder recorder = FailureRecorder.create(2, 0);
+        List<Exception> exceptions = List.of(new IllegalStateException("IllegalStateException"),
+            new IllegalArgumentException("IllegalArgumentException"),
+            new UnsupportedOperationException("UnsupportedOperationException"));
+        ExecutorService executor = Executors.newFixedThreadPool(exceptions.size());
+        List<Future<?>> writers = new ArrayList<>();
+
+        try {
+
+            //when
+            for (Exception exception : exceptions) {
+                //writers a multiple of the capacity apart claim the same slot
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        recorder.onFailure(exception);
+                    }
+                }));
+            }
+            while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+                //then
+                for (RecordedFailure failure : recorder.getRecentFailures()) {
+                    assertEquals(failure.getExceptionClass().getSimpleName(), failure.getMessage().orElseThrow());
+                }
+            }
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+            recorder.onFailure(new IllegalStateException("first"));
+            recorder.onFailure(new IllegalStateException("second"));
+
+            //then
+            assertEquals(300_002, recorder.getTotalFailures());
+            assertEquals(List.of("second", "first"), recorder.getRecentFailures().stream()
+                .map(failure -> failure.getMessage().orElseThrow())
+                .collect(Collectors.toList()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testCreateInvalid() {
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> FailureRecorder.create(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> FailureRecorder.create(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> FailureRecorder.create(1, 0).getTopFailures(-1));
+    }
+}
@@ -0,0 +1,161 @@
+package eu.borglum.functional.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static eu.borglum.functional.core.TestDataFactory.recover;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecorderEventTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("Message");
+
+    @Test
+    void testFailureCreated() throws IOException {
+
+        //when
+        List<RecordedEvent> events = record(
+            "eu.borglum.functional.FailureCreated", () -> create(ILLEGAL_STATE_EXCEPTION)
+        );
+
+        //then
+        assertEquals(1, events.size());
+        assertEquals(IllegalStateException.class.getName(), events.get(0).getClass("exceptionClass").getName());
+        assertEquals("Message", events.get(0).getString("message"));
+    }
+
+    @Test
+    void testRecoveryApplied() throws IOException {
+
+        //given
+        Function<? super Exception, ? extends String> recover = recover("Recovered");
+
+        //when
+        List<RecordedEvent> events = record("eu.borglum.functional.RecoveryApplied", () -> {
+            create(ILLEGAL_STATE_EXCEPTION).recover(IllegalStateException.class, recover);
+            create(ILLEGAL_STATE_EXCEPTION).recover(IllegalArgumentException.class, recover);
+        });
+
+        //then
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getClass("handlerClass").getName().startsWith(TestDataFactory.class.getName()));
+    }
+
+    @Test
+    void testCaseNotFound() throws IOException {
+
+        //given
+        Switch<String, String> emptySwitch = Switch.of(List.of());
+
+        //when
+        List<RecordedEvent> events = record("eu.borglum.functional.CaseNotFound", () -> create("Value").map(
+            (SwitchSupplier<String, String>) () -> emptySwitch
+        ));
+
+        //then
+        assertEquals(1, events.size());
+        assertEquals(String.class.getName(), events.get(0).getClass("valueClass").getName());
+        assertEquals(0, events.get(0).getInt("caseCount"));
+    }
+
+    @Test
+    void testSlowSupplier() throws IOException {
+
+        //when
+        List<RecordedEvent> events = record("eu.borglum.functional.SlowSupplier", () -> {
+            Result.ofValue(() -> "Fast");
+            Result.ofValue(() -> {
+                sleep(50);
+                return "Slow";
+            });
+        });
+
+        //then
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getBoolean("success"));
+        assertFalse(events.get(0).getDuration().compareTo(Duration.ofMillis(20)) < 0);
+    }
+
+    @Test
+    void testWithoutFlightRecorder() throws IOException, InterruptedException {
+
+        //given
+        ProcessBuilder builder = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "--limit-modules", "java.base,java.logging",
+            "-cp", System.getProperty("java.class.path"),
+            WithoutFlightRecorder.class.getName()
+        ).redirectErrorStream(true);
+
+        //when
+        Process process = builder.start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        //then
+        assertEquals(0, process.waitFor(), output);
+        assertEquals("Recovered", output.trim());
+    }
+
+    private static List<RecordedEvent> record(String eventName, Runnable runnable) throws IOException {
+
+        Path file = Files.createTempFile("functional", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName);
+            recording.start();
+
+            runnable.run();
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile
+                .readAllEvents(file)
+                .stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Run in a Java runtime without the {@code jdk.jfr} module by {@link #testWithoutFlightRecorder()}.
+     */
+    static final class WithoutFlightRecorder {
+
+        public static void main(String[] args) {
+
+            Switch<String, String> emptySwitch = Switch.of(List.of());
+
+            String recovered = Result.ofValue(() -> "Value")
+                .map((SwitchSupplier<String, String>) () -> emptySwitch)
+                .recoverValue(CaseNotFoundException.class, e -> "Recovered")
+                .orElseThrow();
+
+            System.out.println(recovered);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = HashedWheelTimer.of(Duration.ofMillis(1), 8);
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void testSchedule() throws InterruptedException {
+
+        //given
+        CountDownLatch latch = new CountDownLatch(3);
+
+        //when
+        Timeout shortTimeout = timer.schedule(latch::countDown, Duration.ofMillis(2));
+        Timeout multipleRoundsTimeout = timer.schedule(latch::countDown, Duration.ofMillis(20));
+        Timeout immediateTimeout = timer.schedule(latch::countDown, Duration.ZERO);
+
+        //then
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(shortTimeout.isExpired());
+        assertTrue(multipleRoundsTimeout.isExpired());
+        assertTrue(immediateTimeout.isExpired());
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+
+        //given
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        //when
+        Timeout cancelled = timer.schedule(counter::incrementAndGet, Duration.ofMillis(10));
+        boolean actual = cancelled.cancel();
+        timer.schedule(latch::countDown, Duration.ofMillis(30));
+
+        //then
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(actual);
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.isExpired());
+        assertFalse(cancelled.cancel());
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    void testScheduleStopped() {
+
+        //when
+        timer.stop();
+
+        //then
+        assertThrows(IllegalStateException.class, () -> timer.schedule(() -> {
+        }, Duration.ZERO));
+    }
+
+    @Test
+    void testOfInvalid() {
+
+        //then
+        assertThrows(NullPointerException.class, () -> HashedWheelTimer.of(null, 8));
+        assertThrows(IllegalArgumentException.class, () -> HashedWheelTimer.of(Duration.ZERO, 8));
+        assertThrows(IllegalArgumentException.class, () -> HashedWheelTimer.of(Duration.ofMillis(1), 0));
+    }
+}
@@ -0,0 +1,185 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * HotSpot always inlines methods of at most {@code -XX:MaxInlineSize} (35) bytes of bytecode and inlines hot methods
+ * of at most {@code -XX:FreqInlineSize} (325) bytes. The hot operators of {@link Result} must stay below these limits,
+ * since escape analysis can only remove the allocation of a {@code success} or a lambda if every method it passes
+ * through is inlined. The sizes are read from the class files, so a change that pushes a method over a limit fails
+ * here instead of silently losing the optimization.
+ */
+class InliningBudgetTest {
+
+    private static final int MAX_INLINE_SIZE = 35;
+
+    private static final int FREQ_INLINE_SIZE = 325;
+
+    @ParameterizedTest
+    @MethodSource("provideMethods")
+    void testBytecodeSize(Class<?> type, String method, int limit) throws IOException {
+
+        //when
+        int actual = bytecodeSizes(type).getOrDefault(method, -1);
+
+        //then
+        assertTrue(actual >= 0, () -> "No method " + method + " in " + type.getSimpleName());
+        assertTrue(actual <= limit,
+            () -> type.getSimpleName() + "." + method + " is " + actual + " bytes, which exceeds " + limit);
+    }
+
+    private static Stream<Arguments> provideMethods() {
+
+        return Stream.of(
+            arguments(Result.class, "of", MAX_INLINE_SIZE),
+            arguments(Result.class, "ofValue", FREQ_INLINE_SIZE),
+            arguments(Result.class, "ofOptional", FREQ_INLINE_SIZE),
+            arguments(Success.class, "create", MAX_INLINE_SIZE),
+            arguments(Success.class, "filter", MAX_INLINE_SIZE),
+            arguments(Success.class, "flatMap", MAX_INLINE_SIZE),
+            arguments(Success.class, "map", MAX_INLINE_SIZE),
+            arguments(Success.class, "mapOptional", MAX_INLINE_SIZE),
+            arguments(Success.class, "mapValue", MAX_INLINE_SIZE),
+            arguments(Success.class, "orElseThrow", MAX_INLINE_SIZE),
+            arguments(Success.class, "recoverValue", MAX_INLINE_SIZE),
+            arguments(Failure.class, "create", MAX_INLINE_SIZE),
+            arguments(Failure.class, "mapValue", MAX_INLINE_SIZE),
+            arguments(Failure.class, "flatMap", MAX_INLINE_SIZE),
+            arguments(Failure.class, "propagate", MAX_INLINE_SIZE),
+            arguments(Failure.class, "mapFailure", FREQ_INLINE_SIZE),
+            arguments(Failure.class, "recoverOptional", FREQ_INLINE_SIZE),
+            arguments(Failure.class, "recoverValue", FREQ_INLINE_SIZE),
+            arguments(Failure.class, "isRecoverable", MAX_INLINE_SIZE),
+            arguments(Failure.class, "orElseRecover", FREQ_INLINE_SIZE),
+            arguments(ResultInstrumentation.class, "beginSupplier", MAX_INLINE_SIZE),
+            arguments(ResultInstrumentation.class, "endSupplier", MAX_INLINE_SIZE),
+            arguments(ResultInstrumentation.class, "success", MAX_INLINE_SIZE),
+            arguments(ResultInstrumentation.class, "failure", FREQ_INLINE_SIZE),
+            arguments(SlowSupplierEvent.class, "end", FREQ_INLINE_SIZE)
+        );
+    }
+
+    /**
+     * Read the size of the bytecode of every method of the class from its class file. Overloaded methods are
+     * reported by their largest overload.
+     */
+    private static Map<String, Integer> bytecodeSizes(Class<?> type) throws IOException {
+
+        String resource = type.getSimpleName() + ".class";
+
+        try (InputStream stream = Objects.requireNonNull(type.getResourceAsStream(resource));
+             DataInputStream in = new DataInputStream(stream)) {
+
+            in.readInt();
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+
+            String[] utf8 = readConstantPool(in);
+
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            in.skipBytes(2 * in.readUnsignedShort());
+
+            int fields = in.readUnsignedShort();
+            for (int i = 0; i < fields; i++) {
+                in.skipBytes(6);
+                skipAttributes(in);
+            }
+
+            Map<String, Integer> sizes = new HashMap<>();
+
+            int methods = in.readUnsignedShort();
+            for (int i = 0; i < methods; i++) {
+                in.readUnsignedShort();
+                String name = utf8[in.readUnsignedShort()];
+                in.readUnsignedShort();
+
+                int attributes = in.readUnsignedShort();
+                for (int j = 0; j < attributes; j++) {
+                    String attribute = utf8[in.readUnsignedShort()];
+                    int length = in.readInt();
+
+                    if ("Code".equals(attribute)) {
+                        in.readUnsignedShort();
+                        in.readUnsignedShort();
+                        int codeLength = in.readInt();
+                        sizes.merge(name, codeLength, Math::max);
+                        in.skipBytes(length - 8);
+                    } else {
+                        in.skipBytes(length);
+                    }
+                }
+            }
+
+            return sizes;
+        }
+    }
+
+    private static String[] readConstantPool(DataInputStream in) throws IOException {
+
+        int count = in.readUnsignedShort();
+
+        String[] utf8 = new String[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.skipBytes(2);
+                    break;
+                case 15:
+                    in.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        return utf8;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+}
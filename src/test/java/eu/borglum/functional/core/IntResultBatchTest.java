@@ -0,0 +1,277 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class IntResultBatchTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    private static final ArithmeticException ARITHMETIC_EXCEPTION = new ArithmeticException("");
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testToList(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        //when
+        List<Result<Integer>> actual = batch.toList();
+
+        //then
+        assertEquals(initial, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testAdd(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        //when
+        IntResultBatch actual = batch.add(3);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.mapValue(value -> value + 3)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testMultiply(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        //when
+        IntResultBatch actual = batch.multiply(-2);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.mapValue(value -> value * -2)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testMap(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        IntUnaryOperator operator = value -> {
+            if (value % 5 == 0) {
+                throw ARITHMETIC_EXCEPTION;
+            }
+
+            return 100 / value;
+        };
+
+        //when
+        IntResultBatch actual = batch.map(operator);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.mapValue(operator::applyAsInt)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testFilterRange(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        //when
+        IntResultBatch actual = batch.filterRange(2, 40);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.filter(value -> value >= 2 && value <= 40)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testFilter(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        //when
+        IntResultBatch actual = batch.filter(value -> value % 2 == 0);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.filter(value -> value % 2 == 0)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testRecover(List<Result<Integer>> initial) {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(initial);
+
+        Function<IllegalStateException, Integer> function = e -> -1;
+
+        //when
+        IntResultBatch actual = batch.recover(IllegalStateException.class, e -> -1);
+
+        //then
+        assertEquals(
+            mapEach(initial, result -> result.recover(IllegalStateException.class, function)),
+            actual.toList()
+        );
+    }
+
+    private static Stream<Arguments> provideResults() {
+        return Stream.of(
+            arguments(Collections.emptyList()),
+            arguments(List.of(Result.of(() -> 1), Result.of(() -> 2))),
+            arguments(List.of(Result.of(() -> 1), Result.<Integer>of(Optional::empty), Result.of(() -> 42))),
+            arguments(List.of(failure(ILLEGAL_STATE_EXCEPTION), Result.of(() -> 7), failure(ARITHMETIC_EXCEPTION))),
+            arguments(largeBatch())
+        );
+    }
+
+    @Test
+    void testSequence() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.ofValues(1, 2, 3, 4).filterRange(2, 3);
+
+        //when
+        Result<int[]> actual = batch.sequence();
+
+        //then
+        assertArrayEquals(new int[]{2, 3}, actual.orElseThrow());
+    }
+
+    @Test
+    void testSequenceDoesNotReportFailureAgain() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(largeBatch());
+        LongAdderResultMetrics metrics = LongAdderResultMetrics.create();
+        ResultInstrumentation.install(metrics);
+
+        //when
+        Result<int[]> actual;
+        try {
+            actual = batch.sequence();
+        } finally {
+            ResultInstrumentation.uninstall();
+        }
+
+        //then
+        assertSame(ILLEGAL_STATE_EXCEPTION, InternalResult.of(actual).getCause());
+        assertTrue(metrics.getFailures().isEmpty());
+    }
+
+    @Test
+    void testSequenceWithFailure() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(largeBatch());
+
+        //when
+        Result<int[]> actual = batch.sequence();
+
+        //then
+        assertEquals(failure(ILLEGAL_STATE_EXCEPTION), actual);
+    }
+
+    @Test
+    void testSum() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(largeBatch()).filterRange(0, 99);
+
+        //when
+        long actual = batch.sum();
+
+        //then
+        assertEquals(IntStream.range(0, 100).filter(i -> i % 9 != 0).sum(), actual);
+    }
+
+    @Test
+    void testRecoverWithoutFailures() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.ofValues(1, 2);
+
+        //when
+        IntResultBatch actual = batch.recover(Exception.class, e -> 0);
+
+        //then
+        assertSame(batch, actual);
+    }
+
+    @Test
+    void testIsFailure() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(largeBatch());
+
+        //when
+        //then
+        assertTrue(batch.isFailure(81));
+        assertFalse(batch.isFailure(82));
+        assertEquals(23, batch.getFailureCount());
+        assertEquals(200, batch.size());
+    }
+
+    @Test
+    void testToResultBatch() {
+
+        //given
+        IntResultBatch batch = IntResultBatch.of(largeBatch());
+
+        //when
+        ResultBatch<Integer> actual = batch.toResultBatch();
+
+        //then
+        assertEquals(batch.toList(), actual.toList());
+    }
+
+    private static List<Result<Integer>> largeBatch() {
+
+        //every ninth element is a failure, so that failures span several words of the bitsets
+        return IntStream
+            .range(0, 200)
+            .mapToObj(i -> i % 9 == 0 ? IntResultBatchTest.<Integer>failure(ILLEGAL_STATE_EXCEPTION) : success(i))
+            .collect(Collectors.toList());
+    }
+
+    private static Result<Integer> success(int value) {
+
+        return Result.of(() -> value);
+    }
+
+    private static <T> Result<T> failure(RuntimeException exception) {
+
+        return Result.of(() -> {
+            throw exception;
+        });
+    }
+
+    private static List<Result<Integer>> mapEach(List<Result<Integer>> results,
+                                                 Function<Result<Integer>, Result<Integer>> function) {
+
+        return results.stream().map(function).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 31, 32, 33, 1_000, 123_456_789, Long.MAX_VALUE})
+    void testBucketBounds(long value) {
+
+        //when
+        int index = LatencyHistogram.indexOf(value);
+
+        //then
+        assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT);
+        assertTrue(LatencyHistogram.highestValueOf(index) >= value);
+        assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value);
+        assertTrue(LatencyHistogram.highestValueOf(index) - value <= value / LatencyHistogram.SUB_BUCKET_COUNT);
+    }
+
+    @Test
+    void testSnapshot() {
+
+        //given
+        LatencyHistogram histogram = LatencyHistogram.create();
+
+        //when
+        for (long i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        //then
+        assertEquals(1_000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_500, snapshot.getMean());
+        assertWithinPrecision(500_000, snapshot.getValueAtPercentile(50));
+        assertWithinPrecision(990_000, snapshot.getValueAtPercentile(99));
+        assertEquals(1_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testSnapshotAndReset() {
+
+        //given
+        LatencyHistogram histogram = LatencyHistogram.create();
+        histogram.record(10);
+
+        //when
+        HistogramSnapshot first = histogram.snapshotAndReset();
+        HistogramSnapshot second = histogram.snapshot();
+
+        //then
+        assertEquals(1, first.getCount());
+        assertEquals(10, first.getValueAtPercentile(50));
+        assertEquals(0, second.getCount());
+        assertEquals(0, second.getValueAtPercentile(50));
+        assertThrows(IllegalArgumentException.class, () -> second.getValueAtPercentile(101));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / LatencyHistogram.SUB_BUCKET_COUNT,
+            "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,429 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class LongResultBatchTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    private static final ArithmeticException ARITHMETIC_EXCEPTION = new ArithmeticException("");
+
+    private static final IllegalArgumentException ILLEGAL_ARGUMENT_EXCEPTION = new IllegalArgumentException("");
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testToList(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        //when
+        List<Result<Long>> actual = batch.toList();
+
+        //then
+        assertEquals(initial, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testAdd(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        //when
+        LongResultBatch actual = batch.add(3L);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.mapValue(value -> value + 3L)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testMultiply(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        //when
+        LongResultBatch actual = batch.multiply(-2L);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.mapValue(value -> value * -2L)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testMap(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        LongUnaryOperator operator = value -> {
+            if (value % 5 == 0) {
+                throw ARITHMETIC_EXCEPTION;
+            }
+
+            return 100L / value;
+        };
+
+        //when
+        LongResultBatch actual = batch.map(operator);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.mapValue(operator::applyAsLong)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testFilterRange(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        //when
+        LongResultBatch actual = batch.filterRange(2L, 40L);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.filter(value -> value >= 2L && value <= 40L)),
+            actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testFilter(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        //when
+        LongResultBatch actual = batch.filter(value -> value % 2 == 0);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.filter(value -> value % 2 == 0)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testFilterAndThrow(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        LongPredicate predicate = value -> {
+            if (value % 3 == 0) {
+                throw ILLEGAL_ARGUMENT_EXCEPTION;
+            }
+
+            return value % 2 == 0;
+        };
+
+        //when
+        LongResultBatch actual = batch.filter(predicate);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.filter(predicate::test)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testRecover(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        Function<IllegalStateException, Long> function = e -> -1L;
+
+        //when
+        LongResultBatch actual = batch.recover(IllegalStateException.class, e -> -1L);
+
+        //then
+        assertEquals(
+            mapEach(initial, result -> result.recover(IllegalStateException.class, function)),
+            actual.toList()
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testRecoverNotMatching(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        Function<IllegalArgumentException, Long> function = e -> -1L;
+
+        //when
+        LongResultBatch actual = batch.recover(IllegalArgumentException.class, e -> -1L);
+
+        //then
+        assertEquals(
+            mapEach(initial, result -> result.recover(IllegalArgumentException.class, function)),
+            actual.toList()
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testRecoverAndThrow(List<Result<Long>> initial) {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        Function<Exception, Long> function = e -> {
+            throw ILLEGAL_ARGUMENT_EXCEPTION;
+        };
+
+        //when
+        LongResultBatch actual = batch.recover(Exception.class, e -> {
+            throw ILLEGAL_ARGUMENT_EXCEPTION;
+        });
+
+        //then
+        assertEquals(mapEach(initial, result -> result.recover(Exception.class, function)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testWithInterner(List<Result<Long>> initial) {
+
+        //given
+        FailureInterner interner = FailureInterner.by(Exception::getClass);
+
+        LongResultBatch batch = LongResultBatch.of(initial);
+
+        //when
+        LongResultBatch actual = batch.withInterner(interner);
+
+        //then
+        assertEquals(initial, actual.toList());
+        assertEquals(
+            initial.stream().filter(result -> InternalResult.of(result).isFailure()).count(),
+            interner.getCounts().values().stream().mapToLong(Long::longValue).sum()
+        );
+    }
+
+    private static Stream<Arguments> provideResults() {
+        return Stream.of(
+            arguments(Collections.emptyList()),
+            arguments(List.of(success(1L), success(2L))),
+            arguments(List.of(success(1L), Result.<Long>of(Optional::empty), success(42L))),
+            arguments(List.of(failure(ILLEGAL_STATE_EXCEPTION), success(7L), failure(ARITHMETIC_EXCEPTION))),
+            arguments(largeBatch())
+        );
+    }
+
+    @Test
+    void testAddAndMultiplyOverflow() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.ofValues(1L, Long.MAX_VALUE, -3L);
+
+        //when
+        LongResultBatch actual = batch.add(1L).multiply(2L);
+
+        //then
+        assertArrayEquals(new long[]{4L, (Long.MAX_VALUE + 1L) * 2L, -4L}, actual.sequence().orElseThrow());
+    }
+
+    @Test
+    void testMapAndGet() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.ofValues(1L, 0L, 4L);
+
+        //when
+        LongResultBatch actual = batch.map(value -> 8L / value);
+
+        //then
+        assertEquals(1, actual.getFailureCount());
+        assertTrue(actual.isFailure(1));
+        assertEquals(List.of(success(8L), success(2L)), List.of(actual.get(0), actual.get(2)));
+    }
+
+    @Test
+    void testFilterRangeAndRecover() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(
+            LongStream
+                .range(0, 130)
+                .mapToObj(i -> i % 10 == 0 ? LongResultBatchTest.<Long>failure(ILLEGAL_STATE_EXCEPTION) : success(i))
+                .collect(Collectors.toList())
+        );
+
+        //when
+        LongResultBatch actual = batch
+            .filterRange(100L, Long.MAX_VALUE)
+            .recover(IllegalStateException.class, e -> 1000L);
+
+        //then
+        assertEquals(0, actual.getFailureCount());
+        assertEquals(
+            LongStream.range(0, 13).map(i -> 1000L).sum() + LongStream.range(100, 130).filter(i -> i % 10 != 0).sum(),
+            actual.sum()
+        );
+    }
+
+    @Test
+    void testSequence() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.ofValues(1L, 2L, 3L, 4L).filterRange(2L, 3L);
+
+        //when
+        Result<long[]> actual = batch.sequence();
+
+        //then
+        assertArrayEquals(new long[]{2L, 3L}, actual.orElseThrow());
+    }
+
+    @Test
+    void testSequenceDoesNotReportFailureAgain() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(largeBatch());
+        LongAdderResultMetrics metrics = LongAdderResultMetrics.create();
+        ResultInstrumentation.install(metrics);
+
+        //when
+        Result<long[]> actual;
+        try {
+            actual = batch.sequence();
+        } finally {
+            ResultInstrumentation.uninstall();
+        }
+
+        //then
+        assertSame(ILLEGAL_STATE_EXCEPTION, InternalResult.of(actual).getCause());
+        assertTrue(metrics.getFailures().isEmpty());
+    }
+
+    @Test
+    void testSequenceWithFailure() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(largeBatch());
+
+        //when
+        Result<long[]> actual = batch.sequence();
+
+        //then
+        assertEquals(failure(ILLEGAL_STATE_EXCEPTION), actual);
+    }
+
+    @Test
+    void testSum() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(largeBatch()).filterRange(0L, 99L);
+
+        //when
+        long actual = batch.sum();
+
+        //then
+        assertEquals(LongStream.range(0, 100).filter(i -> i % 9 != 0).sum(), actual);
+    }
+
+    @Test
+    void testRecoverWithoutFailures() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.ofValues(1L, 2L);
+
+        //when
+        LongResultBatch actual = batch.recover(Exception.class, e -> 0L);
+
+        //then
+        assertSame(batch, actual);
+    }
+
+    @Test
+    void testGet() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(
+            List.of(success(1L), Result.<Long>of(Optional::empty), failure(ILLEGAL_STATE_EXCEPTION))
+        );
+
+        //when
+        //then
+        assertEquals(success(1L), batch.get(0));
+        assertEquals(Result.<Long>of(Optional::empty), batch.get(1));
+        assertEquals(failure(ILLEGAL_STATE_EXCEPTION), batch.get(2));
+    }
+
+    @Test
+    void testIsFailure() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(largeBatch());
+
+        //when
+        //then
+        assertTrue(batch.isFailure(81));
+        assertFalse(batch.isFailure(82));
+        assertEquals(23, batch.getFailureCount());
+        assertEquals(200, batch.size());
+    }
+
+    @Test
+    void testToResultBatch() {
+
+        //given
+        LongResultBatch batch = LongResultBatch.of(largeBatch());
+
+        //when
+        ResultBatch<Long> actual = batch.toResultBatch();
+
+        //then
+        assertEquals(batch.toList(), actual.toList());
+    }
+
+    private static List<Result<Long>> largeBatch() {
+
+        //every ninth element is a failure, so that failures span several words of the bitsets
+        return LongStream
+            .range(0, 200)
+            .mapToObj(i -> i % 9 == 0 ? LongResultBatchTest.<Long>failure(ILLEGAL_STATE_EXCEPTION) : success(i))
+            .collect(Collectors.toList());
+    }
+
+    private static Result<Long> success(long value) {
+
+        return Result.of(() -> value);
+    }
+
+    private static <T> Result<T> failure(RuntimeException exception) {
+
+        return Result.of(() -> {
+            throw exception;
+        });
+    }
+
+    private static List<Result<Long>> mapEach(List<Result<Long>> results,
+                                              Function<Result<Long>, Result<Long>> function) {
+
+        return results.stream().map(function).collect(Collectors.toList());
+    }
+}
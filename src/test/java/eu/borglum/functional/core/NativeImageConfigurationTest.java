@@ -0,0 +1,48 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class NativeImageConfigurationTest {
+
+    private static final String CONFIGURATION =
+        "/META-INF/native-image/eu.borglum.functional/core/native-image.properties";
+
+    private static final String RUN_TIME_OPTION = "--initialize-at-run-time=";
+
+    @Test
+    void testRunTimeInitializedClassesExist() throws IOException {
+
+        //given
+        Properties properties = new Properties();
+
+        try (InputStream stream = NativeImageConfigurationTest.class.getResourceAsStream(CONFIGURATION)) {
+            assertNotNull(stream);
+            properties.load(stream);
+        }
+
+        //when
+        List<String> classNames = Arrays
+            .stream(properties.getProperty("Args").split("\\s+"))
+            .filter(arg -> arg.startsWith(RUN_TIME_OPTION))
+            .flatMap(arg -> Arrays.stream(arg.substring(RUN_TIME_OPTION.length()).split(",")))
+            .map(String::trim)
+            .collect(Collectors.toList());
+
+        //then
+        assertFalse(classNames.isEmpty());
+        classNames.forEach(className -> assertDoesNotThrow(
+            () -> Class.forName(className, false, NativeImageConfigurationTest.class.getClassLoader())
+        ));
+    }
+}
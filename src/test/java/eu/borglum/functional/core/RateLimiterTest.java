@@ -0,0 +1,149 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void testTryAcquireBurst() {
+
+        //given
+        RateLimiter rateLimiter = RateLimiter.of(0.001, 2);
+
+        //then
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire(Duration.ofMillis(10)));
+    }
+
+    @Test
+    void testDecorateSupplier() {
+
+        //given
+        RateLimiter rateLimiter = RateLimiter.of(0.001, 1);
+        Supplier<String> supplier = rateLimiter.decorateSupplier(() -> "Value");
+
+        //when
+        Result<String> permitted = Result.ofValue(supplier);
+        Result<String> rejected = Result.ofValue(supplier);
+
+        //then
+        assertEquals(create("Value"), permitted);
+        assertEquals(create(RequestNotPermittedException.INSTANCE), rejected);
+    }
+
+    @Test
+    void testDecorateFunctionBlocking() {
+
+        //given
+        RateLimiter rateLimiter = RateLimiter.of(50, 1);
+        Function<String, String> function = rateLimiter.decorateFunction(String::toUpperCase, Duration.ofSeconds(1));
+
+        //when
+        long start = System.nanoTime();
+        Result<String> first = create("Value").mapValue(function);
+        Result<String> second = create("Value").mapValue(function);
+        long elapsed = System.nanoTime() - start;
+
+        //then
+        assertEquals(create("VALUE"), first);
+        assertEquals(create("VALUE"), second);
+        assertTrue(elapsed >= Duration.ofMillis(15).toNanos());
+    }
+
+    @Test
+    void testInterruptedWhileWaiting() {
+
+        //given
+        RateLimiter rateLimiter = RateLimiter.of(1, 1);
+        Supplier<String> supplier = rateLimiter.decorateSupplier(() -> "Value", Duration.ofSeconds(5));
+        rateLimiter.tryAcquire();
+
+        //when
+        Thread.currentThread().interrupt();
+        long start = System.nanoTime();
+        boolean acquired = rateLimiter.tryAcquire(Duration.ofSeconds(5));
+        Result<String> rejected = Result.ofValue(supplier);
+        long elapsed = System.nanoTime() - start;
+        boolean interrupted = Thread.interrupted();
+
+        //then
+        assertFalse(acquired);
+        assertEquals(create(RequestNotPermittedException.INSTANCE), rejected);
+        assertTrue(interrupted);
+        assertTrue(elapsed < Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    void testSubmit() throws Exception {
+
+        //given
+        RateLimiter rateLimiter = RateLimiter.of(50, 1);
+
+        //when
+        CompletableFuture<Result<String>> first = rateLimiter.submit(
+            () -> "First", Duration.ofSeconds(1), ForkJoinPool.commonPool()
+        );
+        CompletableFuture<Result<String>> second = rateLimiter.submit(
+            () -> "Second", Duration.ofSeconds(1), ForkJoinPool.commonPool()
+        );
+        CompletableFuture<Result<String>> rejected = rateLimiter.submit(
+            () -> "Rejected", Duration.ZERO, ForkJoinPool.commonPool()
+        );
+
+        //then
+        assertEquals(create("First"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(create("Second"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(create(RequestNotPermittedException.INSTANCE), rejected.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testKeyedRateLimiter() {
+
+        //given
+        KeyedRateLimiter<String> keyedRateLimiter = KeyedRateLimiter.of(0.001, 1, 2);
+
+        //when
+        RateLimiter first = keyedRateLimiter.get("first");
+        boolean firstAcquired = first.tryAcquire();
+        keyedRateLimiter.get("second");
+        keyedRateLimiter.get("third");
+
+        //then
+        assertTrue(firstAcquired);
+        assertEquals(2, keyedRateLimiter.size());
+        assertSame(first, keyedRateLimiter.get("first"));
+        assertNotSame(keyedRateLimiter.get("second"), keyedRateLimiter.get("first"));
+    }
+
+    @Test
+    void testInvalid() {
+
+        //given
+        RateLimiter rateLimiter = RateLimiter.of(1, 1);
+
+        //then
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.of(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.of(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> KeyedRateLimiter.of(1, 1, 0));
+        assertThrows(NullPointerException.class, () -> rateLimiter.decorateSupplier(null));
+        assertThrows(NullPointerException.class, () -> rateLimiter.decorateFunction(null));
+        assertThrows(NullPointerException.class, () -> rateLimiter.tryAcquire(null));
+    }
+}
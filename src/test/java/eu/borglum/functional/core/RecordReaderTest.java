@@ -0,0 +1,151 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class RecordReaderTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @MethodSource("provideLines")
+    void testLines(String content, List<Integer> expected) throws IOException {
+
+        //given
+        Path file = write(content);
+
+        //when
+        List<Result<Integer>> actual;
+        try (RecordReader<Integer> reader = RecordReader.lines(file, ResultParsers.ints()::parse)) {
+            actual = reader.stream().collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(expected.stream().map(value -> Result.of(() -> value)).collect(Collectors.toList()), actual);
+    }
+
+    private static Stream<Arguments> provideLines() {
+
+        return Stream.of(
+            arguments("", List.of()),
+            arguments("1", List.of(1)),
+            arguments("1\n", List.of(1)),
+            arguments("1\n-2\n3", List.of(1, -2, 3)),
+            arguments("1\r\n22\r\n", List.of(1, 22))
+        );
+    }
+
+    @Test
+    void testFailureHoldsOffset() throws IOException {
+
+        //given
+        Path file = write("1\nx\n3\n\n");
+
+        //when
+        List<Result<Integer>> actual;
+        try (RecordReader<Integer> reader = RecordReader.lines(file, ResultParsers.ints()::parse)) {
+            actual = reader.stream().collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(4, actual.size());
+        assertEquals(Result.of(() -> 1), actual.get(0));
+        assertEquals(Result.of(() -> 3), actual.get(2));
+        assertOffset(2, InvalidFormatException.INSTANCE, actual.get(1));
+        assertOffset(6, InvalidFormatException.INSTANCE, actual.get(3));
+    }
+
+    @Test
+    void testParserThrows() throws IOException {
+
+        //given
+        Path file = write("a;b");
+
+        //when
+        List<Result<Object>> actual;
+        try (RecordReader<Object> reader = RecordReader.open(file, (byte) ';', record -> {
+            throw ILLEGAL_STATE_EXCEPTION;
+        })) {
+            actual = reader.stream().collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(2, actual.size());
+        assertOffset(0, ILLEGAL_STATE_EXCEPTION, actual.get(0));
+        assertOffset(2, ILLEGAL_STATE_EXCEPTION, actual.get(1));
+    }
+
+    @Test
+    void testRecordsAcrossWindows() throws IOException {
+
+        //given
+        String longRecord = "1".repeat(9);
+        Path file = write("12\n" + longRecord + "\n345\n6");
+
+        //when
+        List<Result<Long>> actual;
+        try (RecordReader<Long> reader = RecordReader.create(file, (byte) '\n', false, ResultParsers.longs()::parse, 4,
+            1)) {
+            actual = reader.stream().collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(
+            List.of(Result.of(() -> 12L), Result.of(() -> 111111111L), Result.of(() -> 345L), Result.of(() -> 6L)),
+            actual
+        );
+    }
+
+    @Test
+    void testParallelStream() throws IOException {
+
+        //given
+        List<Integer> values = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        Path file = write(values.stream().map(String::valueOf).collect(Collectors.joining("\n")));
+
+        //when
+        List<Result<Integer>> actual;
+        try (RecordReader<Integer> reader = RecordReader.create(file, (byte) '\n', false, ResultParsers.ints()::parse,
+            256, 16)) {
+            actual = reader.stream().parallel().collect(Collectors.toList());
+        }
+
+        //then
+        assertEquals(values.stream().map(value -> Result.of(() -> value)).collect(Collectors.toList()), actual);
+    }
+
+    private static void assertOffset(long expectedOffset, Exception expectedCause, Result<?> actual) {
+
+        InternalResult<?> internal = InternalResult.of(actual);
+
+        assertTrue(internal.isFailure());
+        assertTrue(internal.getCause() instanceof RecordException);
+        assertEquals(expectedOffset, ((RecordException) internal.getCause()).getOffset());
+        assertSame(expectedCause, internal.getCause().getCause());
+    }
+
+    private Path write(String content) throws IOException {
+
+        return Files.write(directory.resolve("records"), content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
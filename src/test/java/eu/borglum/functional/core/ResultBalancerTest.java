@@ -0,0 +1,95 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultBalancerTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    @Test
+    void testSingleSource() {
+
+        //given
+        ResultBalancer<String> balancer = ResultBalancer.of(List.of(() -> "Value"));
+
+        //when
+        Result<String> actual = balancer.get();
+
+        //then
+        assertEquals(create("Value"), actual);
+        assertEquals(0.0, balancer.getFailureRate(0));
+    }
+
+    @Test
+    void testFallback() {
+
+        //given
+        Supplier<String> failing = () -> {
+            throw ILLEGAL_STATE_EXCEPTION;
+        };
+        ResultBalancer<String> balancer = ResultBalancer.of(Arrays.asList(failing, () -> "Value", failing), 3);
+
+        //then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(create("Value"), balancer.get());
+        }
+    }
+
+    @Test
+    void testAllSourcesFail() {
+
+        //given
+        Supplier<String> failing = () -> {
+            throw ILLEGAL_STATE_EXCEPTION;
+        };
+        ResultBalancer<String> balancer = ResultBalancer.of(Arrays.asList(failing, failing), 2);
+
+        //when
+        Result<String> actual = balancer.get();
+
+        //then
+        assertEquals(create(ILLEGAL_STATE_EXCEPTION), actual);
+        assertTrue(balancer.getFailureRate(0) > 0);
+        assertTrue(balancer.getFailureRate(1) > 0);
+    }
+
+    @Test
+    void testRouteAroundFailingSource() {
+
+        //given
+        AtomicInteger failingCalls = new AtomicInteger();
+        Supplier<String> failing = () -> {
+            failingCalls.incrementAndGet();
+            throw ILLEGAL_STATE_EXCEPTION;
+        };
+        ResultBalancer<String> balancer = ResultBalancer.of(Arrays.asList(failing, () -> "Value"));
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            balancer.get();
+        }
+
+        //then
+        assertTrue(failingCalls.get() < 100, "The failing source was called " + failingCalls.get() + " times");
+    }
+
+    @Test
+    void testOfInvalid() {
+
+        //then
+        assertThrows(NullPointerException.class, () -> ResultBalancer.of(null));
+        assertThrows(IllegalArgumentException.class, () -> ResultBalancer.of(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> ResultBalancer.of(List.of(() -> "Value"), 0));
+    }
+}
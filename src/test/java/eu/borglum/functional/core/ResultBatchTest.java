@@ -0,0 +1,295 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class ResultBatchTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    private static final IllegalArgumentException ILLEGAL_ARGUMENT_EXCEPTION = new IllegalArgumentException("");
+
+    private static final Function<String, String> TO_UPPER_CASE = String::toUpperCase;
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testToList(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        //when
+        List<Result<String>> actual = batch.toList();
+
+        //then
+        assertEquals(initial, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testMap(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        //when
+        ResultBatch<String> actual = batch.map(TO_UPPER_CASE);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.map(TO_UPPER_CASE)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testMapAndThrow(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        Function<String, String> function = value -> {
+            if (value.endsWith("2")) {
+                throw ILLEGAL_ARGUMENT_EXCEPTION;
+            }
+
+            return value;
+        };
+
+        //when
+        ResultBatch<String> actual = batch.map(function);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.map(function)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testFilter(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        //when
+        ResultBatch<String> actual = batch.filter(value -> value.endsWith("1"));
+
+        //then
+        assertEquals(mapEach(initial, result -> result.filter(value -> value.endsWith("1"))), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testRecover(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        Function<IllegalStateException, String> function = e -> "recovered";
+
+        //when
+        ResultBatch<String> actual = batch.recover(IllegalStateException.class, function);
+
+        //then
+        assertEquals(
+            mapEach(initial, result -> result.recover(IllegalStateException.class, function)),
+            actual.toList()
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testRecoverAndThrow(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        Function<Exception, String> function = e -> {
+            throw ILLEGAL_ARGUMENT_EXCEPTION;
+        };
+
+        //when
+        ResultBatch<String> actual = batch.recover(Exception.class, function);
+
+        //then
+        assertEquals(mapEach(initial, result -> result.recover(Exception.class, function)), actual.toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testSequence(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        //when
+        Result<List<String>> actual = batch.sequence();
+
+        //then
+        assertEquals(Results.sequence(initial), actual);
+    }
+
+    @Test
+    void testSequenceDoesNotReportFailureAgain() {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(List.of(create("Value"), create(ILLEGAL_STATE_EXCEPTION)));
+        LongAdderResultMetrics metrics = LongAdderResultMetrics.create();
+        ResultInstrumentation.install(metrics);
+
+        //when
+        Result<List<String>> actual;
+        try {
+            actual = batch.sequence();
+        } finally {
+            ResultInstrumentation.uninstall();
+        }
+
+        //then
+        assertSame(ILLEGAL_STATE_EXCEPTION, InternalResult.of(actual).getCause());
+        assertTrue(metrics.getFailures().isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideResults")
+    void testPartition(List<Result<String>> initial) {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(initial);
+
+        //when
+        Partition<String> actual = batch.partition();
+
+        //then
+        assertEquals(Results.partition(initial), actual);
+    }
+
+    private static Stream<Arguments> provideResults() {
+        return Stream.of(
+            arguments(Collections.emptyList()),
+            arguments(List.of(create("value1"), create("value2"))),
+            arguments(List.of(create("value1"), create(), create("value2"))),
+            arguments(List.of(create(ILLEGAL_STATE_EXCEPTION), create("value1"), create(ILLEGAL_ARGUMENT_EXCEPTION))),
+            arguments(List.of(create("value1"), create(ILLEGAL_STATE_EXCEPTION), create(Optional.empty()))),
+            arguments(largeBatch())
+        );
+    }
+
+    @Test
+    void testRecoverLargeBatch() {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(largeBatch());
+
+        AtomicInteger recovered = new AtomicInteger();
+
+        //when
+        ResultBatch<String> actual = batch.recover(IllegalStateException.class, e -> {
+            recovered.incrementAndGet();
+
+            return "recovered";
+        });
+
+        //then
+        assertEquals(100, recovered.get());
+        assertEquals(0, actual.getFailureCount());
+        assertEquals("recovered", actual.get(70).orElseThrow());
+    }
+
+    @Test
+    void testRecoverWithoutFailures() {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.ofValues(List.of("value1", "value2"));
+
+        //when
+        ResultBatch<String> actual = batch.recover(Exception.class, e -> "recovered");
+
+        //then
+        assertSame(batch, actual);
+    }
+
+    @Test
+    void testOfValues() {
+
+        //given
+        List<String> values = Arrays.asList("value1", "value2");
+
+        //when
+        ResultBatch<String> actual = ResultBatch.ofValues(values);
+
+        //then
+        assertEquals(2, actual.size());
+        assertEquals(0, actual.getFailureCount());
+        assertEquals(List.of(create("value1"), create("value2")), actual.toList());
+    }
+
+    @Test
+    void testOfValuesWithNull() {
+
+        //given
+        List<String> values = Arrays.asList("value1", null);
+
+        //when
+        //then
+        assertThrows(NullPointerException.class, () -> ResultBatch.ofValues(values));
+    }
+
+    @Test
+    void testIsFailure() {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.of(largeBatch());
+
+        //when
+        //then
+        assertTrue(batch.isFailure(70));
+        assertFalse(batch.isFailure(71));
+        assertEquals(100, batch.getFailureCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.isFailure(batch.size()));
+    }
+
+    @Test
+    void testMapToNull() {
+
+        //given
+        ResultBatch<String> batch = ResultBatch.ofValues(List.of("value1"));
+
+        //when
+        //then
+        assertThrows(NullPointerException.class, () -> batch.map(value -> null));
+    }
+
+    private static List<Result<String>> largeBatch() {
+
+        //every seventh element is a failure, so that failures span several words of the bitset
+        return IntStream
+            .range(0, 700)
+            .mapToObj(i -> i % 7 == 0 ? create(ILLEGAL_STATE_EXCEPTION) : create("value" + i))
+            .collect(Collectors.toList());
+    }
+
+    private static List<Result<String>> mapEach(List<Result<String>> results,
+                                                Function<Result<String>, Result<String>> function) {
+
+        return results.stream().map(function).collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,333 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class ResultCodecTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("ILLEGAL_STATE");
+
+    @ParameterizedTest
+    @MethodSource("provideSuccess")
+    <T> void testSuccess(ValueCodec<T> valueCodec, Result<T> result, int expectedSize) {
+
+        //given
+        ResultCodec<T> codec = ResultCodec.of(valueCodec);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        //when
+        codec.encode(result, buffer);
+        buffer.flip();
+
+        Result<T> actual = codec.decode(buffer);
+
+        //then
+        assertEquals(expectedSize, buffer.position());
+        assertEquals(result, actual);
+    }
+
+    private static Stream<Arguments> provideSuccess() {
+
+        return Stream.of(
+            arguments(ValueCodec.ints(), Result.of(() -> 42), 5),
+            arguments(ValueCodec.longs(), Result.of(() -> Long.MIN_VALUE), 9),
+            arguments(ValueCodec.doubles(), Result.of(() -> 1.5), 9),
+            arguments(ValueCodec.strings(), Result.of(() -> "æøå"), 8),
+            arguments(ValueCodec.strings(), Result.<String>of(Optional::empty), 1)
+        );
+    }
+
+    @Test
+    void testUnregisteredFailure() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints());
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        //when
+        codec.encode(Failure.create(ILLEGAL_STATE_EXCEPTION), buffer);
+        buffer.flip();
+
+        Exception actual = cause(codec.decode(buffer));
+
+        //then
+        assertTrue(actual instanceof DecodedFailureException);
+        assertEquals(IllegalStateException.class.getName(), ((DecodedFailureException) actual).getExceptionClassName());
+        assertEquals("ILLEGAL_STATE", actual.getMessage());
+        assertEquals(0, actual.getStackTrace().length);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testReencodeDecodedFailure() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints());
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        codec.encode(Failure.create(ILLEGAL_STATE_EXCEPTION), buffer);
+        buffer.flip();
+        Result<Integer> decoded = codec.decode(buffer);
+
+        //when
+        buffer.clear();
+        codec.encode(decoded, buffer);
+        buffer.flip();
+
+        Exception actual = cause(codec.decode(buffer));
+
+        //then
+        assertEquals(IllegalStateException.class.getName(), ((DecodedFailureException) actual).getExceptionClassName());
+    }
+
+    @Test
+    void testRegisteredFailure() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints())
+            .withException(IllegalArgumentException.class, IllegalArgumentException::new)
+            .withException(IllegalStateException.class, IllegalStateException::new);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        //when
+        codec.encode(Failure.create(ILLEGAL_STATE_EXCEPTION), buffer);
+        buffer.flip();
+
+        Exception actual = cause(codec.decode(buffer));
+
+        //then
+        assertEquals(1 + 1 + 1 + "ILLEGAL_STATE".length(), buffer.position());
+        assertEquals(IllegalStateException.class, actual.getClass());
+        assertEquals("ILLEGAL_STATE", actual.getMessage());
+    }
+
+    @Test
+    void testNullMessage() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints())
+            .withException(IllegalStateException.class, IllegalStateException::new);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        //when
+        codec.encode(Failure.create(new IllegalStateException()), buffer);
+        buffer.flip();
+
+        Exception actual = cause(codec.decode(buffer));
+
+        //then
+        assertEquals(3, buffer.position());
+        assertNull(actual.getMessage());
+    }
+
+    @Test
+    void testStackTrace() {
+
+        //given
+        IllegalStateException exception = new IllegalStateException("with stack trace");
+        ResultCodec<Integer> encoder = ResultCodec.of(ValueCodec.ints()).withStackTraces();
+        ResultCodec<Integer> decoder = ResultCodec.of(ValueCodec.ints());
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        //when
+        encoder.encode(Failure.create(exception), buffer);
+        buffer.flip();
+
+        Exception actual = cause(decoder.decode(buffer));
+
+        //then
+        assertEquals(frames(exception), frames(actual));
+    }
+
+    @Test
+    void testBytesAreNotCopied() {
+
+        //given
+        ResultCodec<ByteBuffer> codec = ResultCodec.of(ValueCodec.bytes());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        codec.encode(Result.of(() -> ByteBuffer.wrap("abc".getBytes(StandardCharsets.US_ASCII))), buffer);
+        buffer.flip();
+
+        //when
+        ByteBuffer actual = codec.decode(buffer).orElseThrow();
+        buffer.put(2, (byte) 'x');
+
+        //then
+        assertEquals(ByteBuffer.wrap("xbc".getBytes(StandardCharsets.US_ASCII)), actual);
+        assertTrue(actual.isDirect());
+    }
+
+    @Test
+    void testSequence() {
+
+        //given
+        ResultCodec<String> codec = ResultCodec.of(ValueCodec.strings());
+        List<Result<String>> results = List.of(Result.of(() -> "a"), Result.of(Optional::empty), Result.of(() -> "b"));
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        //when
+        results.forEach(result -> codec.encode(result, buffer));
+        buffer.flip();
+
+        //then
+        for (Result<String> result : results) {
+            assertEquals(result, codec.decode(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testInvalidTag() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints());
+
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{7})));
+    }
+
+    @Test
+    void testCorruptStackTraceLength() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints());
+        //the tag, the unregistered id, the class name "X", a null message and then the number of elements
+        ByteBuffer negative = ByteBuffer.wrap(new byte[]{3, 0, 2, 'X', 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, 0x0F});
+        ByteBuffer huge = ByteBuffer.wrap(new byte[]{3, 0, 2, 'X', 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F});
+
+        //when
+        //then
+        assertThrows(BufferUnderflowException.class, () -> codec.decode(negative));
+        assertThrows(BufferUnderflowException.class, () -> codec.decode(huge));
+    }
+
+    @Test
+    void testCorruptNullNames() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints());
+        //the tag, the unregistered id and then a null class name
+        ByteBuffer className = ByteBuffer.wrap(new byte[]{2, 0, 0, 0});
+        //the tag, the unregistered id, the class name "X", a null message, one element and then a null class name
+        ByteBuffer declaringClass = ByteBuffer.wrap(new byte[]{3, 0, 2, 'X', 0, 1, 0, 2, 'm', 0, 1});
+        //the same with the class name "C" and then a null method name
+        ByteBuffer methodName = ByteBuffer.wrap(new byte[]{3, 0, 2, 'X', 0, 1, 2, 'C', 0, 0, 1});
+
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(className));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(declaringClass));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(methodName));
+    }
+
+    @Test
+    void testStackTraceOfStacklessException() {
+
+        //given
+        ResultCodec<Integer> encoder = ResultCodec.of(ValueCodec.ints())
+            .withException(StacklessException.class, message -> new StacklessException(message, true))
+            .withStackTraces();
+        ResultCodec<Integer> decoder = ResultCodec.of(ValueCodec.ints())
+            .withException(StacklessException.class, message -> new StacklessException(message, false));
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        //when
+        encoder.encode(Failure.create(new StacklessException("stackless", true)), buffer);
+        buffer.flip();
+
+        Exception actual = cause(decoder.decode(buffer));
+
+        //then
+        assertEquals(StacklessException.class, actual.getClass());
+        assertEquals("stackless", actual.getMessage());
+        assertEquals(0, actual.getStackTrace().length);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testCorruptMessageLength() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints());
+        //the tag, the unregistered id, the class name "X" and then a message length that overflows to negative
+        ByteBuffer negative = ByteBuffer.wrap(new byte[]{2, 0, 2, 'X', (byte) 0x81, (byte) 0x80, (byte) 0x80,
+            (byte) 0x80, 0x08});
+
+        //when
+        //then
+        assertThrows(BufferUnderflowException.class, () -> codec.decode(negative));
+    }
+
+    @Test
+    void testUnknownExceptionId() {
+
+        //given
+        ResultCodec<Integer> encoder = ResultCodec.of(ValueCodec.ints())
+            .withException(IllegalStateException.class, IllegalStateException::new);
+        ResultCodec<Integer> decoder = ResultCodec.of(ValueCodec.ints());
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        encoder.encode(Failure.create(ILLEGAL_STATE_EXCEPTION), buffer);
+        buffer.flip();
+
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(buffer));
+    }
+
+    @Test
+    void testRegisterTwice() {
+
+        //given
+        ResultCodec<Integer> codec = ResultCodec.of(ValueCodec.ints())
+            .withException(IllegalStateException.class, IllegalStateException::new);
+
+        //when
+        //then
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> codec.withException(IllegalStateException.class, IllegalStateException::new)
+        );
+    }
+
+    private static List<List<Object>> frames(Exception exception) {
+
+        return Stream.of(exception.getStackTrace())
+            .map(element -> List.<Object>of(element.getClassName(), element.getMethodName(),
+                Optional.ofNullable(element.getFileName()), element.getLineNumber()))
+            .collect(Collectors.toList());
+    }
+
+    private static Exception cause(Result<?> result) {
+
+        InternalResult<?> internal = InternalResult.of(result);
+
+        assertTrue(internal.isFailure());
+
+        return internal.getCause();
+    }
+
+    private static final class StacklessException extends RuntimeException {
+
+        private StacklessException(String message, boolean writableStackTrace) {
+            super(message, null, false, writableStackTrace);
+        }
+    }
+}
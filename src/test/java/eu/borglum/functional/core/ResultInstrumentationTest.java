@@ -0,0 +1,156 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static eu.borglum.functional.core.TestDataFactory.recover;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResultInstrumentationTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    private final LongAdderResultMetrics metrics = LongAdderResultMetrics.create();
+
+    @BeforeEach
+    void setUp() {
+        ResultInstrumentation.install(metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ResultInstrumentation.uninstall();
+    }
+
+    @Test
+    void testSuccessesAndFailures() {
+
+        //when
+        create("Value").mapValue(String::toUpperCase);
+        create(ILLEGAL_STATE_EXCEPTION).mapValue(String::toUpperCase).filter(String::isEmpty);
+
+        //then
+        assertEquals(1, metrics.getSuccesses());
+        assertEquals(Map.of(IllegalStateException.class, 1L), metrics.getFailures());
+    }
+
+    @Test
+    void testSuccessesAreCountedOncePerChain() {
+
+        //when
+        create("Value").mapValue(String::toUpperCase).filter(value -> !value.isEmpty()).map(String::length);
+        create(ILLEGAL_STATE_EXCEPTION)
+            .recover(IllegalStateException.class, recover("Recovered"))
+            .mapValue(String::trim);
+        ResultBatch.of(List.of(create("Value"), create(ILLEGAL_STATE_EXCEPTION)))
+            .map(String::length)
+            .filter(length -> length > 0)
+            .sequence();
+        ResultStream.of(Stream.of(create("Value"))).mapValue(String::length).filter(length -> length > 0).toList();
+
+        //then
+        assertEquals(4, metrics.getSuccesses());
+        assertEquals(Map.of(IllegalStateException.class, 2L), metrics.getFailures());
+    }
+
+    @Test
+    void testMapFailure() {
+
+        //given
+        Result<String> initial = create(ILLEGAL_STATE_EXCEPTION);
+
+        //when
+        initial.mapFailure(IllegalStateException.class, e -> new IllegalArgumentException(e));
+        initial.mapFailure(IllegalStateException.class, e -> {
+            throw new UnsupportedOperationException(e);
+        });
+
+        //then
+        assertEquals(0, metrics.getSuccesses());
+        assertEquals(
+            Map.of(
+                IllegalStateException.class, 1L,
+                IllegalArgumentException.class, 1L,
+                UnsupportedOperationException.class, 1L
+            ),
+            metrics.getFailures()
+        );
+    }
+
+    @Test
+    void testRecovery() {
+
+        //given
+        Function<? super Exception, ? extends String> recover = recover("Recovered");
+        SwitchSupplier<Exception, String> recoverSwitch = () -> Switch.of(
+            List.of(Case.of(IllegalArgumentException.class::isInstance, ex -> "Recovered"))
+        );
+
+        //when
+        create(ILLEGAL_STATE_EXCEPTION).recover(IllegalStateException.class, recover);
+        create(ILLEGAL_STATE_EXCEPTION).recover(IllegalArgumentException.class, recover);
+        create(ILLEGAL_STATE_EXCEPTION).recover(IllegalArgumentException.class, recover);
+        assertThrows(IllegalStateException.class, () -> create(ILLEGAL_STATE_EXCEPTION).orElseRecover(recoverSwitch));
+
+        //then
+        assertEquals(1, metrics.getRecoveryHits(recover.getClass()));
+        assertEquals(2, metrics.getRecoveryMisses(recover.getClass()));
+        assertEquals(0, metrics.getRecoveryHits(recoverSwitch.getClass()));
+        assertEquals(1, metrics.getRecoveryMisses(recoverSwitch.getClass()));
+    }
+
+    @Test
+    void testTimed() {
+
+        //given
+        Supplier<String> succeeding = ResultInstrumentation.timed("timed", () -> "Value");
+        Supplier<String> failing = ResultInstrumentation.timed("timed", () -> {
+            throw ILLEGAL_STATE_EXCEPTION;
+        });
+
+        //when
+        Result.ofValue(succeeding);
+        Result.ofValue(failing);
+
+        //then
+        assertEquals(2, metrics.getTimedCount("timed"));
+        assertEquals(1, metrics.getTimedFailures("timed"));
+        assertEquals(0, metrics.getTimedCount("other"));
+    }
+
+    @Test
+    void testCompose() {
+
+        //given
+        LongAdderResultMetrics other = LongAdderResultMetrics.create();
+        ResultInstrumentation.install(ResultMetrics.compose(metrics, other));
+
+        //when
+        create("Value");
+
+        //then
+        assertEquals(1, metrics.getSuccesses());
+        assertEquals(1, other.getSuccesses());
+    }
+
+    @Test
+    void testUninstall() {
+
+        //when
+        ResultInstrumentation.uninstall();
+        create("Value");
+
+        //then
+        assertEquals(0, metrics.getSuccesses());
+        assertThrows(NullPointerException.class, () -> ResultInstrumentation.install(null));
+    }
+}
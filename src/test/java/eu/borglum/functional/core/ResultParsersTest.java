@@ -0,0 +1,247 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class ResultParsersTest {
+
+    private static final IllegalArgumentException ILLEGAL_ARGUMENT_EXCEPTION = new IllegalArgumentException("");
+
+    @ParameterizedTest
+    @MethodSource("provideParse")
+    <T> void testParseCharSequence(ResultParser<T> parser, String input, Function<String, T> expected) {
+
+        //when
+        Result<T> actual = parser.parse(input);
+
+        //then
+        assertEquals(jdk(input, expected), actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideParse")
+    <T> void testParseCharArray(ResultParser<T> parser, String input, Function<String, T> expected) {
+
+        //given
+        char[] padded = ("#" + input + "#").toCharArray();
+
+        //when
+        Result<T> actual = parser.parse(padded, 1, input.length());
+
+        //then
+        assertEquals(jdk(input, expected), actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideParse")
+    <T> void testParseByteBuffer(ResultParser<T> parser, String input, Function<String, T> expected) {
+
+        //given
+        ByteBuffer buffer = ByteBuffer.allocateDirect(input.length() + 2);
+        buffer.put(("#" + input + "#").getBytes(StandardCharsets.ISO_8859_1));
+        buffer.position(1).limit(input.length() + 1);
+
+        //when
+        Result<T> actual = parser.parse(buffer);
+
+        //then
+        assertEquals(jdk(input, expected), actual);
+        assertEquals(1, buffer.position());
+    }
+
+    private static Stream<Arguments> provideParse() {
+
+        Function<String, Integer> parseInt = Integer::parseInt;
+
+        Function<String, Long> parseLong = Long::parseLong;
+
+        Function<String, Double> parseDouble = Double::parseDouble;
+
+        Function<String, Boolean> parseBoolean = input -> {
+            if (!input.equalsIgnoreCase("true") && !input.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException(input);
+            }
+
+            return Boolean.parseBoolean(input);
+        };
+
+        Function<String, UUID> parseUuid = input -> {
+            if (input.length() != 36) {
+                throw new IllegalArgumentException(input);
+            }
+
+            return UUID.fromString(input);
+        };
+
+        Function<String, LocalDate> parseLocalDate = LocalDate::parse;
+
+        Function<String, LocalTime> parseLocalTime = LocalTime::parse;
+
+        Function<String, Instant> parseInstant = Instant::parse;
+
+        return Stream.of(
+            Stream.of("0", "-0", "+7", "2147483647", "-2147483648", "2147483648", "", "-", "+", "1a", " 1",
+                    "-02147483648", "+02147483647")
+                .map(input -> arguments(ResultParsers.ints(), input, parseInt)),
+            Stream.of("9223372036854775807", "-9223372036854775808", "9223372036854775808", "-9223372036854775809",
+                    "123456789012", "--1", "", "0x10", "-09223372036854775808", "-0009223372036854775808",
+                    "+09223372036854775807", "-09223372036854775809")
+                .map(input -> arguments(ResultParsers.longs(), input, parseLong)),
+            Stream.of("0", "-0.0", "1.5", "-12.5e3", "1e22", "1e23", ".5", "5.", "1E-5", "+3.25E+2", "0.1",
+                    "123456789012345678901234567890", "4.9e-324", "1.7976931348623157e308", "1e400", "",
+                    ".", "e5", "1e", "1e+", "1.2.3", "1,5")
+                .map(input -> arguments(ResultParsers.doubles(), input, parseDouble)),
+            Stream.of("true", "FALSE", "TrUe", "yes", "", "true ")
+                .map(input -> arguments(ResultParsers.booleans(), input, parseBoolean)),
+            Stream.of("123e4567-e89b-12d3-a456-426614174000", "FFFFFFFF-FFFF-FFFF-FFFF-FFFFFFFFFFFF",
+                    "123e4567-e89b-12d3-a456-42661417400g", "123e4567-e89b-12d3-a456+426614174000", "1-2-3-4-5")
+                .map(input -> arguments(ResultParsers.uuids(), input, parseUuid)),
+            Stream.of("2024-02-29", "2023-02-29", "0001-01-01", "2024-13-01", "2024-1-01", "2024/01/01")
+                .map(input -> arguments(ResultParsers.localDates(), input, parseLocalDate)),
+            Stream.of("00:00", "23:59:59", "10:15:30.1", "10:15:30.123456789", "24:00", "10:60", "10:15:30.",
+                    "10:15:30.1234567890", "10-15")
+                .map(input -> arguments(ResultParsers.localTimes(), input, parseLocalTime)),
+            Stream.of("2024-02-29T10:15:30", "2024-02-29T10:15", "2024-02-29 10:15:30", "2024-02-30T10:15:30")
+                .map(input -> arguments(
+                    ResultParsers.localDateTimes(),
+                    input,
+                    (Function<String, LocalDateTime>) LocalDateTime::parse
+                )),
+            Stream.of("2024-02-29T10:15:30Z", "2024-02-29T10:15:30.5Z", "2024-02-29T10:15:30")
+                .map(input -> arguments(ResultParsers.instants(), input, parseInstant))
+        ).flatMap(Function.identity());
+    }
+
+    @Test
+    void testParseRandomDoubles() {
+
+        //given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            String input = randomDecimal(random);
+
+            //when
+            Result<Double> actual = ResultParsers.doubles().parse(input);
+
+            //then
+            assertEquals(Result.of(() -> Double.parseDouble(input)), actual, input);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "x", "--1"})
+    void testParseInvalidIsShared(String input) {
+
+        //when
+        Result<Integer> actual = ResultParsers.ints().parse(input);
+
+        //then
+        assertSame(ResultParsers.ints().parse("invalid"), actual);
+    }
+
+    @Test
+    void testWithFailure() {
+
+        //given
+        ResultParser<Integer> parser = ResultParsers.ints().withFailure(ILLEGAL_ARGUMENT_EXCEPTION);
+
+        //when
+        Result<Integer> actual = parser.parse("x");
+
+        //then
+        assertEquals(failure(ILLEGAL_ARGUMENT_EXCEPTION), actual);
+        assertEquals(Result.of(() -> 1), parser.parse("1"));
+    }
+
+    @Test
+    void testParseInts() {
+
+        //given
+        List<String> inputs = List.of("1", "x", "-3", "2147483648");
+
+        //when
+        IntResultBatch actual = ResultParsers.parseInts(inputs);
+
+        //then
+        assertEquals(
+            List.of(Result.of(() -> 1), failure(InvalidFormatException.INSTANCE), Result.of(() -> -3),
+                failure(InvalidFormatException.INSTANCE)),
+            actual.toList()
+        );
+    }
+
+    @Test
+    void testParseLongs() {
+
+        //given
+        List<String> inputs = List.of("-9223372036854775808", "-9223372036854775809", "42");
+
+        //when
+        LongResultBatch actual = ResultParsers.parseLongs(inputs);
+
+        //then
+        assertEquals(
+            List.of(Result.of(() -> Long.MIN_VALUE), failure(InvalidFormatException.INSTANCE), Result.of(() -> 42L)),
+            actual.toList()
+        );
+    }
+
+    private static String randomDecimal(Random random) {
+
+        StringBuilder builder = new StringBuilder();
+
+        if (random.nextBoolean()) {
+            builder.append('-');
+        }
+
+        int integerDigits = random.nextInt(12);
+        for (int i = 0; i < integerDigits; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+
+        builder.append('.');
+
+        int fractionDigits = random.nextInt(integerDigits == 0 ? 24 : 12) + (integerDigits == 0 ? 1 : 0);
+        for (int i = 0; i < fractionDigits; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+
+        if (random.nextInt(3) == 0) {
+            builder.append('e').append(random.nextInt(80) - 40);
+        }
+
+        return builder.toString();
+    }
+
+    private static <T> Result<T> jdk(String input, Function<String, T> parse) {
+
+        Result<T> result = Result.of(() -> parse.apply(input));
+
+        return InternalResult.of(result).isFailure() ? failure(InvalidFormatException.INSTANCE) : result;
+    }
+
+    private static <T> Result<T> failure(Exception exception) {
+
+        return Failure.create(exception);
+    }
+}
@@ -0,0 +1,389 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultPublisherTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException();
+
+    private static final Flow.Subscription NO_SUBSCRIPTION = new Flow.Subscription() {
+
+        @Override
+        public void request(long n) {
+            //does nothing
+        }
+
+        @Override
+        public void cancel() {
+            //does nothing
+        }
+    };
+
+    @Test
+    void testBackpressure() {
+
+        //given
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Result<Integer>> results = IntStream.range(0, 10)
+            .peek(i -> pulled.incrementAndGet())
+            .mapToObj(i -> Result.of(() -> i))
+            .iterator();
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(0);
+        ResultPublisher.failFast(results).subscribe(subscriber);
+
+        //when
+        subscriber.request(3);
+
+        //then
+        assertEquals(List.of(Result.of(() -> 0), Result.of(() -> 1), Result.of(() -> 2)), subscriber.items);
+        assertEquals(3, pulled.get());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testComplete() {
+
+        //given
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+        //when
+        ResultPublisher.failFast(Stream.of(Result.of(() -> 1), Result.of(() -> 2))).subscribe(subscriber);
+
+        //then
+        assertEquals(List.of(Result.of(() -> 1), Result.of(() -> 2)), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testFailFast() {
+
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Result<Integer>> results = Stream
+            .of(Result.of(() -> 1), Failure.<Integer>create(ILLEGAL_STATE_EXCEPTION), Result.of(() -> 3))
+            .onClose(() -> closed.set(true));
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+        //when
+        ResultPublisher.failFast(results).subscribe(subscriber);
+
+        //then
+        assertEquals(List.of(Result.of(() -> 1)), subscriber.items);
+        assertSame(ILLEGAL_STATE_EXCEPTION, subscriber.error);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testSkipFailures() {
+
+        //given
+        List<Exception> skipped = new ArrayList<>();
+        Stream<Result<Integer>> results = Stream.of(Failure.create(ILLEGAL_STATE_EXCEPTION), Result.of(() -> 2),
+            Failure.create(ILLEGAL_STATE_EXCEPTION));
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(1);
+
+        //when
+        ResultPublisher.skipFailures(results, skipped::add).subscribe(subscriber);
+        subscriber.request(1);
+
+        //then
+        assertEquals(List.of(Result.of(() -> 2)), subscriber.items);
+        assertEquals(List.of(ILLEGAL_STATE_EXCEPTION, ILLEGAL_STATE_EXCEPTION), skipped);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testRequestFromOnNext() {
+
+        //given
+        int count = 100_000;
+        List<Result<Integer>> results = IntStream.range(0, count)
+            .mapToObj(i -> Result.of(() -> i))
+            .collect(Collectors.toList());
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(1) {
+
+            @Override
+            public void onNext(Result<Integer> item) {
+
+                super.onNext(item);
+
+                request(1);
+            }
+        };
+
+        //when
+        ResultPublisher.failFast(results.iterator()).subscribe(subscriber);
+
+        //then
+        assertEquals(results, subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testCancel() {
+
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Result<Integer>> results = Stream.of(Result.of(() -> 1), Result.of(() -> 2))
+            .onClose(() -> closed.set(true));
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(1);
+        ResultPublisher.failFast(results).subscribe(subscriber);
+
+        //when
+        subscriber.subscription.cancel();
+        subscriber.request(1);
+
+        //then
+        assertEquals(List.of(Result.of(() -> 1)), subscriber.items);
+        assertTrue(closed.get());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testInvalidRequest() {
+
+        //given
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(0);
+        ResultPublisher.failFast(Stream.of(Result.of(() -> 1))).subscribe(subscriber);
+
+        //when
+        subscriber.request(0);
+
+        //then
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testSubscribeTwice() {
+
+        //given
+        ResultPublisher<Integer> publisher = ResultPublisher.failFast(Stream.of(Result.of(() -> 1)));
+        publisher.subscribe(new RecordingSubscriber<>(0));
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(1);
+
+        //when
+        publisher.subscribe(subscriber);
+
+        //then
+        assertTrue(subscriber.error instanceof IllegalStateException);
+    }
+
+    @Test
+    void testMapResult() {
+
+        //given
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Result<Integer>> results = IntStream.range(0, 10)
+            .peek(i -> pulled.incrementAndGet())
+            .mapToObj(i -> Result.of(() -> i))
+            .iterator();
+
+        ResultProcessor<Integer, String> processor = ResultProcessor.mapResult(String::valueOf);
+        ResultPublisher.failFast(results).subscribe(processor);
+
+        RecordingSubscriber<Result<String>> subscriber = new RecordingSubscriber<>(2);
+
+        //when
+        processor.subscribe(subscriber);
+
+        //then
+        assertEquals(List.of(Result.of(() -> "0"), Result.of(() -> "1")), subscriber.items);
+        assertEquals(2, pulled.get());
+    }
+
+    @Test
+    void testPublishFailures() {
+
+        //given
+        List<Result<Integer>> results = List.of(Failure.create(ILLEGAL_STATE_EXCEPTION), Result.of(() -> 2));
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+        //when
+        ResultPublisher.of(results.iterator()).subscribe(subscriber);
+
+        //then
+        assertEquals(results, subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testRecoverResult() {
+
+        //given
+        ResultProcessor<Integer, Integer> processor = ResultProcessor.recoverResult(
+            IllegalStateException.class,
+            e -> -1
+        );
+        ResultPublisher.of(Stream.of(Result.of(() -> 1), Failure.<Integer>create(ILLEGAL_STATE_EXCEPTION)))
+            .subscribe(processor);
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+        //when
+        processor.subscribe(subscriber);
+
+        //then
+        assertEquals(List.of(Result.of(() -> 1), Result.of(() -> -1)), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testProcessorPassesOnEarlyCompletion() {
+
+        //given
+        ResultProcessor<Integer, String> processor = ResultProcessor.mapResult(String::valueOf);
+        RecordingSubscriber<Result<String>> subscriber = new RecordingSubscriber<>(1);
+
+        processor.onSubscribe(NO_SUBSCRIPTION);
+        processor.onComplete();
+
+        //when
+        processor.subscribe(subscriber);
+
+        //then
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testThrowingSubscriberIsCancelled() {
+
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Result<Integer>> results = Stream.of(Result.of(() -> 1), Result.of(() -> 2))
+            .onClose(() -> closed.set(true));
+
+        RecordingSubscriber<Result<Integer>> subscriber = new RecordingSubscriber<>(0) {
+
+            @Override
+            public void onNext(Result<Integer> item) {
+
+                super.onNext(item);
+
+                throw ILLEGAL_STATE_EXCEPTION;
+            }
+        };
+        ResultPublisher.of(results).subscribe(subscriber);
+
+        //when
+        IllegalStateException actual = assertThrows(IllegalStateException.class, () -> subscriber.request(2));
+        subscriber.request(1);
+
+        //then
+        assertSame(ILLEGAL_STATE_EXCEPTION, actual);
+        assertEquals(List.of(Result.of(() -> 1)), subscriber.items);
+        assertNull(subscriber.error);
+        assertFalse(subscriber.completed);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testProcessorPassesOnCompletionAfterSubscription() {
+
+        //given
+        ResultProcessor<Integer, String> processor = ResultProcessor.mapResult(String::valueOf);
+        List<String> signals = new ArrayList<>();
+        RecordingSubscriber<Result<String>> subscriber = new RecordingSubscriber<>(0) {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+
+                assertFalse(Thread.holdsLock(processor));
+
+                signals.add("onSubscribe");
+
+                //the upstream publisher ends while the downstream subscriber is subscribing
+                processor.onComplete();
+
+                signals.add("onSubscribe returned");
+            }
+
+            @Override
+            public void onComplete() {
+
+                signals.add("onComplete");
+            }
+        };
+        processor.subscribe(subscriber);
+
+        //when
+        processor.onSubscribe(NO_SUBSCRIPTION);
+
+        //then
+        assertEquals(List.of("onSubscribe", "onSubscribe returned", "onComplete"), signals);
+    }
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final long initialRequest;
+
+        private final List<T> items = new ArrayList<>();
+
+        private Flow.Subscription subscription;
+
+        private Throwable error;
+
+        private boolean completed;
+
+        private RecordingSubscriber(long initialRequest) {
+
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+
+            this.subscription = subscription;
+
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+
+            completed = true;
+        }
+
+        void request(long n) {
+
+            subscription.request(n);
+        }
+    }
+}
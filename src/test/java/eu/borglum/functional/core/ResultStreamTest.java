@@ -0,0 +1,208 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultStreamTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException();
+
+    private static final IllegalArgumentException ILLEGAL_ARGUMENT_EXCEPTION = new IllegalArgumentException();
+
+    @Test
+    void testFusedOperations() {
+
+        //given
+        Stream<Result<Integer>> results = Stream.of(Result.of(() -> 1), Failure.create(ILLEGAL_STATE_EXCEPTION),
+            Result.of(() -> 3), Failure.create(ILLEGAL_ARGUMENT_EXCEPTION), Result.of(() -> 5));
+
+        //when
+        List<Result<String>> actual = ResultStream.of(results)
+            .mapValue(value -> value * 10)
+            .recover(IllegalStateException.class, e -> -1)
+            .filter(value -> value != 30)
+            .mapFailure(IllegalArgumentException.class, e -> ILLEGAL_STATE_EXCEPTION)
+            .flatMap(value -> Result.of(() -> "v" + value))
+            .toStream()
+            .collect(Collectors.toList());
+
+        //then
+        assertEquals(
+            List.of(Result.of(() -> "v10"), Result.of(() -> "v-1"), Result.<String>of(Optional::empty),
+                Failure.<String>create(ILLEGAL_STATE_EXCEPTION), Result.of(() -> "v50")),
+            actual
+        );
+    }
+
+    @Test
+    void testEquivalentToResult() {
+
+        //given
+        List<Result<Integer>> results = List.of(Result.of(() -> 4), Result.of(() -> 0),
+            Failure.create(ILLEGAL_STATE_EXCEPTION), Result.of(Optional::empty));
+
+        //when
+        List<Result<Integer>> actual = ResultStream.of(results.stream())
+            .mapValue(value -> 8 / value)
+            .recover(ArithmeticException.class, e -> -1)
+            .toStream()
+            .collect(Collectors.toList());
+
+        //then
+        List<Result<Integer>> expected = results.stream()
+            .map(result -> result.mapValue(value -> 8 / value).recoverValue(ArithmeticException.class, e -> -1))
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testToList() {
+
+        //when
+        Result<List<Integer>> actual = ResultStream.ofValues(Stream.of(1, null, 3))
+            .mapValue(value -> value + 1)
+            .toList();
+
+        //then
+        assertEquals(Result.of(() -> List.of(2, 4)), actual);
+    }
+
+    @Test
+    void testToListFailFast() {
+
+        //given
+        AtomicInteger processed = new AtomicInteger();
+
+        //when
+        Result<List<Integer>> actual = ResultStream.ofValues(IntStream.range(0, 100).boxed())
+            .mapValue(value -> {
+                processed.incrementAndGet();
+
+                if (value == 10) {
+                    throw ILLEGAL_STATE_EXCEPTION;
+                }
+
+                return value;
+            })
+            .toList();
+
+        //then
+        assertEquals(Failure.create(ILLEGAL_STATE_EXCEPTION), actual);
+        assertEquals(11, processed.get());
+    }
+
+    @Test
+    void testParallelToListCancelsSplits() {
+
+        //given
+        AtomicInteger processed = new AtomicInteger();
+        int size = 1_000_000;
+
+        //when
+        Result<List<Integer>> actual = ResultStream.ofValues(IntStream.range(0, size).boxed())
+            .parallel()
+            .mapValue(value -> {
+                processed.incrementAndGet();
+
+                if (value % 1000 == 999) {
+                    throw ILLEGAL_STATE_EXCEPTION;
+                }
+
+                return value;
+            })
+            .toList();
+
+        //then
+        assertEquals(Failure.create(ILLEGAL_STATE_EXCEPTION), actual);
+        assertTrue(processed.get() < size);
+    }
+
+    @Test
+    void testParallelToList() {
+
+        //given
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+        //when
+        Result<List<Integer>> actual = ResultStream.ofValues(values.parallelStream())
+            .mapValue(value -> value * 2)
+            .toList();
+
+        //then
+        assertEquals(
+            Result.of(() -> values.stream().map(value -> value * 2).collect(Collectors.toList())),
+            actual
+        );
+    }
+
+    @Test
+    void testPartition() {
+
+        //given
+        Stream<Result<Integer>> results = Stream.of(Result.of(() -> 1), Failure.create(ILLEGAL_STATE_EXCEPTION),
+            Result.of(Optional::empty), Failure.create(ILLEGAL_ARGUMENT_EXCEPTION));
+
+        //when
+        Partition<Integer> actual = ResultStream.of(results).partition();
+
+        //then
+        assertEquals(List.of(1), actual.getSuccesses());
+        assertEquals(List.of(ILLEGAL_STATE_EXCEPTION, ILLEGAL_ARGUMENT_EXCEPTION), actual.getFailures());
+    }
+
+    @Test
+    void testCountFailures() {
+
+        //when
+        long actual = ResultStream.ofValues(IntStream.range(0, 100).boxed())
+            .mapValue(value -> 10 / (value % 10))
+            .countFailures();
+
+        //then
+        assertEquals(10, actual);
+    }
+
+    @Test
+    void testFirstFailure() {
+
+        //when
+        Optional<Exception> actual = ResultStream.of(Stream.of(Result.of(() -> 1),
+                Failure.<Integer>create(ILLEGAL_ARGUMENT_EXCEPTION), Failure.<Integer>create(ILLEGAL_STATE_EXCEPTION)))
+            .firstFailure();
+
+        //then
+        assertEquals(Optional.of(ILLEGAL_ARGUMENT_EXCEPTION), actual);
+    }
+
+    @Test
+    void testNoFailure() {
+
+        //when
+        Optional<Exception> actual = ResultStream.ofValues(Stream.of(1, 2)).firstFailure();
+
+        //then
+        assertEquals(Optional.empty(), actual);
+    }
+
+    @Test
+    void testOperateTwice() {
+
+        //given
+        ResultStream<Integer> stream = ResultStream.ofValues(Stream.of(1));
+        stream.mapValue(value -> value + 1);
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class, stream::toList);
+    }
+}
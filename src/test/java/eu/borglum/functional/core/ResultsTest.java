@@ -79,6 +79,32 @@ class ResultsTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("providePartition")
+    void testPartition(List<Result<String>> initial, Partition<String> expected) {
+
+        //when
+        Partition<String> actual = Results.partition(initial);
+
+        //then
+        assertEquals(expected, actual);
+    }
+
+    private static Stream<Arguments> providePartition() {
+        return Stream.of(
+            arguments(createList(values()), Partition.create(new ArrayList<>(values()), List.of())),
+            arguments(
+                createListOptional(valuesWithNull()),
+                Partition.create(List.of("value1", "value3"), List.of())
+            ),
+            arguments(createListOptional(Collections.emptyList()), Partition.create(List.of(), List.of())),
+            arguments(
+                createList(ILLEGAL_STATE_EXCEPTION, values()),
+                Partition.create(new ArrayList<>(values()), List.of(ILLEGAL_STATE_EXCEPTION))
+            )
+        );
+    }
+
     private static Collection<String> values() {
         return Arrays.asList("value1", "value2");
     }
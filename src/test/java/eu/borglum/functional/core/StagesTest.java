@@ -0,0 +1,70 @@
+package eu.borglum.functional.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import static eu.borglum.functional.core.TestDataFactory.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StagesTest {
+
+    private static final IllegalStateException ILLEGAL_STATE_EXCEPTION = new IllegalStateException("");
+
+    @Test
+    void testNamed() {
+
+        //then
+        assertSame(Stages.named("named"), Stages.named("named"));
+        assertEquals("named", Stages.named("named").getName());
+        assertThrows(NullPointerException.class, () -> Stages.named(null));
+    }
+
+    @Test
+    void testRecord() {
+
+        //given
+        Stage parse = Stages.named("testRecord.parse");
+        Stage lookup = Stages.named("testRecord.lookup");
+
+        Function<String, Integer> parser = parse.decorateFunction(Integer::parseInt);
+        Function<Integer, Result<Integer>> finder = lookup.decorateResultFunction(
+            value -> value > 0 ? Result.ofValue(() -> value) : create(ILLEGAL_STATE_EXCEPTION).map(String::length)
+        );
+
+        //when
+        Result.ofValue(parse.decorateSupplier(() -> "1")).mapValue(parser).flatMap(finder);
+        create("-1").mapValue(parser).flatMap(finder);
+        create("x").mapValue(parser).flatMap(finder);
+
+        //then
+        assertEquals(3, parse.getSuccesses());
+        assertEquals(1, parse.getFailures());
+        assertEquals(1, lookup.getSuccesses());
+        assertEquals(1, lookup.getFailures());
+        assertEquals(4, parse.getLatency().snapshot().getCount());
+    }
+
+    @Test
+    void testExport() throws IOException {
+
+        //given
+        Stage stage = Stages.named("testExport");
+        create("Value").mapValue(stage.decorateFunction(String::length));
+
+        //when
+        StringBuilder first = new StringBuilder();
+        Stages.export(first, true);
+        StringBuilder second = new StringBuilder();
+        Stages.export(second, false);
+
+        //then
+        assertTrue(first.toString().contains("stage=testExport successes=1 failures=0 mean="), first::toString);
+        assertTrue(second.toString().contains("stage=testExport successes=1 failures=0 mean=0.0 p50=0"),
+            second::toString);
+    }
+}